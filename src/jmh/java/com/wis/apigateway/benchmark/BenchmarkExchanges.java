@@ -0,0 +1,106 @@
+package com.wis.apigateway.benchmark;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+/**
+ * Shared fixtures for filter benchmarks: mock exchanges and a minimal filter chain.
+ */
+final class BenchmarkExchanges {
+
+    static final String API_KEY_HEADER = "X-API-Key";
+    static final String VALID_API_KEY = "bench-key-0123456789";
+    static final String API_KEYS = "other-key-1,other-key-2," + VALID_API_KEY;
+    static final String SERVICE_KEY = "bench-service-key";
+
+    private static final InetSocketAddress REMOTE_ADDRESS = new InetSocketAddress("203.0.113.10", 54321);
+
+    /** Terminal chain standing in for the routing filter: sets 200 and completes. */
+    static final GatewayFilterChain TERMINAL = exchange -> {
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        return Mono.empty();
+    };
+
+    private BenchmarkExchanges() {
+    }
+
+    /**
+     * Creates a typical authenticated API request.
+     *
+     * @return new mock exchange
+     */
+    static ServerWebExchange authenticatedGet() {
+        return MockServerWebExchange.from(MockServerHttpRequest
+            .get("/api/subscriptions/12345?include=plan")
+            .header(API_KEY_HEADER, VALID_API_KEY)
+            .header("Accept", "application/json")
+            .header("User-Agent", "wis-frontend/1.0")
+            .remoteAddress(REMOTE_ADDRESS)
+            .build());
+    }
+
+    /**
+     * Creates an API request carrying the given API key.
+     *
+     * @param apiKey value of the API key header
+     * @return new mock exchange
+     */
+    static ServerWebExchange getWithApiKey(String apiKey) {
+        return MockServerWebExchange.from(MockServerHttpRequest
+            .get("/api/subscriptions/12345")
+            .header(API_KEY_HEADER, apiKey)
+            .remoteAddress(REMOTE_ADDRESS)
+            .build());
+    }
+
+    /**
+     * Creates a request with an API key that is not configured.
+     *
+     * @return new mock exchange
+     */
+    static ServerWebExchange invalidKeyGet() {
+        return MockServerWebExchange.from(MockServerHttpRequest
+            .get("/api/subscriptions/12345")
+            .header(API_KEY_HEADER, "not-a-valid-key-000")
+            .remoteAddress(REMOTE_ADDRESS)
+            .build());
+    }
+
+    /**
+     * Composes filters into a chain ending in {@link #TERMINAL}, like the gateway's
+     * filtering web handler does for a route.
+     *
+     * @param filters filters in execution order
+     * @return chain that runs the filters in order
+     */
+    static GatewayFilterChain chainOf(List<GatewayFilter> filters) {
+        return new IndexedChain(filters, 0);
+    }
+
+    private static final class IndexedChain implements GatewayFilterChain {
+
+        private final List<GatewayFilter> filters;
+        private final int index;
+
+        IndexedChain(List<GatewayFilter> filters, int index) {
+            this.filters = filters;
+            this.index = index;
+        }
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange) {
+            if (index < filters.size()) {
+                return filters.get(index).filter(exchange, new IndexedChain(filters, index + 1));
+            }
+            return TERMINAL.filter(exchange);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.wis.apigateway.benchmark;
+
+import com.wis.apigateway.blocking.VirtualThreadBlockingExecutor;
+import com.wis.apigateway.config.BlockingExecutionProperties;
+import com.wis.apigateway.filter.AbstractBlockingGatewayFilterFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.EventLoop;
+import io.netty.channel.nio.NioEventLoopGroup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event-loop latency while blocking filters are under load.
+ *
+ * <p>The {@code eventLoopLatency} method measures how long a trivial task waits before
+ * an event loop runs it. It shares the loops with {@code blockingFilterLoad} threads
+ * that keep pushing requests through a filter that blocks for {@code blockMillis}.
+ *
+ * <ul>
+ *   <li>{@code VIRTUAL_THREADS} - the filter extends
+ *       {@link AbstractBlockingGatewayFilterFactory}, so the blocking call runs on a
+ *       virtual thread and event-loop latency should stay in the microsecond range</li>
+ *   <li>{@code EVENT_LOOP} - the same blocking call runs directly on the event loop, as
+ *       a naive filter would; latency grows with the blocking time</li>
+ * </ul>
+ *
+ * <p>Run with: {@code ./gradlew jmh -PjmhIncludes=BlockingFilterBenchmark}
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlockingFilterBenchmark {
+
+    @Param({"VIRTUAL_THREADS", "EVENT_LOOP"})
+    public String mode;
+
+    @Param({"5"})
+    public int blockMillis;
+
+    private NioEventLoopGroup eventLoops;
+    private Scheduler eventLoopScheduler;
+    private VirtualThreadBlockingExecutor blockingExecutor;
+    private GatewayFilter blockingFilter;
+
+    private final GatewayFilterChain chain = exchange -> Mono.empty();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        eventLoops = new NioEventLoopGroup(2);
+        eventLoopScheduler = Schedulers.fromExecutor(eventLoops);
+
+        BlockingExecutionProperties properties = new BlockingExecutionProperties();
+        properties.setMaxConcurrency(256);
+        blockingExecutor = new VirtualThreadBlockingExecutor(properties, new SimpleMeterRegistry());
+        blockingFilter = new SleepingGatewayFilterFactory(blockingExecutor, blockMillis)
+            .apply(new Object());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        blockingExecutor.shutdown();
+        eventLoops.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+
+    @Benchmark
+    @Group("loaded")
+    @GroupThreads(1)
+    public long eventLoopLatency() throws Exception {
+        EventLoop loop = eventLoops.next();
+        long submitted = System.nanoTime();
+        return loop.submit(() -> System.nanoTime() - submitted).get();
+    }
+
+    @Benchmark
+    @Group("loaded")
+    @GroupThreads(4)
+    public void blockingFilterLoad() throws Exception {
+        if ("EVENT_LOOP".equals(mode)) {
+            eventLoops.next().submit(() -> {
+                Thread.sleep(blockMillis);
+                return null;
+            }).get();
+            return;
+        }
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/test").build());
+        Mono.defer(() -> blockingFilter.filter(exchange, chain))
+            .subscribeOn(eventLoopScheduler)
+            .block();
+    }
+
+    /**
+     * Filter whose blocking work is a sleep, standing in for a blocking SDK call.
+     */
+    static final class SleepingGatewayFilterFactory extends AbstractBlockingGatewayFilterFactory<Object> {
+
+        private final int blockMillis;
+
+        SleepingGatewayFilterFactory(VirtualThreadBlockingExecutor executor, int blockMillis) {
+            super(Object.class, executor);
+            this.blockMillis = blockMillis;
+        }
+
+        @Override
+        protected ServerWebExchange filterBlocking(ServerWebExchange exchange, Object config) throws Exception {
+            Thread.sleep(blockMillis);
+            return exchange;
+        }
+    }
+}
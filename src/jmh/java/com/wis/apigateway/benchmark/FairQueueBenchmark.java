@@ -0,0 +1,117 @@
+package com.wis.apigateway.benchmark;
+
+import com.wis.apigateway.config.ApiKeyTierProperties;
+import com.wis.apigateway.config.FairQueueProperties;
+import com.wis.apigateway.config.OverloadProperties;
+import com.wis.apigateway.filter.ApiKeyResolver;
+import com.wis.apigateway.filter.ApiKeyTierResolver;
+import com.wis.apigateway.filter.FairQueueGlobalFilter;
+import com.wis.apigateway.overload.FairQueue;
+import com.wis.apigateway.overload.RequestPriorityResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static com.wis.apigateway.benchmark.BenchmarkExchanges.TERMINAL;
+
+/**
+ * Per-request cost of the fair queue stage.
+ *
+ * <ul>
+ *   <li>{@link #baseline} - exchange creation and the terminal chain alone</li>
+ *   <li>{@link #uncontended} - the filter with slots free: the fast path every request
+ *       takes while the gateway is below {@code max-concurrency}</li>
+ *   <li>{@link #saturated} - eight threads sharing two slots, so most requests queue and
+ *       are released by round robin across four API keys</li>
+ * </ul>
+ *
+ * <p>The difference between {@code uncontended} and {@code baseline} is the overhead paid
+ * when nothing is queued; compare {@code gc.alloc.rate.norm} as well.
+ *
+ * <p>Run with: {@code ./gradlew jmh -PjmhIncludes=FairQueueBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FairQueueBenchmark {
+
+    private static final String[] KEYS = {"key-a", "key-b", "key-c", "key-d"};
+
+    private FairQueueGlobalFilter uncontendedFilter;
+    private FairQueueGlobalFilter saturatedFilter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        uncontendedFilter = filter(512);
+        saturatedFilter = filter(2);
+    }
+
+    @Benchmark
+    public Object baseline() {
+        ServerWebExchange exchange = BenchmarkExchanges.authenticatedGet();
+        TERMINAL.filter(exchange).block();
+        return exchange;
+    }
+
+    @Benchmark
+    public Object uncontended() {
+        ServerWebExchange exchange = BenchmarkExchanges.authenticatedGet();
+        uncontendedFilter.filter(exchange, TERMINAL).block();
+        return exchange;
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object saturated(ThreadKey threadKey) {
+        ServerWebExchange exchange = BenchmarkExchanges.getWithApiKey(threadKey.key);
+        saturatedFilter.filter(exchange, TERMINAL).block();
+        return exchange;
+    }
+
+    /**
+     * API key of one benchmark thread; threads share the four keys.
+     */
+    @State(Scope.Thread)
+    public static class ThreadKey {
+
+        private static int next;
+
+        String key;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            synchronized (ThreadKey.class) {
+                key = KEYS[next++ % KEYS.length];
+            }
+        }
+    }
+
+    private static FairQueueGlobalFilter filter(int maxConcurrency) {
+        FairQueueProperties properties = new FairQueueProperties();
+        properties.setMaxConcurrency(maxConcurrency);
+        properties.setMaxWait(Duration.ofSeconds(30));
+        properties.setMaxQueuedPerKey(1_000);
+        FairQueue queue = new FairQueue(properties, new SimpleMeterRegistry());
+        OverloadProperties overloadProperties = new OverloadProperties();
+        ApiKeyTierResolver tierResolver = new ApiKeyTierResolver(new ApiKeyTierProperties());
+        return new FairQueueGlobalFilter(queue, new ApiKeyResolver(),
+            tierResolver, new RequestPriorityResolver(overloadProperties, tierResolver), overloadProperties);
+    }
+}
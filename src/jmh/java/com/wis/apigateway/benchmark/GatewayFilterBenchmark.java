@@ -0,0 +1,124 @@
+package com.wis.apigateway.benchmark;
+
+import com.wis.apigateway.filter.ApiKeyAuthGatewayFilterFactory;
+import com.wis.apigateway.filter.LoggingGatewayFilterFactory;
+import com.wis.apigateway.filter.ServiceKeyGatewayFilterFactory;
+import com.wis.apigateway.filter.StandardPipelineGatewayFilterFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.wis.apigateway.benchmark.BenchmarkExchanges.API_KEYS;
+import static com.wis.apigateway.benchmark.BenchmarkExchanges.SERVICE_KEY;
+import static com.wis.apigateway.benchmark.BenchmarkExchanges.TERMINAL;
+
+/**
+ * Per-request cost of the route filters and of the full {@code /api/**} pipeline.
+ *
+ * <p>Each benchmark builds a fresh mock exchange and runs the filter lambda returned by
+ * the factory's {@code apply(...)} to completion. {@link #baseline} measures exchange
+ * creation and subscription alone; subtract it to get the filter's own cost. Run with
+ * the gc profiler (enabled in build.gradle) to get bytes allocated per request.
+ * {@link #standardPipeline} is the fused equivalent of {@link #standardChain}.
+ *
+ * <p>Run with: {@code ./gradlew jmh -PjmhIncludes=GatewayFilterBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GatewayFilterBenchmark {
+
+    private GatewayFilter apiKeyAuth;
+    private GatewayFilter logging;
+    private GatewayFilter serviceKey;
+    private GatewayFilterChain standardChain;
+    private GatewayFilter standardPipeline;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ApiKeyAuthGatewayFilterFactory apiKeyAuthFactory = new ApiKeyAuthGatewayFilterFactory();
+        ReflectionTestUtils.setField(apiKeyAuthFactory, "apiKeys", API_KEYS);
+        apiKeyAuth = apiKeyAuthFactory.apply(new ApiKeyAuthGatewayFilterFactory.Config());
+
+        logging = new LoggingGatewayFilterFactory().apply(new LoggingGatewayFilterFactory.Config());
+
+        ServiceKeyGatewayFilterFactory serviceKeyFactory = new ServiceKeyGatewayFilterFactory();
+        ReflectionTestUtils.setField(serviceKeyFactory, "serviceKey", SERVICE_KEY);
+        serviceKey = serviceKeyFactory.apply(new ServiceKeyGatewayFilterFactory.Config());
+
+        // Same order as the /api/** routes in application.yml
+        standardChain = BenchmarkExchanges.chainOf(List.of(apiKeyAuth, logging, serviceKey));
+
+        StandardPipelineGatewayFilterFactory pipelineFactory = new StandardPipelineGatewayFilterFactory();
+        ReflectionTestUtils.setField(pipelineFactory, "apiKeys", API_KEYS);
+        ReflectionTestUtils.setField(pipelineFactory, "serviceKey", SERVICE_KEY);
+        standardPipeline = pipelineFactory.apply(new StandardPipelineGatewayFilterFactory.Config());
+    }
+
+    @Benchmark
+    public Object baseline() {
+        ServerWebExchange exchange = BenchmarkExchanges.authenticatedGet();
+        TERMINAL.filter(exchange).block();
+        return exchange;
+    }
+
+    @Benchmark
+    public Object apiKeyAuthValid() {
+        ServerWebExchange exchange = BenchmarkExchanges.authenticatedGet();
+        apiKeyAuth.filter(exchange, TERMINAL).block();
+        return exchange;
+    }
+
+    @Benchmark
+    public Object apiKeyAuthRejected() {
+        ServerWebExchange exchange = BenchmarkExchanges.invalidKeyGet();
+        apiKeyAuth.filter(exchange, TERMINAL).block();
+        return exchange;
+    }
+
+    @Benchmark
+    public Object logging() {
+        ServerWebExchange exchange = BenchmarkExchanges.authenticatedGet();
+        logging.filter(exchange, TERMINAL).block();
+        return exchange;
+    }
+
+    @Benchmark
+    public Object serviceKey() {
+        ServerWebExchange exchange = BenchmarkExchanges.authenticatedGet();
+        serviceKey.filter(exchange, TERMINAL).block();
+        return exchange;
+    }
+
+    @Benchmark
+    public Object standardChain() {
+        ServerWebExchange exchange = BenchmarkExchanges.authenticatedGet();
+        standardChain.filter(exchange).block();
+        return exchange;
+    }
+
+    @Benchmark
+    public Object standardPipeline() {
+        ServerWebExchange exchange = BenchmarkExchanges.authenticatedGet();
+        standardPipeline.filter(exchange, TERMINAL).block();
+        return exchange;
+    }
+}
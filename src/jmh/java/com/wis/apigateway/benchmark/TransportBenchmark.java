@@ -0,0 +1,135 @@
+package com.wis.apigateway.benchmark;
+
+import com.wis.apigateway.ApiGatewayApplication;
+import com.wis.apigateway.support.StubBackend;
+import com.wis.apigateway.transport.Transport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.wis.apigateway.benchmark.BenchmarkExchanges.API_KEYS;
+import static com.wis.apigateway.benchmark.BenchmarkExchanges.SERVICE_KEY;
+import static com.wis.apigateway.benchmark.BenchmarkExchanges.VALID_API_KEY;
+
+/**
+ * Requests per second through the whole gateway on each Netty transport.
+ *
+ * <p>Starts the gateway with {@code gateway.transport.type} and {@code topology} set from
+ * the parameters, in front of stub backends that answer at once with 2KB, and sends
+ * {@code GET /api/subscriptions/12345} from 32 threads over a client on its own NIO loops.
+ * The gateway does everything a production request does (authentication, headers,
+ * canary lookup, pooled upstream call), so differences between runs come from the
+ * transport and loop topology.
+ *
+ * <p>Transports the machine does not support (io_uring under most container seccomp
+ * profiles, anything native off Linux) fail their setup and are skipped.
+ *
+ * <p>Run with: {@code ./gradlew jmh -PjmhIncludes=TransportBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(1)
+public class TransportBenchmark {
+
+    @Param({"nio", "epoll", "io_uring"})
+    public String transport;
+
+    @Param({"shared", "separate"})
+    public String topology;
+
+    private StubBackend registration;
+    private StubBackend subscriptions;
+    private StubBackend messages;
+    private ConfigurableApplicationContext gateway;
+    private LoopResources clientLoops;
+    private ConnectionProvider connections;
+    private HttpClient client;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Transport selected = Transport.valueOf(transport.toUpperCase(Locale.ROOT));
+        if (!selected.isAvailable()) {
+            throw new IllegalStateException("Transport " + transport + " is not available here",
+                selected.unavailabilityCause());
+        }
+        registration = StubBackend.start("registration", Duration.ZERO, 2048);
+        subscriptions = StubBackend.start("subscriptions", Duration.ZERO, 2048);
+        messages = StubBackend.start("messages", Duration.ZERO, 2048);
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("backend.registration.url", registration.baseUrl());
+        properties.put("backend.subscriptions.url", subscriptions.baseUrl());
+        properties.put("backend.messages.url", messages.baseUrl());
+        properties.put("api.keys", API_KEYS);
+        properties.put("SERVICE_TO_SERVICE_KEY", SERVICE_KEY);
+        properties.put("gateway.transport.type", transport);
+        properties.put("gateway.transport.topology", topology);
+        properties.put("spring.autoconfigure.exclude",
+            "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfiguration");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.wis.apigateway", "WARN");
+        gateway = new SpringApplicationBuilder(ApiGatewayApplication.class)
+            .properties(properties)
+            .run();
+        int port = ((WebServerApplicationContext) gateway).getWebServer().getPort();
+
+        clientLoops = LoopResources.create("bench-client", 2, true);
+        connections = ConnectionProvider.builder("bench-client").maxConnections(64).build();
+        client = HttpClient.create(connections)
+            .runOn(clientLoops, false)
+            .baseUrl("http://127.0.0.1:" + port)
+            .headers(headers -> headers.set("X-API-Key", VALID_API_KEY));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connections.disposeLater().block(Duration.ofSeconds(5));
+        clientLoops.disposeLater().block(Duration.ofSeconds(5));
+        gateway.close();
+        registration.close();
+        subscriptions.close();
+        messages.close();
+    }
+
+    @Benchmark
+    public int proxiedGet() {
+        Integer status = client.get()
+            .uri("/api/subscriptions/12345")
+            .responseSingle((response, body) -> body.then(Mono.just(response.status().code())))
+            .block(Duration.ofSeconds(10));
+        if (status == null || status != 200) {
+            throw new IllegalStateException("Gateway answered " + status);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,145 @@
+package com.wis.apigateway.benchmark;
+
+import com.wis.apigateway.ApiGatewayApplication;
+import com.wis.apigateway.support.StubBackend;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.wis.apigateway.benchmark.BenchmarkExchanges.API_KEYS;
+import static com.wis.apigateway.benchmark.BenchmarkExchanges.SERVICE_KEY;
+import static com.wis.apigateway.benchmark.BenchmarkExchanges.VALID_API_KEY;
+
+/**
+ * Requests per second through the gateway to HTTPS backends, with OpenSSL and with the
+ * JDK's {@code SSLEngine} on the upstream side.
+ *
+ * <p>The stub backends serve TLS with a self-signed certificate (trusted through
+ * {@code spring.cloud.gateway.httpclient.ssl.use-insecure-trust-manager}) and answer at
+ * once with 2KB. With {@code connections=pooled} upstream connections are kept and
+ * handshakes are rare, so the score shows record encryption cost; with
+ * {@code connections=new} the pool is disabled and every request opens a connection, so
+ * the score is dominated by (mostly resumed) handshakes. The handshake counts and
+ * resumption ratio of each trial are printed at teardown.
+ *
+ * <p>Run with: {@code ./gradlew jmh -PjmhIncludes=UpstreamTlsBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(1)
+public class UpstreamTlsBenchmark {
+
+    @Param({"openssl", "jdk"})
+    public String provider;
+
+    @Param({"pooled", "new"})
+    public String connections;
+
+    private StubBackend registration;
+    private StubBackend subscriptions;
+    private StubBackend messages;
+    private ConfigurableApplicationContext gateway;
+    private LoopResources clientLoops;
+    private ConnectionProvider clientConnections;
+    private HttpClient client;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        registration = StubBackend.startSecure("registration", Duration.ZERO, 2048);
+        subscriptions = StubBackend.startSecure("subscriptions", Duration.ZERO, 2048);
+        messages = StubBackend.startSecure("messages", Duration.ZERO, 2048);
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("backend.registration.url", registration.baseUrl());
+        properties.put("backend.subscriptions.url", subscriptions.baseUrl());
+        properties.put("backend.messages.url", messages.baseUrl());
+        properties.put("api.keys", API_KEYS);
+        properties.put("SERVICE_TO_SERVICE_KEY", SERVICE_KEY);
+        properties.put("gateway.upstream-tls.provider", provider);
+        properties.put("spring.cloud.gateway.httpclient.ssl.use-insecure-trust-manager", true);
+        if ("new".equals(connections)) {
+            properties.put("spring.cloud.gateway.httpclient.pool.type", "disabled");
+        }
+        properties.put("spring.autoconfigure.exclude",
+            "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfiguration");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.wis.apigateway", "WARN");
+        gateway = new SpringApplicationBuilder(ApiGatewayApplication.class)
+            .properties(properties)
+            .run();
+        int port = ((WebServerApplicationContext) gateway).getWebServer().getPort();
+
+        clientLoops = LoopResources.create("bench-client", 2, true);
+        clientConnections = ConnectionProvider.builder("bench-client").maxConnections(64).build();
+        client = HttpClient.create(clientConnections)
+            .runOn(clientLoops, false)
+            .baseUrl("http://127.0.0.1:" + port)
+            .headers(headers -> headers.set("X-API-Key", VALID_API_KEY));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MeterRegistry meterRegistry = gateway.getBean(MeterRegistry.class);
+        double full = handshakes(meterRegistry, "full");
+        double resumed = handshakes(meterRegistry, "resumed");
+        double failed = handshakes(meterRegistry, "failed");
+        System.out.printf("%nUpstream TLS (%s, %s): %.0f full, %.0f resumed, %.0f failed handshakes (%.1f%% resumed)%n",
+            provider, connections, full, resumed, failed, full + resumed == 0 ? 0.0 : 100 * resumed / (full + resumed));
+
+        clientConnections.disposeLater().block(Duration.ofSeconds(5));
+        clientLoops.disposeLater().block(Duration.ofSeconds(5));
+        gateway.close();
+        registration.close();
+        subscriptions.close();
+        messages.close();
+    }
+
+    @Benchmark
+    public int proxiedGet() {
+        Integer status = client.get()
+            .uri("/api/subscriptions/12345")
+            .responseSingle((response, body) -> body.then(Mono.just(response.status().code())))
+            .block(Duration.ofSeconds(10));
+        if (status == null || status != 200) {
+            throw new IllegalStateException("Gateway answered " + status);
+        }
+        return status;
+    }
+
+    private static double handshakes(MeterRegistry meterRegistry, String result) {
+        return meterRegistry.find("gateway.upstream.tls.handshakes").tag("result", result).counters().stream()
+            .mapToDouble(Counter::count)
+            .sum();
+    }
+}
@@ -0,0 +1,111 @@
+package com.wis.apigateway.benchmark;
+
+import com.wis.apigateway.webhook.SegmentLog;
+import com.wis.apigateway.webhook.SpooledRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Throughput of the webhook spool.
+ *
+ * <ul>
+ *   <li>{@link #encode} - serializing a typical webhook request</li>
+ *   <li>{@link #appendAndAck} - encode, append to the memory-mapped log and acknowledge,
+ *       i.e. the full spool cost of one webhook (segments are rolled and deleted as they
+ *       fill)</li>
+ *   <li>{@link #appendAndAckContended} - the same from 4 threads sharing the log</li>
+ * </ul>
+ *
+ * <p>{@code sync=true} forces every record to the device and is dominated by the disk's
+ * flush latency; compare the two to decide whether power-loss durability is worth it.
+ *
+ * <p>Run with: {@code ./gradlew jmh -PjmhIncludes=WebhookSpoolBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WebhookSpoolBenchmark {
+
+    private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    @Param({"1024", "8192"})
+    public int bodyBytes;
+
+    @Param({"false", "true"})
+    public boolean sync;
+
+    private Path directory;
+    private SegmentLog spool;
+    private SpooledRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("spool-bench");
+        spool = SegmentLog.open(directory, SEGMENT_SIZE, 0, sync);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Content-Type", "application/json; charset=utf-8");
+        headers.add("Stripe-Signature", "t=1700000000,v1=5257a869e7ecebeda32affa62cdca3fa51cad7e77a0e56ff536d0ce8e108d8bd");
+        headers.add("User-Agent", "Stripe/1.0 (+https://stripe.com/docs/webhooks)");
+        headers.add("X-Forwarded-For", "54.187.174.169");
+        headers.add("X-Service-Key", BenchmarkExchanges.SERVICE_KEY);
+        byte[] body = new byte[bodyBytes];
+        Arrays.fill(body, (byte) 'x');
+        request = new SpooledRequest("stripe-webhook", "POST", "http://localhost:8082/webhooks/stripe",
+            headers, body, System.currentTimeMillis());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        spool.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return request.encode();
+    }
+
+    @Benchmark
+    public SegmentLog.Entry appendAndAck() throws IOException {
+        SegmentLog.Entry entry = spool.append(request.encode());
+        spool.ack(entry);
+        return entry;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public SegmentLog.Entry appendAndAckContended() throws IOException {
+        SegmentLog.Entry entry = spool.append(request.encode());
+        spool.ack(entry);
+        return entry;
+    }
+}
@@ -2,6 +2,7 @@ package com.wis.apigateway;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 /**
  * Main application class for WIS API Gateway.
@@ -15,6 +16,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  *   <li>CORS handling for web applications</li>
  *   <li>Special routing for webhooks (bypasses authentication)</li>
  *   <li>Aggregated health checks for all downstream services</li>
+ *   <li>Priority-aware load shedding that protects webhooks under overload</li>
  * </ul>
  *
  * @author WIS Development Team
@@ -22,6 +24,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * @since 2025-10-21
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class ApiGatewayApplication {
 
     /**
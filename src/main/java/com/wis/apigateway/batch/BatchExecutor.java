@@ -0,0 +1,226 @@
+package com.wis.apigateway.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.wis.apigateway.config.BatchProperties;
+import com.wis.apigateway.filter.ApiKeyAuthGatewayFilterFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.DispatcherHandler;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.adapter.DefaultServerWebExchange;
+import org.springframework.web.server.i18n.AcceptHeaderLocaleContextResolver;
+import org.springframework.web.server.i18n.LocaleContextResolver;
+import org.springframework.web.server.session.DefaultWebSessionManager;
+import org.springframework.web.server.session.WebSessionManager;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the sub-requests of a batch through the gateway in process.
+ *
+ * <p>Each sub-request becomes its own in-memory exchange and is handed to the
+ * {@link DispatcherHandler}, so it is matched against the routes and runs their filters
+ * (load shedding, retries, hedging, tracing, service key) exactly like a direct call, minus
+ * the connection, TLS and CORS work. The sub-exchange is marked as authenticated, because
+ * the batch request already passed {@code ApiKeyAuth}.
+ *
+ * <p>Up to {@code gateway.batch.max-concurrency} sub-requests run at a time, and results
+ * are emitted in completion order. A failing sub-request yields an error result and never
+ * fails the batch.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class BatchExecutor {
+
+    /** Path prefix sub-requests must use. */
+    static final String API_PREFIX = "/api/";
+
+    /** The batch endpoint itself; batches cannot nest. */
+    static final String BATCH_PATH = "/api/batch";
+
+    private static final Set<HttpMethod> METHODS = Set.of(
+        HttpMethod.GET, HttpMethod.HEAD, HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+
+    /** Batch request headers not copied to sub-requests. */
+    private static final Set<String> BATCH_ONLY_HEADERS = Set.of(
+        HttpHeaders.CONTENT_LENGTH.toLowerCase(), HttpHeaders.CONTENT_TYPE.toLowerCase(),
+        HttpHeaders.TRANSFER_ENCODING.toLowerCase(), HttpHeaders.ACCEPT.toLowerCase(),
+        HttpHeaders.ACCEPT_ENCODING.toLowerCase(), HttpHeaders.EXPECT.toLowerCase());
+
+    /** Headers a sub-request may not set; identity and framing come from the batch. */
+    private static final Set<String> PROTECTED_HEADERS = Set.of(
+        "x-api-key", HttpHeaders.HOST.toLowerCase(), HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+        HttpHeaders.TRANSFER_ENCODING.toLowerCase(), HttpHeaders.ACCEPT_ENCODING.toLowerCase());
+
+    /** Sub-response headers included in results. */
+    private static final List<String> RESULT_HEADERS = List.of(
+        HttpHeaders.CONTENT_TYPE, HttpHeaders.CACHE_CONTROL, HttpHeaders.ETAG,
+        HttpHeaders.LAST_MODIFIED, HttpHeaders.LOCATION, HttpHeaders.RETRY_AFTER);
+
+    private final ObjectProvider<DispatcherHandler> dispatcherHandler;
+    private final BatchProperties properties;
+    private final ObjectMapper objectMapper;
+    private final WebSessionManager sessionManager = new DefaultWebSessionManager();
+    private final ServerCodecConfigurer codecConfigurer = ServerCodecConfigurer.create();
+    private final LocaleContextResolver localeContextResolver = new AcceptHeaderLocaleContextResolver();
+
+    public BatchExecutor(ObjectProvider<DispatcherHandler> dispatcherHandler, BatchProperties properties,
+                         ObjectMapper objectMapper) {
+        this.dispatcherHandler = dispatcherHandler;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Dispatches the sub-requests of an authenticated batch.
+     *
+     * @param batch the batch exchange
+     * @param items sub-requests
+     * @return one result per sub-request, in completion order
+     */
+    public Flux<BatchResult> execute(ServerWebExchange batch, List<BatchItem> items) {
+        DispatcherHandler handler = dispatcherHandler.getObject();
+        return Flux.range(0, items.size())
+            .flatMap(index -> dispatch(handler, batch, items.get(index), index),
+                Math.max(1, properties.getMaxConcurrency()));
+    }
+
+    private Mono<BatchResult> dispatch(DispatcherHandler handler, ServerWebExchange batch, BatchItem item, int index) {
+        String id = item.id() != null ? item.id() : String.valueOf(index);
+
+        ServerWebExchange exchange;
+        try {
+            exchange = subExchange(batch, item);
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            return Mono.just(BatchResult.error(id, 400, e.getMessage()));
+        }
+        BatchSubResponse response = (BatchSubResponse) exchange.getResponse();
+
+        return Mono.defer(() -> handler.handle(exchange))
+            .timeout(properties.getTimeout())
+            .then(Mono.fromSupplier(() -> result(id, response)))
+            .onErrorResume(error -> Mono.just(errorResult(id, item, error)));
+    }
+
+    /**
+     * Builds the in-memory exchange for a sub-request.
+     */
+    ServerWebExchange subExchange(ServerWebExchange batch, BatchItem item) throws JsonProcessingException {
+        HttpMethod method = HttpMethod.valueOf(item.method() != null ? item.method().toUpperCase() : "GET");
+        if (!METHODS.contains(method)) {
+            throw new IllegalArgumentException("Unsupported method " + method);
+        }
+        String path = item.path();
+        if (path == null || !path.startsWith(API_PREFIX) || path.startsWith(BATCH_PATH)) {
+            throw new IllegalArgumentException("Path must be under " + API_PREFIX + " and not " + BATCH_PATH);
+        }
+
+        ServerHttpRequest batchRequest = batch.getRequest();
+        int queryStart = path.indexOf('?');
+        URI uri = UriComponentsBuilder.fromUri(batchRequest.getURI())
+            .replacePath(queryStart < 0 ? path : path.substring(0, queryStart))
+            .replaceQuery(queryStart < 0 ? null : path.substring(queryStart + 1))
+            .build(true)
+            .toUri();
+
+        HttpHeaders headers = new HttpHeaders();
+        batchRequest.getHeaders().forEach((name, values) -> {
+            if (!BATCH_ONLY_HEADERS.contains(name.toLowerCase())) {
+                headers.put(name, values);
+            }
+        });
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (item.headers() != null) {
+            item.headers().forEach((name, value) -> {
+                if (!PROTECTED_HEADERS.contains(name.toLowerCase())) {
+                    headers.set(name, value);
+                }
+            });
+        }
+
+        byte[] body = new byte[0];
+        if (item.body() != null && !item.body().isNull()) {
+            body = objectMapper.writeValueAsBytes(item.body());
+            if (headers.getContentType() == null) {
+                headers.setContentType(MediaType.APPLICATION_JSON);
+            }
+            headers.setContentLength(body.length);
+        }
+
+        BatchSubRequest request = new BatchSubRequest(batchRequest, method, uri, headers, body);
+        BatchSubResponse response = new BatchSubResponse((int) properties.getMaxResponseSize().toBytes());
+        ServerWebExchange exchange = new DefaultServerWebExchange(
+            request, response, sessionManager, codecConfigurer, localeContextResolver);
+        exchange.getAttributes().put(ApiKeyAuthGatewayFilterFactory.AUTHENTICATED_ATTR, Boolean.TRUE);
+        return exchange;
+    }
+
+    private BatchResult result(String id, BatchSubResponse response) {
+        HttpStatusCode status = response.getStatusCode();
+        HttpHeaders responseHeaders = response.getHeaders();
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : RESULT_HEADERS) {
+            String value = responseHeaders.getFirst(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+
+        return new BatchResult(id, status != null ? status.value() : 200,
+            headers.isEmpty() ? null : headers, body(response.body(), responseHeaders.getContentType()), null);
+    }
+
+    private JsonNode body(byte[] bytes, MediaType contentType) {
+        if (bytes.length == 0) {
+            return null;
+        }
+        if (contentType != null && (contentType.isCompatibleWith(MediaType.APPLICATION_JSON)
+            || contentType.getSubtype().endsWith("+json"))) {
+            try {
+                return objectMapper.readTree(bytes);
+            } catch (Exception e) {
+                // Not valid JSON after all; return it as text
+            }
+        }
+        return TextNode.valueOf(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    private BatchResult errorResult(String id, BatchItem item, Throwable error) {
+        if (error instanceof ResponseStatusException statusError) {
+            return BatchResult.error(id, statusError.getStatusCode().value(), statusError.getReason());
+        }
+        if (error instanceof TimeoutException) {
+            return BatchResult.error(id, 504, "Timed out after " + properties.getTimeout().toMillis() + "ms");
+        }
+        if (error instanceof DataBufferLimitException) {
+            return BatchResult.error(id, 502, "Response larger than " + properties.getMaxResponseSize());
+        }
+        log.warn("Batch sub-request {} {} failed: {}", item.method(), item.path(), error.toString());
+        return BatchResult.error(id, 502, "Upstream request failed");
+    }
+}
@@ -0,0 +1,24 @@
+package com.wis.apigateway.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+
+/**
+ * One sub-request of a batch.
+ *
+ * <pre>
+ * {"id": "profile", "method": "GET", "path": "/api/register/42"}
+ * {"id": "send", "method": "POST", "path": "/api/messages/send", "body": {"text": "hi"}}
+ * </pre>
+ *
+ * @param id client-chosen id echoed in the result; defaults to the item's index
+ * @param method HTTP method, GET when absent
+ * @param path path and optional query, must be under {@code /api/}
+ * @param headers extra request headers
+ * @param body JSON body, sent as {@code application/json}
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public record BatchItem(String id, String method, String path, Map<String, String> headers, JsonNode body) {
+}
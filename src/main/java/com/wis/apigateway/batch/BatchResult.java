@@ -0,0 +1,33 @@
+package com.wis.apigateway.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+
+/**
+ * Outcome of one sub-request, written as one line of the batch response.
+ *
+ * @param id id of the sub-request
+ * @param status HTTP status of the sub-response
+ * @param headers selected sub-response headers
+ * @param body sub-response body: JSON as is, other content as a string
+ * @param error reason when the gateway could not get a response
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchResult(String id, int status, Map<String, String> headers, JsonNode body, String error) {
+
+    /**
+     * Creates a result for a sub-request that produced no backend response.
+     *
+     * @param id sub-request id
+     * @param status status reported for it
+     * @param error reason
+     * @return result
+     */
+    public static BatchResult error(String id, int status, String error) {
+        return new BatchResult(id, status, null, null, error);
+    }
+}
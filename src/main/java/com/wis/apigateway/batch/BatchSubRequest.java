@@ -0,0 +1,65 @@
+package com.wis.apigateway.batch;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.AbstractServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.SslInfo;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import reactor.core.publisher.Flux;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+
+/**
+ * In-memory request for one sub-request of a batch.
+ *
+ * <p>Connection details (remote address, TLS, cookies) are those of the batch request.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+final class BatchSubRequest extends AbstractServerHttpRequest {
+
+    private final ServerHttpRequest batch;
+    private final byte[] body;
+
+    BatchSubRequest(ServerHttpRequest batch, HttpMethod method, URI uri, HttpHeaders headers, byte[] body) {
+        super(method, uri, null, headers);
+        this.batch = batch;
+        this.body = body;
+    }
+
+    @Override
+    protected MultiValueMap<String, HttpCookie> initCookies() {
+        return new LinkedMultiValueMap<>(batch.getCookies());
+    }
+
+    @Override
+    protected SslInfo initSslInfo() {
+        return batch.getSslInfo();
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return batch.getRemoteAddress();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getNativeRequest() {
+        return (T) this;
+    }
+
+    @Override
+    public Flux<DataBuffer> getBody() {
+        if (body.length == 0) {
+            return Flux.empty();
+        }
+        return Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)));
+    }
+}
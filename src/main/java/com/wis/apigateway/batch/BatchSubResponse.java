@@ -0,0 +1,75 @@
+package com.wis.apigateway.batch;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.server.reactive.AbstractServerHttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory response that collects the body of one sub-request of a batch.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+final class BatchSubResponse extends AbstractServerHttpResponse {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final int maxBodySize;
+    private volatile byte[] body = EMPTY;
+
+    BatchSubResponse(int maxBodySize) {
+        super(DefaultDataBufferFactory.sharedInstance);
+        this.maxBodySize = maxBodySize;
+    }
+
+    /**
+     * Returns the body written so far.
+     *
+     * @return body bytes, empty if none
+     */
+    byte[] body() {
+        return body;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getNativeResponse() {
+        return (T) this;
+    }
+
+    @Override
+    protected Mono<Void> writeWithInternal(Publisher<? extends DataBuffer> publisher) {
+        return DataBufferUtils.join(publisher, maxBodySize)
+            .doOnNext(buffer -> {
+                try {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    body = bytes;
+                } finally {
+                    DataBufferUtils.release(buffer);
+                }
+            })
+            .then();
+    }
+
+    @Override
+    protected Mono<Void> writeAndFlushWithInternal(Publisher<? extends Publisher<? extends DataBuffer>> publisher) {
+        return writeWithInternal(Flux.from(publisher).<DataBuffer>concatMap(Flux::from));
+    }
+
+    @Override
+    protected void applyStatusCode() {
+    }
+
+    @Override
+    protected void applyHeaders() {
+    }
+
+    @Override
+    protected void applyCookies() {
+    }
+}
@@ -0,0 +1,123 @@
+package com.wis.apigateway.blocking;
+
+import com.wis.apigateway.config.BlockingExecutionProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs blocking calls on virtual threads and bridges their results back to Reactor.
+ *
+ * <p>Gateway filters run on Netty event loops and must never block them. Calls to
+ * blocking SDKs (Key Vault, telemetry clients, JDBC) are handed to this executor, which
+ * runs each one on its own virtual thread and completes a {@link Mono} with the result.
+ *
+ * <p>Concurrency is bounded in two steps:
+ * <ul>
+ *   <li>At most {@code max-concurrency} calls run at once; others park cheaply on their
+ *       virtual thread until a slot frees up or {@code acquire-timeout} passes</li>
+ *   <li>At most {@code max-queued} calls may wait; beyond that calls are rejected
+ *       immediately with {@link RejectedExecutionException}</li>
+ * </ul>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Component
+public class VirtualThreadBlockingExecutor {
+
+    private final ExecutorService executorService;
+    private final Scheduler scheduler;
+    private final Semaphore permits;
+    private final int maxInFlight;
+    private final long acquireTimeoutNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Timer waitTimer;
+
+    public VirtualThreadBlockingExecutor(BlockingExecutionProperties properties, MeterRegistry meterRegistry) {
+        this.executorService = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("gateway-blocking-", 0).factory());
+        this.scheduler = Schedulers.fromExecutorService(executorService, "gateway-blocking");
+        this.permits = new Semaphore(properties.getMaxConcurrency());
+        this.maxInFlight = properties.getMaxConcurrency() + properties.getMaxQueued();
+        this.acquireTimeoutNanos = properties.getAcquireTimeout().toNanos();
+
+        Gauge.builder("gateway.blocking.in.flight", inFlight, AtomicInteger::get)
+            .description("Blocking calls running or waiting for a slot")
+            .register(meterRegistry);
+        Gauge.builder("gateway.blocking.active", this,
+                executor -> properties.getMaxConcurrency() - executor.permits.availablePermits())
+            .description("Blocking calls currently running")
+            .register(meterRegistry);
+        this.waitTimer = Timer.builder("gateway.blocking.wait")
+            .description("Time blocking calls waited for a slot")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Runs a blocking call on a virtual thread.
+     *
+     * <p>The call starts when the returned Mono is subscribed. A null result completes
+     * the Mono empty.
+     *
+     * @param task the blocking call
+     * @param <T> result type
+     * @return Mono that emits the call's result on the virtual thread
+     */
+    public <T> Mono<T> execute(Callable<T> task) {
+        return Mono.defer(() -> {
+            if (inFlight.incrementAndGet() > maxInFlight) {
+                inFlight.decrementAndGet();
+                return Mono.error(new RejectedExecutionException("Too many blocking calls waiting"));
+            }
+            return Mono.fromCallable(() -> runWithPermit(task))
+                .subscribeOn(scheduler)
+                .doFinally(signal -> inFlight.decrementAndGet());
+        });
+    }
+
+    private <T> T runWithPermit(Callable<T> task) throws Exception {
+        long start = System.nanoTime();
+        if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+            throw new RejectedExecutionException("Timed out waiting for a blocking call slot");
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        try {
+            return task.call();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Returns the Reactor scheduler backed by virtual threads, for callers that need to
+     * compose their own operators. Calls scheduled this way bypass the concurrency limit.
+     *
+     * @return virtual-thread scheduler
+     */
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Stops accepting work and interrupts running calls.
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+        executorService.shutdownNow();
+    }
+}
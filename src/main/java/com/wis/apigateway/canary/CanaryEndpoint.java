@@ -0,0 +1,76 @@
+package com.wis.apigateway.canary;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint for weighted traffic splits.
+ *
+ * <ul>
+ *   <li>{@code GET /actuator/canary} - weights, p99, error rate and samples per version</li>
+ *   <li>{@code POST /actuator/canary/{route}} with {@code {"weights": "blue=90,green=10"}} -
+ *       change weights on all instances</li>
+ * </ul>
+ *
+ * <p>Changing weights needs the service key; see
+ * {@link com.wis.apigateway.filter.ActuatorWriteGuardFilter}.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "canary")
+public class CanaryEndpoint {
+
+    private final CanaryRegistry registry;
+
+    public CanaryEndpoint(CanaryRegistry registry) {
+        this.registry = registry;
+    }
+
+    @ReadOperation
+    public Map<String, Object> splits() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        registry.routes().forEach((routeId, route) -> result.put(routeId, describe(route)));
+        return result;
+    }
+
+    @WriteOperation
+    public Map<String, Object> setWeights(@Selector String route, String weights) {
+        Map<String, Integer> parsed = new LinkedHashMap<>();
+        try {
+            for (String entry : weights.split(",")) {
+                String[] parts = entry.split("=", 2);
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Weights must look like blue=90,green=10");
+                }
+                parsed.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+            }
+            registry.setWeights(route, parsed);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+        return describe(registry.get(route));
+    }
+
+    private Map<String, Object> describe(CanaryRoute route) {
+        Map<String, Object> versions = new LinkedHashMap<>();
+        for (int i = 0; i < route.versionCount(); i++) {
+            Map<String, Object> version = new LinkedHashMap<>();
+            version.put("weight", route.weight(i));
+            version.put("baseline", i == route.baseline());
+            version.put("samples", route.samples(i));
+            version.put("p99Ms", route.p99Nanos(i) / 1_000_000.0);
+            version.put("errorRate", route.errorRate(i));
+            versions.put(route.version(i), version);
+        }
+        return versions;
+    }
+}
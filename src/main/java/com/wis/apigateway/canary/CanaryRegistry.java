@@ -0,0 +1,273 @@
+package com.wis.apigateway.canary;
+
+import com.wis.apigateway.cluster.InvalidationBus;
+import com.wis.apigateway.config.CanaryProperties;
+import com.wis.apigateway.metrics.LatencyHistogramRegistry;
+import com.wis.apigateway.metrics.RollingLatencyHistogram;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Weighted traffic splits of all canary routes, with automatic rollback.
+ *
+ * <p>Every {@code evaluation-interval} each version carrying traffic is compared with its
+ * route's baseline over the latency window. Once both have {@code min-samples} requests, a
+ * version whose p99 exceeds {@code max-p99-ratio} times the baseline's, or whose error
+ * rate exceeds the baseline's by more than {@code max-error-rate-increase}, is rolled
+ * back: the baseline gets all traffic.
+ *
+ * <p>Weight changes - from {@code /actuator/canary} or a rollback - are published on the
+ * {@link InvalidationBus}, so all instances split traffic the same way. They last until
+ * restart; the configured weights apply again afterwards.
+ *
+ * <p>Metrics: {@code gateway.canary.requests} (tags {@code route}, {@code version},
+ * {@code outcome}), {@code gateway.canary.weight} and {@code gateway.canary.rollbacks}.
+ * Latency percentiles per version are published as {@code gateway.upstream.latency.p99}
+ * with {@code name=route@version}.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class CanaryRegistry {
+
+    /** Invalidation namespace carrying weight changes ({@code route|v1=90,v2=10}). */
+    static final String NAMESPACE = "canary-weights";
+
+    private final CanaryProperties properties;
+    private final InvalidationBus bus;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CanaryRoute> routes;
+
+    private Disposable evaluation;
+
+    public CanaryRegistry(CanaryProperties properties, LatencyHistogramRegistry latencyHistograms,
+                          InvalidationBus bus, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bus = bus;
+        this.meterRegistry = meterRegistry;
+        Map<String, CanaryRoute> configured = new LinkedHashMap<>();
+        properties.getRoutes().forEach((routeId, route) ->
+            configured.put(routeId, create(routeId, route, latencyHistograms)));
+        this.routes = Collections.unmodifiableMap(configured);
+        bus.subscribe(NAMESPACE, this::applyWeights);
+    }
+
+    /**
+     * Starts comparing canaries with their baselines.
+     */
+    @PostConstruct
+    public void start() {
+        if (routes.isEmpty() || !properties.isAutoRollback()) {
+            return;
+        }
+        long intervalMillis = Math.max(1, properties.getEvaluationInterval().toMillis());
+        evaluation = Schedulers.parallel().schedulePeriodically(
+            this::evaluate, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the evaluation.
+     */
+    @PreDestroy
+    public void stop() {
+        if (evaluation != null) {
+            evaluation.dispose();
+        }
+    }
+
+    /**
+     * @param routeId route id
+     * @return the route's split, or null if the route is not split
+     */
+    public CanaryRoute get(String routeId) {
+        return routes.get(routeId);
+    }
+
+    /**
+     * @return all split routes by id
+     */
+    public Map<String, CanaryRoute> routes() {
+        return routes;
+    }
+
+    /**
+     * Changes weights of a route on all instances. Versions not mentioned keep their weight.
+     *
+     * @param routeId route id
+     * @param weights new weights by version name
+     * @throws IllegalArgumentException for unknown routes or versions, or no positive weight
+     */
+    public void setWeights(String routeId, Map<String, Integer> weights) {
+        CanaryRoute route = routes.get(routeId);
+        if (route == null) {
+            throw new IllegalArgumentException("Route " + routeId + " is not split");
+        }
+        int[] updated = route.weights();
+        weights.forEach((version, weight) -> {
+            int index = route.indexOf(version);
+            if (index < 0) {
+                throw new IllegalArgumentException("Route " + routeId + " has no version " + version);
+            }
+            updated[index] = weight;
+        });
+        new TrafficSplit(updated); // rejects negative or all-zero weights before publishing
+        bus.publish(NAMESPACE, encode(route, updated));
+    }
+
+    /**
+     * Compares every canary with its baseline and rolls back those doing worse.
+     */
+    void evaluate() {
+        for (CanaryRoute route : routes.values()) {
+            int baseline = route.baseline();
+            if (route.samples(baseline) < properties.getMinSamples()) {
+                continue;
+            }
+            for (int version = 0; version < route.versionCount(); version++) {
+                if (version == baseline || route.weight(version) == 0
+                    || route.samples(version) < properties.getMinSamples()) {
+                    continue;
+                }
+                String reason = regression(route, version, baseline);
+                if (reason != null) {
+                    rollback(route, version, reason);
+                    break;
+                }
+            }
+        }
+    }
+
+    private String regression(CanaryRoute route, int version, int baseline) {
+        long canaryP99 = route.p99Nanos(version);
+        long baselineP99 = route.p99Nanos(baseline);
+        if (canaryP99 > baselineP99 * properties.getMaxP99Ratio()) {
+            return String.format("p99 %dms vs %dms", canaryP99 / 1_000_000, baselineP99 / 1_000_000);
+        }
+        double canaryErrors = route.errorRate(version);
+        double baselineErrors = route.errorRate(baseline);
+        if (canaryErrors > baselineErrors + properties.getMaxErrorRateIncrease()) {
+            return String.format("error rate %.2f%% vs %.2f%%", canaryErrors * 100, baselineErrors * 100);
+        }
+        return null;
+    }
+
+    private void rollback(CanaryRoute route, int version, String reason) {
+        log.warn("Rolling back {} of route {}: {} (baseline {})",
+            route.version(version), route.routeId(), reason, route.version(route.baseline()));
+        Counter.builder("gateway.canary.rollbacks")
+            .description("Automatic canary rollbacks")
+            .tag("route", route.routeId())
+            .tag("version", route.version(version))
+            .register(meterRegistry)
+            .increment();
+        int[] weights = new int[route.versionCount()];
+        weights[route.baseline()] = 100;
+        bus.publish(NAMESPACE, encode(route, weights));
+    }
+
+    private void applyWeights(String message) {
+        int separator = message.indexOf('|');
+        CanaryRoute route = separator < 0 ? null : routes.get(message.substring(0, separator));
+        if (route == null) {
+            return;
+        }
+        int[] weights = route.weights();
+        for (String entry : message.substring(separator + 1).split(",")) {
+            int equals = entry.indexOf('=');
+            int index = equals < 0 ? -1 : route.indexOf(entry.substring(0, equals));
+            if (index >= 0) {
+                weights[index] = Integer.parseInt(entry.substring(equals + 1));
+            }
+        }
+        route.setWeights(weights);
+        log.info("Traffic split of route {} is now {}", route.routeId(), describe(route));
+    }
+
+    private static String encode(CanaryRoute route, int[] weights) {
+        StringJoiner joiner = new StringJoiner(",", route.routeId() + "|", "");
+        for (int i = 0; i < weights.length; i++) {
+            joiner.add(route.version(i) + "=" + weights[i]);
+        }
+        return joiner.toString();
+    }
+
+    private static String describe(CanaryRoute route) {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (int i = 0; i < route.versionCount(); i++) {
+            joiner.add(route.version(i) + "=" + route.weight(i));
+        }
+        return joiner.toString();
+    }
+
+    private CanaryRoute create(String routeId, CanaryProperties.Route config, LatencyHistogramRegistry histograms) {
+        int count = config.getVersions().size();
+        if (count == 0) {
+            throw new IllegalStateException("Canary route " + routeId + " has no versions");
+        }
+        String[] names = new String[count];
+        URI[] uris = new URI[count];
+        int[] weights = new int[count];
+        RollingLatencyHistogram[] latencies = new RollingLatencyHistogram[count];
+        RollingLatencyHistogram[] errors = new RollingLatencyHistogram[count];
+        Counter[] succeeded = new Counter[count];
+        Counter[] failed = new Counter[count];
+        int baseline = -1;
+        int i = 0;
+        for (Map.Entry<String, CanaryProperties.Version> entry : config.getVersions().entrySet()) {
+            String name = entry.getKey();
+            names[i] = name;
+            uris[i] = entry.getValue().getUri();
+            weights[i] = entry.getValue().getWeight();
+            if (uris[i] == null) {
+                throw new IllegalStateException("Canary version " + routeId + "@" + name + " has no uri");
+            }
+            if (name.equals(config.getBaseline())) {
+                baseline = i;
+            }
+            latencies[i] = histograms.get(routeId + "@" + name);
+            errors[i] = histograms.get(routeId + "@" + name + ":errors");
+            succeeded[i] = requests(routeId, name, "success");
+            failed[i] = requests(routeId, name, "error");
+            i++;
+        }
+        if (baseline < 0) {
+            throw new IllegalStateException("Canary route " + routeId + " has no baseline among its versions");
+        }
+        CanaryRoute route = new CanaryRoute(routeId, names, uris, baseline, weights,
+            latencies, errors, succeeded, failed);
+        for (int version = 0; version < count; version++) {
+            int index = version;
+            Gauge.builder("gateway.canary.weight", route, r -> r.weight(index))
+                .description("Current weight of a backend version")
+                .tag("route", routeId)
+                .tag("version", names[version])
+                .register(meterRegistry);
+        }
+        return route;
+    }
+
+    private Counter requests(String routeId, String version, String outcome) {
+        return Counter.builder("gateway.canary.requests")
+            .description("Requests per backend version")
+            .tag("route", routeId)
+            .tag("version", version)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
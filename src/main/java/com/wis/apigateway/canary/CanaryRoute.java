@@ -0,0 +1,168 @@
+package com.wis.apigateway.canary;
+
+import com.wis.apigateway.metrics.RollingLatencyHistogram;
+import io.micrometer.core.instrument.Counter;
+import org.springframework.cloud.gateway.route.Route;
+
+import java.net.URI;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Split state of one route: its versions, current weights and per-version statistics.
+ *
+ * <p>Weights are swapped as a whole ({@link TrafficSplit}), so a request always sees a
+ * consistent set. For each version the route is copied once with the version's URI; the
+ * {@code Canary} filter puts that copy on the exchange before the request URL is built, so
+ * retries, hedging and spooling all target the chosen version.
+ *
+ * <p>All responses feed a rolling latency histogram per version; 5xx responses and
+ * failures also feed a second one, whose sample count over the same window gives the
+ * error rate.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public final class CanaryRoute {
+
+    private final String routeId;
+    private final String[] versions;
+    private final URI[] uris;
+    private final int baseline;
+    private final RollingLatencyHistogram[] latencies;
+    private final RollingLatencyHistogram[] errors;
+    private final Counter[] succeeded;
+    private final Counter[] failed;
+
+    private volatile TrafficSplit split;
+    private volatile RouteCopies copies;
+
+    CanaryRoute(String routeId, String[] versions, URI[] uris, int baseline, int[] weights,
+                RollingLatencyHistogram[] latencies, RollingLatencyHistogram[] errors,
+                Counter[] succeeded, Counter[] failed) {
+        this.routeId = routeId;
+        this.versions = versions;
+        this.uris = uris;
+        this.baseline = baseline;
+        this.split = new TrafficSplit(weights);
+        this.latencies = latencies;
+        this.errors = errors;
+        this.succeeded = succeeded;
+        this.failed = failed;
+    }
+
+    /**
+     * Picks the version for a request.
+     *
+     * @param apiKey the caller's API key; requests without one are spread randomly
+     * @return version index
+     */
+    public int select(String apiKey) {
+        long hash = apiKey != null && !apiKey.isEmpty()
+            ? TrafficSplit.hash(apiKey)
+            : ThreadLocalRandom.current().nextLong();
+        return split.select(hash);
+    }
+
+    /**
+     * Returns the route copy targeting a version, built once per matched route instance.
+     *
+     * @param matched the route the request matched
+     * @param version version index
+     * @return route with the version's URI
+     */
+    public Route route(Route matched, int version) {
+        RouteCopies current = copies;
+        if (current == null || current.source() != matched) {
+            Route[] routes = new Route[uris.length];
+            for (int i = 0; i < uris.length; i++) {
+                routes[i] = Route.async()
+                    .id(matched.getId())
+                    .uri(uris[i])
+                    .order(matched.getOrder())
+                    .asyncPredicate(matched.getPredicate())
+                    .replaceFilters(matched.getFilters())
+                    .metadata(matched.getMetadata())
+                    .build();
+            }
+            current = new RouteCopies(matched, routes);
+            copies = current;
+        }
+        return current.routes()[version];
+    }
+
+    /**
+     * Records the outcome of a request.
+     *
+     * @param version version index
+     * @param nanos latency
+     * @param error whether the upstream failed or answered 5xx
+     */
+    public void record(int version, long nanos, boolean error) {
+        latencies[version].record(nanos);
+        if (error) {
+            errors[version].record(nanos);
+            failed[version].increment();
+        } else {
+            succeeded[version].increment();
+        }
+    }
+
+    public String routeId() {
+        return routeId;
+    }
+
+    public int versionCount() {
+        return versions.length;
+    }
+
+    public String version(int index) {
+        return versions[index];
+    }
+
+    public int baseline() {
+        return baseline;
+    }
+
+    public int weight(int version) {
+        return split.weight(version);
+    }
+
+    int[] weights() {
+        return split.weights();
+    }
+
+    void setWeights(int[] weights) {
+        split = new TrafficSplit(weights);
+    }
+
+    int indexOf(String version) {
+        for (int i = 0; i < versions.length; i++) {
+            if (versions[i].equals(version)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return requests of a version in the current latency window
+     */
+    public long samples(int version) {
+        return latencies[version].count();
+    }
+
+    public long p99Nanos(int version) {
+        return latencies[version].percentileNanos(99.0);
+    }
+
+    /**
+     * @return share of failed requests of a version in the current latency window
+     */
+    public double errorRate(int version) {
+        long total = latencies[version].count();
+        return total == 0 ? 0.0 : (double) errors[version].count() / total;
+    }
+
+    private record RouteCopies(Route source, Route[] routes) {
+    }
+}
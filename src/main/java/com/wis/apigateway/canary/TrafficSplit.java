@@ -0,0 +1,85 @@
+package com.wis.apigateway.canary;
+
+import java.util.Arrays;
+
+/**
+ * Immutable assignment of hash buckets to versions.
+ *
+ * <p>The hash space is cut into {@value #BUCKETS} buckets and each version owns one
+ * contiguous range sized by its weight, in configuration order. Changing weights only
+ * moves the keys near a range boundary, so most API keys stay on their version.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+final class TrafficSplit {
+
+    static final int BUCKETS = 10_000;
+
+    private final int[] weights;
+    private final int[] upperBounds;
+
+    TrafficSplit(int[] weights) {
+        long total = 0;
+        for (int weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weights must not be negative");
+            }
+            total += weight;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("At least one version needs a positive weight");
+        }
+        this.weights = weights.clone();
+        this.upperBounds = new int[weights.length];
+        long cumulative = 0;
+        for (int i = 0; i < weights.length; i++) {
+            cumulative += weights[i];
+            upperBounds[i] = (int) (cumulative * BUCKETS / total);
+        }
+    }
+
+    /**
+     * @param hash hash of the API key
+     * @return index of the version owning the hash
+     */
+    int select(long hash) {
+        int bucket = (int) Long.remainderUnsigned(hash, BUCKETS);
+        for (int i = 0; i < upperBounds.length; i++) {
+            if (bucket < upperBounds[i]) {
+                return i;
+            }
+        }
+        return upperBounds.length - 1;
+    }
+
+    int weight(int version) {
+        return weights[version];
+    }
+
+    int[] weights() {
+        return weights.clone();
+    }
+
+    /**
+     * Stable 64-bit hash of an API key (FNV-1a, then a SplitMix64 finalizer for
+     * uniform buckets).
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 30;
+        hash *= 0xbf58476d1ce4e5b9L;
+        hash ^= hash >>> 27;
+        hash *= 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(weights);
+    }
+}
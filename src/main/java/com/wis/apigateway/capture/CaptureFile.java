@@ -0,0 +1,73 @@
+package com.wis.apigateway.capture;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Contents of a capture file written by {@link MappedCaptureWriter}.
+ *
+ * <p>Layout:
+ * <pre>
+ * int magic "WCAP" | int version | long startEpochMillis | (int length | record)*
+ * </pre>
+ * A record's length is written after the record itself, so a file cut short by a crash
+ * ends at the first zero or incomplete length and everything before it is readable.
+ *
+ * @param startEpochMillis wall-clock time the capture started
+ * @param exchanges recorded exchanges ordered by arrival
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public record CaptureFile(long startEpochMillis, List<CapturedExchange> exchanges) {
+
+    static final int MAGIC = 0x57434150;
+    static final int VERSION = 1;
+    static final int HEADER = 16;
+    static final int RECORD_HEADER = 4;
+
+    /**
+     * Reads a capture file.
+     *
+     * @param file capture file
+     * @return its exchanges, ordered by arrival time
+     * @throws IOException if the file cannot be read or is not a capture file
+     */
+    public static CaptureFile read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER) {
+                throw new IOException(file + " is not a capture file");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException(file + " is not a version " + VERSION + " capture file");
+            }
+            long startEpochMillis = buffer.getLong();
+
+            List<CapturedExchange> exchanges = new ArrayList<>();
+            while (buffer.remaining() >= RECORD_HEADER) {
+                int length = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    break;
+                }
+                ByteBuffer record = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                try {
+                    exchanges.add(CapturedExchange.decode(record));
+                } catch (BufferUnderflowException e) {
+                    break;
+                }
+            }
+            // Records are written when responses complete; replay needs arrival order
+            exchanges.sort(Comparator.comparingLong(CapturedExchange::offsetNanos));
+            return new CaptureFile(startEpochMillis, List.copyOf(exchanges));
+        }
+    }
+}
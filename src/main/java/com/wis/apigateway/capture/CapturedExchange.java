@@ -0,0 +1,127 @@
+package com.wis.apigateway.capture;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One recorded request and the outline of its response.
+ *
+ * <p>Encoded as
+ * <pre>
+ * long offsetNanos | long latencyNanos | long responseBytes | short status |
+ * string method | string uri | string routeId | short headerCount | (string name | string value)* |
+ * int bodyLength | int capturedLength | capturedLength bytes
+ * </pre>
+ * where each string is an unsigned short length followed by UTF-8 bytes, cut to
+ * {@value #MAX_STRING_BYTES} bytes.
+ *
+ * @param offsetNanos arrival time, relative to the start of the capture
+ * @param method HTTP method
+ * @param uri path and query
+ * @param routeId id of the matched route, empty if none matched
+ * @param headers request headers, API key masked
+ * @param bodyLength size of the request body as received
+ * @param body first bytes of the request body, at most {@code max-body-size}
+ * @param status response status, 0 if the client went away first
+ * @param responseBytes response body size
+ * @param latencyNanos time from arrival to the end of the response
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public record CapturedExchange(
+    long offsetNanos,
+    String method,
+    String uri,
+    String routeId,
+    List<Header> headers,
+    int bodyLength,
+    byte[] body,
+    int status,
+    long responseBytes,
+    long latencyNanos) {
+
+    static final int MAX_STRING_BYTES = 8192;
+
+    /**
+     * One request header value.
+     */
+    public record Header(String name, String value) {
+    }
+
+    /**
+     * @return size of {@link #encode} output in bytes
+     */
+    int encodedSize() {
+        int size = 8 + 8 + 8 + 2 + stringSize(method) + stringSize(uri) + stringSize(routeId) + 2 + 4 + 4 + body.length;
+        for (Header header : headers) {
+            size += stringSize(header.name()) + stringSize(header.value());
+        }
+        return size;
+    }
+
+    /**
+     * Writes this exchange at the buffer's position.
+     */
+    void encode(ByteBuffer buffer) {
+        buffer.putLong(offsetNanos);
+        buffer.putLong(latencyNanos);
+        buffer.putLong(responseBytes);
+        buffer.putShort((short) status);
+        putString(buffer, method);
+        putString(buffer, uri);
+        putString(buffer, routeId);
+        int count = Math.min(headers.size(), 0xFFFF);
+        buffer.putShort((short) count);
+        for (int i = 0; i < count; i++) {
+            putString(buffer, headers.get(i).name());
+            putString(buffer, headers.get(i).value());
+        }
+        buffer.putInt(bodyLength);
+        buffer.putInt(body.length);
+        buffer.put(body);
+    }
+
+    /**
+     * Reads an exchange written by {@link #encode}.
+     *
+     * @throws java.nio.BufferUnderflowException if the record is truncated
+     */
+    static CapturedExchange decode(ByteBuffer buffer) {
+        long offsetNanos = buffer.getLong();
+        long latencyNanos = buffer.getLong();
+        long responseBytes = buffer.getLong();
+        int status = Short.toUnsignedInt(buffer.getShort());
+        String method = getString(buffer);
+        String uri = getString(buffer);
+        String routeId = getString(buffer);
+        int count = Short.toUnsignedInt(buffer.getShort());
+        List<Header> headers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            headers.add(new Header(getString(buffer), getString(buffer)));
+        }
+        int bodyLength = buffer.getInt();
+        byte[] body = new byte[buffer.getInt()];
+        buffer.get(body);
+        return new CapturedExchange(offsetNanos, method, uri, routeId, List.copyOf(headers),
+            bodyLength, body, status, responseBytes, latencyNanos);
+    }
+
+    private static int stringSize(String value) {
+        return 2 + Math.min(value.getBytes(StandardCharsets.UTF_8).length, MAX_STRING_BYTES);
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, MAX_STRING_BYTES);
+        buffer.putShort((short) length);
+        buffer.put(bytes, 0, length);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
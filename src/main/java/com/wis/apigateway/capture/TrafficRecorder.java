@@ -0,0 +1,152 @@
+package com.wis.apigateway.capture;
+
+import com.wis.apigateway.config.CaptureProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Records a sample of live traffic to a capture file for offline replay.
+ *
+ * <p>When {@code gateway.capture.enabled} is set, each gateway start writes
+ * {@code traffic-<epoch-millis>.wcap} in the capture directory through a
+ * {@link MappedCaptureWriter}. Requests are sampled at {@code sample-rate}; unsampled
+ * requests cost one random number. Recording stops, and {@code gateway.capture.dropped}
+ * starts counting, once the file reaches {@code max-file-size}.
+ *
+ * <p>Capture files hold request bodies and may hold personal data; API keys are masked
+ * and {@code excluded-headers} are left out, nothing else is redacted.
+ *
+ * <p>Metrics: {@code gateway.capture.recorded}, {@code gateway.capture.dropped} and
+ * {@code gateway.capture.bytes}.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class TrafficRecorder {
+
+    private final CaptureProperties properties;
+    private final Counter recorded;
+    private final Counter dropped;
+
+    private volatile MappedCaptureWriter writer;
+    private volatile boolean full;
+    private long startNanos;
+    private Path file;
+
+    public TrafficRecorder(CaptureProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.recorded = Counter.builder("gateway.capture.recorded")
+            .description("Requests written to the capture file")
+            .register(meterRegistry);
+        this.dropped = Counter.builder("gateway.capture.dropped")
+            .description("Sampled requests not written because the capture file is full or failed")
+            .register(meterRegistry);
+        Gauge.builder("gateway.capture.bytes", this, recorder -> {
+                MappedCaptureWriter current = recorder.writer;
+                return current != null ? current.size() : 0;
+            })
+            .description("Size of the capture file")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Creates the capture file.
+     *
+     * @throws IOException if the capture directory or file cannot be created
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long startEpochMillis = System.currentTimeMillis();
+        Path directory = Path.of(properties.getDirectory());
+        Files.createDirectories(directory);
+        file = directory.resolve("traffic-" + startEpochMillis + ".wcap");
+        startNanos = System.nanoTime();
+        writer = MappedCaptureWriter.create(file,
+            (int) Math.min(Integer.MAX_VALUE, properties.getRegionSize().toBytes()),
+            properties.getMaxFileSize().toBytes(),
+            startEpochMillis);
+        log.info("Capturing {}% of requests to {}", properties.getSampleRate() * 100, file.toAbsolutePath());
+    }
+
+    /**
+     * Closes the capture file.
+     */
+    @PreDestroy
+    public void stop() {
+        MappedCaptureWriter current = writer;
+        writer = null;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.close();
+            log.info("Capture file {} closed at {} bytes", file, current.size());
+        } catch (IOException e) {
+            log.warn("Could not close capture file {}: {}", file, e.toString());
+        }
+    }
+
+    /**
+     * Decides whether the current request is recorded.
+     *
+     * @return true for a sampled request while the capture file has room
+     */
+    public boolean sample() {
+        return writer != null && !full && ThreadLocalRandom.current().nextDouble() < properties.getSampleRate();
+    }
+
+    /**
+     * @param nanoTime a {@link System#nanoTime()} reading
+     * @return the reading as an offset from the start of the capture
+     */
+    public long offsetNanos(long nanoTime) {
+        return nanoTime - startNanos;
+    }
+
+    /**
+     * @return request body bytes recorded per request
+     */
+    public int maxBodyBytes() {
+        return (int) Math.min(Integer.MAX_VALUE, properties.getMaxBodySize().toBytes());
+    }
+
+    /**
+     * Appends a sampled exchange to the capture file.
+     *
+     * @param exchange exchange to record
+     */
+    public void record(CapturedExchange exchange) {
+        MappedCaptureWriter current = writer;
+        if (current == null) {
+            return;
+        }
+        try {
+            if (current.append(exchange)) {
+                recorded.increment();
+                return;
+            }
+            if (!full) {
+                full = true;
+                log.warn("Capture file {} reached {}; recording stopped", file, properties.getMaxFileSize());
+            }
+        } catch (IOException e) {
+            log.warn("Could not record request to {}: {}", file, e.toString());
+        }
+        dropped.increment();
+    }
+}
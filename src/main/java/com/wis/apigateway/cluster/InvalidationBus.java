@@ -0,0 +1,192 @@
+package com.wis.apigateway.cluster;
+
+import com.wis.apigateway.config.InvalidationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Cluster-wide invalidation bus.
+ *
+ * <p>Caches and registries inside the gateway subscribe to a namespace and drop the keys
+ * published to it. {@link #publish} applies the invalidation locally right away and sends
+ * it to the other instances through the configured {@link InvalidationTransport} (Redis
+ * pub/sub or UDP gossip), where it is applied as soon as it arrives - typically within a
+ * few milliseconds. Messages are small binary records ({@link InvalidationMessage});
+ * echoes of this instance's own messages are ignored.
+ *
+ * <p>Listeners run on the transport's receiving thread and must not block.
+ *
+ * <p>Metrics: {@code gateway.invalidation.published}, {@code gateway.invalidation.received},
+ * {@code gateway.invalidation.malformed} and {@code gateway.invalidation.lag} (publish to
+ * apply, across instances, so it includes clock skew).
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class InvalidationBus {
+
+    private final InvalidationTransport transport;
+    private final int ttl;
+    private final long nodeId = ThreadLocalRandom.current().nextLong();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+    private final Counter published;
+    private final Counter received;
+    private final Counter malformed;
+    private final Timer lag;
+
+    @Autowired
+    public InvalidationBus(InvalidationProperties properties,
+                           ObjectProvider<ReactiveRedisConnectionFactory> redisConnectionFactory,
+                           MeterRegistry meterRegistry) {
+        this(transport(properties, redisConnectionFactory), properties.getUdp().getTtl(), meterRegistry);
+    }
+
+    InvalidationBus(InvalidationTransport transport, int ttl, MeterRegistry meterRegistry) {
+        this.transport = transport;
+        this.ttl = ttl;
+        this.published = Counter.builder("gateway.invalidation.published")
+            .description("Invalidations published by this instance")
+            .register(meterRegistry);
+        this.received = Counter.builder("gateway.invalidation.received")
+            .description("Invalidations received from other instances")
+            .register(meterRegistry);
+        this.malformed = Counter.builder("gateway.invalidation.malformed")
+            .description("Invalidation messages that could not be decoded")
+            .register(meterRegistry);
+        this.lag = Timer.builder("gateway.invalidation.lag")
+            .description("Time from publishing an invalidation to applying it on this instance")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Starts receiving invalidations from the other instances.
+     *
+     * @throws IOException if the transport cannot be opened
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        if (transport == null) {
+            log.info("Invalidation bus is local to this instance");
+            return;
+        }
+        transport.start(this::receive);
+    }
+
+    /**
+     * Stops the transport.
+     */
+    @PreDestroy
+    public void stop() {
+        if (transport != null) {
+            transport.close();
+        }
+    }
+
+    /**
+     * Registers a listener for a namespace.
+     *
+     * @param namespace namespace, e.g. {@code api-key}
+     * @param listener called with each invalidated key; must not block
+     */
+    public void subscribe(String namespace, Consumer<String> listener) {
+        listeners.computeIfAbsent(namespace, ns -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Invalidates a key on this instance and on all others.
+     *
+     * @param namespace namespace of the key
+     * @param key key to drop (at most 1KB of UTF-8)
+     * @throws IllegalArgumentException if namespace or key are too long
+     */
+    public void publish(String namespace, String key) {
+        InvalidationMessage message = new InvalidationMessage(nodeId, sequence.incrementAndGet(),
+            System.currentTimeMillis(), ttl, namespace, key);
+        byte[] encoded = message.encode();
+        deliver(namespace, key);
+        published.increment();
+        if (transport != null) {
+            transport.send(encoded);
+        }
+    }
+
+    /**
+     * @return random id of this instance, carried in its messages
+     */
+    public long nodeId() {
+        return nodeId;
+    }
+
+    void receive(byte[] bytes) {
+        InvalidationMessage message;
+        try {
+            message = InvalidationMessage.decode(bytes);
+        } catch (IllegalArgumentException e) {
+            malformed.increment();
+            return;
+        }
+        if (message.origin() == nodeId) {
+            return;
+        }
+        received.increment();
+        lag.record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - message.timestamp())));
+        deliver(message.namespace(), message.key());
+    }
+
+    private void deliver(String namespace, String key) {
+        List<Consumer<String>> subscribers = listeners.get(namespace);
+        if (subscribers == null) {
+            return;
+        }
+        for (Consumer<String> listener : subscribers) {
+            try {
+                listener.accept(key);
+            } catch (RuntimeException e) {
+                log.warn("Invalidation listener for {} failed: {}", namespace, e.toString());
+            }
+        }
+    }
+
+    private static InvalidationTransport transport(InvalidationProperties properties,
+                                                   ObjectProvider<ReactiveRedisConnectionFactory> redis) {
+        return switch (properties.getTransport()) {
+            case LOCAL -> null;
+            case REDIS -> new RedisInvalidationTransport(redis.getObject(), properties.getChannel());
+            case UDP -> udpTransport(properties.getUdp());
+        };
+    }
+
+    private static InvalidationTransport udpTransport(InvalidationProperties.Udp udp) {
+        if (udp.getBindAddress() == null || udp.getBindAddress().isBlank()) {
+            throw new IllegalStateException("gateway.invalidation.udp.bind-address must name a private interface");
+        }
+        InetSocketAddress bindAddress = new InetSocketAddress(udp.getBindAddress(), udp.getPort());
+        if (bindAddress.isUnresolved() || bindAddress.getAddress().isAnyLocalAddress()) {
+            throw new IllegalStateException("gateway.invalidation.udp.bind-address must not be the wildcard address");
+        }
+        return new UdpGossipTransport(bindAddress, UdpGossipTransport.parsePeers(udp.getPeers()),
+            udp.getFanout(), udp.getSecret(), udp.getMaxAge());
+    }
+}
@@ -0,0 +1,170 @@
+package com.wis.apigateway.cluster;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * An invalidation sent between gateway instances: drop {@code key} in {@code namespace}.
+ *
+ * <p>Binary layout (big-endian), small enough for a single datagram:
+ * <pre>
+ * magic(1) version(1) ttl(1) reserved(1) origin(8) sequence(8) timestamp(8)
+ * namespaceLength(1) namespace(UTF-8) keyLength(2) key(UTF-8)
+ * </pre>
+ * The fixed header lets transports read the id and TTL without decoding the rest.
+ * Transports on untrusted networks append an HMAC-SHA256 of the message with the TTL byte
+ * zeroed ({@link #sign}), so forwarding peers can lower the TTL without re-signing.
+ *
+ * @param origin id of the publishing instance
+ * @param sequence per-origin sequence number
+ * @param timestamp publish time, epoch millis
+ * @param ttl remaining forwarding hops (gossip only)
+ * @param namespace what the key belongs to, e.g. {@code api-key}
+ * @param key entry to drop
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public record InvalidationMessage(long origin, long sequence, long timestamp, int ttl, String namespace, String key) {
+
+    static final int MAX_NAMESPACE_BYTES = 255;
+    static final int MAX_KEY_BYTES = 1024;
+
+    private static final byte MAGIC = 'I';
+    private static final byte VERSION = 1;
+    private static final int TTL_OFFSET = 2;
+    private static final int ORIGIN_OFFSET = 4;
+    private static final int SEQUENCE_OFFSET = 12;
+    private static final int HEADER_BYTES = 28;
+    private static final int MAC_BYTES = 32;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    /**
+     * @return the encoded message
+     * @throws IllegalArgumentException if namespace or key are too long
+     */
+    public byte[] encode() {
+        byte[] ns = namespace.getBytes(StandardCharsets.UTF_8);
+        byte[] k = key.getBytes(StandardCharsets.UTF_8);
+        if (ns.length == 0 || ns.length > MAX_NAMESPACE_BYTES || k.length > MAX_KEY_BYTES) {
+            throw new IllegalArgumentException("Invalidation namespace or key too long");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 1 + ns.length + 2 + k.length);
+        buffer.put(MAGIC).put(VERSION).put((byte) ttl).put((byte) 0)
+            .putLong(origin).putLong(sequence).putLong(timestamp)
+            .put((byte) ns.length).put(ns)
+            .putShort((short) k.length).put(k);
+        return buffer.array();
+    }
+
+    /**
+     * @return the decoded message
+     * @throws IllegalArgumentException if the bytes are not a valid message
+     */
+    public static InvalidationMessage decode(byte[] bytes) {
+        if (!isValid(bytes)) {
+            throw new IllegalArgumentException("Not an invalidation message");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int ttl = buffer.get(TTL_OFFSET);
+        long origin = buffer.getLong(ORIGIN_OFFSET);
+        long sequence = buffer.getLong(SEQUENCE_OFFSET);
+        long timestamp = buffer.getLong(SEQUENCE_OFFSET + 8);
+        buffer.position(HEADER_BYTES);
+        int nsLength = Byte.toUnsignedInt(buffer.get());
+        if (nsLength == 0 || buffer.remaining() < nsLength + 2) {
+            throw new IllegalArgumentException("Truncated invalidation message");
+        }
+        String namespace = new String(bytes, buffer.position(), nsLength, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + nsLength);
+        int keyLength = Short.toUnsignedInt(buffer.getShort());
+        if (keyLength > MAX_KEY_BYTES || buffer.remaining() != keyLength) {
+            throw new IllegalArgumentException("Truncated invalidation message");
+        }
+        String key = new String(bytes, buffer.position(), keyLength, StandardCharsets.UTF_8);
+        return new InvalidationMessage(origin, sequence, timestamp, ttl, namespace, key);
+    }
+
+    /**
+     * @return whether the bytes start with a supported header
+     */
+    static boolean isValid(byte[] bytes) {
+        return bytes.length > HEADER_BYTES && bytes[0] == MAGIC && bytes[1] == VERSION;
+    }
+
+    /**
+     * @return id identifying the message across forwards (origin and sequence)
+     */
+    static long id(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return buffer.getLong(ORIGIN_OFFSET) ^ (buffer.getLong(SEQUENCE_OFFSET) * 0x9E3779B97F4A7C15L);
+    }
+
+    static int ttl(byte[] bytes) {
+        return bytes[TTL_OFFSET];
+    }
+
+    /**
+     * @return a copy with the TTL replaced
+     */
+    static byte[] withTtl(byte[] bytes, int ttl) {
+        byte[] copy = bytes.clone();
+        copy[TTL_OFFSET] = (byte) ttl;
+        return copy;
+    }
+
+    /**
+     * @return timestamp of an encoded message, epoch millis
+     */
+    static long timestamp(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).getLong(SEQUENCE_OFFSET + 8);
+    }
+
+    /**
+     * @return the encoded message followed by its HMAC under {@code key}
+     */
+    static byte[] sign(byte[] bytes, SecretKeySpec key) {
+        byte[] signed = Arrays.copyOf(bytes, bytes.length + MAC_BYTES);
+        System.arraycopy(mac(bytes, bytes.length, key), 0, signed, bytes.length, MAC_BYTES);
+        return signed;
+    }
+
+    /**
+     * @return the message without its HMAC, or null if the HMAC does not match
+     */
+    static byte[] verify(byte[] signed, SecretKeySpec key) {
+        int length = signed.length - MAC_BYTES;
+        if (length <= HEADER_BYTES) {
+            return null;
+        }
+        byte[] expected = mac(signed, length, key);
+        if (!MessageDigest.isEqual(expected, Arrays.copyOfRange(signed, length, signed.length))) {
+            return null;
+        }
+        return Arrays.copyOf(signed, length);
+    }
+
+    /**
+     * @return a key for {@link #sign} and {@link #verify}
+     */
+    static SecretKeySpec macKey(String secret) {
+        return new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM);
+    }
+
+    private static byte[] mac(byte[] bytes, int length, SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(key);
+            mac.update(bytes, 0, TTL_OFFSET);
+            mac.update((byte) 0);
+            mac.update(bytes, TTL_OFFSET + 1, length - TTL_OFFSET - 1);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(MAC_ALGORITHM + " unavailable", e);
+        }
+    }
+}
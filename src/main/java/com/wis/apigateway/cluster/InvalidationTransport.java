@@ -0,0 +1,34 @@
+package com.wis.apigateway.cluster;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Carries encoded {@link InvalidationMessage}s between gateway instances.
+ *
+ * <p>Delivery is best effort and may deliver a message more than once or echo it back to
+ * its origin; the {@link InvalidationBus} filters both.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Starts receiving.
+     *
+     * @param receiver called with each received message; must not block
+     * @throws IOException if the transport cannot be opened
+     */
+    void start(Consumer<byte[]> receiver) throws IOException;
+
+    /**
+     * Sends a message to the other instances without blocking the caller.
+     */
+    void send(byte[] message);
+
+    /**
+     * Stops receiving and releases resources.
+     */
+    void close();
+}
@@ -0,0 +1,64 @@
+package com.wis.apigateway.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import reactor.core.Disposable;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Invalidation transport over Redis pub/sub.
+ *
+ * <p>Every instance subscribes to one channel and publishes raw message bytes to it. The
+ * subscription is re-established with backoff if the Redis connection drops; messages
+ * published meanwhile are lost, as with any pub/sub.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+public class RedisInvalidationTransport implements InvalidationTransport {
+
+    private final ReactiveRedisTemplate<String, byte[]> template;
+    private final String channel;
+    private Disposable subscription;
+
+    public RedisInvalidationTransport(ReactiveRedisConnectionFactory connectionFactory, String channel) {
+        this.template = new ReactiveRedisTemplate<>(connectionFactory,
+            RedisSerializationContext.<String, byte[]>newSerializationContext(RedisSerializer.string())
+                .value(RedisSerializer.byteArray())
+                .build());
+        this.channel = channel;
+    }
+
+    @Override
+    public void start(Consumer<byte[]> receiver) {
+        subscription = template.listenToChannel(channel)
+            .map(ReactiveSubscription.Message::getMessage)
+            .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                .maxBackoff(Duration.ofSeconds(30))
+                .doBeforeRetry(signal -> log.warn("Invalidation channel {} lost: {}",
+                    channel, signal.failure().toString())))
+            .subscribe(receiver);
+        log.info("Listening for invalidations on Redis channel {}", channel);
+    }
+
+    @Override
+    public void send(byte[] message) {
+        template.convertAndSend(channel, message)
+            .subscribe(null, e -> log.warn("Failed to publish invalidation: {}", e.toString()));
+    }
+
+    @Override
+    public void close() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
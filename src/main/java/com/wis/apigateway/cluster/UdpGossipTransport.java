@@ -0,0 +1,214 @@
+package com.wis.apigateway.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.DatagramChannel;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Invalidation transport over UDP for deployments without Redis.
+ *
+ * <p>A published message is sent straight to every peer, so it usually arrives within a
+ * network round trip. Each instance that receives a message for the first time forwards it
+ * to {@code fanout} random peers while its TTL lasts, which repairs lost datagrams and
+ * peers missing from one instance's list. Recently seen message ids are remembered to drop
+ * repeats.
+ *
+ * <p>Datagrams carry an HMAC keyed by the shared cluster secret (see
+ * {@link InvalidationMessage#sign}). Datagrams with a missing or wrong HMAC, or a timestamp
+ * more than {@code maxAge} away from this instance's clock, are dropped before they are
+ * applied or forwarded, so only gateway instances can revoke keys, move canary traffic or
+ * reload routes. The receive socket binds to a configured private address only.
+ *
+ * <p>Receiving runs on one daemon thread; sending uses a separate non-blocking channel, so
+ * publishers on event loops never block (a datagram is dropped if the socket buffer is full).
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+public class UdpGossipTransport implements InvalidationTransport {
+
+    private static final int MAX_DATAGRAM = 2048;
+    private static final int SEEN_CAPACITY = 4096;
+
+    private final InetSocketAddress bindAddress;
+    private final List<InetSocketAddress> peers;
+    private final int fanout;
+    private final SecretKeySpec key;
+    private final long maxAgeMillis;
+    private final long[] seen = new long[SEEN_CAPACITY];
+    private int seenNext;
+
+    private DatagramChannel receiveChannel;
+    private DatagramChannel sendChannel;
+    private Thread receiver;
+
+    /**
+     * @param bindAddress private address and port to receive on
+     * @param peers other instances
+     * @param fanout peers a received message is forwarded to
+     * @param secret shared cluster secret the datagrams are signed with
+     * @param maxAge how far a message timestamp may be from this instance's clock
+     * @throws IllegalArgumentException if the secret is blank
+     */
+    public UdpGossipTransport(InetSocketAddress bindAddress, List<InetSocketAddress> peers, int fanout,
+                              String secret, Duration maxAge) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalArgumentException("UDP gossip needs a cluster secret to sign invalidations");
+        }
+        this.bindAddress = bindAddress;
+        this.peers = List.copyOf(peers);
+        this.fanout = fanout;
+        this.key = InvalidationMessage.macKey(secret);
+        this.maxAgeMillis = maxAge.toMillis();
+    }
+
+    /**
+     * Parses {@code host:port} peer entries.
+     */
+    public static List<InetSocketAddress> parsePeers(List<String> peers) {
+        return peers.stream()
+            .map(String::trim)
+            .filter(peer -> !peer.isEmpty())
+            .map(peer -> {
+                int colon = peer.lastIndexOf(':');
+                if (colon < 0) {
+                    throw new IllegalArgumentException("Gossip peer must be host:port: " + peer);
+                }
+                return new InetSocketAddress(peer.substring(0, colon), Integer.parseInt(peer.substring(colon + 1)));
+            })
+            .toList();
+    }
+
+    @Override
+    public void start(Consumer<byte[]> handler) throws IOException {
+        receiveChannel = DatagramChannel.open().bind(bindAddress);
+        sendChannel = DatagramChannel.open();
+        sendChannel.configureBlocking(false);
+        receiver = Thread.ofPlatform().daemon().name("invalidation-gossip").start(() -> receiveLoop(handler));
+        log.info("Gossiping invalidations on {} with {} peers", localAddress(), peers.size());
+    }
+
+    @Override
+    public void send(byte[] message) {
+        markSeen(InvalidationMessage.id(message));
+        byte[] signed = InvalidationMessage.sign(message, key);
+        for (InetSocketAddress peer : peers) {
+            sendTo(peer, signed);
+        }
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(receiveChannel);
+        closeQuietly(sendChannel);
+        if (receiver != null) {
+            receiver.interrupt();
+        }
+    }
+
+    /**
+     * @return the bound receive address
+     */
+    public SocketAddress localAddress() {
+        try {
+            return receiveChannel.getLocalAddress();
+        } catch (IOException e) {
+            return bindAddress;
+        }
+    }
+
+    private void receiveLoop(Consumer<byte[]> handler) {
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_DATAGRAM);
+        while (receiveChannel.isOpen()) {
+            try {
+                buffer.clear();
+                receiveChannel.receive(buffer);
+                buffer.flip();
+                byte[] datagram = new byte[buffer.remaining()];
+                buffer.get(datagram);
+                byte[] message = authentic(datagram);
+                if (message == null || !markSeen(InvalidationMessage.id(message))) {
+                    continue;
+                }
+                handler.accept(message);
+                int ttl = InvalidationMessage.ttl(datagram);
+                if (ttl > 0) {
+                    forward(InvalidationMessage.withTtl(datagram, ttl - 1));
+                }
+            } catch (AsynchronousCloseException e) {
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to process gossip datagram: {}", e.toString());
+            }
+        }
+    }
+
+    /**
+     * @return the message without its HMAC, or null if it is forged, malformed or stale
+     */
+    private byte[] authentic(byte[] datagram) {
+        byte[] message = InvalidationMessage.verify(datagram, key);
+        if (message == null || !InvalidationMessage.isValid(message)) {
+            log.debug("Dropped unauthenticated gossip datagram");
+            return null;
+        }
+        if (Math.abs(System.currentTimeMillis() - InvalidationMessage.timestamp(message)) > maxAgeMillis) {
+            log.debug("Dropped stale gossip datagram");
+            return null;
+        }
+        return message;
+    }
+
+    private void forward(byte[] message) {
+        int count = Math.min(fanout, peers.size());
+        int start = ThreadLocalRandom.current().nextInt(Math.max(peers.size(), 1));
+        for (int i = 0; i < count; i++) {
+            sendTo(peers.get((start + i) % peers.size()), message);
+        }
+    }
+
+    private void sendTo(InetSocketAddress peer, byte[] message) {
+        try {
+            if (sendChannel.send(ByteBuffer.wrap(message), peer) == 0) {
+                log.debug("Gossip send buffer full, dropped datagram to {}", peer);
+            }
+        } catch (IOException e) {
+            log.debug("Failed to gossip to {}: {}", peer, e.toString());
+        }
+    }
+
+    /**
+     * @return true if the id was not seen recently
+     */
+    private synchronized boolean markSeen(long id) {
+        for (long candidate : seen) {
+            if (candidate == id) {
+                return false;
+            }
+        }
+        seen[seenNext] = id;
+        seenNext = (seenNext + 1) % SEEN_CAPACITY;
+        return true;
+    }
+
+    private static void closeQuietly(DatagramChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // closing
+            }
+        }
+    }
+}
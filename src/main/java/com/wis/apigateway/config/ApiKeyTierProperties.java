@@ -0,0 +1,33 @@
+package com.wis.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * API key tier assignments.
+ *
+ * <p>Groups API keys into named tiers so that load shedding and scheduling can treat
+ * customers differently. Keys without a tier belong to the "standard" tier.
+ *
+ * <p>Configuration:
+ * <pre>
+ * api:
+ *   keys: key1,key2,key3
+ *   tiers:
+ *     premium: key1
+ *     bulk: key3           # Comma-separated list of keys in this tier
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "api")
+public class ApiKeyTierProperties {
+
+    /** Comma-separated API keys per tier name. */
+    private Map<String, String> tiers = new HashMap<>();
+}
@@ -0,0 +1,44 @@
+package com.wis.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the {@code /api/batch} endpoint.
+ *
+ * <p>Configuration:
+ * <pre>
+ * gateway:
+ *   batch:
+ *     max-requests: 20          # Sub-requests per batch
+ *     max-concurrency: 6        # Sub-requests in flight per batch
+ *     max-body-size: 256KB      # Size of the batch request body
+ *     max-response-size: 1MB    # Size of one sub-response body
+ *     timeout: 10s              # Timeout of one sub-request
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.batch")
+public class BatchProperties {
+
+    /** Maximum number of sub-requests in one batch. */
+    private int maxRequests = 20;
+
+    /** Maximum sub-requests of one batch dispatched at the same time. */
+    private int maxConcurrency = 6;
+
+    /** Largest batch request body accepted. */
+    private DataSize maxBodySize = DataSize.ofKilobytes(256);
+
+    /** Largest sub-response body returned; larger ones are reported as 502. */
+    private DataSize maxResponseSize = DataSize.ofMegabytes(1);
+
+    /** Timeout of one sub-request; reported as 504. */
+    private Duration timeout = Duration.ofSeconds(10);
+}
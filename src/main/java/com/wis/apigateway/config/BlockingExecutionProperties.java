@@ -0,0 +1,35 @@
+package com.wis.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for running blocking filter work on virtual threads.
+ *
+ * <p>Configuration:
+ * <pre>
+ * gateway:
+ *   blocking:
+ *     max-concurrency: 64      # Blocking calls running at once
+ *     max-queued: 1000         # Calls allowed to wait for a slot before rejecting
+ *     acquire-timeout: 5s      # How long a queued call waits for a slot
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.blocking")
+public class BlockingExecutionProperties {
+
+    /** Maximum number of blocking calls running at the same time. */
+    private int maxConcurrency = 64;
+
+    /** Maximum number of calls waiting for a slot; further calls are rejected. */
+    private int maxQueued = 1000;
+
+    /** How long a queued call waits for a slot before it is rejected. */
+    private Duration acquireTimeout = Duration.ofSeconds(5);
+}
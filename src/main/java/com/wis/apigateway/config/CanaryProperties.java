@@ -0,0 +1,85 @@
+package com.wis.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for weighted traffic splitting between backend versions.
+ *
+ * <p>Routes listed here and carrying the {@code Canary} filter send each API key to one
+ * version, chosen by weight:
+ * <pre>
+ * gateway:
+ *   canary:
+ *     evaluation-interval: 10s
+ *     min-samples: 200            # Per version, in the latency window, before comparing
+ *     max-p99-ratio: 1.5          # Roll back when canary p99 &gt; 1.5 x baseline p99
+ *     max-error-rate-increase: 0.02
+ *     routes:
+ *       subscriptions:
+ *         baseline: blue
+ *         versions:
+ *           blue:
+ *             uri: https://wis-subscriptions.azurewebsites.net
+ *             weight: 95
+ *           green:
+ *             uri: https://wis-subscriptions-staging.azurewebsites.net
+ *             weight: 5
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.canary")
+public class CanaryProperties {
+
+    /** How often canaries are compared with their baseline. */
+    private Duration evaluationInterval = Duration.ofSeconds(10);
+
+    /** Whether a canary doing worse than its baseline gets its traffic removed. */
+    private boolean autoRollback = true;
+
+    /** Requests each version needs in the latency window before they are compared. */
+    private int minSamples = 200;
+
+    /** Highest tolerated ratio of canary p99 to baseline p99. */
+    private double maxP99Ratio = 1.5;
+
+    /** Highest tolerated canary error rate above the baseline's (0.02 = 2 points). */
+    private double maxErrorRateIncrease = 0.02;
+
+    /** Split routes by route id. */
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    /**
+     * Versions of one route.
+     */
+    @Data
+    public static class Route {
+
+        /** Version the others are compared with and that takes all traffic on rollback. */
+        private String baseline;
+
+        /** Versions by name, in the order their hash ranges are assigned. */
+        private Map<String, Version> versions = new LinkedHashMap<>();
+    }
+
+    /**
+     * One backend version.
+     */
+    @Data
+    public static class Version {
+
+        /** Base URI of this version; replaces the route URI. */
+        private URI uri;
+
+        /** Relative share of API keys. */
+        private int weight;
+    }
+}
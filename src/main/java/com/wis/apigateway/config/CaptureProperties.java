@@ -0,0 +1,56 @@
+package com.wis.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for traffic capture, replayed offline by {@code ./gradlew replay}.
+ *
+ * <p>Configuration:
+ * <pre>
+ * gateway:
+ *   capture:
+ *     enabled: false
+ *     sample-rate: 0.01        # Fraction of requests recorded
+ *     directory: capture       # One traffic-&lt;epoch-millis&gt;.wcap file per gateway start
+ *     max-body-size: 64KB      # Request body bytes kept per request; the rest is only counted
+ *     max-file-size: 1GB       # Recording stops when the file reaches this size
+ *     region-size: 16MB        # Size of each memory-mapped region of the file
+ *     excluded-headers:        # Never recorded (X-API-Key is recorded masked)
+ *       - Authorization
+ *       - Cookie
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.capture")
+public class CaptureProperties {
+
+    /** Whether sampled requests are recorded. */
+    private boolean enabled = false;
+
+    /** Fraction (0-1) of requests recorded. */
+    private double sampleRate = 0.01;
+
+    /** Directory receiving the capture files. */
+    private String directory = "capture";
+
+    /** Request body bytes recorded per request. */
+    private DataSize maxBodySize = DataSize.ofKilobytes(64);
+
+    /** Size at which recording stops; at most 2GB so the file can be mapped for replay. */
+    private DataSize maxFileSize = DataSize.ofGigabytes(1);
+
+    /** Size of each memory-mapped region the file grows by. */
+    private DataSize regionSize = DataSize.ofMegabytes(16);
+
+    /** Request headers left out of the capture, matched case-insensitively. */
+    private List<String> excludedHeaders = new ArrayList<>(List.of(
+        "Authorization", "Cookie", "X-Service-Key", "Stripe-Signature", "X-Twilio-Signature"));
+}
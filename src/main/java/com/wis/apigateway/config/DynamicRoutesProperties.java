@@ -0,0 +1,35 @@
+package com.wis.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for routes loaded from a file at runtime.
+ *
+ * <p>Configuration:
+ * <pre>
+ * gateway:
+ *   dynamic-routes:
+ *     enabled: true
+ *     file: /home/gateway/routes.yml   # Same format as spring.cloud.gateway.routes, under "routes:"
+ *     poll-interval: 5s                # Polling also works on network shares, unlike file watches
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.dynamic-routes")
+public class DynamicRoutesProperties {
+
+    /** Whether routes are loaded from {@link #file}. */
+    private boolean enabled = false;
+
+    /** YAML file with a top-level {@code routes} list. */
+    private String file = "routes.yml";
+
+    /** How often the file is checked for changes. */
+    private Duration pollInterval = Duration.ofSeconds(5);
+}
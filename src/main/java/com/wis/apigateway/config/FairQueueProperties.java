@@ -0,0 +1,52 @@
+package com.wis.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for weighted fair queuing of upstream calls across API keys.
+ *
+ * <p>Configuration:
+ * <pre>
+ * gateway:
+ *   fair-queue:
+ *     enabled: true
+ *     max-concurrency: 512     # Upstream calls in flight before requests are queued
+ *     max-wait: 2s             # Longest a request is held; then 503 with Retry-After
+ *     max-queued-per-key: 256  # Requests one API key may have waiting; more get 429
+ *     default-weight: 1
+ *     weights:
+ *       premium: 4             # API key tier (see api.tiers): share of the released slots
+ *       standard: 2
+ *       bulk: 1
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.fair-queue")
+public class FairQueueProperties {
+
+    /** Whether upstream calls are limited and queued fairly across API keys. */
+    private boolean enabled = true;
+
+    /** Upstream calls in flight across all routes before new requests wait. */
+    private int maxConcurrency = 512;
+
+    /** Longest a request waits for its turn. */
+    private Duration maxWait = Duration.ofSeconds(2);
+
+    /** Requests a single API key may have waiting. */
+    private int maxQueuedPerKey = 256;
+
+    /** Weight of tiers without an entry in {@code weights}. */
+    private int defaultWeight = 1;
+
+    /** Weight per API key tier: requests released per round relative to other keys. */
+    private Map<String, Integer> weights = new HashMap<>();
+}
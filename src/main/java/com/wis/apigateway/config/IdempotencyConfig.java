@@ -0,0 +1,26 @@
+package com.wis.apigateway.config;
+
+import com.wis.apigateway.idempotency.IdempotencyStore;
+import com.wis.apigateway.idempotency.InMemoryIdempotencyStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Idempotency configuration.
+ *
+ * <p>Provides the in-memory {@link IdempotencyStore} unless {@code gateway.idempotency.store}
+ * selects Redis, whose store is defined in {@link RedisConfig}.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "gateway.idempotency", name = "store", havingValue = "memory", matchIfMissing = true)
+    public IdempotencyStore inMemoryIdempotencyStore(IdempotencyProperties properties) {
+        return new InMemoryIdempotencyStore(properties.getMaxEntries());
+    }
+}
@@ -0,0 +1,62 @@
+package com.wis.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for Idempotency-Key handling.
+ *
+ * <p>Configuration:
+ * <pre>
+ * gateway:
+ *   idempotency:
+ *     store: memory            # memory (this instance only) or redis (shared, see RedisConfig)
+ *     ttl: 24h                 # How long a response is replayed for its key
+ *     lock-timeout: 30s        # How long duplicates wait for the first request to finish
+ *     poll-interval: 50ms      # Store polling while another instance runs the request
+ *     max-entries: 10000       # Keys kept by the memory store
+ *     max-body-size: 256KB     # Larger responses are passed through, not stored
+ *     key-prefix: "wis-gateway:idempotency:"
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.idempotency")
+public class IdempotencyProperties {
+
+    /** Where keys and stored responses are kept. */
+    private Store store = Store.MEMORY;
+
+    /** How long a completed response is replayed. */
+    private Duration ttl = Duration.ofHours(24);
+
+    /** How long a key stays claimed by a request that has not finished, and how long duplicates wait. */
+    private Duration lockTimeout = Duration.ofSeconds(30);
+
+    /** Interval at which duplicates poll the store for a request running on another instance. */
+    private Duration pollInterval = Duration.ofMillis(50);
+
+    /** Maximum keys held by the memory store; the oldest are dropped first. */
+    private int maxEntries = 10_000;
+
+    /** Largest response body stored for replay. */
+    private DataSize maxBodySize = DataSize.ofKilobytes(256);
+
+    /** Prefix of the keys in the Redis store. */
+    private String keyPrefix = "wis-gateway:idempotency:";
+
+    /**
+     * Idempotency stores.
+     */
+    public enum Store {
+        /** Bounded map in this instance; duplicates reaching other instances run again. */
+        MEMORY,
+        /** Redis, shared by all instances. */
+        REDIS
+    }
+}
@@ -0,0 +1,53 @@
+package com.wis.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for event-loop and blocking-call instrumentation.
+ *
+ * <p>Configuration:
+ * <pre>
+ * gateway:
+ *   instrumentation:
+ *     probe-interval: 100ms          # How often each event loop is probed for lag
+ *     blocking-detection:
+ *       enabled: false               # Report blocking calls on event-loop threads
+ *       allowed:                     # Calls that are known and accepted (class#method)
+ *         - com.example.Cache#load
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.instrumentation")
+public class InstrumentationProperties {
+
+    /** Interval between event-loop lag probes. */
+    private Duration probeInterval = Duration.ofMillis(100);
+
+    /** Detection of blocking calls made on non-blocking threads. */
+    private BlockingDetection blockingDetection = new BlockingDetection();
+
+    /**
+     * Settings for blocking-call detection.
+     */
+    @Data
+    public static class BlockingDetection {
+
+        /**
+         * Whether to instrument the JVM to report blocking calls. Requires the JVM flag
+         * {@code -XX:+AllowRedefinitionToAddDeleteMethods}; costs a little on every
+         * instrumented JDK call, so keep it off in production unless investigating.
+         */
+        private boolean enabled = false;
+
+        /** Methods allowed to block, as {@code fully.qualified.Class#method}. */
+        private List<String> allowed = new ArrayList<>();
+    }
+}
@@ -0,0 +1,84 @@
+package com.wis.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for the cluster invalidation bus.
+ *
+ * <p>Configuration:
+ * <pre>
+ * gateway:
+ *   invalidation:
+ *     transport: redis            # local (single instance), redis (pub/sub) or udp (gossip)
+ *     channel: wis-gateway:invalidation
+ *     udp:
+ *       bind-address: 10.0.0.4    # Private interface to receive on (required)
+ *       port: 7946
+ *       peers: 10.0.0.5:7946,10.0.0.6:7946
+ *       fanout: 3                 # Peers a received message is forwarded to
+ *       ttl: 2                    # Forwarding hops
+ *       secret: ${SERVICE_TO_SERVICE_KEY}  # Signs datagrams (required)
+ *       max-age: 30s              # Older (or future) datagrams are dropped
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.invalidation")
+public class InvalidationProperties {
+
+    /** How invalidations reach the other gateway instances. */
+    private Transport transport = Transport.LOCAL;
+
+    /** Redis pub/sub channel. */
+    private String channel = "wis-gateway:invalidation";
+
+    /** UDP gossip settings. */
+    private Udp udp = new Udp();
+
+    /**
+     * Available transports.
+     */
+    public enum Transport {
+        /** This instance only. */
+        LOCAL,
+        /** Redis pub/sub on {@code spring.data.redis}. */
+        REDIS,
+        /** UDP datagrams to a static peer list, re-gossiped for redundancy. */
+        UDP
+    }
+
+    /**
+     * UDP gossip settings.
+     */
+    @Data
+    public static class Udp {
+
+        /** Private address to receive on; never the wildcard address. */
+        private String bindAddress;
+
+        /** Local port to receive on. */
+        private int port = 7946;
+
+        /** Other instances as {@code host:port}. */
+        private List<String> peers = new ArrayList<>();
+
+        /** Random peers a received message is forwarded to while its TTL lasts. */
+        private int fanout = 3;
+
+        /** Forwarding hops of a message; 0 sends to the peers directly only. */
+        private int ttl = 2;
+
+        /** Shared cluster secret the datagrams are signed with. */
+        private String secret;
+
+        /** How far a datagram's timestamp may be from this instance's clock. */
+        private Duration maxAge = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,31 @@
+package com.wis.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for live upstream latency histograms.
+ *
+ * <p>Configuration:
+ * <pre>
+ * gateway:
+ *   latency:
+ *     window: 30s    # How much history percentiles are computed over
+ *     slots: 6       # Window is rotated in this many steps
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.latency")
+public class LatencyProperties {
+
+    /** Length of the rolling window percentiles are computed over. */
+    private Duration window = Duration.ofSeconds(30);
+
+    /** Number of slots the window is divided into; one slot expires per rotation. */
+    private int slots = 6;
+}
@@ -0,0 +1,63 @@
+package com.wis.apigateway.config;
+
+import com.wis.apigateway.overload.RequestPriority;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for priority-aware load shedding.
+ *
+ * <p>Configuration:
+ * <pre>
+ * gateway:
+ *   overload:
+ *     enabled: true
+ *     sample-interval: 250ms
+ *     event-loop-lag-threshold: 50ms
+ *     pending-acquire-threshold: 200
+ *     heap-usage-threshold: 0.90
+ *     routes:
+ *       stripe-webhook: CRITICAL
+ *       "[messages:GET]": LOW     # route id, optionally qualified by HTTP method
+ *     tiers:
+ *       bulk: LOW                 # API key tier (see api.tiers) overrides the route class
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.overload")
+public class OverloadProperties {
+
+    /** Whether the overload controller samples signals and sheds requests. */
+    private boolean enabled = true;
+
+    /** How often event-loop lag, pending acquires and heap usage are sampled. */
+    private Duration sampleInterval = Duration.ofMillis(250);
+
+    /** Event-loop scheduling lag at which the gateway counts as saturated. */
+    private Duration eventLoopLagThreshold = Duration.ofMillis(50);
+
+    /** Number of requests waiting for an upstream connection at which the pool counts as saturated. */
+    private int pendingAcquireThreshold = 200;
+
+    /** Fraction of max heap still in use after GC at which memory counts as saturated. */
+    private double heapUsageThreshold = 0.90;
+
+    /** Value of the Retry-After header sent with shed responses. */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /** Priority used for routes that have no explicit entry. */
+    private RequestPriority defaultPriority = RequestPriority.NORMAL;
+
+    /** Priority class per route id, or per "routeId:METHOD". */
+    private Map<String, RequestPriority> routes = new HashMap<>();
+
+    /** Priority class per API key tier; overrides the route class unless the route is CRITICAL. */
+    private Map<String, RequestPriority> tiers = new HashMap<>();
+}
@@ -0,0 +1,97 @@
+package com.wis.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for continuous in-process profiling with JFR.
+ *
+ * <p>Configuration:
+ * <pre>
+ * gateway:
+ *   profiling:
+ *     enabled: false
+ *     window: 1m                  # Length of one aggregation window
+ *     windows: 5                  # Windows kept for the actuator endpoint
+ *     cpu-sample-period: 20ms     # jdk.ExecutionSample period
+ *     allocation-throttle: 100/s  # jdk.ObjectAllocationSample rate
+ *     io-threshold: 10ms          # Minimum socket/file I/O duration recorded
+ *     stack-depth: 12             # Frames kept per aggregated stack
+ *     top-stacks: 20              # Stacks reported per route and event type
+ *     max-age: 5m                 # Raw events retained for .jfr dumps
+ *     dump-directory: jfr
+ *     dump-cooldown: 1m           # Minimum time between dumps requested on the endpoint
+ *     slo:
+ *       default-p99: 2s           # Route p99 that triggers an automatic dump
+ *       routes:
+ *         subscriptions: 500ms
+ *       min-samples: 200
+ *       cooldown: 15m             # Minimum time between automatic dumps
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.profiling")
+public class ProfilingProperties {
+
+    /** Whether the JFR stream runs. Costs roughly 1% CPU with the defaults. */
+    private boolean enabled = false;
+
+    /** Length of one aggregation window. */
+    private Duration window = Duration.ofMinutes(1);
+
+    /** Number of completed windows kept. */
+    private int windows = 5;
+
+    /** Period of CPU execution samples. */
+    private Duration cpuSamplePeriod = Duration.ofMillis(20);
+
+    /** Rate limit for allocation samples, in JFR throttle syntax. */
+    private String allocationThrottle = "100/s";
+
+    /** Socket and file I/O shorter than this is not recorded. */
+    private Duration ioThreshold = Duration.ofMillis(10);
+
+    /** Number of top frames that identify an aggregated stack. */
+    private int stackDepth = 12;
+
+    /** Number of stacks reported per route and event type. */
+    private int topStacks = 20;
+
+    /** How long raw events are retained for dumps. */
+    private Duration maxAge = Duration.ofMinutes(5);
+
+    /** Directory .jfr dumps are written to. */
+    private String dumpDirectory = "jfr";
+
+    /** Minimum time between dumps requested through the actuator endpoint. */
+    private Duration dumpCooldown = Duration.ofMinutes(1);
+
+    /** Latency objectives that trigger automatic dumps. */
+    private Slo slo = new Slo();
+
+    /**
+     * Latency SLO settings.
+     */
+    @Data
+    public static class Slo {
+
+        /** p99 objective for routes without their own entry; zero disables it. */
+        private Duration defaultP99 = Duration.ofSeconds(2);
+
+        /** p99 objective per route id. */
+        private Map<String, Duration> routes = new HashMap<>();
+
+        /** Requests a route needs in the latency window before its p99 is trusted. */
+        private long minSamples = 200;
+
+        /** Minimum time between automatic dumps. */
+        private Duration cooldown = Duration.ofMinutes(15);
+    }
+}
@@ -0,0 +1,70 @@
+package com.wis.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the SSE / WebSocket push hub.
+ *
+ * <p>Configuration:
+ * <pre>
+ * gateway:
+ *   push:
+ *     buffer-size: 32            # Events queued per connection
+ *     overflow: drop             # drop (skip events) or disconnect (close slow consumers)
+ *     heartbeat: 30s             # Keep-alive for idle connections
+ *     max-connections: 50000
+ *     topics:
+ *       messages:
+ *         upstream: http://localhost:8083/api/messages/stream   # SSE stream feeding the topic
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.push")
+public class PushProperties {
+
+    /** Events queued per connection before the overflow policy applies. */
+    private int bufferSize = 32;
+
+    /** What happens to a connection that cannot keep up. */
+    private Overflow overflow = Overflow.DROP;
+
+    /** Interval of keep-alive frames (SSE comments, WebSocket pings). */
+    private Duration heartbeat = Duration.ofSeconds(30);
+
+    /** Maximum open push connections; further ones get 503. */
+    private int maxConnections = 50_000;
+
+    /** Delay before reconnecting to a topic's upstream stream; doubles up to a minute. */
+    private Duration upstreamReconnect = Duration.ofSeconds(1);
+
+    /** Topics fed by an upstream SSE stream, by topic name. */
+    private Map<String, Topic> topics = new HashMap<>();
+
+    /**
+     * Policies for connections whose buffer is full.
+     */
+    public enum Overflow {
+        /** Skip events for that connection and count them. */
+        DROP,
+        /** Close the connection; the client reconnects. */
+        DISCONNECT
+    }
+
+    /**
+     * Upstream feed of a topic.
+     */
+    @Data
+    public static class Topic {
+
+        /** URL of a {@code text/event-stream} endpoint; connected while the topic has subscribers. */
+        private String upstream;
+    }
+}
@@ -1,14 +1,20 @@
 package com.wis.apigateway.config;
 
+import com.wis.apigateway.idempotency.IdempotencyStore;
+import com.wis.apigateway.idempotency.RedisIdempotencyStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 /**
- * Redis configuration for rate limiting.
+ * Redis configuration for rate limiting and the shared idempotency store.
  *
- * <p>This class serves as a placeholder for Redis configuration. Spring Boot's
- * auto-configuration handles Redis connection based on properties in application.yml.
- *
- * <p>Configuration properties:
+ * <p>Spring Boot's auto-configuration handles the Redis connection based on properties in
+ * application.yml:
  * <pre>
  * spring:
  *   data:
@@ -21,13 +27,8 @@ import org.springframework.context.annotation.Configuration;
  *         enabled: false  # Set to true for Azure Redis
  * </pre>
  *
- * <p>Custom Redis configuration can be added here if needed, such as:
- * <ul>
- *   <li>Custom connection factory</li>
- *   <li>Connection pooling settings</li>
- *   <li>Serialization configuration</li>
- *   <li>Redis template customization</li>
- * </ul>
+ * <p>With {@code gateway.idempotency.store: redis}, Idempotency-Key responses are kept in
+ * Redis as binary values so every instance replays them.
  *
  * @author WIS Development Team
  * @version 1.0.0
@@ -35,19 +36,14 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class RedisConfig {
 
-    // Redis configuration is handled by Spring Boot auto-configuration
-    // based on spring.data.redis.* properties
-
-    // Custom Redis beans can be added here if needed:
-    //
-    // @Bean
-    // public RedisConnectionFactory redisConnectionFactory() {
-    //     // Custom connection factory configuration
-    // }
-    //
-    // @Bean
-    // public ReactiveRedisTemplate<String, String> reactiveRedisTemplate(
-    //         ReactiveRedisConnectionFactory factory) {
-    //     // Custom template configuration
-    // }
+    @Bean
+    @ConditionalOnProperty(prefix = "gateway.idempotency", name = "store", havingValue = "redis")
+    public IdempotencyStore redisIdempotencyStore(ReactiveRedisConnectionFactory connectionFactory,
+                                                  IdempotencyProperties properties) {
+        return new RedisIdempotencyStore(new ReactiveRedisTemplate<>(connectionFactory,
+            RedisSerializationContext.<String, byte[]>newSerializationContext(RedisSerializer.string())
+                .value(RedisSerializer.byteArray())
+                .build()),
+            properties.getKeyPrefix());
+    }
 }
@@ -0,0 +1,33 @@
+package com.wis.apigateway.config;
+
+import com.wis.apigateway.tracing.FileSpanSink;
+import com.wis.apigateway.tracing.LoggingSpanSink;
+import com.wis.apigateway.tracing.SpanSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Tracing configuration.
+ *
+ * <p>Provides the {@link SpanSink} selected by {@code gateway.tracing.sink}. Define a
+ * {@code SpanSink} bean to export spans elsewhere (e.g. an OTLP exporter).
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SpanSink spanSink(TracingProperties properties) {
+        return switch (properties.getSink()) {
+            case LOG -> new LoggingSpanSink();
+            case FILE -> new FileSpanSink(Path.of(properties.getFile()));
+            case NONE -> spans -> { };
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.wis.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for gateway tracing with tail-based sampling.
+ *
+ * <p>Configuration:
+ * <pre>
+ * gateway:
+ *   tracing:
+ *     enabled: true
+ *     slow-threshold: 1s       # Traces with a span at least this slow are kept
+ *     sample-rate: 0.0         # Fraction of fast, successful traces kept anyway
+ *     buffer-size: 8192        # Spans held in memory awaiting the sampling decision
+ *     export-delay: 2s         # How long a span waits for the rest of its trace
+ *     export-interval: 1s      # How often the exporter drains the buffer
+ *     sink: log                # log, file or none
+ *     file: traces.jsonl       # Target for the file sink
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.tracing")
+public class TracingProperties {
+
+    /** Whether gateway spans are recorded and traceparent is propagated. */
+    private boolean enabled = true;
+
+    /** Spans at least this slow mark their whole trace for export. */
+    private Duration slowThreshold = Duration.ofSeconds(1);
+
+    /** Fraction (0-1) of fast, successful traces exported anyway, as a baseline. */
+    private double sampleRate = 0.0;
+
+    /** Whether traces the caller marked as sampled are always exported. */
+    private boolean keepSampled = false;
+
+    /** Number of spans buffered in memory; older spans are dropped when it is full. */
+    private int bufferSize = 8192;
+
+    /** Minimum age of a span before the exporter decides on it. */
+    private Duration exportDelay = Duration.ofSeconds(2);
+
+    /** Interval between exporter runs. */
+    private Duration exportInterval = Duration.ofSeconds(1);
+
+    /** Where sampled spans go. */
+    private Sink sink = Sink.LOG;
+
+    /** File the {@link Sink#FILE} sink appends JSON lines to. */
+    private String file = "traces.jsonl";
+
+    /**
+     * Span sink types.
+     */
+    public enum Sink {
+        /** JSON lines on the {@code gateway.traces} logger. */
+        LOG,
+        /** JSON lines appended to {@link #file}. */
+        FILE,
+        /** Discard sampled spans. */
+        NONE
+    }
+}
@@ -0,0 +1,36 @@
+package com.wis.apigateway.config;
+
+import com.wis.apigateway.transport.GatewayEventLoops;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Netty transport configuration.
+ *
+ * <p>Runs the inbound server and the gateway's upstream HTTP client on the event loops
+ * selected by {@code gateway.transport} (see {@link GatewayEventLoops}). Other HTTP
+ * clients, such as the push hub's upstream streams, keep Reactor Netty's global loops.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Configuration
+public class TransportConfig {
+
+    @Bean(destroyMethod = "close")
+    public GatewayEventLoops gatewayEventLoops(TransportProperties properties) {
+        return GatewayEventLoops.create(properties);
+    }
+
+    @Bean
+    public NettyServerCustomizer transportServerCustomizer(GatewayEventLoops eventLoops) {
+        return server -> server.runOn(eventLoops.server());
+    }
+
+    @Bean
+    public HttpClientCustomizer transportHttpClientCustomizer(GatewayEventLoops eventLoops) {
+        return client -> client.runOn(eventLoops.client());
+    }
+}
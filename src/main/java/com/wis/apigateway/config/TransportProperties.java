@@ -0,0 +1,65 @@
+package com.wis.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the Netty transport of the inbound server and the upstream
+ * HTTP client.
+ *
+ * <p>Configuration:
+ * <pre>
+ * gateway:
+ *   transport:
+ *     type: auto               # auto, nio, epoll or io_uring
+ *     topology: shared         # shared: one set of event loops; separate: server and client loops
+ *     server-threads: 0        # 0 = sized to the container's CPU limit
+ *     client-threads: 0        # separate topology only; 0 = sized to the container's CPU limit
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.transport")
+public class TransportProperties {
+
+    /** Socket transport; falls back to NIO when the native one is unavailable. */
+    private Type type = Type.AUTO;
+
+    /** Whether the server and the upstream client share their event loops. */
+    private Topology topology = Topology.SHARED;
+
+    /** Event loops of the inbound server (all loops when shared), 0 for automatic sizing. */
+    private int serverThreads = 0;
+
+    /** Event loops of the upstream client with the separate topology, 0 for automatic sizing. */
+    private int clientThreads = 0;
+
+    /**
+     * Transport types.
+     */
+    public enum Type {
+        /** Epoll on Linux when available, NIO otherwise. */
+        AUTO,
+        /** Java NIO selectors, available everywhere. */
+        NIO,
+        /** Native epoll (Linux). */
+        EPOLL,
+        /** Native io_uring (Linux 5.9+, often disabled by container seccomp profiles). */
+        IO_URING
+    }
+
+    /**
+     * Event-loop topologies.
+     */
+    public enum Topology {
+        /**
+         * One set of loops for both sides; an upstream connection is opened on the loop of
+         * the request that needs it, so a request never changes threads.
+         */
+        SHARED,
+        /** Separate server and client loops, splitting the CPU limit between them. */
+        SEPARATE
+    }
+}
@@ -0,0 +1,35 @@
+package com.wis.apigateway.config;
+
+import com.wis.apigateway.transport.UpstreamTls;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.net.ssl.SSLException;
+
+/**
+ * Upstream TLS configuration.
+ *
+ * <p>Applies {@link UpstreamTls} to the gateway's upstream HTTP client when
+ * {@code gateway.upstream-tls.enabled} is set; otherwise Spring Cloud Gateway's own SSL
+ * settings apply unchanged. Either way the trust and key store settings of
+ * {@code spring.cloud.gateway.httpclient.ssl} are honoured.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Configuration
+public class UpstreamTlsConfig {
+
+    @Bean
+    public HttpClientCustomizer upstreamTlsHttpClientCustomizer(UpstreamTlsProperties properties,
+                                                                HttpClientProperties httpClientProperties,
+                                                                MeterRegistry meterRegistry) throws SSLException {
+        if (!properties.isEnabled()) {
+            return client -> client;
+        }
+        return UpstreamTls.create(properties, httpClientProperties.getSsl(), meterRegistry)::configure;
+    }
+}
@@ -0,0 +1,57 @@
+package com.wis.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for TLS on upstream (backend) connections.
+ *
+ * <p>Trust settings and the handshake timeout still come from
+ * {@code spring.cloud.gateway.httpclient.ssl}; client certificates configured there are
+ * not used while this is enabled.
+ *
+ * <p>Configuration:
+ * <pre>
+ * gateway:
+ *   upstream-tls:
+ *     enabled: true
+ *     provider: openssl        # openssl (netty-tcnative BoringSSL) or jdk (SSLEngine)
+ *     http2: true              # offer h2 through ALPN, falling back to http/1.1
+ *     session-cache-size: 1024 # sessions and tickets kept for resumption
+ *     session-timeout: 1h
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.upstream-tls")
+public class UpstreamTlsProperties {
+
+    /** Whether upstream TLS is configured here rather than by Spring Cloud Gateway. */
+    private boolean enabled = true;
+
+    /** TLS implementation; falls back to the JDK when OpenSSL cannot be loaded. */
+    private Provider provider = Provider.OPENSSL;
+
+    /** Whether to offer HTTP/2 to TLS backends through ALPN. */
+    private boolean http2 = true;
+
+    /** Client sessions (and their tickets) cached for resumption. */
+    private long sessionCacheSize = 1024;
+
+    /** How long a cached session may be resumed. */
+    private Duration sessionTimeout = Duration.ofHours(1);
+
+    /**
+     * TLS implementations.
+     */
+    public enum Provider {
+        /** BoringSSL through netty-tcnative. */
+        OPENSSL,
+        /** The JDK's {@code SSLEngine}. */
+        JDK
+    }
+}
@@ -0,0 +1,64 @@
+package com.wis.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for accept-and-spool webhook ingestion.
+ *
+ * <p>Configuration:
+ * <pre>
+ * gateway:
+ *   webhook-spool:
+ *     enabled: false
+ *     directory: spool         # Segment files; holds webhook payloads, protect accordingly
+ *     segment-size: 64MB       # Size of one memory-mapped segment
+ *     min-free-space: 512MB    # No new segment is created below this much free disk
+ *     sync: false              # Force each record to disk (survives power loss, not only crashes)
+ *     max-concurrency: 4       # Deliveries in flight to the backends
+ *     max-attempts: 15
+ *     first-backoff: 1s
+ *     max-backoff: 5m
+ *     request-timeout: 30s
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.webhook-spool")
+public class WebhookSpoolProperties {
+
+    /** Whether routes with the WebhookSpool filter answer immediately and deliver later. */
+    private boolean enabled = false;
+
+    /** Directory holding the spool segments. */
+    private String directory = "spool";
+
+    /** Size of one segment file; also bounds the largest spooled request. */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /** Free disk space required before a new segment is created. */
+    private DataSize minFreeSpace = DataSize.ofMegabytes(512);
+
+    /** Whether each record is forced to the device before the webhook is acknowledged. */
+    private boolean sync = false;
+
+    /** Maximum deliveries in flight. */
+    private int maxConcurrency = 4;
+
+    /** Delivery attempts before a request is dropped. */
+    private int maxAttempts = 15;
+
+    /** Delay before the first redelivery; doubles for each further attempt. */
+    private Duration firstBackoff = Duration.ofSeconds(1);
+
+    /** Upper bound for the redelivery delay. */
+    private Duration maxBackoff = Duration.ofMinutes(5);
+
+    /** Timeout for one delivery attempt. */
+    private Duration requestTimeout = Duration.ofSeconds(30);
+}
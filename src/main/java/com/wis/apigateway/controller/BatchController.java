@@ -0,0 +1,132 @@
+package com.wis.apigateway.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wis.apigateway.batch.BatchExecutor;
+import com.wis.apigateway.batch.BatchItem;
+import com.wis.apigateway.batch.BatchResult;
+import com.wis.apigateway.config.BatchProperties;
+import com.wis.apigateway.filter.ApiKeyAuthGatewayFilterFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Batch endpoint that runs several {@code /api/**} calls in one request.
+ *
+ * <p>The request body is a JSON array of sub-requests (see {@link BatchItem}):
+ * <pre>
+ * POST /api/batch
+ * X-API-Key: ...
+ *
+ * [
+ *   {"id": "profile", "path": "/api/register/42"},
+ *   {"id": "subscription", "path": "/api/subscriptions/customer/42"},
+ *   {"id": "history", "path": "/api/messages/history/42"}
+ * ]
+ * </pre>
+ *
+ * <p>The API key is checked once with the {@code ApiKeyAuth} logic. The sub-requests then
+ * run in parallel through their routes. The response is {@code application/x-ndjson}:
+ * one {@link BatchResult} line per sub-request, written as soon as that sub-request
+ * completes. A failed sub-request is reported in its own line with its status and never
+ * fails the batch.
+ *
+ * <p>Endpoints:
+ * <ul>
+ *   <li>POST /api/batch - Run sub-requests in parallel</li>
+ * </ul>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+@RestController
+public class BatchController {
+
+    private static final TypeReference<List<BatchItem>> ITEMS = new TypeReference<>() {
+    };
+
+    private final GatewayFilter apiKeyAuth;
+    private final BatchExecutor executor;
+    private final BatchProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public BatchController(ApiKeyAuthGatewayFilterFactory apiKeyAuthFactory, BatchExecutor executor,
+                           BatchProperties properties, ObjectMapper objectMapper) {
+        this.apiKeyAuth = apiKeyAuthFactory.apply(new ApiKeyAuthGatewayFilterFactory.Config());
+        this.executor = executor;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Runs a batch of sub-requests and streams their results.
+     *
+     * @param exchange the batch exchange
+     * @return Mono that completes when all results are written
+     */
+    @PostMapping(path = "/api/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Void> batch(ServerWebExchange exchange) {
+        return apiKeyAuth.filter(exchange, authenticated -> readItems(exchange)
+            .flatMap(items -> {
+                log.info("Batch of {} sub-requests from {}", items.size(), exchange.getRequest().getRemoteAddress());
+                ServerHttpResponse response = exchange.getResponse();
+                response.setStatusCode(HttpStatus.OK);
+                response.getHeaders().setContentType(MediaType.APPLICATION_NDJSON);
+                return response.writeAndFlushWith(executor.execute(exchange, items)
+                    .map(result -> Mono.just(response.bufferFactory().wrap(line(result)))));
+            }));
+    }
+
+    private Mono<List<BatchItem>> readItems(ServerWebExchange exchange) {
+        return DataBufferUtils.join(exchange.getRequest().getBody(), (int) properties.getMaxBodySize().toBytes())
+            .map(this::parse)
+            .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Empty batch")))
+            .onErrorMap(DataBufferLimitException.class, e -> new ResponseStatusException(
+                HttpStatus.PAYLOAD_TOO_LARGE, "Batch larger than " + properties.getMaxBodySize()))
+            .map(items -> {
+                if (items.isEmpty() || items.size() > properties.getMaxRequests()) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "A batch must contain 1 to " + properties.getMaxRequests() + " sub-requests");
+                }
+                return items;
+            });
+    }
+
+    private List<BatchItem> parse(DataBuffer buffer) {
+        try {
+            return objectMapper.readValue(buffer.asInputStream(), ITEMS);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch must be a JSON array of sub-requests");
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private byte[] line(BatchResult result) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(result);
+            byte[] line = new byte[json.length + 1];
+            System.arraycopy(json, 0, line, 0, json.length);
+            line[json.length] = '\n';
+            return line;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize batch result", e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.wis.apigateway.controller;
 
+import com.wis.apigateway.resilience.Deadline;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
@@ -8,6 +9,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -17,6 +19,10 @@ import java.util.Map;
  * <p>Provides aggregated health checks for all backend services. Useful for
  * monitoring the overall system health from a single endpoint.
  *
+ * <p>All services are checked in parallel within {@code gateway.health.timeout}; each
+ * check sends the time left in the {@value Deadline#HEADER} header, and a service that
+ * has not answered when it runs out is reported as DOWN.
+ *
  * <p>Endpoints:
  * <ul>
  *   <li>GET /health/all - Aggregated health of all services</li>
@@ -38,6 +44,9 @@ public class HealthController {
     @Value("${backend.messages.url}")
     private String messagesUrl;
 
+    @Value("${gateway.health.timeout:2s}")
+    private Duration timeout;
+
     private final WebClient webClient = WebClient.builder().build();
 
     /**
@@ -53,11 +62,12 @@ public class HealthController {
     @GetMapping("/health/all")
     public Mono<ResponseEntity<Map<String, Object>>> aggregateHealth() {
         log.info("Aggregated health check requested");
+        Deadline deadline = Deadline.after(timeout);
 
         return Mono.zip(
-            checkService("registration", registrationUrl + "/actuator/health"),
-            checkService("subscriptions", subscriptionsUrl + "/actuator/health"),
-            checkService("messages", messagesUrl + "/actuator/health")
+            checkService("registration", registrationUrl + "/actuator/health", deadline),
+            checkService("subscriptions", subscriptionsUrl + "/actuator/health", deadline),
+            checkService("messages", messagesUrl + "/actuator/health", deadline)
         ).map(tuple -> {
             Map<String, Object> health = new HashMap<>();
             Map<String, Object> services = new HashMap<>();
@@ -99,24 +109,26 @@ public class HealthController {
      *
      * @param name service name for logging
      * @param url health endpoint URL
+     * @param deadline deadline of the aggregated check
      * @return Mono containing service health status
      */
-    private Mono<Map<String, String>> checkService(String name, String url) {
+    private Mono<Map<String, String>> checkService(String name, String url, Deadline deadline) {
         return webClient.get()
             .uri(url)
+            .header(Deadline.HEADER, Long.toString(deadline.remainingMillis()))
             .retrieve()
             .bodyToMono(Map.class)
             .map(response -> Map.of(
                 "status", response.getOrDefault("status", "UNKNOWN").toString(),
                 "url", url
             ))
+            .timeout(deadline.remaining())
+            .doOnError(e -> log.warn("Health check failed for {}: {}", name, e.toString()))
             .onErrorReturn(Map.of(
                 "status", "DOWN",
                 "url", url,
                 "error", "Failed to connect"
             ))
-            .timeout(java.time.Duration.ofSeconds(5))
-            .doOnSuccess(status -> log.debug("Health check for {} : {}", name, status.get("status")))
-            .doOnError(e -> log.warn("Health check failed for {}: {}", name, e.getMessage()));
+            .doOnSuccess(status -> log.debug("Health check for {} : {}", name, status.get("status")));
     }
 }
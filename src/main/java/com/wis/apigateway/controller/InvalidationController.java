@@ -0,0 +1,82 @@
+package com.wis.apigateway.controller;
+
+import com.wis.apigateway.cluster.InvalidationBus;
+import com.wis.apigateway.filter.RevokedApiKeys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Internal endpoint for invalidating gateway state on all instances.
+ *
+ * <p>Called by backends and operators with the service key; the request body is the key
+ * to drop. For {@code api-key} the body is the API key to revoke (only its fingerprint
+ * leaves this instance):
+ * <pre>
+ * POST /internal/invalidate/api-key
+ * X-Service-Key: ...
+ *
+ * abcd1234efgh5678
+ * </pre>
+ *
+ * <p>Endpoints:
+ * <ul>
+ *   <li>POST /internal/invalidate/{namespace} - Invalidate a key cluster-wide (service key)</li>
+ * </ul>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+@RestController
+public class InvalidationController {
+
+    private final InvalidationBus bus;
+    private final RevokedApiKeys revokedApiKeys;
+
+    @Value("${SERVICE_TO_SERVICE_KEY:}")
+    private String serviceKey;
+
+    public InvalidationController(InvalidationBus bus, RevokedApiKeys revokedApiKeys) {
+        this.bus = bus;
+        this.revokedApiKeys = revokedApiKeys;
+    }
+
+    /**
+     * Invalidates a key on every gateway instance.
+     *
+     * @param namespace namespace of the key
+     * @param key service key of the caller
+     * @param entry the key to invalidate
+     */
+    @PostMapping("/internal/invalidate/{namespace}")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void invalidate(@PathVariable String namespace,
+                           @RequestHeader(name = "X-Service-Key", required = false) String key,
+                           @RequestBody String entry) {
+        if (serviceKey == null || serviceKey.isEmpty() || key == null
+            || !MessageDigest.isEqual(serviceKey.getBytes(StandardCharsets.UTF_8), key.getBytes(StandardCharsets.UTF_8))) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Invalid service key");
+        }
+        try {
+            if (RevokedApiKeys.NAMESPACE.equals(namespace)) {
+                revokedApiKeys.revoke(entry.trim());
+            } else {
+                bus.publish(namespace, entry);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        log.info("Invalidated an entry of {} cluster-wide", namespace);
+    }
+}
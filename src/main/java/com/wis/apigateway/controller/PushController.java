@@ -0,0 +1,184 @@
+package com.wis.apigateway.controller;
+
+import com.wis.apigateway.filter.ApiKeyAuthGatewayFilterFactory;
+import com.wis.apigateway.push.BroadcastHub;
+import com.wis.apigateway.push.PushEvent;
+import com.wis.apigateway.push.PushSubscriber;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.reactive.socket.server.WebSocketService;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Push endpoints that replace polling of {@code /api/messages/**}.
+ *
+ * <p>Clients subscribe to a topic over Server-Sent Events or WebSocket and receive every
+ * event published to it (see {@link BroadcastHub}). Both are authenticated with the
+ * {@code ApiKeyAuth} logic. Browsers cannot set headers on {@code EventSource} or
+ * WebSocket connections, so the key may also be passed as the {@code apiKey} query
+ * parameter.
+ *
+ * <p>Backends publish with the service key; the request body is the event data:
+ * <pre>
+ * POST /internal/push/messages?event=message.created&amp;id=msg_123
+ * X-Service-Key: ...
+ *
+ * {"messageId": "msg_123", "customerId": 42}
+ * </pre>
+ *
+ * <p>Endpoints:
+ * <ul>
+ *   <li>GET /api/push/sse/{topic} - Subscribe over Server-Sent Events</li>
+ *   <li>GET /api/push/ws/{topic} - Subscribe over WebSocket (text frames, inbound ignored)</li>
+ *   <li>POST /internal/push/{topic} - Publish an event (service key)</li>
+ * </ul>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+@RestController
+public class PushController {
+
+    private static final String API_KEY_HEADER = "X-API-Key";
+    private static final String API_KEY_PARAM = "apiKey";
+    private static final Pattern TOPIC = Pattern.compile("[A-Za-z0-9._:-]{1,128}");
+    private static final byte[] OPEN_FRAME = ":ok\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EMPTY = new byte[0];
+
+    private final GatewayFilter apiKeyAuth;
+    private final BroadcastHub hub;
+    private final WebSocketService webSocketService;
+
+    @Value("${SERVICE_TO_SERVICE_KEY:}")
+    private String serviceKey;
+
+    public PushController(ApiKeyAuthGatewayFilterFactory apiKeyAuthFactory, BroadcastHub hub,
+                          WebSocketService webSocketService) {
+        this.apiKeyAuth = apiKeyAuthFactory.apply(new ApiKeyAuthGatewayFilterFactory.Config());
+        this.hub = hub;
+        this.webSocketService = webSocketService;
+    }
+
+    /**
+     * Streams a topic as Server-Sent Events.
+     *
+     * @param topic topic name
+     * @param exchange the current exchange
+     * @return Mono that completes when the connection closes
+     */
+    @GetMapping("/api/push/sse/{topic}")
+    public Mono<Void> sse(@PathVariable String topic, ServerWebExchange exchange) {
+        validateTopic(topic);
+        return apiKeyAuth.filter(withQueryApiKey(exchange), authenticated -> {
+            PushSubscriber subscriber = hub.subscribe(topic);
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+            response.getHeaders().setCacheControl("no-cache");
+            // Keeps reverse proxies from buffering the stream
+            response.getHeaders().set("X-Accel-Buffering", "no");
+            Flux<byte[]> frames = Flux.concat(Mono.just(OPEN_FRAME), subscriber.events().map(PushEvent::sseFrame));
+            return response.writeAndFlushWith(frames
+                    .map(frame -> Mono.just(response.bufferFactory().wrap(frame))))
+                .doFinally(signal -> hub.unsubscribe(subscriber));
+        });
+    }
+
+    /**
+     * Streams a topic over a WebSocket. Heartbeats are sent as pings.
+     *
+     * @param topic topic name
+     * @param exchange the handshake exchange
+     * @return Mono that completes when the connection closes
+     */
+    @GetMapping("/api/push/ws/{topic}")
+    public Mono<Void> websocket(@PathVariable String topic, ServerWebExchange exchange) {
+        validateTopic(topic);
+        return apiKeyAuth.filter(withQueryApiKey(exchange),
+            authenticated -> webSocketService.handleRequest(authenticated, session -> stream(session, topic)));
+    }
+
+    /**
+     * Publishes an event to a topic.
+     *
+     * @param topic topic name
+     * @param key service key of the publishing backend
+     * @param id optional event id
+     * @param event optional event type
+     * @param data event data
+     * @return number of connections the event was queued for
+     */
+    @PostMapping("/internal/push/{topic}")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public Mono<Map<String, Object>> publish(@PathVariable String topic,
+                                             @RequestHeader(name = "X-Service-Key", required = false) String key,
+                                             @RequestParam(required = false) String id,
+                                             @RequestParam(required = false) String event,
+                                             @RequestBody String data) {
+        validateTopic(topic);
+        if (serviceKey == null || serviceKey.isEmpty() || key == null
+            || !MessageDigest.isEqual(serviceKey.getBytes(StandardCharsets.UTF_8), key.getBytes(StandardCharsets.UTF_8))) {
+            return Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, "Invalid service key"));
+        }
+        int delivered = hub.publish(topic, PushEvent.of(id, event, data));
+        log.debug("Published {} event to push topic {} ({} connections)", event, topic, delivered);
+        return Mono.just(Map.of("topic", topic, "delivered", delivered));
+    }
+
+    private Mono<Void> stream(WebSocketSession session, String topic) {
+        PushSubscriber subscriber;
+        try {
+            subscriber = hub.subscribe(topic);
+        } catch (ResponseStatusException e) {
+            return session.close(CloseStatus.SERVICE_OVERLOAD);
+        }
+        Flux<WebSocketMessage> messages = subscriber.events().map(event -> event.isHeartbeat()
+            ? session.pingMessage(factory -> factory.wrap(EMPTY))
+            : new WebSocketMessage(WebSocketMessage.Type.TEXT, session.bufferFactory().wrap(event.data())));
+        // Ends when either side closes; cancelling the send removes the subscription
+        return Mono.firstWithSignal(session.send(messages), session.receive().then())
+            .doFinally(signal -> hub.unsubscribe(subscriber));
+    }
+
+    private static ServerWebExchange withQueryApiKey(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        String queryKey = request.getQueryParams().getFirst(API_KEY_PARAM);
+        if (queryKey == null || request.getHeaders().containsKey(API_KEY_HEADER)) {
+            return exchange;
+        }
+        return exchange.mutate()
+            .request(request.mutate().header(API_KEY_HEADER, queryKey).build())
+            .build();
+    }
+
+    private static void validateTopic(String topic) {
+        if (!TOPIC.matcher(topic).matches()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid topic name");
+        }
+    }
+}
@@ -104,6 +104,8 @@ public class GlobalExceptionHandler implements ErrorWebExceptionHandler {
             return HttpStatus.BAD_REQUEST;
         } else if (ex instanceof org.springframework.web.server.ServerWebInputException) {
             return HttpStatus.BAD_REQUEST;
+        } else if (ex instanceof java.util.concurrent.RejectedExecutionException) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
         } else {
             return HttpStatus.INTERNAL_SERVER_ERROR;
         }
@@ -122,6 +124,8 @@ public class GlobalExceptionHandler implements ErrorWebExceptionHandler {
             return "Access denied";
         } else if (ex instanceof IllegalArgumentException) {
             return "Invalid request: " + ex.getMessage();
+        } else if (ex instanceof java.util.concurrent.RejectedExecutionException) {
+            return "The gateway is busy. Please try again later.";
         } else {
             // Don't expose internal error details to clients
             return "An unexpected error occurred. Please try again later.";
@@ -0,0 +1,89 @@
+package com.wis.apigateway.filter;
+
+import com.wis.apigateway.blocking.VirtualThreadBlockingExecutor;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.Connection;
+
+import java.util.Optional;
+
+/**
+ * Base class for gateway filter factories that need to call blocking APIs.
+ *
+ * <p>Subclasses implement {@link #filterBlocking(ServerWebExchange, Object)}, which runs
+ * on a virtual thread via {@link VirtualThreadBlockingExecutor} instead of the Netty
+ * event loop. It may block freely (SDK calls, JDBC, file I/O) and returns the exchange
+ * to continue the chain with, or null after completing the response itself.
+ *
+ * <p>Once the blocking work is done, the rest of the chain continues on the event loop
+ * of the request's connection, as it would without this filter, rather than on the
+ * virtual thread. Where the request has no Netty connection (mock exchanges in tests) it
+ * continues on the parallel scheduler.
+ *
+ * <p>Example:
+ * <pre>
+ * &#64;Component
+ * public class KeyVaultLookupGatewayFilterFactory
+ *     extends AbstractBlockingGatewayFilterFactory&lt;KeyVaultLookupGatewayFilterFactory.Config&gt; {
+ *
+ *     &#64;Override
+ *     protected ServerWebExchange filterBlocking(ServerWebExchange exchange, Config config) {
+ *         String secret = secretClient.getSecret(config.getName()).getValue();
+ *         return exchange.mutate().request(r -&gt; r.header("X-Secret", secret)).build();
+ *     }
+ * }
+ * </pre>
+ *
+ * @param <C> filter configuration type
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public abstract class AbstractBlockingGatewayFilterFactory<C> extends AbstractGatewayFilterFactory<C> {
+
+    private final VirtualThreadBlockingExecutor blockingExecutor;
+
+    protected AbstractBlockingGatewayFilterFactory(Class<C> configClass,
+                                                   VirtualThreadBlockingExecutor blockingExecutor) {
+        super(configClass);
+        this.blockingExecutor = blockingExecutor;
+    }
+
+    @Override
+    public GatewayFilter apply(C config) {
+        return (exchange, chain) -> blockingExecutor
+            .execute(() -> Optional.ofNullable(filterBlocking(exchange, config)))
+            .publishOn(eventLoopOf(exchange))
+            .flatMap(next -> next.isPresent()
+                ? chain.filter(next.get())
+                : exchange.getResponse().setComplete());
+    }
+
+    /**
+     * Returns a scheduler on the event loop serving the exchange's connection.
+     */
+    private static Scheduler eventLoopOf(ServerWebExchange exchange) {
+        try {
+            Object nativeRequest = ServerHttpRequestDecorator.getNativeRequest(exchange.getRequest());
+            if (nativeRequest instanceof Connection connection) {
+                return Schedulers.fromExecutor(connection.channel().eventLoop());
+            }
+        } catch (IllegalArgumentException e) {
+            // Request type without a native request
+        }
+        return Schedulers.parallel();
+    }
+
+    /**
+     * Performs the filter's blocking work on a virtual thread.
+     *
+     * @param exchange the current server web exchange
+     * @param config filter configuration
+     * @return exchange to continue the chain with, or null if the response was completed
+     * @throws Exception if the blocking work fails; the error is handled by the gateway
+     */
+    protected abstract ServerWebExchange filterBlocking(ServerWebExchange exchange, C config) throws Exception;
+}
@@ -0,0 +1,67 @@
+package com.wis.apigateway.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Web filter that requires the service key for actuator write operations.
+ *
+ * <p>Actuator reads stay public like health and metrics, but {@code POST} and
+ * {@code DELETE} under the actuator base path (JFR dumps, route reloads, canary weights)
+ * change or load the gateway, so they need the {@code X-Service-Key} header, checked the
+ * same way as on {@code /internal/invalidate}. Without a configured service key they are
+ * refused altogether.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class ActuatorWriteGuardFilter implements WebFilter, Ordered {
+
+    private static final String SERVICE_KEY_HEADER = "X-Service-Key";
+
+    private final String basePath;
+    private final byte[] serviceKey;
+
+    public ActuatorWriteGuardFilter(@Value("${management.endpoints.web.base-path:/actuator}") String basePath,
+                                    @Value("${SERVICE_TO_SERVICE_KEY:}") String serviceKey) {
+        this.basePath = basePath.endsWith("/") ? basePath : basePath + "/";
+        this.serviceKey = serviceKey.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        HttpMethod method = request.getMethod();
+        if (HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method)
+            || !(request.getPath().value() + "/").startsWith(basePath)) {
+            return chain.filter(exchange);
+        }
+        String key = request.getHeaders().getFirst(SERVICE_KEY_HEADER);
+        if (serviceKey.length > 0 && key != null
+            && MessageDigest.isEqual(serviceKey, key.getBytes(StandardCharsets.UTF_8))) {
+            return chain.filter(exchange);
+        }
+        log.warn("Rejected actuator {} {} without a valid service key", method, request.getPath());
+        exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN);
+        return exchange.getResponse().setComplete();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
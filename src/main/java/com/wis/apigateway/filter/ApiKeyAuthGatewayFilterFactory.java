@@ -2,6 +2,7 @@ package com.wis.apigateway.filter;
 
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
@@ -15,7 +16,10 @@ import java.util.List;
  * Gateway filter for API key authentication.
  *
  * <p>Validates X-API-Key header against configured keys. Returns 401 Unauthorized
- * if the API key is missing or invalid.
+ * if the API key is missing or invalid. Requests the gateway creates itself after
+ * authenticating the caller (sub-requests of {@code /api/batch}) carry
+ * {@link #AUTHENTICATED_ATTR} and are not checked again. Keys revoked at runtime
+ * ({@link RevokedApiKeys}) are rejected like unknown keys.
  *
  * <p>Configuration:
  * <pre>
@@ -37,11 +41,17 @@ import java.util.List;
 public class ApiKeyAuthGatewayFilterFactory
     extends AbstractGatewayFilterFactory<ApiKeyAuthGatewayFilterFactory.Config> {
 
+    /** Exchange attribute marking a request whose API key was already validated. */
+    public static final String AUTHENTICATED_ATTR = ApiKeyAuthGatewayFilterFactory.class.getName() + ".authenticated";
+
     private static final String API_KEY_HEADER = "X-API-Key";
 
     @Value("${api.keys:}")
     private String apiKeys;
 
+    @Autowired(required = false)
+    private RevokedApiKeys revokedApiKeys;
+
     public ApiKeyAuthGatewayFilterFactory() {
         super(Config.class);
     }
@@ -49,6 +59,11 @@ public class ApiKeyAuthGatewayFilterFactory
     @Override
     public GatewayFilter apply(Config config) {
         return (exchange, chain) -> {
+            // Already authenticated by the gateway (e.g. a batch sub-request)
+            if (Boolean.TRUE.equals(exchange.getAttribute(AUTHENTICATED_ATTR))) {
+                return chain.filter(exchange);
+            }
+
             // Extract API key from header
             String apiKey = exchange.getRequest()
                 .getHeaders()
@@ -100,7 +115,8 @@ public class ApiKeyAuthGatewayFilterFactory
         List<String> validKeys = Arrays.asList(apiKeys.split(","));
         return validKeys.stream()
             .map(String::trim)
-            .anyMatch(validKey -> validKey.equals(key));
+            .anyMatch(validKey -> validKey.equals(key))
+            && (revokedApiKeys == null || !revokedApiKeys.isRevoked(key));
     }
 
     /**
@@ -109,7 +125,7 @@ public class ApiKeyAuthGatewayFilterFactory
      * @param key the API key to mask
      * @return masked API key (e.g., "abcd****wxyz")
      */
-    private String maskApiKey(String key) {
+    static String maskApiKey(String key) {
         if (key == null || key.length() < 8) {
             return "****";
         }
@@ -0,0 +1,63 @@
+package com.wis.apigateway.filter;
+
+import com.wis.apigateway.config.ApiKeyTierProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolves the tier of the API key on a request.
+ *
+ * <p>Tier membership is read once from {@code api.tiers} and kept in a lookup table,
+ * so resolving a tier on the request path is a single header read and map lookup.
+ * Requests without a key, or with a key that is not assigned to a tier, resolve to
+ * {@link #DEFAULT_TIER}.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Component
+public class ApiKeyTierResolver {
+
+    public static final String DEFAULT_TIER = "standard";
+
+    private static final String API_KEY_HEADER = "X-API-Key";
+
+    private final Map<String, String> tierByKey = new HashMap<>();
+
+    public ApiKeyTierResolver(ApiKeyTierProperties properties) {
+        properties.getTiers().forEach((tier, keys) -> {
+            for (String key : keys.split(",")) {
+                String trimmed = key.trim();
+                if (!trimmed.isEmpty()) {
+                    tierByKey.put(trimmed, tier);
+                }
+            }
+        });
+    }
+
+    /**
+     * Resolves the tier for the API key on the request.
+     *
+     * @param exchange the current server web exchange
+     * @return tier name, or "standard" if the key has no tier
+     */
+    public String resolve(ServerWebExchange exchange) {
+        return resolve(exchange.getRequest().getHeaders().getFirst(API_KEY_HEADER));
+    }
+
+    /**
+     * Resolves the tier for an API key.
+     *
+     * @param apiKey the API key, may be null
+     * @return tier name, or "standard" if the key has no tier
+     */
+    public String resolve(String apiKey) {
+        if (apiKey == null || apiKey.isEmpty()) {
+            return DEFAULT_TIER;
+        }
+        return tierByKey.getOrDefault(apiKey, DEFAULT_TIER);
+    }
+}
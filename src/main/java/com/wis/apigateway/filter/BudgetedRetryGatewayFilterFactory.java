@@ -0,0 +1,212 @@
+package com.wis.apigateway.filter;
+
+import com.wis.apigateway.resilience.RequestBudget;
+import com.wis.apigateway.resilience.RetryStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Gateway filter that retries failed upstream calls within a retry budget.
+ *
+ * <p>Retries are attempted for:
+ * <ul>
+ *   <li>Connection failures (connect refused or timed out) for any method, since the
+ *       request never reached the backend</li>
+ *   <li>I/O failures such as reset or prematurely closed connections, for idempotent
+ *       methods only</li>
+ *   <li>Configured gateway error statuses (502, 503, 504) for idempotent methods</li>
+ * </ul>
+ *
+ * <p>Backoff is exponential with jitter and scheduled on Reactor timers, so no thread is
+ * blocked while waiting. Each route has a token-bucket {@link RequestBudget}; when the
+ * budget is empty the failure is returned to the client instead of retried, so retries
+ * cannot multiply load during an outage. Retry counts and the retry ratio are published
+ * per route (see {@link RetryStats}).
+ *
+ * <p>Usage in routes:
+ * <pre>
+ * filters:
+ *   - name: BudgetedRetry
+ *     args:
+ *       retries: 2
+ *       budgetRatio: 0.1
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class BudgetedRetryGatewayFilterFactory
+    extends AbstractGatewayFilterFactory<BudgetedRetryGatewayFilterFactory.Config> {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RetryStats> statsByRoute = new ConcurrentHashMap<>();
+
+    public BudgetedRetryGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        RequestBudget budget = new RequestBudget(config.getBudgetRatio(), config.getBudgetBurst());
+        Set<HttpMethod> idempotentMethods = config.getMethods().stream()
+            .map(HttpMethod::valueOf)
+            .collect(Collectors.toUnmodifiableSet());
+        Set<Integer> retryableStatuses = Set.copyOf(config.getStatuses());
+
+        return (exchange, chain) -> {
+            boolean idempotent = idempotentMethods.contains(exchange.getRequest().getMethod());
+            RetryStats stats = statsFor(exchange);
+            stats.recordRequest();
+            budget.recordRequest();
+
+            Mono<Void> attempt = Mono.defer(() -> chain.filter(exchange)
+                .then(Mono.defer(() -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    if (idempotent && status != null && retryableStatuses.contains(status.value())
+                        && !exchange.getResponse().isCommitted()) {
+                        return Mono.error(new RetryableStatusException(status.value()));
+                    }
+                    return Mono.empty();
+                })));
+
+            // Counted here because the retry spec evaluates its filter before maxAttempts;
+            // the final failure must not spend a token on a retry that would never happen
+            AtomicInteger failures = new AtomicInteger();
+            Retry retry = Retry.backoff(config.getRetries(), config.getFirstBackoff())
+                .maxBackoff(config.getMaxBackoff())
+                .jitter(config.getJitter())
+                .filter(error -> {
+                    if (!isRetryable(error, idempotent)
+                        || failures.getAndIncrement() >= config.getRetries()) {
+                        return false;
+                    }
+                    if (!budget.tryAcquire()) {
+                        stats.recordBudgetExhausted();
+                        log.debug("Retry budget exhausted for {} {} - returning failure",
+                            exchange.getRequest().getMethod(),
+                            exchange.getRequest().getPath());
+                        return false;
+                    }
+                    return true;
+                })
+                .doBeforeRetry(signal -> {
+                    stats.recordRetry();
+                    log.debug("Retrying {} {} (attempt {}) after: {}",
+                        exchange.getRequest().getMethod(),
+                        exchange.getRequest().getPath(),
+                        signal.totalRetries() + 1,
+                        signal.failure().toString());
+                    resetForRetry(exchange);
+                })
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+
+            // Once retries stop, a retryable status is passed through to the client as is
+            return attempt.retryWhen(retry)
+                .onErrorResume(RetryableStatusException.class, e -> Mono.empty());
+        };
+    }
+
+    /**
+     * Decides whether a failure may be retried.
+     *
+     * @param error the failure
+     * @param idempotent whether the request method is idempotent
+     * @return true if the failure is retryable
+     */
+    static boolean isRetryable(Throwable error, boolean idempotent) {
+        if (error instanceof ConnectException) {
+            return true;
+        }
+        if (!idempotent) {
+            return false;
+        }
+        return error instanceof RetryableStatusException || error instanceof IOException;
+    }
+
+    /**
+     * Clears state left by the previous attempt so routing can run again.
+     */
+    private void resetForRetry(ServerWebExchange exchange) {
+        Connection connection = exchange.getAttribute(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR);
+        if (connection != null) {
+            connection.dispose();
+        }
+        ServerWebExchangeUtils.reset(exchange);
+    }
+
+    private RetryStats statsFor(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "unknown";
+        RetryStats stats = statsByRoute.get(routeId);
+        if (stats != null) {
+            return stats;
+        }
+        return statsByRoute.computeIfAbsent(routeId, id -> new RetryStats(id, meterRegistry));
+    }
+
+    /**
+     * Signals that the upstream answered with a status worth retrying.
+     */
+    static final class RetryableStatusException extends RuntimeException {
+
+        RetryableStatusException(int status) {
+            super("Upstream returned " + status, null, false, false);
+        }
+    }
+
+    /**
+     * Configuration class for this filter.
+     */
+    @Data
+    public static class Config {
+
+        /** Maximum number of retries per request. */
+        private int retries = 2;
+
+        /** Backoff before the first retry; doubles for each further retry. */
+        private Duration firstBackoff = Duration.ofMillis(50);
+
+        /** Upper bound for the backoff. */
+        private Duration maxBackoff = Duration.ofMillis(500);
+
+        /** Random jitter applied to each backoff, as a fraction of it (0.0 - 1.0). */
+        private double jitter = 0.5;
+
+        /** Idempotent methods retried on I/O failures and retryable statuses. */
+        private List<String> methods = List.of("GET", "HEAD", "OPTIONS");
+
+        /** Upstream statuses retried for idempotent methods. */
+        private List<Integer> statuses = List.of(502, 503, 504);
+
+        /** Retries allowed per original request (e.g. 0.1 for 10%). */
+        private double budgetRatio = 0.1;
+
+        /** Retries that may be banked for bursts. */
+        private int budgetBurst = 10;
+    }
+}
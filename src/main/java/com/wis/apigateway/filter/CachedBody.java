@@ -0,0 +1,72 @@
+package com.wis.apigateway.filter;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Helpers for filters that need the whole request body before forwarding.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+final class CachedBody {
+
+    private CachedBody() {
+    }
+
+    /**
+     * Joins the body into a byte array and releases the pooled buffers; fails with
+     * {@link DataBufferLimitException} as soon as more than {@code maxBytes} arrive.
+     *
+     * @param request incoming request
+     * @param maxBytes largest body accepted
+     * @return the body, empty array if there is none
+     */
+    static Mono<byte[]> read(ServerHttpRequest request, int maxBytes) {
+        return DataBufferUtils.join(request.getBody(), maxBytes)
+            .map(buffer -> {
+                try {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    return bytes;
+                } finally {
+                    DataBufferUtils.release(buffer);
+                }
+            })
+            .defaultIfEmpty(new byte[0]);
+    }
+
+    /**
+     * Returns the request with a body replayed from memory; deferred so retries get a
+     * fresh buffer.
+     *
+     * @param request original request
+     * @param body body already read from it
+     * @param factory buffer factory of the exchange
+     * @return request forwarding {@code body}
+     */
+    static ServerHttpRequest replay(ServerHttpRequest request, byte[] body, DataBufferFactory factory) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(request.getHeaders());
+        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+        headers.setContentLength(body.length);
+        return new ServerHttpRequestDecorator(request) {
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return Flux.defer(() -> Flux.just(factory.wrap(body)));
+            }
+        };
+    }
+}
@@ -0,0 +1,191 @@
+package com.wis.apigateway.filter;
+
+import com.wis.apigateway.metrics.LatencyHistogramRegistry;
+import com.wis.apigateway.metrics.RollingLatencyHistogram;
+import com.wis.apigateway.resilience.Deadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Gateway filter that gives each request a deadline and stops upstream work once it passes.
+ *
+ * <p>The deadline is the route's timeout, or the client's own deadline when it sends a
+ * shorter one in the {@value Deadline#HEADER} header (milliseconds remaining). Every
+ * upstream attempt - including retries and hedges, when this filter is listed before
+ * them - carries the time still left in the same header (see
+ * {@link OutboundHeadersFilter}), so backends can give up too. When the deadline passes
+ * the upstream call is cancelled, which closes its connection, and the client gets 504.
+ * Requests arriving with no time left are answered 504 without calling the backend.
+ *
+ * <p>With {@code adaptive} the route timeout follows the route's live latency: the
+ * configured percentile times {@code multiplier}, between {@code minTimeout} and
+ * {@code timeout}. Until {@code minSamples} responses have been seen, {@code timeout}
+ * applies. Requests cut short by a client's deadline do not feed the histogram.
+ *
+ * <p>Metrics: {@code gateway.deadline.exceeded} (tags {@code route}, {@code source}:
+ * route or client) and {@code gateway.route.timeout} (current route timeout in ms).
+ *
+ * <p>Usage in routes:
+ * <pre>
+ * filters:
+ *   - name: Deadline
+ *     args:
+ *       timeout: 10s
+ *       adaptive: true
+ *       percentile: 99
+ *       multiplier: 2.0
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class DeadlineGatewayFilterFactory
+    extends AbstractGatewayFilterFactory<DeadlineGatewayFilterFactory.Config> {
+
+    private static final String EXCEEDED = "Deadline exceeded";
+
+    private final LatencyHistogramRegistry latencyHistograms;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> gaugedRoutes = ConcurrentHashMap.newKeySet();
+
+    public DeadlineGatewayFilterFactory(LatencyHistogramRegistry latencyHistograms, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.latencyHistograms = latencyHistograms;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : "unknown";
+            RollingLatencyHistogram histogram = latencyHistograms.get(routeId);
+            if (gaugedRoutes.add(routeId)) {
+                Gauge.builder("gateway.route.timeout", histogram, h -> routeTimeout(h, config).toMillis())
+                    .description("Current timeout of the route")
+                    .tag("route", routeId)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            }
+
+            Duration timeout = routeTimeout(histogram, config);
+            Deadline deadline = Deadline.after(timeout);
+            boolean clientBound = false;
+            if (config.isHonorClientDeadline()) {
+                long clientMillis = Deadline.parseMillis(exchange.getRequest().getHeaders().getFirst(Deadline.HEADER));
+                if (clientMillis >= 0 && clientMillis < timeout.toMillis()) {
+                    deadline = Deadline.after(Duration.ofMillis(clientMillis));
+                    clientBound = true;
+                }
+            }
+            Deadline outer = exchange.getAttribute(Deadline.ATTR);
+            if (outer != null && outer.earliest(deadline) == outer) {
+                deadline = outer;
+                clientBound = true;
+            }
+            exchange.getAttributes().put(Deadline.ATTR, deadline);
+
+            String source = clientBound ? "client" : "route";
+            if (deadline.isExpired()) {
+                exceeded(routeId, source);
+                return Mono.error(new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, EXCEEDED));
+            }
+
+            long start = System.nanoTime();
+            boolean record = config.isAdaptive();
+            boolean recordTimeouts = record && !clientBound;
+            return chain.filter(exchange)
+                .timeout(deadline.remaining())
+                .doOnSuccess(done -> {
+                    if (record) {
+                        histogram.record(System.nanoTime() - start);
+                    }
+                })
+                .onErrorResume(TimeoutException.class, e -> {
+                    exceeded(routeId, source);
+                    if (recordTimeouts) {
+                        histogram.record(System.nanoTime() - start);
+                    }
+                    log.debug("{} deadline of {} {} passed after {}ms", source,
+                        exchange.getRequest().getMethod(), exchange.getRequest().getPath(),
+                        Duration.ofNanos(System.nanoTime() - start).toMillis());
+                    if (exchange.getResponse().isCommitted()) {
+                        return Mono.error(e);
+                    }
+                    return Mono.error(new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, EXCEEDED));
+                });
+        };
+    }
+
+    /**
+     * Computes the route timeout from the route's latency histogram.
+     *
+     * @param histogram live latency histogram of the route
+     * @param config filter configuration
+     * @return timeout for a request without a shorter client deadline
+     */
+    Duration routeTimeout(RollingLatencyHistogram histogram, Config config) {
+        if (!config.isAdaptive() || histogram.count() < config.getMinSamples()) {
+            return config.getTimeout();
+        }
+        long nanos = (long) (histogram.percentileNanos(config.getPercentile()) * config.getMultiplier());
+        long clamped = Math.max(config.getMinTimeout().toNanos(), Math.min(config.getTimeout().toNanos(), nanos));
+        return Duration.ofNanos(clamped);
+    }
+
+    private void exceeded(String routeId, String source) {
+        Counter.builder("gateway.deadline.exceeded")
+            .description("Requests whose deadline passed before the backend answered")
+            .tag("route", routeId)
+            .tag("source", source)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    /**
+     * Configuration class for this filter.
+     */
+    @Data
+    public static class Config {
+
+        /** Route timeout, and the upper bound of the adaptive timeout. */
+        private Duration timeout = Duration.ofSeconds(10);
+
+        /** Whether a shorter client deadline in the request header is honoured. */
+        private boolean honorClientDeadline = true;
+
+        /** Whether the timeout follows the route's live latency. */
+        private boolean adaptive = false;
+
+        /** Latency percentile of the route the adaptive timeout is based on. */
+        private double percentile = 99.0;
+
+        /** Factor applied to the percentile. */
+        private double multiplier = 2.0;
+
+        /** Lower bound for the adaptive timeout. */
+        private Duration minTimeout = Duration.ofMillis(250);
+
+        /** Responses required before the histogram percentile is trusted. */
+        private int minSamples = 200;
+    }
+}
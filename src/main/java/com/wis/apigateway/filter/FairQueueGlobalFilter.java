@@ -0,0 +1,95 @@
+package com.wis.apigateway.filter;
+
+import com.wis.apigateway.config.OverloadProperties;
+import com.wis.apigateway.overload.FairQueue;
+import com.wis.apigateway.overload.FairQueueRejectedException;
+import com.wis.apigateway.overload.RequestPriority;
+import com.wis.apigateway.overload.RequestPriorityResolver;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.RouteToRequestUrlFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Global filter that holds upstream calls in the {@link FairQueue} while the gateway has
+ * {@code gateway.fair-queue.max-concurrency} calls in flight.
+ *
+ * <p>Runs after the route filters, just before the request URL is resolved and the request
+ * is routed, so each retry holds its own slot and a route's deadline covers the time spent
+ * waiting. A hedged request holds this slot for its primary attempt; the hedging filter
+ * takes a second slot for the hedge. Requests are queued under the key resolved by
+ * {@link ApiKeyResolver} with the weight of its tier from {@link ApiKeyTierResolver}; all
+ * requests without an API key share the {@code anonymous} key. While slots are free the
+ * request passes straight through without resolving either. WebSocket upgrades are never
+ * queued, and neither are {@code CRITICAL} requests (see {@link RequestPriorityResolver}),
+ * such as provider webhooks and health checks: when no slot is free they go through
+ * without one.
+ *
+ * <p>A key with too many requests waiting gets 429; a request that waits too long gets 503.
+ * Both carry the same Retry-After header as shed requests.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class FairQueueGlobalFilter implements GlobalFilter, Ordered {
+
+    /** Runs after every route filter and ahead of the hedging, spooling and routing filters. */
+    public static final int ORDER = RouteToRequestUrlFilter.ROUTE_TO_URL_FILTER_ORDER - 1;
+
+    private final FairQueue fairQueue;
+    private final ApiKeyResolver apiKeyResolver;
+    private final ApiKeyTierResolver tierResolver;
+    private final RequestPriorityResolver priorityResolver;
+    private final String retryAfterSeconds;
+
+    public FairQueueGlobalFilter(FairQueue fairQueue,
+                                 ApiKeyResolver apiKeyResolver,
+                                 ApiKeyTierResolver tierResolver,
+                                 RequestPriorityResolver priorityResolver,
+                                 OverloadProperties overloadProperties) {
+        this.fairQueue = fairQueue;
+        this.apiKeyResolver = apiKeyResolver;
+        this.tierResolver = tierResolver;
+        this.priorityResolver = priorityResolver;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, overloadProperties.getRetryAfter().toSeconds()));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!fairQueue.isEnabled() || "websocket".equalsIgnoreCase(exchange.getRequest().getHeaders().getUpgrade())) {
+            return chain.filter(exchange);
+        }
+        // Fast path: a slot is free and nobody is waiting
+        if (fairQueue.tryAcquire()) {
+            return chain.filter(exchange).doFinally(signal -> fairQueue.release());
+        }
+        if (priorityResolver.resolve(exchange) == RequestPriority.CRITICAL) {
+            return chain.filter(exchange);
+        }
+
+        return apiKeyResolver.resolve(exchange)
+            .flatMap(key -> fairQueue.enqueue(key, tierResolver.resolve(exchange), () -> chain.filter(exchange)))
+            .onErrorResume(FairQueueRejectedException.class, e -> {
+                log.debug("Fair queue rejected {} {}: {}",
+                    exchange.getRequest().getMethod(), exchange.getRequest().getPath(), e.getMessage());
+                exchange.getResponse().setStatusCode(e.getReason() == FairQueueRejectedException.Reason.KEY_LIMIT
+                    ? HttpStatus.TOO_MANY_REQUESTS
+                    : HttpStatus.SERVICE_UNAVAILABLE);
+                exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+                return exchange.getResponse().setComplete();
+            });
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
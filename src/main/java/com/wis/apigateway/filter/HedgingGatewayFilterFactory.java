@@ -0,0 +1,332 @@
+package com.wis.apigateway.filter;
+
+import com.wis.apigateway.metrics.LatencyHistogramRegistry;
+import com.wis.apigateway.metrics.RollingLatencyHistogram;
+import com.wis.apigateway.overload.FairQueue;
+import com.wis.apigateway.resilience.RequestBudget;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.RouteToRequestUrlFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.PRESERVE_HOST_HEADER_ATTRIBUTE;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.isAlreadyRouted;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.setAlreadyRouted;
+
+/**
+ * Gateway filter that hedges idempotent requests against slow backend instances.
+ *
+ * <p>Sends the request upstream and, if no response has arrived after the hedge delay,
+ * sends a second identical request. Whichever response arrives first is returned to the
+ * client and the other request is cancelled.
+ *
+ * <p>The hedge delay is the configured percentile of a live per-route latency histogram
+ * (see {@link LatencyHistogramRegistry}), clamped between {@code minDelay} and
+ * {@code maxDelay}. Until the histogram holds {@code minSamples} samples the filter
+ * uses {@code maxDelay}. Hedges are capped by a {@link RequestBudget}, so extra load
+ * never exceeds {@code maxExtraLoad} of the route's traffic. A hedge also needs a free
+ * {@link FairQueue} slot of its own, on top of the one the primary holds; when none is
+ * free the request is not hedged.
+ *
+ * <p>Hedged requests are sent by this filter instead of the default Netty routing
+ * filter, and their responses are buffered so the losing request can be cancelled
+ * cleanly. Only use it on routes with small idempotent responses. Other methods pass
+ * through to normal routing. Because the Netty routing and write-response filters are
+ * skipped, this filter applies the route's {@code response-timeout} and
+ * {@code connect-timeout} metadata to each attempt itself (an attempt that times out
+ * answers 504, as with normal routing); the global {@code spring.cloud.gateway.httpclient}
+ * settings still come from the shared {@link HttpClient}.
+ *
+ * <p>An attempt cancelled before its response arrived, because the other attempt won or
+ * it timed out, is recorded in the latency histogram at the time it had waited. That is a
+ * lower bound of its latency, but leaving it out would hide exactly the slow responses and
+ * pull the hedge delay down.
+ *
+ * <p>Usage in routes:
+ * <pre>
+ * filters:
+ *   - name: Hedging
+ *     args:
+ *       percentile: 95
+ *       maxExtraLoad: 0.05
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class HedgingGatewayFilterFactory
+    extends AbstractGatewayFilterFactory<HedgingGatewayFilterFactory.Config> {
+
+    /** Runs after the request URL is resolved and before the Netty routing filter. */
+    public static final int HEDGING_FILTER_ORDER = RouteToRequestUrlFilter.ROUTE_TO_URL_FILTER_ORDER + 1;
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    private final HttpClient httpClient;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider;
+    private final LatencyHistogramRegistry latencyHistograms;
+    private final MeterRegistry meterRegistry;
+    private final FairQueue fairQueue;
+
+    private volatile List<HttpHeadersFilter> headersFilters;
+
+    public HedgingGatewayFilterFactory(HttpClient httpClient,
+                                       ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                       LatencyHistogramRegistry latencyHistograms,
+                                       MeterRegistry meterRegistry,
+                                       FairQueue fairQueue) {
+        super(Config.class);
+        this.httpClient = httpClient;
+        this.headersFiltersProvider = headersFiltersProvider;
+        this.latencyHistograms = latencyHistograms;
+        this.meterRegistry = meterRegistry;
+        this.fairQueue = fairQueue;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        RequestBudget budget = new RequestBudget(config.getMaxExtraLoad(), config.getBurst());
+        Set<HttpMethod> methods = config.getMethods().stream()
+            .map(HttpMethod::valueOf)
+            .collect(Collectors.toUnmodifiableSet());
+
+        GatewayFilter filter = (exchange, chain) -> {
+            URI requestUrl = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+            HttpMethod method = exchange.getRequest().getMethod();
+
+            if (requestUrl == null || isAlreadyRouted(exchange) || !methods.contains(method)
+                || !("http".equals(requestUrl.getScheme()) || "https".equals(requestUrl.getScheme()))) {
+                return chain.filter(exchange);
+            }
+
+            Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : requestUrl.getHost();
+            RollingLatencyHistogram histogram = latencyHistograms.get(routeId + ":" + method.name());
+
+            setAlreadyRouted(exchange);
+            budget.recordRequest();
+
+            HttpHeaders headers = upstreamHeaders(exchange);
+            Duration delay = hedgeDelay(histogram, config);
+
+            HttpClient client = routeClient(route);
+            Duration responseTimeout = metadataMillis(route, RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR);
+
+            Mono<UpstreamResponse> primary = send(client, method, requestUrl, headers, histogram, responseTimeout, false);
+            Mono<UpstreamResponse> hedge = Mono.delay(delay).flatMap(tick -> {
+                boolean queued = fairQueue.isEnabled();
+                if (queued && !fairQueue.tryAcquire()) {
+                    counter("gateway.hedge.saturated", routeId).increment();
+                    return Mono.never();
+                }
+                if (!budget.tryAcquire()) {
+                    if (queued) {
+                        fairQueue.release();
+                    }
+                    counter("gateway.hedge.budget.exhausted", routeId).increment();
+                    return Mono.never();
+                }
+                log.debug("Hedging {} {} after {}ms", method, requestUrl.getPath(), delay.toMillis());
+                counter("gateway.hedge.fired", routeId).increment();
+                // A failed hedge must never beat a primary that may still succeed
+                return send(client, method, requestUrl, headers, histogram, responseTimeout, true)
+                    .doFinally(signal -> {
+                        if (queued) {
+                            fairQueue.release();
+                        }
+                    })
+                    .onErrorResume(e -> Mono.never());
+            });
+
+            return Mono.firstWithSignal(primary, hedge)
+                .flatMap(response -> {
+                    if (response.hedge()) {
+                        counter("gateway.hedge.won", routeId).increment();
+                    }
+                    return writeResponse(exchange, response);
+                });
+        };
+
+        return new OrderedGatewayFilter(filter, HEDGING_FILTER_ORDER);
+    }
+
+    /**
+     * Computes the hedge delay from the route's latency histogram.
+     *
+     * @param histogram live latency histogram for the route and method
+     * @param config filter configuration
+     * @return delay after which the hedge request is sent
+     */
+    Duration hedgeDelay(RollingLatencyHistogram histogram, Config config) {
+        if (histogram.count() < config.getMinSamples()) {
+            return config.getMaxDelay();
+        }
+        long nanos = histogram.percentileNanos(config.getPercentile());
+        long clamped = Math.max(config.getMinDelay().toNanos(), Math.min(config.getMaxDelay().toNanos(), nanos));
+        return Duration.ofNanos(clamped);
+    }
+
+    /**
+     * Sends one attempt upstream and buffers its response.
+     */
+    private Mono<UpstreamResponse> send(HttpClient client, HttpMethod method, URI url, HttpHeaders headers,
+                                        RollingLatencyHistogram histogram, Duration responseTimeout,
+                                        boolean hedge) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            AtomicBoolean recorded = new AtomicBoolean();
+            Mono<UpstreamResponse> attempt = client
+                .headers(nettyHeaders -> headers.forEach(nettyHeaders::set))
+                .request(io.netty.handler.codec.http.HttpMethod.valueOf(method.name()))
+                .uri(url.toASCIIString())
+                .responseSingle((response, body) -> body.asByteArray()
+                    .defaultIfEmpty(EMPTY_BODY)
+                    .map(bytes -> {
+                        HttpHeaders responseHeaders = new HttpHeaders();
+                        response.responseHeaders().forEach(e -> responseHeaders.add(e.getKey(), e.getValue()));
+                        return new UpstreamResponse(response.status().code(), responseHeaders, bytes, hedge);
+                    }))
+                .doOnNext(response -> {
+                    if (recorded.compareAndSet(false, true)) {
+                        histogram.record(System.nanoTime() - start);
+                    }
+                })
+                // Lower bound for the attempt that lost or timed out
+                .doOnCancel(() -> {
+                    if (recorded.compareAndSet(false, true)) {
+                        histogram.record(System.nanoTime() - start);
+                    }
+                });
+            if (responseTimeout == null) {
+                return attempt;
+            }
+            return attempt
+                .timeout(responseTimeout)
+                .onErrorMap(TimeoutException.class, e -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+                    "Response took longer than timeout: " + responseTimeout, e));
+        });
+    }
+
+    /**
+     * Applies the route's {@code connect-timeout} metadata to the shared client.
+     */
+    private HttpClient routeClient(Route route) {
+        Duration connectTimeout = metadataMillis(route, RouteMetadataUtils.CONNECT_TIMEOUT_ATTR);
+        if (connectTimeout == null) {
+            return httpClient;
+        }
+        return httpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis());
+    }
+
+    /**
+     * Reads a millisecond route metadata value; negative values disable the timeout.
+     */
+    private static Duration metadataMillis(Route route, String attribute) {
+        Object value = route != null ? route.getMetadata().get(attribute) : null;
+        if (value == null) {
+            return null;
+        }
+        long millis = value instanceof Number number ? number.longValue() : Long.parseLong(value.toString());
+        return millis >= 0 ? Duration.ofMillis(millis) : null;
+    }
+
+    /**
+     * Builds the upstream request headers the same way the Netty routing filter does.
+     */
+    private HttpHeaders upstreamHeaders(ServerWebExchange exchange) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(HttpHeadersFilter.filterRequest(getHeadersFilters(), exchange));
+        if (!exchange.getAttributeOrDefault(PRESERVE_HOST_HEADER_ATTRIBUTE, false)) {
+            headers.remove(HttpHeaders.HOST);
+        }
+        return headers;
+    }
+
+    /**
+     * Writes the winning upstream response to the client.
+     */
+    private Mono<Void> writeResponse(ServerWebExchange exchange, UpstreamResponse upstream) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatusCode.valueOf(upstream.status()));
+        response.getHeaders().putAll(HttpHeadersFilter.filter(
+            getHeadersFilters(), upstream.headers(), exchange, HttpHeadersFilter.Type.RESPONSE));
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(upstream.body())));
+    }
+
+    private List<HttpHeadersFilter> getHeadersFilters() {
+        if (headersFilters == null) {
+            List<HttpHeadersFilter> filters = headersFiltersProvider.getIfAvailable();
+            headersFilters = filters != null ? filters : List.of();
+        }
+        return headersFilters;
+    }
+
+    private Counter counter(String name, String routeId) {
+        return Counter.builder(name).tag("route", routeId).register(meterRegistry);
+    }
+
+    /**
+     * Buffered upstream response.
+     */
+    private record UpstreamResponse(int status, HttpHeaders headers, byte[] body, boolean hedge) {
+    }
+
+    /**
+     * Configuration class for this filter.
+     */
+    @Data
+    public static class Config {
+
+        /** Latency percentile of the route used as the hedge delay. */
+        private double percentile = 95.0;
+
+        /** Lower bound for the hedge delay. */
+        private Duration minDelay = Duration.ofMillis(10);
+
+        /** Upper bound for the hedge delay, also used until enough samples exist. */
+        private Duration maxDelay = Duration.ofMillis(500);
+
+        /** Samples required before the histogram percentile is trusted. */
+        private int minSamples = 100;
+
+        /** Maximum hedges as a fraction of the route's requests. */
+        private double maxExtraLoad = 0.05;
+
+        /** Hedges that may be banked for bursts. */
+        private int burst = 10;
+
+        /** Idempotent methods that may be hedged. */
+        private List<String> methods = List.of("GET", "HEAD");
+    }
+}
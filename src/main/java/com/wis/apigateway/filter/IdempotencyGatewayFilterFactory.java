@@ -0,0 +1,339 @@
+package com.wis.apigateway.filter;
+
+import com.wis.apigateway.config.IdempotencyProperties;
+import com.wis.apigateway.idempotency.IdempotencyRecord;
+import com.wis.apigateway.idempotency.IdempotencyStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Gateway filter that makes requests carrying an {@value #HEADER} header safe to retry.
+ *
+ * <p>The first request with a key runs normally and its response is stored for
+ * {@code gateway.idempotency.ttl}; later requests with the same key get the stored response
+ * back, marked {@value #REPLAYED_HEADER}, without reaching the backend. Duplicates arriving
+ * while the first request is still running wait for its response, up to
+ * {@code lock-timeout} - through a local signal on the same instance, by polling the store
+ * otherwise - and get 409 if it does not arrive in time. Keys are scoped to the route and
+ * the caller's API key; reusing a key for a different method or path gets 422.
+ *
+ * <p>Responses with status 5xx, 408 or 429, responses larger than {@code max-body-size} and
+ * requests that fail or are cancelled are not stored: the key is released and a retry runs
+ * again.
+ *
+ * <p>Metrics: {@code gateway.idempotency.requests} (tags {@code route}, {@code outcome}:
+ * executed, replayed, mismatch, conflict or invalid).
+ *
+ * <p>Usage in routes:
+ * <pre>
+ * filters:
+ *   - name: Idempotency
+ *     args:
+ *       methods: POST,PATCH
+ *       required: false
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class IdempotencyGatewayFilterFactory
+    extends AbstractGatewayFilterFactory<IdempotencyGatewayFilterFactory.Config> {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String API_KEY_HEADER = "X-API-Key";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<String> UNSTORED_HEADERS = Set.of(
+        "transfer-encoding", "connection", "keep-alive", "content-length");
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Sinks.One<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyGatewayFilterFactory(IdempotencyStore store, IdempotencyProperties properties,
+                                           MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.store = store;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (config.getMethods().stream().noneMatch(method -> method.equalsIgnoreCase(request.getMethod().name()))) {
+                return chain.filter(exchange);
+            }
+            Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : "unknown";
+            String key = request.getHeaders().getFirst(HEADER);
+            if (key == null) {
+                if (config.isRequired()) {
+                    count(routeId, "invalid");
+                    return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, HEADER + " header is required"));
+                }
+                return chain.filter(exchange);
+            }
+            if (!isValidKey(key)) {
+                count(routeId, "invalid");
+                return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    HEADER + " must be 1 to " + MAX_KEY_LENGTH + " printable ASCII characters"));
+            }
+
+            String storeKey = storeKey(routeId, request.getHeaders().getFirst(API_KEY_HEADER), key);
+            String fingerprint = request.getMethod().name() + " " + request.getURI().getRawPath();
+            IdempotencyRecord claim = IdempotencyRecord.inProgress(fingerprint);
+            return store.begin(storeKey, claim, properties.getLockTimeout())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(existing -> existing.isPresent()
+                    ? duplicate(exchange, routeId, storeKey, fingerprint, existing.get())
+                    : execute(exchange, chain, routeId, storeKey, claim));
+        };
+    }
+
+    private Mono<Void> execute(ServerWebExchange exchange, GatewayFilterChain chain, String routeId,
+                               String storeKey, IdempotencyRecord claim) {
+        count(routeId, "executed");
+        Sinks.One<IdempotencyRecord> result = Sinks.one();
+        inFlight.put(storeKey, result);
+        Tee tee = new Tee((int) properties.getMaxBodySize().toBytes());
+        ServerWebExchange tapped = exchange.mutate()
+            .response(new ServerHttpResponseDecorator(exchange.getResponse()) {
+                @Override
+                public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                    return super.writeWith(Flux.from(body).doOnNext(tee::chunk));
+                }
+
+                @Override
+                public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+                    return super.writeAndFlushWith(Flux.from(body)
+                        .map(chunks -> Flux.from(chunks).doOnNext(tee::chunk)));
+                }
+            })
+            .build();
+
+        return chain.filter(tapped)
+            .then(Mono.defer(() -> finish(exchange.getResponse(), storeKey, claim, tee, result)))
+            .doOnError(e -> abandon(storeKey, claim, result))
+            .doOnCancel(() -> abandon(storeKey, claim, result))
+            .doFinally(signal -> inFlight.remove(storeKey, result));
+    }
+
+    private Mono<Void> finish(ServerHttpResponse response, String storeKey, IdempotencyRecord claim,
+                              Tee tee, Sinks.One<IdempotencyRecord> result) {
+        HttpStatusCode status = response.getStatusCode();
+        if (status == null || !isStorable(status) || tee.overflowed) {
+            abandon(storeKey, claim, result);
+            return Mono.empty();
+        }
+        List<IdempotencyRecord.Header> headers = new ArrayList<>();
+        response.getHeaders().forEach((name, values) -> {
+            if (!UNSTORED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                values.forEach(value -> headers.add(new IdempotencyRecord.Header(name, value)));
+            }
+        });
+        IdempotencyRecord completed = new IdempotencyRecord(claim.fingerprint(), status.value(),
+            List.copyOf(headers), tee.body());
+        return store.complete(storeKey, claim, completed, properties.getTtl())
+            .doOnSuccess(done -> result.tryEmitValue(completed))
+            .onErrorResume(e -> {
+                log.warn("Failed to store idempotent response for {}: {}", claim.fingerprint(), e.toString());
+                abandon(storeKey, claim, result);
+                return Mono.empty();
+            });
+    }
+
+    private Mono<Void> duplicate(ServerWebExchange exchange, String routeId, String storeKey,
+                                 String fingerprint, IdempotencyRecord existing) {
+        if (!existing.fingerprint().equals(fingerprint)) {
+            count(routeId, "mismatch");
+            return Mono.error(new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                HEADER + " was already used for " + existing.fingerprint()));
+        }
+        if (existing.isCompleted()) {
+            count(routeId, "replayed");
+            return replay(exchange.getResponse(), existing);
+        }
+
+        Sinks.One<IdempotencyRecord> local = inFlight.get(storeKey);
+        Mono<IdempotencyRecord> completion = local != null ? local.asMono() : poll(storeKey);
+        return completion
+            .timeout(properties.getLockTimeout())
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .onErrorResume(TimeoutException.class, e -> Mono.just(Optional.empty()))
+            .flatMap(completed -> {
+                if (completed.isEmpty()) {
+                    count(routeId, "conflict");
+                    return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT,
+                        "A request with this " + HEADER + " did not complete; retry it"));
+                }
+                count(routeId, "replayed");
+                return replay(exchange.getResponse(), completed.get());
+            });
+    }
+
+    /**
+     * Polls the store until the key's record completes (the record) or disappears (empty).
+     */
+    private Mono<IdempotencyRecord> poll(String storeKey) {
+        Duration interval = properties.getPollInterval();
+        return Mono.defer(() -> store.get(storeKey))
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .filter(found -> found.isEmpty() || found.get().isCompleted())
+            .repeatWhenEmpty(attempts -> attempts.delayElements(interval))
+            .flatMap(Mono::justOrEmpty);
+    }
+
+    private Mono<Void> replay(ServerHttpResponse response, IdempotencyRecord completed) {
+        HttpHeaders headers = new HttpHeaders();
+        completed.headers().forEach(header -> headers.add(header.name(), header.value()));
+        response.setStatusCode(HttpStatusCode.valueOf(completed.status()));
+        response.getHeaders().putAll(headers);
+        response.getHeaders().set(REPLAYED_HEADER, "true");
+        response.getHeaders().setContentLength(completed.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(completed.body())));
+    }
+
+    private void abandon(String storeKey, IdempotencyRecord claim, Sinks.One<IdempotencyRecord> result) {
+        if (result.tryEmitEmpty().isSuccess()) {
+            store.release(storeKey, claim)
+                .subscribe(null, e -> log.warn("Failed to release idempotency key: {}", e.toString()));
+        }
+    }
+
+    private void count(String routeId, String outcome) {
+        Counter.builder("gateway.idempotency.requests")
+            .description("Requests carrying an Idempotency-Key, by outcome")
+            .tag("route", routeId)
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    static boolean isStorable(HttpStatusCode status) {
+        return !status.is5xxServerError()
+            && status.value() != HttpStatus.REQUEST_TIMEOUT.value()
+            && status.value() != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    static boolean isValidKey(String key) {
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < 0x21 || c > 0x7E) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Scopes a client's key to the route and caller; the API key is hashed so it is not
+     * written to the store.
+     */
+    static String storeKey(String routeId, String apiKey, String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((apiKey != null ? apiKey : "").getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(key.getBytes(StandardCharsets.UTF_8));
+            return routeId + ":" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Response body bytes of the request owning a key, up to the configured limit. Chunks
+     * arrive in order; the body is read after the response completes.
+     */
+    private static final class Tee {
+
+        private final int maxBodyBytes;
+        private byte[] body = new byte[0];
+        private int bodyLength;
+        private volatile boolean overflowed;
+
+        Tee(int maxBodyBytes) {
+            this.maxBodyBytes = maxBodyBytes;
+        }
+
+        void chunk(DataBuffer buffer) {
+            int readable = buffer.readableByteCount();
+            if (overflowed || bodyLength + readable > maxBodyBytes) {
+                overflowed = true;
+                return;
+            }
+            if (bodyLength + readable > body.length) {
+                body = Arrays.copyOf(body, Math.min(maxBodyBytes, Math.max(bodyLength + readable, body.length * 2)));
+            }
+            buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(body), bodyLength, readable);
+            bodyLength += readable;
+        }
+
+        byte[] body() {
+            return bodyLength == body.length ? body : Arrays.copyOf(body, bodyLength);
+        }
+    }
+
+    /**
+     * Configuration class for this filter.
+     */
+    @Data
+    public static class Config {
+
+        /** Methods whose requests honour the header; others pass through. */
+        private List<String> methods = List.of("POST");
+
+        /** Whether requests with those methods must carry the header. */
+        private boolean required = false;
+    }
+}
@@ -0,0 +1,65 @@
+package com.wis.apigateway.filter;
+
+import com.wis.apigateway.resilience.Deadline;
+import com.wis.apigateway.tracing.TraceContext;
+import com.wis.apigateway.tracing.Tracer;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Adds gateway-owned headers to requests sent to backends.
+ *
+ * <p>Runs last while the gateway builds the outbound headers (for the routing filter as
+ * well as for hedged and retried attempts) and writes:
+ * <ul>
+ *   <li>the route's {@link StaticHeaderSet} (service key, version and other static
+ *       headers), if one is attached</li>
+ *   <li>the W3C {@code traceparent} of the gateway span, if tracing is on</li>
+ *   <li>the milliseconds left until the request's {@link Deadline}, if it has one, so
+ *       each attempt tells the backend how long it still has</li>
+ * </ul>
+ *
+ * <p>The earlier header filters already produce a private copy of the request headers,
+ * so that copy is updated in place. Only when handed the request's own read-only headers
+ * does this filter copy them first.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Component
+public class OutboundHeadersFilter implements HttpHeadersFilter, Ordered {
+
+    @Override
+    public HttpHeaders filter(HttpHeaders input, ServerWebExchange exchange) {
+        StaticHeaderSet staticHeaders = exchange.getAttribute(StaticHeaderSet.ATTR);
+        TraceContext trace = exchange.getAttribute(Tracer.CONTEXT_ATTR);
+        Deadline deadline = exchange.getAttribute(Deadline.ATTR);
+        if (staticHeaders == null && trace == null && deadline == null) {
+            return input;
+        }
+
+        HttpHeaders headers = input;
+        if (input == exchange.getRequest().getHeaders()) {
+            headers = new HttpHeaders();
+            headers.putAll(input);
+        }
+        if (staticHeaders != null) {
+            staticHeaders.applyTo(headers);
+        }
+        if (trace != null) {
+            headers.set(TraceContext.TRACEPARENT_HEADER, trace.toTraceparent(trace.sampled()));
+        }
+        if (deadline != null) {
+            headers.set(Deadline.HEADER, Long.toString(deadline.remainingMillis()));
+        }
+        return headers;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,70 @@
+package com.wis.apigateway.filter;
+
+import com.wis.apigateway.cluster.InvalidationBus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * API keys revoked at runtime, shared by all gateway instances.
+ *
+ * <p>A revocation is published on the {@link InvalidationBus} under {@link #NAMESPACE}, so
+ * every instance rejects the key within milliseconds instead of at the next deployment.
+ * Only SHA-256 fingerprints are stored and sent, never the key itself. Revocations last
+ * until the instance restarts; remove the key from {@code API_KEYS} to make it permanent.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class RevokedApiKeys {
+
+    /** Invalidation namespace of revoked key fingerprints. */
+    public static final String NAMESPACE = "api-key";
+
+    private final InvalidationBus bus;
+    private final Set<String> fingerprints = ConcurrentHashMap.newKeySet();
+
+    public RevokedApiKeys(InvalidationBus bus) {
+        this.bus = bus;
+        bus.subscribe(NAMESPACE, fingerprint -> {
+            if (fingerprints.add(fingerprint)) {
+                log.info("API key {} revoked", fingerprint.substring(0, 8));
+            }
+        });
+    }
+
+    /**
+     * Revokes a key on all instances.
+     *
+     * @param apiKey the key to revoke
+     */
+    public void revoke(String apiKey) {
+        bus.publish(NAMESPACE, fingerprint(apiKey));
+    }
+
+    /**
+     * @param apiKey a presented key
+     * @return whether the key was revoked
+     */
+    public boolean isRevoked(String apiKey) {
+        // Nothing to hash until something was revoked
+        return !fingerprints.isEmpty() && fingerprints.contains(fingerprint(apiKey));
+    }
+
+    static String fingerprint(String apiKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.wis.apigateway.filter;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precomputed headers added to every request a route sends upstream.
+ *
+ * <p>Names and single-value lists are built once when the route is created. Attaching
+ * the set to a request stores a reference on the exchange; {@link OutboundHeadersFilter}
+ * then writes the headers while the gateway builds the outbound request headers. No
+ * request headers are copied and no exchange is mutated per request. Attaching is
+ * idempotent, so retries and hedges that run the filter chain again on the same exchange
+ * do not add the same headers twice.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public final class StaticHeaderSet {
+
+    /** Exchange attribute holding the {@code StaticHeaderSet} for the current route. */
+    public static final String ATTR = StaticHeaderSet.class.getName();
+
+    private final String[] names;
+    private final List<String>[] values;
+    private final boolean[] override;
+    private final StaticHeaderSet[] parts;
+
+    @SuppressWarnings("unchecked")
+    private StaticHeaderSet(int size, StaticHeaderSet[] parts) {
+        this.names = new String[size];
+        this.values = new List[size];
+        this.override = new boolean[size];
+        this.parts = parts != null ? parts : new StaticHeaderSet[]{this};
+    }
+
+    /**
+     * Creates a header set.
+     *
+     * @param headers header names and values
+     * @param override true to replace a header the client sent; false to add it only
+     *                 when absent (for defaults the client may supply)
+     * @return precomputed header set
+     */
+    public static StaticHeaderSet of(Map<String, String> headers, boolean override) {
+        StaticHeaderSet set = new StaticHeaderSet(headers.size(), null);
+        int i = 0;
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            set.names[i] = header.getKey();
+            set.values[i] = List.of(header.getValue());
+            set.override[i] = override;
+            i++;
+        }
+        return set;
+    }
+
+    /**
+     * Returns a set with the headers of both sets; on a name clash the other set wins.
+     *
+     * @param other headers to add
+     * @return combined set
+     */
+    public StaticHeaderSet and(StaticHeaderSet other) {
+        StaticHeaderSet[] combinedParts = Arrays.copyOf(parts, parts.length + other.parts.length);
+        System.arraycopy(other.parts, 0, combinedParts, parts.length, other.parts.length);
+        StaticHeaderSet combined = new StaticHeaderSet(names.length + other.names.length, combinedParts);
+        System.arraycopy(names, 0, combined.names, 0, names.length);
+        System.arraycopy(values, 0, combined.values, 0, names.length);
+        System.arraycopy(override, 0, combined.override, 0, names.length);
+        System.arraycopy(other.names, 0, combined.names, names.length, other.names.length);
+        System.arraycopy(other.values, 0, combined.values, names.length, other.names.length);
+        System.arraycopy(other.override, 0, combined.override, names.length, other.names.length);
+        return combined;
+    }
+
+    /**
+     * Attaches this set to the exchange, combining with a set attached by an earlier filter.
+     * Does nothing if this set is already attached.
+     *
+     * @param exchange current exchange
+     */
+    public void attachTo(ServerWebExchange exchange) {
+        StaticHeaderSet existing = exchange.getAttribute(ATTR);
+        if (existing == null) {
+            exchange.getAttributes().put(ATTR, this);
+        } else if (!existing.contains(this)) {
+            exchange.getAttributes().put(ATTR, existing.and(this));
+        }
+    }
+
+    private boolean contains(StaticHeaderSet set) {
+        for (StaticHeaderSet part : parts) {
+            if (part == set) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the headers into outbound request headers.
+     *
+     * @param headers mutable outbound headers
+     */
+    public void applyTo(HttpHeaders headers) {
+        for (int i = 0; i < names.length; i++) {
+            if (override[i] || !headers.containsKey(names[i])) {
+                headers.put(names[i], values[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return names.length;
+    }
+}
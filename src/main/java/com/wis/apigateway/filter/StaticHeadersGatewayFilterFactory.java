@@ -0,0 +1,65 @@
+package com.wis.apigateway.filter;
+
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Gateway filter for adding static headers to requests forwarded to backend services.
+ *
+ * <p>The header set is precomputed when the route is built (see {@link StaticHeaderSet});
+ * per request the filter only attaches it to the exchange, and the headers are written
+ * while the outbound request headers are assembled. Use it for values that never change
+ * per request, such as API versions or default trace state.
+ *
+ * <p>Usage in routes:
+ * <pre>
+ * filters:
+ *   - name: StaticHeaders
+ *     args:
+ *       headers:
+ *         "[X-Gateway-Version]": 1.0.0
+ *         "[X-Backend-Region]": ${REGION:eastus}
+ *       override: true      # false = only add when the client did not send it
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Component
+public class StaticHeadersGatewayFilterFactory
+    extends AbstractGatewayFilterFactory<StaticHeadersGatewayFilterFactory.Config> {
+
+    public StaticHeadersGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        if (config.getHeaders().isEmpty()) {
+            return (exchange, chain) -> chain.filter(exchange);
+        }
+        StaticHeaderSet headers = StaticHeaderSet.of(config.getHeaders(), config.isOverride());
+        return (exchange, chain) -> {
+            headers.attachTo(exchange);
+            return chain.filter(exchange);
+        };
+    }
+
+    /**
+     * Configuration class for this filter.
+     */
+    @Data
+    public static class Config {
+
+        /** Header names and values to add. */
+        private Map<String, String> headers = new LinkedHashMap<>();
+
+        /** Whether to replace a header the client sent, or only add missing ones. */
+        private boolean override = true;
+    }
+}
@@ -0,0 +1,219 @@
+package com.wis.apigateway.filter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.wis.apigateway.webhook.RecentEventIds;
+import com.wis.apigateway.webhook.StripeSignatureVerifier;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gateway filter that verifies Stripe webhook signatures before forwarding.
+ *
+ * <p>Forged, tampered or replayed deliveries are answered by the gateway instead of costing
+ * a round trip to the subscriptions service:
+ * <ul>
+ *   <li>missing or malformed {@code Stripe-Signature}, or no matching {@code v1}
+ *       HMAC-SHA256: 400</li>
+ *   <li>signed timestamp outside the tolerance (replay): 400</li>
+ *   <li>body larger than {@code maxBodySize}: 413</li>
+ *   <li>event id already delivered successfully within {@code dedupTtl}: 200 without
+ *       forwarding, so Stripe stops retrying it</li>
+ * </ul>
+ *
+ * <p>The body is collected as it arrives (never more than {@code maxBodySize}), copied out
+ * of the pooled buffers and verified in one pass with a per-thread {@code Mac}. It is not
+ * verified buffer by buffer while streaming: the bytes must be held anyway to replay them
+ * to the backend and to read the event id, and a rejected delivery must not reach the
+ * backend, so hashing the complete body costs no more than hashing it piecewise. The
+ * verified bytes are then replayed to the backend, which can still check the signature
+ * itself. Event ids are recorded only after the backend answered 2xx, so a failed delivery
+ * is still forwarded when Stripe retries it.
+ *
+ * <p>Without a secret ({@code STRIPE_WEBHOOK_SECRET}) the filter passes requests through.
+ * Rejections are counted in {@code gateway.webhook.stripe.rejected} (tag {@code reason}).
+ *
+ * <p>Usage in routes:
+ * <pre>
+ * filters:
+ *   - name: StripeSignature
+ *     args:
+ *       tolerance: 5m
+ *       dedupCapacity: 10000
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class StripeSignatureGatewayFilterFactory
+    extends AbstractGatewayFilterFactory<StripeSignatureGatewayFilterFactory.Config> {
+
+    static final String SIGNATURE_HEADER = "Stripe-Signature";
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    /**
+     * Reasons a delivery is not forwarded.
+     */
+    enum Rejection {
+        MISSING_SIGNATURE,
+        BAD_SIGNATURE,
+        STALE_TIMESTAMP,
+        TOO_LARGE,
+        DUPLICATE
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${STRIPE_WEBHOOK_SECRET:}")
+    private String webhookSecret;
+
+    public StripeSignatureGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String secrets = config.getSecret() != null ? config.getSecret() : webhookSecret;
+        List<String> secretList = secrets == null ? List.of() : Arrays.stream(secrets.split(","))
+            .map(String::trim)
+            .filter(secret -> !secret.isEmpty())
+            .toList();
+        if (secretList.isEmpty()) {
+            log.warn("STRIPE_WEBHOOK_SECRET not configured - Stripe signatures are not verified at the gateway");
+            return (exchange, chain) -> chain.filter(exchange);
+        }
+
+        StripeSignatureVerifier verifier = new StripeSignatureVerifier(secretList, config.getTolerance());
+        RecentEventIds recentEvents = new RecentEventIds(config.getDedupCapacity(), config.getDedupTtl().toNanos());
+        int maxBodySize = (int) config.getMaxBodySize().toBytes();
+        Map<Rejection, Counter> rejected = new EnumMap<>(Rejection.class);
+        for (Rejection rejection : Rejection.values()) {
+            rejected.put(rejection, Counter.builder("gateway.webhook.stripe.rejected")
+                .description("Stripe webhook deliveries answered by the gateway")
+                .tag("reason", rejection.name().toLowerCase())
+                .register(meterRegistry));
+        }
+
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String signature = request.getHeaders().getFirst(SIGNATURE_HEADER);
+            if (signature == null || signature.isEmpty()) {
+                return reject(exchange, rejected, Rejection.MISSING_SIGNATURE, HttpStatus.BAD_REQUEST);
+            }
+
+            Mono<byte[]> body = CachedBody.read(request, maxBodySize)
+                .onErrorResume(DataBufferLimitException.class, e ->
+                    reject(exchange, rejected, Rejection.TOO_LARGE, HttpStatus.PAYLOAD_TOO_LARGE).then(Mono.empty()));
+            return body.flatMap(bytes -> {
+                StripeSignatureVerifier.Result result =
+                    verifier.verify(signature, bytes, System.currentTimeMillis() / 1000);
+                switch (result) {
+                    case VALID:
+                        break;
+                    case STALE_TIMESTAMP:
+                        return reject(exchange, rejected, Rejection.STALE_TIMESTAMP, HttpStatus.BAD_REQUEST);
+                    default:
+                        return reject(exchange, rejected, Rejection.BAD_SIGNATURE, HttpStatus.BAD_REQUEST);
+                }
+
+                String eventId = eventId(bytes);
+                if (eventId != null && recentEvents.contains(eventId)) {
+                    log.info("Dropping duplicate Stripe delivery of event {}", eventId);
+                    rejected.get(Rejection.DUPLICATE).increment();
+                    exchange.getResponse().setStatusCode(HttpStatus.OK);
+                    return exchange.getResponse().setComplete();
+                }
+
+                ServerWebExchange verified = exchange.mutate()
+                    .request(CachedBody.replay(request, bytes, exchange.getResponse().bufferFactory()))
+                    .build();
+                return chain.filter(verified).doOnSuccess(ignored -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    if (eventId != null && status != null && status.is2xxSuccessful()) {
+                        recentEvents.add(eventId);
+                    }
+                });
+            });
+        };
+    }
+
+    /**
+     * Reads the top-level {@code id} of the event without binding the whole payload.
+     *
+     * @return the event id, or null if the body has none
+     */
+    static String eventId(byte[] body) {
+        try (JsonParser parser = JSON.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("id".equals(field) && value == JsonToken.VALUE_STRING) {
+                    return parser.getText();
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static Mono<Void> reject(ServerWebExchange exchange, Map<Rejection, Counter> counters,
+                                     Rejection rejection, HttpStatus status) {
+        counters.get(rejection).increment();
+        log.warn("Rejected Stripe webhook ({}) from IP: {}",
+            rejection.name().toLowerCase(), exchange.getRequest().getRemoteAddress());
+        exchange.getResponse().setStatusCode(status);
+        return exchange.getResponse().setComplete();
+    }
+
+    /**
+     * Configuration class for this filter.
+     */
+    @Data
+    public static class Config {
+
+        /** Endpoint secret(s), comma-separated; defaults to STRIPE_WEBHOOK_SECRET. */
+        private String secret;
+
+        /** Maximum age of the signed timestamp. */
+        private Duration tolerance = Duration.ofMinutes(5);
+
+        /** Largest body accepted; Stripe events are far smaller. */
+        private DataSize maxBodySize = DataSize.ofKilobytes(256);
+
+        /** Number of recently delivered event ids remembered. */
+        private int dedupCapacity = 10_000;
+
+        /** How long a delivered event id is remembered. */
+        private Duration dedupTtl = Duration.ofHours(1);
+    }
+}
@@ -0,0 +1,104 @@
+package com.wis.apigateway.filter;
+
+import com.wis.apigateway.config.TracingProperties;
+import com.wis.apigateway.tracing.TraceContext;
+import com.wis.apigateway.tracing.Tracer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Global filter that records a gateway span for every routed request.
+ *
+ * <p>Continues the caller's W3C trace when a valid {@code traceparent} header is present,
+ * otherwise starts a new one. The span context is stored on the exchange for
+ * {@link OutboundHeadersFilter}, which propagates it upstream.
+ * When the request finishes the span is handed to the {@link Tracer}, which keeps it only
+ * if its trace turns out slow or errored.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Component
+public class TracingGlobalFilter implements GlobalFilter, Ordered {
+
+    /** Runs before load shedding so shed requests are traced too. */
+    public static final int ORDER = LoadSheddingGlobalFilter.ORDER - 50;
+
+    private final Tracer tracer;
+    private final boolean enabled;
+
+    public TracingGlobalFilter(Tracer tracer, TracingProperties properties) {
+        this.tracer = tracer;
+        this.enabled = properties.isEnabled();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!enabled) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        TraceContext context = TraceContext.start(
+            request.getHeaders().getFirst(TraceContext.TRACEPARENT_HEADER));
+        exchange.getAttributes().put(Tracer.CONTEXT_ATTR, context);
+
+        long startEpochMicros = System.currentTimeMillis() * 1000;
+        long startNanos = System.nanoTime();
+
+        return chain.filter(exchange)
+            .doOnEach(signal -> {
+                if (signal.isOnComplete() || signal.isOnError()) {
+                    finish(exchange, context, startEpochMicros, startNanos, signal.getThrowable());
+                }
+            })
+            .doFinally(signal -> {
+                if (signal == SignalType.CANCEL) {
+                    finish(exchange, context, startEpochMicros, startNanos, new CancelledRequest());
+                }
+            });
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private void finish(ServerWebExchange exchange, TraceContext context,
+                        long startEpochMicros, long startNanos, Throwable error) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : null;
+        String method = request.getMethod().name();
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+
+        tracer.record(context,
+            routeId != null ? method + " " + routeId : method,
+            routeId,
+            method,
+            request.getPath().value(),
+            status != null ? status.value() : 0,
+            startEpochMicros,
+            System.nanoTime() - startNanos,
+            error != null ? error.getClass().getSimpleName() + ": " + error.getMessage() : null);
+    }
+
+    /**
+     * Marks spans of requests the client abandoned.
+     */
+    private static final class CancelledRequest extends RuntimeException {
+
+        CancelledRequest() {
+            super("cancelled by client", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.wis.apigateway.filter;
+
+import com.wis.apigateway.capture.CapturedExchange;
+import com.wis.apigateway.capture.TrafficRecorder;
+import com.wis.apigateway.config.CaptureProperties;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Global filter that records sampled requests through the {@link TrafficRecorder}.
+ *
+ * <p>A sampled request's body is copied as it streams to the backend, up to
+ * {@code max-body-size}, and the response body is counted as it streams to the client;
+ * neither is buffered or delayed. The exchange is recorded when the response completes,
+ * fails or is cancelled. {@code X-API-Key} and the {@code apiKey} query parameter (used by
+ * the push endpoints) are recorded masked the same way the authentication logs mask them,
+ * and {@code excluded-headers} are left out.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Component
+public class TrafficCaptureGlobalFilter implements GlobalFilter, Ordered {
+
+    /** Runs first so requests shed under overload are captured too; replay offers the same load. */
+    public static final int ORDER = TracingGlobalFilter.ORDER - 10;
+
+    private static final String API_KEY_HEADER = "X-API-Key";
+    private static final String API_KEY_PARAM = "apiKey=";
+
+    private final TrafficRecorder recorder;
+    private final Set<String> excludedHeaders;
+
+    public TrafficCaptureGlobalFilter(TrafficRecorder recorder, CaptureProperties properties) {
+        this.recorder = recorder;
+        this.excludedHeaders = properties.getExcludedHeaders().stream()
+            .map(name -> name.toLowerCase(Locale.ROOT))
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!recorder.sample()) {
+            return chain.filter(exchange);
+        }
+
+        long start = System.nanoTime();
+        Capture capture = new Capture(recorder.maxBodyBytes());
+        ServerHttpRequest request = exchange.getRequest();
+        ServerHttpResponse response = exchange.getResponse();
+        ServerWebExchange tapped = exchange.mutate()
+            .request(new ServerHttpRequestDecorator(request) {
+                @Override
+                public Flux<DataBuffer> getBody() {
+                    return super.getBody().doOnNext(capture::requestChunk);
+                }
+            })
+            .response(new ServerHttpResponseDecorator(response) {
+                @Override
+                public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                    return super.writeWith(Flux.from(body).doOnNext(capture::responseChunk));
+                }
+
+                @Override
+                public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+                    return super.writeAndFlushWith(Flux.from(body)
+                        .map(chunks -> Flux.from(chunks).doOnNext(capture::responseChunk)));
+                }
+            })
+            .build();
+
+        return chain.filter(tapped)
+            .doFinally(signal -> record(tapped, capture, start));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private void record(ServerWebExchange exchange, Capture capture, long start) {
+        ServerHttpRequest request = exchange.getRequest();
+        List<CapturedExchange.Header> headers = new ArrayList<>();
+        request.getHeaders().forEach((name, values) -> {
+            if (excludedHeaders.contains(name.toLowerCase(Locale.ROOT))) {
+                return;
+            }
+            boolean apiKey = API_KEY_HEADER.equalsIgnoreCase(name);
+            for (String value : values) {
+                headers.add(new CapturedExchange.Header(name,
+                    apiKey ? ApiKeyAuthGatewayFilterFactory.maskApiKey(value) : value));
+            }
+        });
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        String query = request.getURI().getRawQuery();
+
+        recorder.record(new CapturedExchange(
+            recorder.offsetNanos(start),
+            request.getMethod().name(),
+            query != null ? request.getURI().getRawPath() + "?" + maskQuery(query) : request.getURI().getRawPath(),
+            route != null ? route.getId() : "",
+            List.copyOf(headers),
+            capture.requestBytes,
+            capture.body(),
+            status != null ? status.value() : 0,
+            capture.responseBytes,
+            System.nanoTime() - start));
+    }
+
+    /**
+     * Masks the value of every {@code apiKey} parameter in a raw query string.
+     */
+    static String maskQuery(String rawQuery) {
+        if (!rawQuery.contains(API_KEY_PARAM)) {
+            return rawQuery;
+        }
+        String[] params = rawQuery.split("&", -1);
+        for (int i = 0; i < params.length; i++) {
+            if (params[i].startsWith(API_KEY_PARAM)) {
+                params[i] = API_KEY_PARAM
+                    + ApiKeyAuthGatewayFilterFactory.maskApiKey(params[i].substring(API_KEY_PARAM.length()));
+            }
+        }
+        return String.join("&", params);
+    }
+
+    /**
+     * Body bytes seen for one sampled exchange. Request chunks arrive in order on one
+     * thread and response chunks likewise; the record is read after both streams end.
+     */
+    private static final class Capture {
+
+        private final int maxBodyBytes;
+        private byte[] body = new byte[0];
+        private int bodyLength;
+        private volatile int requestBytes;
+        private volatile long responseBytes;
+
+        Capture(int maxBodyBytes) {
+            this.maxBodyBytes = maxBodyBytes;
+        }
+
+        void requestChunk(DataBuffer buffer) {
+            int readable = buffer.readableByteCount();
+            int copied = Math.min(readable, maxBodyBytes - bodyLength);
+            if (copied > 0) {
+                if (bodyLength + copied > body.length) {
+                    body = Arrays.copyOf(body, Math.min(maxBodyBytes, Math.max(bodyLength + copied, body.length * 2)));
+                }
+                buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(body), bodyLength, copied);
+                bodyLength += copied;
+            }
+            requestBytes += readable;
+        }
+
+        void responseChunk(DataBuffer buffer) {
+            responseBytes += buffer.readableByteCount();
+        }
+
+        byte[] body() {
+            return bodyLength == body.length ? body : Arrays.copyOf(body, bodyLength);
+        }
+    }
+}
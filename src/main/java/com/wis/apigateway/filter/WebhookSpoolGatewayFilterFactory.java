@@ -0,0 +1,191 @@
+package com.wis.apigateway.filter;
+
+import com.wis.apigateway.webhook.SpooledRequest;
+import com.wis.apigateway.webhook.WebhookSpool;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.RouteToRequestUrlFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.PRESERVE_HOST_HEADER_ATTRIBUTE;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.isAlreadyRouted;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.setAlreadyRouted;
+
+/**
+ * Gateway filter that acknowledges webhooks immediately and delivers them in the background.
+ *
+ * <p>When {@code gateway.webhook-spool.enabled} is true, the request - resolved backend URL,
+ * the headers the gateway would send upstream and the raw body - is appended to the local
+ * {@link WebhookSpool} and the provider gets {@code 200} right away, so a slow backend no
+ * longer turns into provider timeouts and retry storms. If the spool cannot take the request
+ * it is forwarded as usual. With the spool disabled the filter does nothing.
+ *
+ * <p>Runs after the request URL is resolved, so all other route filters (signature checks,
+ * service key) have already run. The service key itself is not spooled: the record only
+ * notes that the route sends it, and the dispatcher adds it back on delivery.
+ *
+ * <p>Usage in routes:
+ * <pre>
+ * filters:
+ *   - name: WebhookSpool
+ *     args:
+ *       responseBody: "&lt;Response/&gt;"   # e.g. empty TwiML for Twilio
+ *       contentType: text/xml
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class WebhookSpoolGatewayFilterFactory
+    extends AbstractGatewayFilterFactory<WebhookSpoolGatewayFilterFactory.Config> {
+
+    /** Runs after the request URL is resolved and before the Netty routing filter. */
+    public static final int SPOOL_FILTER_ORDER = RouteToRequestUrlFilter.ROUTE_TO_URL_FILTER_ORDER + 1;
+
+    private final WebhookSpool spool;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider;
+    private final byte[] serviceKey;
+
+    private volatile List<HttpHeadersFilter> headersFilters;
+
+    public WebhookSpoolGatewayFilterFactory(WebhookSpool spool,
+                                            ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                            @Value("${SERVICE_TO_SERVICE_KEY:}") String serviceKey) {
+        super(Config.class);
+        this.spool = spool;
+        this.headersFiltersProvider = headersFiltersProvider;
+        this.serviceKey = serviceKey.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        byte[] responseBody = config.getResponseBody().getBytes(StandardCharsets.UTF_8);
+        MediaType contentType = config.getContentType() != null && !config.getContentType().isEmpty()
+            ? MediaType.parseMediaType(config.getContentType()) : null;
+        int maxBodySize = (int) config.getMaxBodySize().toBytes();
+
+        GatewayFilter filter = (exchange, chain) -> {
+            URI requestUrl = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+            if (!spool.isEnabled() || requestUrl == null || isAlreadyRouted(exchange)) {
+                return chain.filter(exchange);
+            }
+
+            ServerHttpRequest request = exchange.getRequest();
+            return CachedBody.read(request, maxBodySize)
+                .flatMap(body -> {
+                    Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+                    HttpHeaders headers = upstreamHeaders(exchange);
+                    SpooledRequest spooled = new SpooledRequest(
+                        route != null ? route.getId() : requestUrl.getHost(),
+                        request.getMethod().name(),
+                        requestUrl.toASCIIString(),
+                        headers,
+                        body,
+                        System.currentTimeMillis(),
+                        removeServiceKey(headers));
+
+                    if (!spool.offer(spooled)) {
+                        return chain.filter(exchange.mutate()
+                            .request(CachedBody.replay(request, body, exchange.getResponse().bufferFactory()))
+                            .build());
+                    }
+
+                    setAlreadyRouted(exchange);
+                    ServerHttpResponse response = exchange.getResponse();
+                    response.setStatusCode(HttpStatus.OK);
+                    if (contentType != null) {
+                        response.getHeaders().setContentType(contentType);
+                    }
+                    return response.writeWith(Mono.just(response.bufferFactory().wrap(responseBody)));
+                })
+                .onErrorResume(DataBufferLimitException.class, e -> {
+                    log.warn("Webhook body larger than {} rejected: {} {}",
+                        config.getMaxBodySize(), request.getMethod(), request.getPath());
+                    exchange.getResponse().setStatusCode(HttpStatus.PAYLOAD_TOO_LARGE);
+                    return exchange.getResponse().setComplete();
+                });
+        };
+
+        return new OrderedGatewayFilter(filter, SPOOL_FILTER_ORDER);
+    }
+
+    /**
+     * Builds the upstream request headers the same way the Netty routing filter does; the
+     * body is sent from memory later, so length and transfer encoding are dropped.
+     */
+    private HttpHeaders upstreamHeaders(ServerWebExchange exchange) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(HttpHeadersFilter.filterRequest(getHeadersFilters(), exchange));
+        if (!exchange.getAttributeOrDefault(PRESERVE_HOST_HEADER_ATTRIBUTE, false)) {
+            headers.remove(HttpHeaders.HOST);
+        }
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+        return headers;
+    }
+
+    /**
+     * Removes the gateway's service key so it is never written to the spool; the dispatcher
+     * adds it back on delivery. A different value sent by the client is kept as is.
+     *
+     * @return true if the service key was removed
+     */
+    private boolean removeServiceKey(HttpHeaders headers) {
+        String key = headers.getFirst(ServiceKeyGatewayFilterFactory.SERVICE_KEY_HEADER);
+        if (serviceKey.length == 0 || key == null
+            || !MessageDigest.isEqual(serviceKey, key.getBytes(StandardCharsets.UTF_8))) {
+            return false;
+        }
+        headers.remove(ServiceKeyGatewayFilterFactory.SERVICE_KEY_HEADER);
+        return true;
+    }
+
+    private List<HttpHeadersFilter> getHeadersFilters() {
+        if (headersFilters == null) {
+            List<HttpHeadersFilter> filters = headersFiltersProvider.getIfAvailable();
+            headersFilters = filters != null ? filters : List.of();
+        }
+        return headersFilters;
+    }
+
+    /**
+     * Configuration class for this filter.
+     */
+    @Data
+    public static class Config {
+
+        /** Body of the immediate 200 response. */
+        private String responseBody = "";
+
+        /** Content type of the immediate response; none when empty. */
+        private String contentType;
+
+        /** Largest webhook body accepted into the spool. */
+        private DataSize maxBodySize = DataSize.ofMegabytes(1);
+    }
+}
@@ -0,0 +1,123 @@
+package com.wis.apigateway.idempotency;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * State of one idempotency key: in progress, or completed with the response to replay.
+ *
+ * <p>Encoded as
+ * <pre>
+ * byte version | string fingerprint | short status | short headerCount |
+ * (string name | string value)* | int bodyLength | bodyLength bytes
+ * </pre>
+ * where each string is an unsigned short length followed by UTF-8 bytes. Status 0 marks a
+ * request still in progress; the body of an in-progress record is a random owner token, so
+ * each claim encodes to different bytes and stores can tell owners apart.
+ *
+ * @param fingerprint method and path of the request that owns the key
+ * @param status response status, 0 while in progress
+ * @param headers response headers to replay
+ * @param body response body to replay, or the owner token while in progress
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public record IdempotencyRecord(String fingerprint, int status, List<Header> headers, byte[] body) {
+
+    private static final byte VERSION = 1;
+    private static final int OWNER_TOKEN_BYTES = 16;
+
+    /**
+     * One response header value.
+     */
+    public record Header(String name, String value) {
+    }
+
+    /**
+     * @param fingerprint method and path of the request that owns the key
+     * @return record of a request whose response is not known yet, with a new owner token
+     */
+    public static IdempotencyRecord inProgress(String fingerprint) {
+        byte[] ownerToken = new byte[OWNER_TOKEN_BYTES];
+        ThreadLocalRandom.current().nextBytes(ownerToken);
+        return new IdempotencyRecord(fingerprint, 0, List.of(), ownerToken);
+    }
+
+    /**
+     * @return whether the response is known
+     */
+    public boolean isCompleted() {
+        return status != 0;
+    }
+
+    /**
+     * @return the record in its storage format
+     */
+    public byte[] encode() {
+        byte[] fingerprintBytes = fingerprint.getBytes(StandardCharsets.UTF_8);
+        List<byte[]> headerBytes = new ArrayList<>(headers.size() * 2);
+        int size = 1 + 2 + fingerprintBytes.length + 2 + 2 + 4 + body.length;
+        for (Header header : headers) {
+            byte[] name = header.name().getBytes(StandardCharsets.UTF_8);
+            byte[] value = header.value().getBytes(StandardCharsets.UTF_8);
+            headerBytes.add(name);
+            headerBytes.add(value);
+            size += 4 + name.length + value.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(VERSION);
+        putString(buffer, fingerprintBytes);
+        buffer.putShort((short) status);
+        buffer.putShort((short) headers.size());
+        for (byte[] bytes : headerBytes) {
+            putString(buffer, bytes);
+        }
+        buffer.putInt(body.length);
+        buffer.put(body);
+        return buffer.array();
+    }
+
+    /**
+     * @param bytes output of {@link #encode}
+     * @return the decoded record
+     * @throws IllegalArgumentException if the bytes are not a record of this version
+     */
+    public static IdempotencyRecord decode(byte[] bytes) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.get() != VERSION) {
+                throw new IllegalArgumentException("Unknown idempotency record version");
+            }
+            String fingerprint = getString(buffer);
+            int status = buffer.getShort() & 0xFFFF;
+            int headerCount = buffer.getShort() & 0xFFFF;
+            List<Header> headers = new ArrayList<>(headerCount);
+            for (int i = 0; i < headerCount; i++) {
+                headers.add(new Header(getString(buffer), getString(buffer)));
+            }
+            byte[] body = new byte[buffer.getInt()];
+            buffer.get(body);
+            return new IdempotencyRecord(fingerprint, status, List.copyOf(headers), body);
+        } catch (BufferUnderflowException | NegativeArraySizeException e) {
+            throw new IllegalArgumentException("Truncated idempotency record", e);
+        }
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("String of " + bytes.length + " bytes does not fit a record");
+        }
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,56 @@
+package com.wis.apigateway.idempotency;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Storage of idempotency keys and the responses they replay.
+ *
+ * <p>{@link #begin} must be atomic across all gateway instances sharing the store: of
+ * several concurrent requests with the same key exactly one may own it. {@link #complete}
+ * and {@link #release} must only change the key while it still holds the owner's claim, so
+ * an owner whose claim expired cannot overwrite or drop the claim of the next owner.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Claims a key for a new request unless it is already known.
+     *
+     * @param key storage key
+     * @param inProgress record marking the request as in progress
+     * @param lockTimeout how long the claim lasts if it is never completed or released
+     * @return empty if this request now owns the key, otherwise the existing record
+     */
+    Mono<IdempotencyRecord> begin(String key, IdempotencyRecord inProgress, Duration lockTimeout);
+
+    /**
+     * @param key storage key
+     * @return the key's record, empty if unknown or expired
+     */
+    Mono<IdempotencyRecord> get(String key);
+
+    /**
+     * Stores the response of the request owning a key.
+     *
+     * @param key storage key
+     * @param claim in-progress record this request claimed the key with
+     * @param completed record holding the response
+     * @param ttl how long the response is replayed
+     * @return completes when stored, or at once if the key no longer holds {@code claim}
+     */
+    Mono<Void> complete(String key, IdempotencyRecord claim, IdempotencyRecord completed, Duration ttl);
+
+    /**
+     * Gives up a key whose request produced no response worth replaying, so a retry runs
+     * again.
+     *
+     * @param key storage key
+     * @param claim in-progress record this request claimed the key with
+     * @return completes when released, or at once if the key no longer holds {@code claim}
+     */
+    Mono<Void> release(String key, IdempotencyRecord claim);
+}
@@ -0,0 +1,114 @@
+package com.wis.apigateway.idempotency;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Idempotency store local to this gateway instance.
+ *
+ * <p>Holds at most {@code maxEntries} keys; when full, the oldest key is dropped first.
+ * Expired keys are removed as they are met. Every operation takes one short lock and
+ * completes at once.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    public InMemoryIdempotencyStore(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    @Override
+    public Mono<IdempotencyRecord> begin(String key, IdempotencyRecord inProgress, Duration lockTimeout) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry existing = live(key, now);
+            if (existing != null) {
+                return Mono.just(existing.record());
+            }
+            put(key, new Entry(inProgress, now + lockTimeout.toNanos()), now);
+        }
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<IdempotencyRecord> get(String key) {
+        synchronized (entries) {
+            Entry entry = live(key, System.nanoTime());
+            return entry == null ? Mono.empty() : Mono.just(entry.record());
+        }
+    }
+
+    @Override
+    public Mono<Void> complete(String key, IdempotencyRecord claim, IdempotencyRecord completed, Duration ttl) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            if (holds(key, claim, now)) {
+                entries.remove(key);
+                put(key, new Entry(completed, now + ttl.toNanos()), now);
+            }
+        }
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> release(String key, IdempotencyRecord claim) {
+        synchronized (entries) {
+            if (holds(key, claim, System.nanoTime())) {
+                entries.remove(key);
+            }
+        }
+        return Mono.empty();
+    }
+
+    /**
+     * @return keys currently held, including expired ones not yet removed
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Entry live(String key, long now) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAtNanos() - now <= 0) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private boolean holds(String key, IdempotencyRecord claim, long now) {
+        Entry entry = live(key, now);
+        return entry != null && entry.record() == claim;
+    }
+
+    private void put(String key, Entry entry, long now) {
+        Iterator<Entry> oldest = entries.values().iterator();
+        while (entries.size() >= maxEntries && oldest.hasNext()) {
+            oldest.next();
+            oldest.remove();
+        }
+        entries.put(key, entry);
+        // Drop a few expired keys from the old end so idle ones do not linger until evicted
+        oldest = entries.values().iterator();
+        for (int i = 0; i < 4 && oldest.hasNext(); i++) {
+            if (oldest.next().expiresAtNanos() - now > 0) {
+                break;
+            }
+            oldest.remove();
+        }
+    }
+
+    private record Entry(IdempotencyRecord record, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,90 @@
+package com.wis.apigateway.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Idempotency store in Redis, shared by all gateway instances.
+ *
+ * <p>A key is claimed with {@code SET NX PX}, so exactly one instance owns it, and expires
+ * by itself: after {@code lock-timeout} if the owner never finishes, after {@code ttl}
+ * once the response is stored. Completing and releasing run as Lua scripts that compare
+ * the stored value with the owner's claim first, so an owner whose claim expired and was
+ * taken by another instance leaves the new claim alone. Records that cannot be decoded
+ * (e.g. written by another version) are treated as absent.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final RedisScript<Long> COMPLETE = RedisScript.of("""
+        if redis.call('GET', KEYS[1]) == ARGV[1] then
+          redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+          return 1
+        end
+        return 0
+        """, Long.class);
+
+    private static final RedisScript<Long> RELEASE = RedisScript.of("""
+        if redis.call('GET', KEYS[1]) == ARGV[1] then
+          return redis.call('DEL', KEYS[1])
+        end
+        return 0
+        """, Long.class);
+
+    private final ReactiveRedisTemplate<String, byte[]> template;
+    private final String prefix;
+
+    public RedisIdempotencyStore(ReactiveRedisTemplate<String, byte[]> template, String prefix) {
+        this.template = template;
+        this.prefix = prefix;
+    }
+
+    @Override
+    public Mono<IdempotencyRecord> begin(String key, IdempotencyRecord inProgress, Duration lockTimeout) {
+        return template.opsForValue()
+            .setIfAbsent(prefix + key, inProgress.encode(), lockTimeout)
+            // Lost the race: report what the winner wrote; if it is already gone, still in progress
+            .flatMap(claimed -> claimed ? Mono.<IdempotencyRecord>empty() : get(key).defaultIfEmpty(inProgress));
+    }
+
+    @Override
+    public Mono<IdempotencyRecord> get(String key) {
+        return template.opsForValue()
+            .get(prefix + key)
+            .flatMap(bytes -> {
+                try {
+                    return Mono.just(IdempotencyRecord.decode(bytes));
+                } catch (IllegalArgumentException e) {
+                    log.warn("Ignoring unreadable idempotency record {}: {}", key, e.getMessage());
+                    return Mono.empty();
+                }
+            });
+    }
+
+    @Override
+    public Mono<Void> complete(String key, IdempotencyRecord claim, IdempotencyRecord completed, Duration ttl) {
+        byte[] ttlMillis = Long.toString(Math.max(1, ttl.toMillis())).getBytes(StandardCharsets.US_ASCII);
+        return template.execute(COMPLETE, List.of(prefix + key), List.of(claim.encode(), completed.encode(), ttlMillis))
+            .next()
+            .doOnNext(stored -> {
+                if (stored == 0) {
+                    log.warn("Idempotency claim on {} expired before the response was stored", key);
+                }
+            })
+            .then();
+    }
+
+    @Override
+    public Mono<Void> release(String key, IdempotencyRecord claim) {
+        return template.execute(RELEASE, List.of(prefix + key), List.of(claim.encode())).then();
+    }
+}
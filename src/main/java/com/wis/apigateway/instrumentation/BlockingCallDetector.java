@@ -0,0 +1,127 @@
+package com.wis.apigateway.instrumentation;
+
+import com.wis.apigateway.config.InstrumentationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingMethod;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reports blocking calls made on non-blocking threads (Netty event loops, Reactor
+ * parallel schedulers).
+ *
+ * <p>When enabled, BlockHound instruments the JDK's blocking methods. Instead of failing
+ * the call, each detection increments {@code gateway.blocking.calls} tagged with the
+ * blocking method and thread group, and the first detection per method is logged with
+ * its stack trace so the offending filter can be found. Calls listed under
+ * {@code gateway.instrumentation.blocking-detection.allowed} are ignored.
+ *
+ * <p>Instrumentation is JVM-wide and cannot be undone, so it is installed at most once.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class BlockingCallDetector {
+
+    static final String BLOCKING_CALLS_COUNTER = "gateway.blocking.calls";
+
+    private static final AtomicBoolean INSTALLED = new AtomicBoolean();
+
+    private final InstrumentationProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public BlockingCallDetector(InstrumentationProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Installs blocking-call detection if it is enabled.
+     */
+    @PostConstruct
+    public void install() {
+        InstrumentationProperties.BlockingDetection config = properties.getBlockingDetection();
+        if (!config.isEnabled()) {
+            return;
+        }
+        if (!INSTALLED.compareAndSet(false, true)) {
+            log.info("Blocking call detection already installed in this JVM");
+            return;
+        }
+        try {
+            BlockHound.Builder builder = BlockHound.builder()
+                // Console and file appenders write synchronously; logging is accepted
+                .allowBlockingCallsInside("ch.qos.logback.core.OutputStreamAppender", "writeBytes")
+                .blockingMethodCallback(this::onBlockingCall);
+            for (String allowed : config.getAllowed()) {
+                int separator = allowed.indexOf('#');
+                if (separator <= 0) {
+                    log.warn("Ignoring blocking-detection allow entry '{}' - expected class#method", allowed);
+                    continue;
+                }
+                builder.allowBlockingCallsInside(allowed.substring(0, separator), allowed.substring(separator + 1));
+            }
+            builder.install();
+            log.info("Blocking call detection enabled for non-blocking threads");
+        } catch (Throwable e) {
+            INSTALLED.set(false);
+            log.warn("Could not install blocking call detection (is -XX:+AllowRedefinitionToAddDeleteMethods set?): {}",
+                e.toString());
+        }
+    }
+
+    /**
+     * Counts a detected blocking call and logs the first occurrence per method.
+     *
+     * @param method the blocking JDK method that was called
+     */
+    void onBlockingCall(BlockingMethod method) {
+        String name = method.getClassName() + "." + method.getName();
+        String threadGroup = threadGroup(Thread.currentThread().getName());
+        String key = name + "|" + threadGroup;
+
+        boolean first = !counters.containsKey(key);
+        counters.computeIfAbsent(key, k -> Counter.builder(BLOCKING_CALLS_COUNTER)
+                .description("Blocking calls detected on non-blocking threads")
+                .tag("method", name)
+                .tag("thread", threadGroup)
+                .register(meterRegistry))
+            .increment();
+
+        if (first) {
+            log.warn("Blocking call {} on non-blocking thread {}", method,
+                Thread.currentThread().getName(), new BlockingCallException(method));
+        }
+    }
+
+    /**
+     * Strips the trailing thread number so meters are tagged per pool, not per thread.
+     */
+    static String threadGroup(String threadName) {
+        int end = threadName.length();
+        while (end > 0 && (Character.isDigit(threadName.charAt(end - 1)) || threadName.charAt(end - 1) == '-')) {
+            end--;
+        }
+        return end == 0 ? threadName : threadName.substring(0, end);
+    }
+
+    /**
+     * Carries the stack trace of a detected blocking call for logging.
+     */
+    static final class BlockingCallException extends RuntimeException {
+
+        BlockingCallException(BlockingMethod method) {
+            super("Blocking call " + method);
+        }
+    }
+}
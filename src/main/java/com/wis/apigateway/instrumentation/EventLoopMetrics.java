@@ -0,0 +1,147 @@
+package com.wis.apigateway.instrumentation;
+
+import com.wis.apigateway.config.InstrumentationProperties;
+import com.wis.apigateway.overload.EventLoopLagProbe;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes per-event-loop scheduling lag and queue depth as Micrometer meters.
+ *
+ * <p>A periodic task probes every Netty event loop through {@link EventLoopLagProbe} and
+ * records each completed probe. Meters are tagged with the loop thread name, so they
+ * show up under {@code /actuator/metrics} and {@code /actuator/prometheus}:
+ * <ul>
+ *   <li>{@code gateway.eventloop.lag} - timer with a histogram of measured probe delays</li>
+ *   <li>{@code gateway.eventloop.lag.current} - current lag, including a probe that has
+ *       not run yet (a blocked loop shows a growing value here)</li>
+ *   <li>{@code gateway.eventloop.pending.tasks} - tasks queued on the loop</li>
+ * </ul>
+ *
+ * <p>This is the only component that submits probes; the {@code OverloadController}
+ * reads the same per-loop results rather than probing at its own interval.
+ *
+ * <p>Loops are registered once their first probe has run, because the thread name is
+ * only known then.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class EventLoopMetrics {
+
+    static final String LAG_TIMER = "gateway.eventloop.lag";
+    static final String CURRENT_LAG_GAUGE = "gateway.eventloop.lag.current";
+    static final String PENDING_TASKS_GAUGE = "gateway.eventloop.pending.tasks";
+    static final String LOOP_TAG = "loop";
+
+    private final InstrumentationProperties properties;
+    private final EventLoopLagProbe probe;
+    private final MeterRegistry meterRegistry;
+    private final List<LoopMeters> loops = new ArrayList<>();
+
+    private Disposable sampler;
+
+    public EventLoopMetrics(InstrumentationProperties properties,
+                            EventLoopLagProbe probe,
+                            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.probe = probe;
+        this.meterRegistry = meterRegistry;
+        for (EventLoopLagProbe.LoopProbe loop : probe.loops()) {
+            loops.add(new LoopMeters(loop));
+        }
+    }
+
+    /**
+     * Starts probing the event loops.
+     */
+    @PostConstruct
+    public void start() {
+        long intervalMillis = Math.max(1, properties.getProbeInterval().toMillis());
+        sampler = Schedulers.parallel().schedulePeriodically(
+            this::sample, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Probing {} event loops every {} ms", loops.size(), intervalMillis);
+    }
+
+    /**
+     * Stops probing.
+     */
+    @PreDestroy
+    public void stop() {
+        if (sampler != null) {
+            sampler.dispose();
+        }
+    }
+
+    /**
+     * Records probes completed since the last call, then submits new ones.
+     */
+    void sample() {
+        try {
+            for (LoopMeters loop : loops) {
+                loop.record();
+            }
+            probe.probe();
+        } catch (Exception e) {
+            log.warn("Event loop sampling failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Meters for one event loop.
+     */
+    private final class LoopMeters {
+
+        private final EventLoopLagProbe.LoopProbe loop;
+        private Timer lagTimer;
+        private long recordedProbes;
+
+        LoopMeters(EventLoopLagProbe.LoopProbe loop) {
+            this.loop = loop;
+        }
+
+        void record() {
+            long completed = loop.completedProbes();
+            if (completed == recordedProbes) {
+                return;
+            }
+            recordedProbes = completed;
+            if (lagTimer == null) {
+                register(loop.threadName());
+            }
+            lagTimer.record(Duration.ofNanos(loop.lastCompletedLagNanos()));
+        }
+
+        private void register(String threadName) {
+            lagTimer = Timer.builder(LAG_TIMER)
+                .description("Delay before an event loop runs a newly submitted task")
+                .tag(LOOP_TAG, threadName)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofSeconds(1))
+                .register(meterRegistry);
+            Gauge.builder(CURRENT_LAG_GAUGE, loop, l -> l.lagNanos() / 1_000_000.0)
+                .description("Current event loop lag, including a probe still waiting to run")
+                .tag(LOOP_TAG, threadName)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+            Gauge.builder(PENDING_TASKS_GAUGE, loop, EventLoopLagProbe.LoopProbe::pendingTasks)
+                .description("Tasks queued on the event loop")
+                .tag(LOOP_TAG, threadName)
+                .register(meterRegistry);
+        }
+    }
+}
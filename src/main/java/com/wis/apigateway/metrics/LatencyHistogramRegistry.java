@@ -0,0 +1,89 @@
+package com.wis.apigateway.metrics;
+
+import com.wis.apigateway.config.LatencyProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of named {@link RollingLatencyHistogram}s, rotated on a shared schedule.
+ *
+ * <p>Histograms are keyed by name, typically "routeId:METHOD", and created on first use.
+ * Each histogram also publishes its p99 as the {@code gateway.upstream.latency.p99}
+ * gauge so the values driving hedging and timeouts are visible next to other metrics.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Component
+public class LatencyHistogramRegistry {
+
+    private final LatencyProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RollingLatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    private Disposable rotation;
+
+    public LatencyHistogramRegistry(LatencyProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Starts rotating all histograms once per slot.
+     */
+    @PostConstruct
+    public void start() {
+        long slotMillis = Math.max(1, properties.getWindow().toMillis() / Math.max(1, properties.getSlots()));
+        rotation = Schedulers.parallel().schedulePeriodically(
+            this::rotateAll, slotMillis, slotMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops rotating histograms.
+     */
+    @PreDestroy
+    public void stop() {
+        if (rotation != null) {
+            rotation.dispose();
+        }
+    }
+
+    /**
+     * Returns the histogram with the given name, creating it on first use.
+     *
+     * @param name histogram name, e.g. "subscriptions:GET"
+     * @return rolling latency histogram
+     */
+    public RollingLatencyHistogram get(String name) {
+        RollingLatencyHistogram histogram = histograms.get(name);
+        if (histogram != null) {
+            return histogram;
+        }
+        return histograms.computeIfAbsent(name, this::create);
+    }
+
+    /**
+     * Rotates every registered histogram.
+     */
+    public void rotateAll() {
+        histograms.values().forEach(RollingLatencyHistogram::rotate);
+    }
+
+    private RollingLatencyHistogram create(String name) {
+        RollingLatencyHistogram histogram = new RollingLatencyHistogram(properties.getSlots());
+        Gauge.builder("gateway.upstream.latency.p99", histogram, h -> h.percentileNanos(99.0) / 1_000_000.0)
+            .tag("name", name)
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+        return histogram;
+    }
+}
@@ -0,0 +1,106 @@
+package com.wis.apigateway.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency histogram over a rolling time window.
+ *
+ * <p>Recording is wait-free (HdrHistogram {@link Recorder}), so it is safe to call from
+ * event-loop threads on every request. The window is made of a ring of interval
+ * histograms; each {@link #rotate()} moves the current interval into the ring, drops the
+ * oldest slot and rebuilds the merged snapshot that percentile queries read from.
+ *
+ * <p>Percentile lookups are cached until the next rotation, so callers on the request
+ * path pay for a map lookup rather than a histogram scan. The cache belongs to the snapshot
+ * it was computed from, so a lookup racing a rotation can never leave an old value behind.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public class RollingLatencyHistogram {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final Histogram[] slots;
+    private int nextSlot;
+
+    private volatile Window window = new Window(newHistogram());
+
+    public RollingLatencyHistogram(int slots) {
+        this.slots = new Histogram[Math.max(1, slots)];
+    }
+
+    /**
+     * Records one latency sample.
+     *
+     * @param nanos latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos));
+        recorder.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+    }
+
+    /**
+     * Returns the number of samples in the current window snapshot.
+     *
+     * @return sample count
+     */
+    public long count() {
+        return window.snapshot().getTotalCount();
+    }
+
+    /**
+     * Returns the latency at a percentile of the current window snapshot.
+     *
+     * @param percentile percentile between 0 and 100 (e.g. 99.0)
+     * @return latency in nanoseconds, or 0 if the window is empty
+     */
+    public long percentileNanos(double percentile) {
+        Window current = window;
+        Long cached = current.percentiles().get(percentile);
+        if (cached != null) {
+            return cached;
+        }
+        long nanos = TimeUnit.MICROSECONDS.toNanos(current.snapshot().getValueAtPercentile(percentile));
+        current.percentiles().put(percentile, nanos);
+        return nanos;
+    }
+
+    /**
+     * Closes the current interval, expires the oldest slot and rebuilds the snapshot.
+     * Must only be called from a single thread at a time.
+     */
+    public synchronized void rotate() {
+        slots[nextSlot] = recorder.getIntervalHistogram(slots[nextSlot]);
+        nextSlot = (nextSlot + 1) % slots.length;
+
+        Histogram merged = newHistogram();
+        for (Histogram slot : slots) {
+            if (slot != null) {
+                merged.add(slot);
+            }
+        }
+        window = new Window(merged);
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+
+    /**
+     * A merged snapshot and the percentiles computed from it.
+     */
+    private record Window(Histogram snapshot, Map<Double, Long> percentiles) {
+
+        Window(Histogram snapshot) {
+            this(snapshot, new ConcurrentHashMap<>());
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.wis.apigateway.overload;
+
+import com.wis.apigateway.transport.GatewayEventLoops;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Measures how long tasks wait before a Netty event loop runs them.
+ *
+ * <p>Each call to {@link #probe()} submits a tiny task to every event loop that has no
+ * probe in flight and records the delay between submission and execution. A loop that
+ * is blocked never runs its probe, so the age of an outstanding probe is reported as
+ * its lag instead of the last completed value.
+ *
+ * <p>The probe targets the gateway's event loops ({@link GatewayEventLoops}), which run
+ * the inbound server and the upstream HTTP client. Per-loop figures are available through
+ * {@link #loops()} for instrumentation.
+ *
+ * <p>Probes are submitted by a single sampler,
+ * {@link com.wis.apigateway.instrumentation.EventLoopMetrics}; other readers such as the
+ * {@link OverloadController} only read the results, so every consumer sees the same lag.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Component
+public class EventLoopLagProbe {
+
+    private final List<LoopProbe> loops = new ArrayList<>();
+
+    @Autowired
+    public EventLoopLagProbe(GatewayEventLoops eventLoops) {
+        this(eventLoops.loops());
+    }
+
+    /**
+     * Creates a probe for the given event loops.
+     *
+     * @param executors event loops to probe
+     */
+    public EventLoopLagProbe(Iterable<? extends EventExecutor> executors) {
+        for (EventExecutor executor : executors) {
+            loops.add(new LoopProbe(executor));
+        }
+    }
+
+    /**
+     * Submits a probe task to every event loop that has no probe in flight. Safe to call
+     * from several threads, though only one sampler should.
+     */
+    public void probe() {
+        long now = System.nanoTime();
+        for (LoopProbe loop : loops) {
+            loop.probe(now);
+        }
+    }
+
+    /**
+     * Returns the highest lag currently observed across all event loops.
+     *
+     * @return lag in nanoseconds
+     */
+    public long maxLagNanos() {
+        long now = System.nanoTime();
+        long max = 0;
+        for (LoopProbe loop : loops) {
+            max = Math.max(max, loop.lagNanos(now));
+        }
+        return max;
+    }
+
+    /**
+     * Returns the probe of every event loop, in loop order.
+     *
+     * @return unmodifiable list of per-loop probes
+     */
+    public List<LoopProbe> loops() {
+        return Collections.unmodifiableList(loops);
+    }
+
+    /**
+     * Lag bookkeeping for a single event loop.
+     */
+    public static final class LoopProbe {
+
+        private final EventExecutor executor;
+
+        /** Submission time of the outstanding probe, or 0 when none is in flight. */
+        private volatile long submittedAt;
+
+        private volatile long lastLagNanos;
+        private volatile long completedProbes;
+        private volatile String threadName;
+
+        LoopProbe(EventExecutor executor) {
+            this.executor = executor;
+        }
+
+        synchronized void probe(long now) {
+            if (submittedAt != 0 || executor.isShuttingDown()) {
+                return;
+            }
+            submittedAt = now;
+            try {
+                executor.execute(() -> {
+                    lastLagNanos = System.nanoTime() - now;
+                    if (threadName == null) {
+                        threadName = Thread.currentThread().getName();
+                    }
+                    submittedAt = 0;
+                    completedProbes++;
+                });
+            } catch (RejectedExecutionException e) {
+                // Loop is shutting down; report no lag for it
+                submittedAt = 0;
+            }
+        }
+
+        long lagNanos(long now) {
+            long pending = submittedAt;
+            return pending == 0 ? lastLagNanos : Math.max(lastLagNanos, now - pending);
+        }
+
+        /**
+         * Returns the current lag, including the age of a probe that has not run yet.
+         *
+         * @return lag in nanoseconds
+         */
+        public long lagNanos() {
+            return lagNanos(System.nanoTime());
+        }
+
+        /**
+         * Returns the lag measured by the most recently completed probe.
+         *
+         * @return lag in nanoseconds
+         */
+        public long lastCompletedLagNanos() {
+            return lastLagNanos;
+        }
+
+        /**
+         * Returns how many probes this loop has run. Only the loop thread writes it.
+         *
+         * @return completed probe count
+         */
+        public long completedProbes() {
+            return completedProbes;
+        }
+
+        /**
+         * Returns the name of the loop thread, or null until the first probe has run.
+         *
+         * @return thread name or null
+         */
+        public String threadName() {
+            return threadName;
+        }
+
+        /**
+         * Returns the number of tasks queued on the loop, or -1 if the executor does not
+         * expose its queue.
+         *
+         * @return pending task count or -1
+         */
+        public int pendingTasks() {
+            return executor instanceof SingleThreadEventExecutor single ? single.pendingTasks() : -1;
+        }
+    }
+}
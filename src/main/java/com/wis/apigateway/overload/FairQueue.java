@@ -0,0 +1,313 @@
+package com.wis.apigateway.overload;
+
+import com.wis.apigateway.config.FairQueueProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Limits upstream calls in flight and, once the limit is reached, hands freed slots to
+ * waiting requests by deficit round robin across API keys.
+ *
+ * <p>While a slot is free and nobody waits, {@link #tryAcquire} is one atomic read and one
+ * CAS, and nothing is queued or allocated. Otherwise the request joins a lock-free
+ * inbox and waits. Whichever thread frees a slot or enqueues a request drains the inbox
+ * into one FIFO per API key and grants slots: each key with requests waiting is visited in
+ * turn and may start as many requests as its tier's weight before the next key's turn, so
+ * a key bursting hundreds of requests delays a key sending one by at most one round.
+ * Draining is serialized by a work-in-progress counter rather than a lock; the per-key
+ * queues are only touched by the thread currently draining.
+ *
+ * <p>A request that waits longer than {@code max-wait}, or whose key already has
+ * {@code max-queued-per-key} requests waiting, fails with
+ * {@link FairQueueRejectedException}. Cancelled waiters give up their place without taking
+ * a slot.
+ *
+ * <p>Metrics: {@code gateway.fairqueue.inflight}, {@code gateway.fairqueue.queued},
+ * {@code gateway.fairqueue.wait} (tag {@code tier}) and {@code gateway.fairqueue.rejected}
+ * (tags {@code tier}, {@code reason}).
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Component
+public class FairQueue {
+
+    private static final int WAITING = 0;
+    private static final int GRANTED = 1;
+    private static final int RUNNING = 2;
+    private static final int CANCELLED = 3;
+
+    private final boolean enabled;
+    private final int maxConcurrency;
+    private final int maxQueuedPerKey;
+    private final Duration maxWait;
+    private final int defaultWeight;
+    private final Map<String, Integer> weights;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> waitTimers = new ConcurrentHashMap<>();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    /** Waiters neither granted nor discarded yet; new requests queue behind them while above 0. */
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final Queue<Waiter> inbox = new ConcurrentLinkedQueue<>();
+
+    // Only touched inside drain(); the wip counter orders successive drainers
+    private final Map<String, Flow> flows = new HashMap<>();
+    private final ArrayDeque<Flow> active = new ArrayDeque<>();
+
+    public FairQueue(FairQueueProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.maxConcurrency = Math.max(1, properties.getMaxConcurrency());
+        this.maxQueuedPerKey = Math.max(1, properties.getMaxQueuedPerKey());
+        this.maxWait = properties.getMaxWait();
+        this.defaultWeight = Math.max(1, properties.getDefaultWeight());
+        this.weights = Map.copyOf(properties.getWeights());
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("gateway.fairqueue.inflight", inFlight, AtomicInteger::get)
+            .description("Upstream calls holding a fair-queue slot")
+            .register(meterRegistry);
+        Gauge.builder("gateway.fairqueue.queued", queued, AtomicInteger::get)
+            .description("Requests waiting for a fair-queue slot")
+            .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes a slot if one is free and no request is waiting for one.
+     *
+     * @return true if the caller holds a slot and must {@link #release} it
+     */
+    public boolean tryAcquire() {
+        return queued.get() == 0 && tryTakeSlot();
+    }
+
+    /**
+     * Frees a slot taken by {@link #tryAcquire} and hands it to the next waiting request.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+        if (queued.get() > 0) {
+            drain();
+        }
+    }
+
+    /**
+     * Waits for a slot in the API key's turn, then runs the work and frees the slot when it
+     * terminates.
+     *
+     * @param key API key the request is queued under
+     * @param tier tier of the API key, which sets its weight
+     * @param work supplies the work to run once a slot is granted
+     * @param <T> type of the work's result
+     * @return result of the work, or {@link FairQueueRejectedException} if no slot was granted
+     */
+    public <T> Mono<T> enqueue(String key, String tier, Supplier<Mono<T>> work) {
+        int weight = Math.max(1, weights.getOrDefault(tier, defaultWeight));
+        return Mono.<Waiter>create(sink -> {
+                Waiter waiter = new Waiter(key, tier, weight, sink);
+                sink.onCancel(() -> cancel(waiter));
+                queued.incrementAndGet();
+                inbox.offer(waiter);
+                drain();
+            })
+            .timeout(maxWait)
+            .onErrorMap(TimeoutException.class, e -> rejected(tier, FairQueueRejectedException.Reason.TIMEOUT))
+            .flatMap(waiter -> waiter.state.compareAndSet(GRANTED, RUNNING)
+                ? work.get().doFinally(signal -> release())
+                : Mono.empty());
+    }
+
+    /**
+     * @return upstream calls currently holding a slot
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return requests currently waiting, including cancelled ones not yet discarded
+     */
+    public int queued() {
+        return queued.get();
+    }
+
+    private boolean tryTakeSlot() {
+        for (;;) {
+            int current = inFlight.get();
+            if (current >= maxConcurrency) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void cancel(Waiter waiter) {
+        if (waiter.state.compareAndSet(WAITING, CANCELLED)) {
+            // Let the drainer discard it, which may let new requests through the fast path again
+            drain();
+        } else if (waiter.state.compareAndSet(GRANTED, CANCELLED)) {
+            release();
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            Waiter waiter;
+            while ((waiter = inbox.poll()) != null) {
+                admit(waiter);
+            }
+            dispatch();
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void admit(Waiter waiter) {
+        if (waiter.state.get() == CANCELLED) {
+            queued.decrementAndGet();
+            return;
+        }
+        Flow flow = flows.get(waiter.key);
+        if (flow == null) {
+            flow = new Flow(waiter.key, waiter.weight);
+            flows.put(waiter.key, flow);
+            active.addLast(flow);
+        }
+        if (flow.waiters.size() >= maxQueuedPerKey) {
+            queued.decrementAndGet();
+            if (waiter.state.compareAndSet(WAITING, CANCELLED)) {
+                waiter.sink.error(rejected(waiter.tier, FairQueueRejectedException.Reason.KEY_LIMIT));
+            }
+            return;
+        }
+        flow.waiters.addLast(waiter);
+    }
+
+    /**
+     * Grants free slots by deficit round robin. A key gets its weight in credit when its
+     * turn starts, spends one per request started, and goes to the back once the credit is
+     * spent or its queue is empty. When slots run out mid-turn the key keeps its place and
+     * remaining credit.
+     */
+    private void dispatch() {
+        while (!active.isEmpty()) {
+            Flow flow = active.peekFirst();
+            Waiter waiter = flow.waiters.peekFirst();
+            if (waiter == null) {
+                active.pollFirst();
+                flows.remove(flow.key);
+                continue;
+            }
+            if (waiter.state.get() == CANCELLED) {
+                flow.waiters.pollFirst();
+                queued.decrementAndGet();
+                continue;
+            }
+            if (!tryTakeSlot()) {
+                return;
+            }
+            flow.waiters.pollFirst();
+            queued.decrementAndGet();
+            if (!waiter.state.compareAndSet(WAITING, GRANTED)) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            if (flow.deficit == 0) {
+                flow.deficit = flow.weight;
+            }
+            if (--flow.deficit == 0 || flow.waiters.isEmpty()) {
+                active.pollFirst();
+                flow.deficit = 0;
+                if (flow.waiters.isEmpty()) {
+                    flows.remove(flow.key);
+                } else {
+                    active.addLast(flow);
+                }
+            }
+            waitTimers.computeIfAbsent(waiter.tier, this::waitTimer).record(System.nanoTime() - waiter.enqueuedAt, TimeUnit.NANOSECONDS);
+            // May run the request's filter chain, and re-enter drain(), on this thread
+            waiter.sink.success(waiter);
+        }
+    }
+
+    private Timer waitTimer(String tier) {
+        return Timer.builder("gateway.fairqueue.wait")
+            .description("Time requests waited for a fair-queue slot")
+            .tag("tier", tier)
+            .register(meterRegistry);
+    }
+
+    private FairQueueRejectedException rejected(String tier, FairQueueRejectedException.Reason reason) {
+        Counter.builder("gateway.fairqueue.rejected")
+            .description("Requests rejected by the fair queue")
+            .tag("tier", tier)
+            .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+            .register(meterRegistry)
+            .increment();
+        return new FairQueueRejectedException(reason);
+    }
+
+    /**
+     * A request waiting for a slot.
+     */
+    private static final class Waiter {
+
+        private final String key;
+        private final String tier;
+        private final int weight;
+        private final MonoSink<Waiter> sink;
+        private final long enqueuedAt = System.nanoTime();
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        Waiter(String key, String tier, int weight, MonoSink<Waiter> sink) {
+            this.key = key;
+            this.tier = tier;
+            this.weight = weight;
+            this.sink = sink;
+        }
+    }
+
+    /**
+     * Waiting requests of one API key and its credit in the current round.
+     */
+    private static final class Flow {
+
+        private final String key;
+        private final int weight;
+        private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        private int deficit;
+
+        Flow(String key, int weight) {
+            this.key = key;
+            this.weight = weight;
+        }
+    }
+}
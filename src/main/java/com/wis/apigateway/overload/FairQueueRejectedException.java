@@ -0,0 +1,36 @@
+package com.wis.apigateway.overload;
+
+/**
+ * Signals that a request was not given an upstream slot by the {@link FairQueue}.
+ *
+ * <p>Carries no stack trace: it is raised for every rejected request while the gateway is
+ * saturated.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public class FairQueueRejectedException extends RuntimeException {
+
+    private final Reason reason;
+
+    public FairQueueRejectedException(Reason reason) {
+        super(reason == Reason.KEY_LIMIT
+            ? "Too many requests waiting for this API key"
+            : "No upstream slot became free in time", null, false, false);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    /**
+     * Why a request was rejected.
+     */
+    public enum Reason {
+        /** The request's API key already had the maximum number of requests waiting. */
+        KEY_LIMIT,
+        /** The request waited {@code max-wait} without getting a slot. */
+        TIMEOUT
+    }
+}
@@ -0,0 +1,220 @@
+package com.wis.apigateway.overload;
+
+import com.wis.apigateway.config.OverloadProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks gateway saturation and decides which priority classes to shed.
+ *
+ * <p>Three signals are sampled periodically off the request path:
+ * <ul>
+ *   <li>Event-loop lag - delay before a Netty event loop runs a probe task, read from the
+ *       probes {@link com.wis.apigateway.instrumentation.EventLoopMetrics} submits</li>
+ *   <li>Pending acquires - requests waiting for an upstream pooled connection</li>
+ *   <li>Heap pressure - fraction of max heap still in use after the last GC</li>
+ * </ul>
+ *
+ * <p>Each signal is divided by its configured threshold and the worst ratio becomes the
+ * pressure. Pressure below 1.0 is level 0; 1.0, 1.5 and 2.0 start levels 1, 2 and 3.
+ * The level rises immediately but falls by at most one step per sample so shedding does
+ * not flap while the gateway recovers. The request path only reads a volatile int.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class OverloadController {
+
+    static final String PENDING_ACQUIRE_METER = "reactor.netty.connection.provider.pending.connections";
+
+    public static final int MAX_LEVEL = 3;
+
+    private final OverloadProperties properties;
+    private final EventLoopLagProbe lagProbe;
+    private final MeterRegistry meterRegistry;
+
+    private volatile int level;
+    private volatile double pressure;
+    private volatile long lastLagNanos;
+    private volatile double lastPendingAcquires;
+    private volatile double lastHeapUsage;
+
+    private Disposable sampler;
+
+    public OverloadController(OverloadProperties properties,
+                              EventLoopLagProbe lagProbe,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.lagProbe = lagProbe;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("gateway.overload.level", this, OverloadController::getLevel)
+            .description("Current load shedding level (0 = not shedding)")
+            .register(meterRegistry);
+        Gauge.builder("gateway.overload.pressure", this, OverloadController::getPressure)
+            .description("Worst signal-to-threshold ratio")
+            .register(meterRegistry);
+        Gauge.builder("gateway.overload.event.loop.lag", this, c -> c.lastLagNanos / 1_000_000.0)
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+        Gauge.builder("gateway.overload.pending.acquires", this, c -> c.lastPendingAcquires)
+            .register(meterRegistry);
+        Gauge.builder("gateway.overload.heap.usage", this, c -> c.lastHeapUsage)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Starts periodic sampling if load shedding is enabled.
+     */
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("Overload controller disabled - requests will never be shed");
+            return;
+        }
+        long intervalMillis = properties.getSampleInterval().toMillis();
+        sampler = Schedulers.parallel().schedulePeriodically(
+            this::sample, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops periodic sampling.
+     */
+    @PreDestroy
+    public void stop() {
+        if (sampler != null) {
+            sampler.dispose();
+        }
+    }
+
+    /**
+     * Returns true when any priority class is currently being shed.
+     *
+     * @return true if the overload level is above 0
+     */
+    public boolean isOverloaded() {
+        return level > 0;
+    }
+
+    /**
+     * Checks whether a request of the given priority should be rejected now.
+     *
+     * @param priority priority class of the request
+     * @return true if the request should be shed
+     */
+    public boolean shouldShed(RequestPriority priority) {
+        return priority.isShedAt(level);
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public double getPressure() {
+        return pressure;
+    }
+
+    /**
+     * Samples all signals and updates the overload level.
+     */
+    void sample() {
+        try {
+            update(lagProbe.maxLagNanos(), pendingAcquires(), heapUsageAfterGc());
+        } catch (Exception e) {
+            log.warn("Overload sampling failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recomputes the overload level from a set of signal values.
+     *
+     * @param lagNanos worst event-loop lag in nanoseconds
+     * @param pendingAcquires requests waiting for an upstream connection
+     * @param heapUsage fraction of max heap in use after GC (0.0 - 1.0)
+     */
+    void update(long lagNanos, double pendingAcquires, double heapUsage) {
+        lastLagNanos = lagNanos;
+        lastPendingAcquires = pendingAcquires;
+        lastHeapUsage = heapUsage;
+
+        double lagRatio = (double) lagNanos / properties.getEventLoopLagThreshold().toNanos();
+        double pendingRatio = pendingAcquires / properties.getPendingAcquireThreshold();
+        double heapRatio = heapPressure(heapUsage, properties.getHeapUsageThreshold());
+        double current = Math.max(lagRatio, Math.max(pendingRatio, heapRatio));
+
+        int target = levelFor(current);
+        int previous = level;
+        int next = target >= previous ? target : previous - 1;
+
+        pressure = current;
+        level = next;
+
+        if (next != previous) {
+            log.warn("Overload level changed {} -> {} (lag={}ms, pendingAcquires={}, heap={}%)",
+                previous, next,
+                TimeUnit.NANOSECONDS.toMillis(lagNanos),
+                (long) pendingAcquires,
+                Math.round(heapUsage * 100));
+        }
+    }
+
+    /**
+     * Maps a pressure ratio onto a shedding level.
+     */
+    static int levelFor(double pressure) {
+        if (pressure < 1.0) {
+            return 0;
+        } else if (pressure < 1.5) {
+            return 1;
+        } else if (pressure < 2.0) {
+            return 2;
+        }
+        return MAX_LEVEL;
+    }
+
+    /**
+     * Scales heap usage so that a completely full heap maps to pressure 2.0.
+     * Heap usage can never exceed 1.0, so a plain ratio would cap out at level 1.
+     */
+    static double heapPressure(double usage, double threshold) {
+        if (usage < threshold) {
+            return usage / threshold;
+        }
+        return 1.0 + (usage - threshold) / Math.max(1.0 - threshold, 0.01);
+    }
+
+    private double pendingAcquires() {
+        return meterRegistry.find(PENDING_ACQUIRE_METER).gauges().stream()
+            .mapToDouble(Gauge::value)
+            .filter(value -> !Double.isNaN(value))
+            .sum();
+    }
+
+    private double heapUsageAfterGc() {
+        double worst = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP || !pool.isCollectionUsageThresholdSupported()) {
+                continue;
+            }
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (usage != null && usage.getMax() > 0) {
+                worst = Math.max(worst, (double) usage.getUsed() / usage.getMax());
+            }
+        }
+        return worst;
+    }
+}
@@ -0,0 +1,42 @@
+package com.wis.apigateway.overload;
+
+/**
+ * Priority classes used by the overload controller to decide what to shed first.
+ *
+ * <p>Each class names the lowest overload level at which its requests are rejected.
+ * {@link #CRITICAL} traffic (webhooks, health checks) is never shed, because a dropped
+ * webhook is retried by the provider and costs more load later.
+ *
+ * <pre>
+ * Level 0 - normal operation, nothing is shed
+ * Level 1 - LOW is shed (bulk reads)
+ * Level 2 - NORMAL and LOW are shed
+ * Level 3 - everything except CRITICAL is shed
+ * </pre>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public enum RequestPriority {
+
+    CRITICAL(Integer.MAX_VALUE),
+    HIGH(3),
+    NORMAL(2),
+    LOW(1);
+
+    private final int shedFromLevel;
+
+    RequestPriority(int shedFromLevel) {
+        this.shedFromLevel = shedFromLevel;
+    }
+
+    /**
+     * Checks whether requests of this class are rejected at the given overload level.
+     *
+     * @param level current overload level (0 = healthy)
+     * @return true if requests of this class should be shed
+     */
+    public boolean isShedAt(int level) {
+        return level >= shedFromLevel;
+    }
+}
@@ -0,0 +1,63 @@
+package com.wis.apigateway.overload;
+
+import com.wis.apigateway.config.OverloadProperties;
+import com.wis.apigateway.filter.ApiKeyTierResolver;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Resolves the priority class of a request for load shedding.
+ *
+ * <p>Resolution order:
+ * <ol>
+ *   <li>Route class for "routeId:METHOD", then for "routeId", then the default</li>
+ *   <li>CRITICAL routes stay CRITICAL regardless of the caller</li>
+ *   <li>Otherwise a class configured for the API key tier replaces the route class</li>
+ * </ol>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Component
+public class RequestPriorityResolver {
+
+    private final OverloadProperties properties;
+    private final ApiKeyTierResolver tierResolver;
+
+    public RequestPriorityResolver(OverloadProperties properties, ApiKeyTierResolver tierResolver) {
+        this.properties = properties;
+        this.tierResolver = tierResolver;
+    }
+
+    /**
+     * Resolves the priority class for the current request.
+     *
+     * @param exchange the current server web exchange
+     * @return priority class
+     */
+    public RequestPriority resolve(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : null;
+
+        RequestPriority priority = routePriority(routeId, exchange.getRequest().getMethod().name());
+        if (priority == RequestPriority.CRITICAL) {
+            return priority;
+        }
+
+        RequestPriority tierPriority = properties.getTiers().get(tierResolver.resolve(exchange));
+        return tierPriority != null ? tierPriority : priority;
+    }
+
+    private RequestPriority routePriority(String routeId, String method) {
+        if (routeId == null) {
+            return properties.getDefaultPriority();
+        }
+        RequestPriority priority = properties.getRoutes().get(routeId + ":" + method);
+        if (priority == null) {
+            priority = properties.getRoutes().get(routeId);
+        }
+        return priority != null ? priority : properties.getDefaultPriority();
+    }
+}
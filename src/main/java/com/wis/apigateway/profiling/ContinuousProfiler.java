@@ -0,0 +1,279 @@
+package com.wis.apigateway.profiling;
+
+import com.wis.apigateway.config.LatencyProperties;
+import com.wis.apigateway.config.ProfilingProperties;
+import com.wis.apigateway.metrics.RollingLatencyHistogram;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Continuous low-overhead profiler built on a JFR {@link RecordingStream}.
+ *
+ * <p>Streams CPU execution samples, throttled allocation samples, socket/file I/O and
+ * lock waits above a threshold, and GC pauses. Events are attributed to the route the
+ * thread last worked on ({@link RouteThreadTracker}) and aggregated by their top stack
+ * frames into fixed windows; the last few closed windows are kept for the actuator
+ * endpoint. All aggregation happens on the JFR stream thread, never on request threads.
+ *
+ * <p>Raw events are retained for {@code max-age} so a {@code .jfr} file can be dumped
+ * on demand, or automatically when a route's p99 breaches its SLO (with a cooldown).
+ *
+ * <p>On JDK 21 socket events only cover blocking sockets (e.g. SDK clients on virtual
+ * threads); Netty's non-blocking I/O shows up in CPU samples instead.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class ContinuousProfiler {
+
+    private static final DateTimeFormatter DUMP_TIMESTAMP =
+        DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private final ProfilingProperties properties;
+    private final LatencyProperties latencyProperties;
+    private final RouteThreadTracker routeTracker;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RollingLatencyHistogram> routeLatencies = new ConcurrentHashMap<>();
+
+    private RecordingStream stream;
+    private Disposable sloCheck;
+
+    /** Open window; only touched by the JFR stream thread. */
+    private ProfileWindow current;
+    private volatile List<ProfileWindow.Snapshot> completed = List.of();
+    private volatile Instant lastAutoDump = Instant.EPOCH;
+    private final AtomicReference<Instant> lastManualDump = new AtomicReference<>(Instant.EPOCH);
+
+    public ContinuousProfiler(ProfilingProperties properties,
+                              LatencyProperties latencyProperties,
+                              RouteThreadTracker routeTracker,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.latencyProperties = latencyProperties;
+        this.routeTracker = routeTracker;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Starts the JFR stream and the SLO check if profiling is enabled.
+     */
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Duration io = properties.getIoThreshold();
+        stream = new RecordingStream();
+        stream.enable("jdk.ExecutionSample").withPeriod(properties.getCpuSamplePeriod());
+        stream.enable("jdk.ObjectAllocationSample").with("throttle", properties.getAllocationThrottle());
+        for (String event : List.of("jdk.SocketRead", "jdk.SocketWrite", "jdk.FileRead", "jdk.FileWrite")) {
+            stream.enable(event).withThreshold(io).withStackTrace();
+            stream.onEvent(event, e -> add(ProfileWindow.Kind.IO, e.getThread(), e, e.getDuration().toNanos()));
+        }
+        for (String event : List.of("jdk.JavaMonitorEnter", "jdk.ThreadPark")) {
+            stream.enable(event).withThreshold(io).withStackTrace();
+            stream.onEvent(event, e -> add(ProfileWindow.Kind.LOCK, e.getThread(), e, e.getDuration().toNanos()));
+        }
+        stream.enable("jdk.GarbageCollection");
+        stream.setMaxAge(properties.getMaxAge());
+
+        stream.onEvent("jdk.ExecutionSample",
+            e -> add(ProfileWindow.Kind.CPU, e.getThread("sampledThread"), e, 1));
+        stream.onEvent("jdk.ObjectAllocationSample",
+            e -> add(ProfileWindow.Kind.ALLOCATION, e.getThread(), e, e.getLong("weight")));
+        stream.onEvent("jdk.GarbageCollection",
+            e -> current.addGc(e.getDuration("sumOfPauses").toNanos()));
+        stream.onFlush(this::rotateIfDue);
+
+        current = new ProfileWindow(Instant.now());
+        stream.startAsync();
+
+        long slotMillis = Math.max(1, latencyProperties.getWindow().toMillis()
+            / Math.max(1, latencyProperties.getSlots()));
+        sloCheck = Schedulers.parallel().schedulePeriodically(
+            this::checkSlo, slotMillis, slotMillis, TimeUnit.MILLISECONDS);
+        log.info("Continuous profiling started (window={}, cpu period={})",
+            properties.getWindow(), properties.getCpuSamplePeriod());
+    }
+
+    /**
+     * Stops the JFR stream.
+     */
+    @PreDestroy
+    public void stop() {
+        if (sloCheck != null) {
+            sloCheck.dispose();
+        }
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    /**
+     * Records a request's end-to-end latency for SLO checks.
+     *
+     * @param routeId route id
+     * @param nanos latency in nanoseconds
+     */
+    public void recordLatency(String routeId, long nanos) {
+        RollingLatencyHistogram histogram = routeLatencies.get(routeId);
+        if (histogram == null) {
+            histogram = routeLatencies.computeIfAbsent(routeId,
+                id -> new RollingLatencyHistogram(latencyProperties.getSlots()));
+        }
+        histogram.record(nanos);
+    }
+
+    /**
+     * Returns the closed aggregation windows, oldest first.
+     *
+     * @return window snapshots
+     */
+    public List<ProfileWindow.Snapshot> windows() {
+        return completed;
+    }
+
+    /**
+     * Writes the retained raw events to a {@code .jfr} file.
+     *
+     * @param reason short label included in the file name
+     * @return path of the written file
+     * @throws IOException if the file cannot be written
+     * @throws IllegalStateException if profiling is not running
+     */
+    public Path dump(String reason) throws IOException {
+        if (stream == null) {
+            throw new IllegalStateException("Continuous profiling is not enabled");
+        }
+        Path directory = Path.of(properties.getDumpDirectory());
+        Files.createDirectories(directory);
+        Path file = directory.resolve("gateway-" + DUMP_TIMESTAMP.format(Instant.now()) + "-" + reason + ".jfr");
+        stream.dump(file);
+        Counter.builder("gateway.profiling.dumps")
+            .description("JFR dumps written")
+            .tag("reason", reason)
+            .register(meterRegistry)
+            .increment();
+        log.info("Wrote JFR dump {}", file.toAbsolutePath());
+        return file;
+    }
+
+    /**
+     * Writes a dump requested by an operator, at most once per {@code dump-cooldown}.
+     *
+     * @return path of the written file, or empty if the last requested dump is too recent
+     * @throws IOException if the file cannot be written
+     * @throws IllegalStateException if profiling is not running
+     */
+    public Optional<Path> dumpOnDemand() throws IOException {
+        Instant now = Instant.now();
+        Instant last = lastManualDump.get();
+        if (Duration.between(last, now).compareTo(properties.getDumpCooldown()) < 0
+            || !lastManualDump.compareAndSet(last, now)) {
+            return Optional.empty();
+        }
+        return Optional.of(dump("manual"));
+    }
+
+    /**
+     * Closes the open window when it is due. Runs on the JFR stream thread.
+     */
+    void rotateIfDue() {
+        Instant now = Instant.now();
+        if (Duration.between(current.start(), now).compareTo(properties.getWindow()) < 0) {
+            return;
+        }
+        List<ProfileWindow.Snapshot> windows = new ArrayList<>(completed);
+        windows.add(current.snapshot(properties.getTopStacks(), now));
+        while (windows.size() > Math.max(1, properties.getWindows())) {
+            windows.remove(0);
+        }
+        completed = List.copyOf(windows);
+        current = new ProfileWindow(now);
+    }
+
+    /**
+     * Rotates route latency histograms and dumps a recording if a route breaches its SLO.
+     */
+    void checkSlo() {
+        ProfilingProperties.Slo slo = properties.getSlo();
+        String breached = null;
+        for (Map.Entry<String, RollingLatencyHistogram> entry : routeLatencies.entrySet()) {
+            RollingLatencyHistogram histogram = entry.getValue();
+            Duration objective = slo.getRoutes().getOrDefault(entry.getKey(), slo.getDefaultP99());
+            if (breached == null && !objective.isZero() && histogram.count() >= slo.getMinSamples()
+                && histogram.percentileNanos(99.0) > objective.toNanos()) {
+                breached = entry.getKey();
+                log.warn("Route {} p99 {} ms exceeds SLO {} ms", breached,
+                    histogram.percentileNanos(99.0) / 1_000_000, objective.toMillis());
+            }
+            histogram.rotate();
+        }
+        Instant now = Instant.now();
+        if (breached == null || Duration.between(lastAutoDump, now).compareTo(slo.getCooldown()) < 0) {
+            return;
+        }
+        lastAutoDump = now;
+        String route = breached;
+        Schedulers.boundedElastic().schedule(() -> {
+            try {
+                dump("slo-" + route);
+            } catch (Exception e) {
+                log.warn("Failed to write JFR dump after SLO breach on {}: {}", route, e.getMessage());
+            }
+        });
+    }
+
+    private void add(ProfileWindow.Kind kind, RecordedThread thread, RecordedEvent event, long weight) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (thread == null || stackTrace == null) {
+            return;
+        }
+        String route = routeTracker.routeOf(thread.getJavaThreadId());
+        current.add(kind, route, frames(stackTrace), weight);
+    }
+
+    private List<String> frames(RecordedStackTrace stackTrace) {
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        int depth = Math.min(properties.getStackDepth(), frames.size());
+        List<String> stack = new ArrayList<>(depth);
+        for (int i = 0; i < depth; i++) {
+            RecordedFrame frame = frames.get(i);
+            stack.add(frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber());
+        }
+        return stack;
+    }
+}
@@ -0,0 +1,100 @@
+package com.wis.apigateway.profiling;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stack aggregates for one time window, keyed by event type, route and stack.
+ *
+ * <p>Written only by the JFR stream thread while open; {@link #snapshot(int)} produces
+ * the immutable view served to readers.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public final class ProfileWindow {
+
+    /**
+     * Profiled event types.
+     */
+    public enum Kind {
+        /** CPU execution samples; weight is the sample count. */
+        CPU,
+        /** Allocation samples; weight is the estimated bytes allocated. */
+        ALLOCATION,
+        /** Socket and file I/O; weight is the time blocked in nanoseconds. */
+        IO,
+        /** Threads parked on monitors or locks; weight is the time blocked in nanoseconds. */
+        LOCK
+    }
+
+    /**
+     * One aggregated stack.
+     *
+     * @param stack top frames, innermost first
+     * @param count number of events
+     * @param weight summed weight (see {@link Kind})
+     */
+    public record StackStats(List<String> stack, long count, long weight) {
+    }
+
+    /**
+     * Immutable result of a closed window.
+     *
+     * @param start window start
+     * @param end window end
+     * @param top top stacks per event type and route
+     * @param gcPauseNanos total GC pause time in the window
+     * @param gcCount number of collections in the window
+     */
+    public record Snapshot(Instant start, Instant end,
+                    Map<Kind, Map<String, List<StackStats>>> top,
+                    long gcPauseNanos, long gcCount) {
+    }
+
+    private final Instant start;
+    private final Map<Kind, Map<String, Map<List<String>, long[]>>> stacks = new HashMap<>();
+    private long gcPauseNanos;
+    private long gcCount;
+
+    ProfileWindow(Instant start) {
+        this.start = start;
+    }
+
+    Instant start() {
+        return start;
+    }
+
+    void add(Kind kind, String route, List<String> stack, long weight) {
+        long[] stats = stacks
+            .computeIfAbsent(kind, k -> new HashMap<>())
+            .computeIfAbsent(route, r -> new HashMap<>())
+            .computeIfAbsent(stack, s -> new long[2]);
+        stats[0]++;
+        stats[1] += weight;
+    }
+
+    void addGc(long pauseNanos) {
+        gcPauseNanos += pauseNanos;
+        gcCount++;
+    }
+
+    Snapshot snapshot(int topStacks, Instant end) {
+        Map<Kind, Map<String, List<StackStats>>> top = new HashMap<>();
+        stacks.forEach((kind, byRoute) -> {
+            Map<String, List<StackStats>> routes = new HashMap<>();
+            byRoute.forEach((route, byStack) -> {
+                List<StackStats> sorted = new ArrayList<>(byStack.size());
+                byStack.forEach((stack, stats) -> sorted.add(new StackStats(stack, stats[0], stats[1])));
+                sorted.sort(Comparator.comparingLong(StackStats::weight).reversed());
+                routes.put(route, List.copyOf(sorted.subList(0, Math.min(topStacks, sorted.size()))));
+            });
+            top.put(kind, Map.copyOf(routes));
+        });
+        return new Snapshot(start, end, Map.copyOf(top), gcPauseNanos, gcCount);
+    }
+}
@@ -0,0 +1,88 @@
+package com.wis.apigateway.profiling;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Actuator endpoint exposing the continuous profiler.
+ *
+ * <ul>
+ *   <li>{@code GET /actuator/profiling} - top stacks per event type and route for each
+ *       recent window</li>
+ *   <li>{@code GET /actuator/profiling/{route}} - the same, for one route</li>
+ *   <li>{@code POST /actuator/profiling} - write a {@code .jfr} dump of recent events, at
+ *       most once per {@code dump-cooldown}; needs the service key (see
+ *       {@link com.wis.apigateway.filter.ActuatorWriteGuardFilter})</li>
+ * </ul>
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "profiling")
+public class ProfilingEndpoint {
+
+    private final ContinuousProfiler profiler;
+
+    public ProfilingEndpoint(ContinuousProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @ReadOperation
+    public Map<String, Object> profile() {
+        return describe(null);
+    }
+
+    @ReadOperation
+    public Map<String, Object> route(@Selector String route) {
+        return describe(route);
+    }
+
+    @WriteOperation
+    public Map<String, Object> dump() throws IOException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (!profiler.isRunning()) {
+            result.put("error", "Continuous profiling is not enabled");
+            return result;
+        }
+        Optional<Path> file = profiler.dumpOnDemand();
+        if (file.isEmpty()) {
+            result.put("error", "A dump was requested less than gateway.profiling.dump-cooldown ago");
+            return result;
+        }
+        result.put("file", file.get().toAbsolutePath().toString());
+        return result;
+    }
+
+    private Map<String, Object> describe(String route) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", profiler.isRunning());
+        List<Map<String, Object>> windows = new ArrayList<>();
+        for (ProfileWindow.Snapshot snapshot : profiler.windows()) {
+            Map<String, Object> window = new LinkedHashMap<>();
+            window.put("start", snapshot.start().toString());
+            window.put("end", snapshot.end().toString());
+            window.put("gcCount", snapshot.gcCount());
+            window.put("gcPauseMillis", snapshot.gcPauseNanos() / 1_000_000.0);
+            Map<String, Object> byKind = new HashMap<>();
+            snapshot.top().forEach((kind, byRoute) -> byKind.put(kind.name().toLowerCase(),
+                route == null ? byRoute : byRoute.getOrDefault(route, List.of())));
+            window.put("top", byKind);
+            windows.add(window);
+        }
+        result.put("windows", windows);
+        return result;
+    }
+}
@@ -0,0 +1,63 @@
+package com.wis.apigateway.profiling;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which route each thread most recently worked on, so profiling samples taken
+ * on that thread can be attributed to a route.
+ *
+ * <p>Event loops interleave many requests, so attribution is approximate: a sample is
+ * charged to the route whose gateway filters last ran on the sampled thread. Marking a
+ * thread costs a thread-local lookup and a volatile write. Virtual threads are not
+ * tracked, since there can be any number of them.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Component
+public class RouteThreadTracker {
+
+    public static final String UNKNOWN_ROUTE = "unknown";
+
+    private final Map<Long, Mark> marksByThread = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<Mark> currentMark = ThreadLocal.withInitial(() -> {
+        Mark mark = new Mark();
+        marksByThread.put(Thread.currentThread().threadId(), mark);
+        return mark;
+    });
+
+    /**
+     * Records that the current thread is working on the given route.
+     *
+     * @param routeId route id, or null to clear
+     */
+    public void mark(String routeId) {
+        if (Thread.currentThread().isVirtual()) {
+            return;
+        }
+        currentMark.get().routeId = routeId;
+    }
+
+    /**
+     * Returns the route the thread last worked on.
+     *
+     * @param threadId Java thread id
+     * @return route id, or {@link #UNKNOWN_ROUTE}
+     */
+    public String routeOf(long threadId) {
+        Mark mark = marksByThread.get(threadId);
+        String routeId = mark != null ? mark.routeId : null;
+        return routeId != null ? routeId : UNKNOWN_ROUTE;
+    }
+
+    /**
+     * Route marker for one thread.
+     */
+    private static final class Mark {
+        private volatile String routeId;
+    }
+}
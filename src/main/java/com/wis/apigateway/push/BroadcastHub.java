@@ -0,0 +1,279 @@
+package com.wis.apigateway.push;
+
+import com.wis.apigateway.config.PushProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory broadcast hub behind the SSE and WebSocket push endpoints.
+ *
+ * <p>Each topic holds its subscribed connections and is fed either by backends publishing
+ * to it ({@code POST /internal/push/{topic}}) or by one upstream SSE stream configured in
+ * {@code gateway.push.topics}. The upstream stream is opened when the topic gets its first
+ * subscriber and closed with the last one, so a topic costs one backend connection however
+ * many clients listen.
+ *
+ * <p>Events are encoded once ({@link PushEvent}) and the same bytes are handed to every
+ * connection. Each connection has a small bounded buffer; when a client cannot keep up the
+ * configured overflow policy either skips events for it ({@code drop}) or closes it
+ * ({@code disconnect}), so a slow consumer never holds memory or delays the others. Idle
+ * connections are kept alive by one hub-wide heartbeat instead of a timer per connection.
+ *
+ * <p>Metrics: {@code gateway.push.connections}, {@code gateway.push.topics},
+ * {@code gateway.push.events.published}, {@code gateway.push.events.dropped} and
+ * {@code gateway.push.slow.disconnects}.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class BroadcastHub {
+
+    private static final String SERVICE_KEY_HEADER = "X-Service-Key";
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE =
+        new ParameterizedTypeReference<>() {
+        };
+
+    private final PushProperties properties;
+    private final WebClient webClient;
+    private final Map<String, Topic> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Counter published;
+    private final Counter dropped;
+    private final Counter slowDisconnects;
+
+    @Value("${SERVICE_TO_SERVICE_KEY:}")
+    private String serviceKey;
+
+    private Disposable heartbeat;
+
+    @Autowired
+    public BroadcastHub(PushProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, WebClient.builder().build());
+    }
+
+    BroadcastHub(PushProperties properties, MeterRegistry meterRegistry, WebClient webClient) {
+        this.properties = properties;
+        this.webClient = webClient;
+        this.published = Counter.builder("gateway.push.events.published")
+            .description("Events published to push topics")
+            .register(meterRegistry);
+        this.dropped = Counter.builder("gateway.push.events.dropped")
+            .description("Events skipped for push connections whose buffer was full")
+            .register(meterRegistry);
+        this.slowDisconnects = Counter.builder("gateway.push.slow.disconnects")
+            .description("Push connections closed because they could not keep up")
+            .register(meterRegistry);
+        Gauge.builder("gateway.push.connections", connections, AtomicInteger::get)
+            .description("Open push connections")
+            .register(meterRegistry);
+        Gauge.builder("gateway.push.topics", topics, Map::size)
+            .description("Push topics with at least one connection")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Starts the hub-wide heartbeat.
+     */
+    @PostConstruct
+    public void start() {
+        heartbeat = Flux.interval(properties.getHeartbeat(), properties.getHeartbeat())
+            .subscribe(tick -> heartbeat());
+    }
+
+    /**
+     * Closes all connections and upstream streams.
+     */
+    @PreDestroy
+    public void stop() {
+        if (heartbeat != null) {
+            heartbeat.dispose();
+        }
+        topics.values().forEach(Topic::close);
+    }
+
+    /**
+     * Subscribes a new connection to a topic.
+     *
+     * @param topic topic name
+     * @return the subscription; its {@link PushSubscriber#events()} must be subscribed to
+     * @throws ResponseStatusException 503 when {@code max-connections} is reached
+     */
+    public PushSubscriber subscribe(String topic) {
+        if (connections.incrementAndGet() > properties.getMaxConnections()) {
+            connections.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many push connections");
+        }
+        PushSubscriber subscriber = new PushSubscriber(topic, properties.getBufferSize(), this);
+        topics.compute(topic, (name, existing) -> {
+            Topic target = existing != null ? existing : open(name);
+            target.subscribers.add(subscriber);
+            return target;
+        });
+        return subscriber;
+    }
+
+    /**
+     * Publishes an event to every connection of a topic.
+     *
+     * @return number of connections the event was queued for
+     */
+    public int publish(String topic, PushEvent event) {
+        Topic target = topics.get(topic);
+        return target == null ? 0 : target.publish(event);
+    }
+
+    /**
+     * @return open push connections
+     */
+    public int connections() {
+        return connections.get();
+    }
+
+    /**
+     * @return topics with at least one connection
+     */
+    public int topicCount() {
+        return topics.size();
+    }
+
+    /**
+     * Removes a connection; safe to call more than once.
+     */
+    public void unsubscribe(PushSubscriber subscriber) {
+        if (!subscriber.release()) {
+            return;
+        }
+        connections.decrementAndGet();
+        topics.computeIfPresent(subscriber.topic(), (name, topic) -> {
+            topic.subscribers.remove(subscriber);
+            if (!topic.subscribers.isEmpty()) {
+                return topic;
+            }
+            topic.closeFeed();
+            return null;
+        });
+    }
+
+    void heartbeat() {
+        topics.values().forEach(topic -> topic.publish(PushEvent.HEARTBEAT));
+    }
+
+    private Topic open(String name) {
+        Topic topic = new Topic(name);
+        PushProperties.Topic config = properties.getTopics().get(name);
+        if (config != null && config.getUpstream() != null && !config.getUpstream().isEmpty()) {
+            topic.feed = connectUpstream(topic, config.getUpstream());
+        }
+        return topic;
+    }
+
+    private Disposable connectUpstream(Topic topic, String url) {
+        Duration reconnect = properties.getUpstreamReconnect();
+        return webClient.get()
+            .uri(url)
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .headers(headers -> {
+                if (serviceKey != null && !serviceKey.isEmpty()) {
+                    headers.set(SERVICE_KEY_HEADER, serviceKey);
+                }
+            })
+            .retrieve()
+            .bodyToFlux(SSE_TYPE)
+            .doOnSubscribe(s -> log.info("Opening upstream stream {} for push topic {}", url, topic.name))
+            .retryWhen(Retry.backoff(Long.MAX_VALUE, reconnect)
+                .maxBackoff(Duration.ofMinutes(1))
+                .doBeforeRetry(signal -> log.warn("Upstream stream for push topic {} failed: {}",
+                    topic.name, signal.failure().toString())))
+            .repeatWhen(completed -> completed.delayElements(reconnect))
+            .subscribe(event -> {
+                if (event.data() != null) {
+                    topic.publish(PushEvent.of(event.id(), event.event(), event.data()));
+                }
+            });
+    }
+
+    /**
+     * Connections of one topic. Emission is serialized by {@link #emitLock}; membership
+     * changes go through the topic map and never take that lock, so a connection closing
+     * while an event is emitted cannot deadlock with a new subscriber.
+     */
+    private final class Topic {
+
+        private final String name;
+        private final Set<PushSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final Object emitLock = new Object();
+        private volatile Disposable feed;
+
+        Topic(String name) {
+            this.name = name;
+        }
+
+        int publish(PushEvent event) {
+            boolean heartbeat = event.isHeartbeat();
+            int delivered = 0;
+            synchronized (emitLock) {
+                for (PushSubscriber subscriber : subscribers) {
+                    Sinks.EmitResult result = subscriber.emit(event);
+                    if (result.isSuccess()) {
+                        delivered++;
+                    } else if (result == Sinks.EmitResult.FAIL_OVERFLOW && !heartbeat) {
+                        overflow(subscriber);
+                    }
+                }
+            }
+            if (!heartbeat) {
+                published.increment();
+            }
+            return delivered;
+        }
+
+        private void overflow(PushSubscriber subscriber) {
+            if (properties.getOverflow() == PushProperties.Overflow.DISCONNECT) {
+                slowDisconnects.increment();
+                subscriber.disconnect(new SlowConsumerException(name));
+            } else {
+                dropped.increment();
+            }
+        }
+
+        void closeFeed() {
+            Disposable current = feed;
+            if (current != null) {
+                current.dispose();
+            }
+        }
+
+        void close() {
+            closeFeed();
+            synchronized (emitLock) {
+                subscribers.forEach(PushSubscriber::complete);
+            }
+        }
+    }
+}
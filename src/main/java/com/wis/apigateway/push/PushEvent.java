@@ -0,0 +1,69 @@
+package com.wis.apigateway.push;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An event published to a topic, encoded once for all connections.
+ *
+ * <p>{@link #sseFrame()} is the complete {@code text/event-stream} frame and {@link #data()}
+ * the UTF-8 payload sent as a WebSocket text frame. Both arrays are shared by every
+ * connection of the topic and must not be modified.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public final class PushEvent {
+
+    /** Keep-alive: an SSE comment, or a ping on WebSockets. */
+    public static final PushEvent HEARTBEAT = new PushEvent(null, new byte[0], ":\n\n".getBytes(StandardCharsets.UTF_8));
+
+    private final String id;
+    private final byte[] data;
+    private final byte[] sseFrame;
+
+    private PushEvent(String id, byte[] data, byte[] sseFrame) {
+        this.id = id;
+        this.data = data;
+        this.sseFrame = sseFrame;
+    }
+
+    /**
+     * Creates an event.
+     *
+     * @param id event id, may be null
+     * @param type event type (SSE {@code event:} field), may be null
+     * @param data payload, usually JSON
+     * @return encoded event
+     */
+    public static PushEvent of(String id, String type, String data) {
+        StringBuilder frame = new StringBuilder(data.length() + 32);
+        if (id != null) {
+            frame.append("id: ").append(id).append('\n');
+        }
+        if (type != null) {
+            frame.append("event: ").append(type).append('\n');
+        }
+        for (String line : data.split("\r\n|\r|\n", -1)) {
+            frame.append("data: ").append(line).append('\n');
+        }
+        frame.append('\n');
+        return new PushEvent(id, data.getBytes(StandardCharsets.UTF_8),
+            frame.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public byte[] data() {
+        return data;
+    }
+
+    public byte[] sseFrame() {
+        return sseFrame;
+    }
+
+    public boolean isHeartbeat() {
+        return this == HEARTBEAT;
+    }
+}
@@ -0,0 +1,63 @@
+package com.wis.apigateway.push;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One push connection subscribed to a topic.
+ *
+ * <p>Events are queued in a bounded single-producer queue sized by
+ * {@code gateway.push.buffer-size}; the connection drains it as fast as its socket accepts
+ * writes. When the queue is full the hub applies the overflow policy. Only the hub emits,
+ * always under the topic's emit lock, so the sink needs no further synchronization.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public final class PushSubscriber {
+
+    private final String topic;
+    private final Sinks.Many<PushEvent> sink;
+    private final Flux<PushEvent> events;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    PushSubscriber(String topic, int bufferSize, BroadcastHub hub) {
+        this.topic = topic;
+        this.sink = Sinks.many().unicast().onBackpressureBuffer(Queues.<PushEvent>get(bufferSize).get());
+        this.events = sink.asFlux().doFinally(signal -> hub.unsubscribe(this));
+    }
+
+    /**
+     * Events for this connection; can be subscribed to once. The subscription is removed
+     * from the hub when the flux terminates or is cancelled.
+     */
+    public Flux<PushEvent> events() {
+        return events;
+    }
+
+    public String topic() {
+        return topic;
+    }
+
+    Sinks.EmitResult emit(PushEvent event) {
+        return sink.tryEmitNext(event);
+    }
+
+    void disconnect(Throwable reason) {
+        sink.tryEmitError(reason);
+    }
+
+    void complete() {
+        sink.tryEmitComplete();
+    }
+
+    /**
+     * @return true the first time, so the connection is counted down once
+     */
+    boolean release() {
+        return released.compareAndSet(false, true);
+    }
+}
@@ -0,0 +1,14 @@
+package com.wis.apigateway.push;
+
+/**
+ * Terminates a push connection whose buffer overflowed under the {@code disconnect} policy.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public class SlowConsumerException extends RuntimeException {
+
+    public SlowConsumerException(String topic) {
+        super("Push connection on topic " + topic + " cannot keep up", null, false, false);
+    }
+}
@@ -0,0 +1,83 @@
+package com.wis.apigateway.resilience;
+
+import java.time.Duration;
+
+/**
+ * Point in time by which a request must be answered.
+ *
+ * <p>Deadlines travel between services as the time remaining, in milliseconds, in the
+ * {@value #HEADER} header, so clock differences between hosts do not matter. Inside the
+ * gateway a deadline is held on the exchange under {@link #ATTR} as a {@link System#nanoTime()}
+ * instant; each upstream attempt sends what is left of it at the moment it is sent.
+ *
+ * @param expiresAtNanos {@link System#nanoTime()} value at which the deadline passes
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public record Deadline(long expiresAtNanos) {
+
+    /** Exchange attribute holding the request's deadline. */
+    public static final String ATTR = Deadline.class.getName();
+
+    /** Header carrying the milliseconds left until the deadline. */
+    public static final String HEADER = "X-Request-Timeout";
+
+    /**
+     * @param timeout time from now
+     * @return deadline that passes after the timeout
+     */
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Parses a {@value #HEADER} value.
+     *
+     * @param header header value, may be null
+     * @return milliseconds left, or -1 if absent or not a non-negative integer
+     */
+    public static long parseMillis(String header) {
+        if (header == null || header.isEmpty() || header.length() > 18) {
+            return -1;
+        }
+        long millis = 0;
+        for (int i = 0; i < header.length(); i++) {
+            char c = header.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            millis = millis * 10 + (c - '0');
+        }
+        return millis;
+    }
+
+    /**
+     * @param other another deadline, may be null
+     * @return whichever of the two passes first
+     */
+    public Deadline earliest(Deadline other) {
+        return other == null || expiresAtNanos - other.expiresAtNanos <= 0 ? this : other;
+    }
+
+    /**
+     * @return time left, zero once the deadline has passed
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    /**
+     * @return whole milliseconds left, zero once the deadline has passed
+     */
+    public long remainingMillis() {
+        return Math.max(0, (expiresAtNanos - System.nanoTime()) / 1_000_000);
+    }
+
+    /**
+     * @return whether the deadline has passed
+     */
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+}
@@ -0,0 +1,80 @@
+package com.wis.apigateway.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket that limits extra upstream requests to a fraction of normal traffic.
+ *
+ * <p>Every original request deposits {@code ratio} tokens and every extra request
+ * (a hedge or a retry) withdraws one whole token. Over time extra requests therefore
+ * stay at or below {@code ratio} of the original load, no matter how slow or broken the
+ * upstream is. The balance is capped at {@code maxTokens}, which also sets the burst
+ * available right after startup.
+ *
+ * <p>The balance is a single {@link AtomicLong} in thousandths of a token, so both
+ * operations are lock-free and allocation-free.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public class RequestBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    /**
+     * Creates a budget.
+     *
+     * @param ratio extra requests allowed per original request (e.g. 0.05 for 5%)
+     * @param maxTokens maximum number of extra requests that can be banked
+     */
+    public RequestBudget(double ratio, int maxTokens) {
+        this.depositPerRequest = Math.max(0, Math.round(ratio * SCALE));
+        this.maxBalance = Math.max(0, (long) maxTokens * SCALE);
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    /**
+     * Records an original request, earning a fraction of a token.
+     */
+    public void recordRequest() {
+        if (depositPerRequest == 0) {
+            return;
+        }
+        long current;
+        do {
+            current = balance.get();
+            if (current >= maxBalance) {
+                return;
+            }
+        } while (!balance.compareAndSet(current, Math.min(maxBalance, current + depositPerRequest)));
+    }
+
+    /**
+     * Tries to spend one token on an extra request.
+     *
+     * @return true if the extra request is within budget
+     */
+    public boolean tryAcquire() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+
+    /**
+     * Returns the number of whole tokens currently available.
+     *
+     * @return available tokens
+     */
+    public long available() {
+        return balance.get() / SCALE;
+    }
+}
@@ -0,0 +1,66 @@
+package com.wis.apigateway.resilience;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Retry counters for a single route.
+ *
+ * <p>Publishes {@code gateway.retry.requests}, {@code gateway.retry.attempts} and
+ * {@code gateway.retry.budget.exhausted} as counters, plus {@code gateway.retry.ratio},
+ * the number of retries per original request since startup. For a windowed ratio use
+ * {@code rate(gateway_retry_attempts_total) / rate(gateway_retry_requests_total)}.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public class RetryStats {
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+
+    public RetryStats(String routeId, MeterRegistry meterRegistry) {
+        FunctionCounter.builder("gateway.retry.requests", requests, LongAdder::doubleValue)
+            .tag("route", routeId)
+            .description("Original requests seen by the retry filter")
+            .register(meterRegistry);
+        FunctionCounter.builder("gateway.retry.attempts", retries, LongAdder::doubleValue)
+            .tag("route", routeId)
+            .description("Retries sent upstream")
+            .register(meterRegistry);
+        FunctionCounter.builder("gateway.retry.budget.exhausted", budgetExhausted, LongAdder::doubleValue)
+            .tag("route", routeId)
+            .description("Retries skipped because the retry budget was empty")
+            .register(meterRegistry);
+        Gauge.builder("gateway.retry.ratio", this, RetryStats::ratio)
+            .tag("route", routeId)
+            .description("Retries per original request")
+            .register(meterRegistry);
+    }
+
+    public void recordRequest() {
+        requests.increment();
+    }
+
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    public void recordBudgetExhausted() {
+        budgetExhausted.increment();
+    }
+
+    /**
+     * Returns retries per original request.
+     *
+     * @return retry ratio, 0 if no requests were seen
+     */
+    public double ratio() {
+        long total = requests.sum();
+        return total == 0 ? 0.0 : (double) retries.sum() / total;
+    }
+}
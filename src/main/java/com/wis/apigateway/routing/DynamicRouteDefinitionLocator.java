@@ -0,0 +1,265 @@
+package com.wis.apigateway.routing;
+
+import com.wis.apigateway.cluster.InvalidationBus;
+import com.wis.apigateway.config.DynamicRoutesProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.PropertySourcesPlaceholdersResolver;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
+import org.springframework.cloud.gateway.filter.FilterDefinition;
+import org.springframework.cloud.gateway.filter.factory.GatewayFilterFactory;
+import org.springframework.cloud.gateway.handler.predicate.PredicateDefinition;
+import org.springframework.cloud.gateway.handler.predicate.RoutePredicateFactory;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.cloud.gateway.route.RouteDefinitionLocator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32C;
+
+/**
+ * Route definitions loaded from a file at runtime, next to the static routes in
+ * {@code application.yml}.
+ *
+ * <p>The file ({@code gateway.dynamic-routes.file}) uses the same format as
+ * {@code spring.cloud.gateway.routes}, under a top-level {@code routes} key, and may use
+ * placeholders such as {@code ${backend.messages.url}}. It is polled on a background
+ * thread. A changed file is parsed and validated there - unknown predicates or filters,
+ * missing ids or URIs, and ids already used by static routes reject the whole file and
+ * keep the current table. A valid file replaces the table with one volatile write, and a
+ * {@link RefreshRoutesEvent} makes the gateway's {@code CachingRouteLocator} build the new
+ * routes on the same thread and swap its cache. Route lookup never takes a lock, and
+ * requests in flight keep the route they were matched to.
+ *
+ * <p>{@code POST /actuator/dynamicroutes} reloads at once and asks the other instances to
+ * reload too, through the {@link InvalidationBus}.
+ *
+ * <p>Metrics: {@code gateway.routes.dynamic} and {@code gateway.routes.reloads} (tag
+ * {@code result}: applied, failed).
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class DynamicRouteDefinitionLocator implements RouteDefinitionLocator {
+
+    /** Invalidation namespace asking instances to reload their route file. */
+    static final String NAMESPACE = "routes";
+
+    private final DynamicRoutesProperties properties;
+    private final Set<String> staticRouteIds;
+    private final Set<String> predicateNames;
+    private final Set<String> filterNames;
+    private final Environment environment;
+    private final ApplicationEventPublisher publisher;
+    private final InvalidationBus bus;
+    private final Counter applied;
+    private final Counter failed;
+
+    private volatile RouteTable table = RouteTable.EMPTY;
+    private volatile String lastError;
+    private Scheduler scheduler;
+    private Disposable poller;
+
+    public DynamicRouteDefinitionLocator(DynamicRoutesProperties properties, GatewayProperties gatewayProperties,
+                                         List<RoutePredicateFactory<?>> predicateFactories,
+                                         List<GatewayFilterFactory<?>> filterFactories,
+                                         Environment environment, ApplicationEventPublisher publisher,
+                                         InvalidationBus bus, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.staticRouteIds = gatewayProperties.getRoutes().stream()
+            .map(RouteDefinition::getId)
+            .collect(Collectors.toSet());
+        this.predicateNames = predicateFactories.stream().map(RoutePredicateFactory::name).collect(Collectors.toSet());
+        this.filterNames = filterFactories.stream().map(GatewayFilterFactory::name).collect(Collectors.toSet());
+        this.environment = environment;
+        this.publisher = publisher;
+        this.bus = bus;
+        this.applied = Counter.builder("gateway.routes.reloads")
+            .description("Route file reloads")
+            .tag("result", "applied")
+            .register(meterRegistry);
+        this.failed = Counter.builder("gateway.routes.reloads")
+            .description("Route file reloads")
+            .tag("result", "failed")
+            .register(meterRegistry);
+        Gauge.builder("gateway.routes.dynamic", this, locator -> locator.table.definitions().size())
+            .description("Routes loaded from the route file")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Loads the route file and starts polling it.
+     */
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        // The gateway builds its first route table after startup; no refresh needed yet
+        load(false);
+        scheduler = Schedulers.newSingle("route-watcher", true);
+        long intervalMillis = Math.max(100, properties.getPollInterval().toMillis());
+        poller = scheduler.schedulePeriodically(this::reload, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        bus.subscribe(NAMESPACE, checksum -> scheduler.schedule(this::reload));
+    }
+
+    /**
+     * Stops polling.
+     */
+    @PreDestroy
+    public void stop() {
+        if (poller != null) {
+            poller.dispose();
+            scheduler.dispose();
+        }
+    }
+
+    @Override
+    public Flux<RouteDefinition> getRouteDefinitions() {
+        return Flux.fromIterable(table.definitions());
+    }
+
+    /**
+     * @return the current route table
+     */
+    public RouteTable table() {
+        return table;
+    }
+
+    /**
+     * @return why the last reload was rejected, or null if it succeeded
+     */
+    public String lastError() {
+        return lastError;
+    }
+
+    /**
+     * Reloads this instance's route file, then asks the other instances to reload theirs.
+     *
+     * @return whether the route table changed here
+     */
+    public boolean reloadEverywhere() {
+        boolean changed = reload();
+        bus.publish(NAMESPACE, table.checksum());
+        return changed;
+    }
+
+    /**
+     * Reloads the route file if it changed since the last load.
+     *
+     * @return whether the route table was replaced
+     */
+    public boolean reload() {
+        return load(true);
+    }
+
+    private synchronized boolean load(boolean refresh) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        Path file = Path.of(properties.getFile());
+        try {
+            byte[] content = Files.readAllBytes(file);
+            String checksum = checksum(content);
+            if (checksum.equals(table.checksum())) {
+                return false;
+            }
+            List<RouteDefinition> definitions = parse(content);
+            validate(definitions);
+            table = new RouteTable(List.copyOf(definitions), checksum, table.version() + 1, Instant.now());
+            lastError = null;
+            applied.increment();
+            log.info("Loaded {} routes from {} (version {}): {}", definitions.size(), file, table.version(),
+                definitions.stream().map(RouteDefinition::getId).toList());
+            if (refresh) {
+                publisher.publishEvent(new RefreshRoutesEvent(this));
+            }
+            return true;
+        } catch (NoSuchFileException e) {
+            return fail(file, "route file not found");
+        } catch (IOException | RuntimeException e) {
+            return fail(file, e.getMessage());
+        }
+    }
+
+    private boolean fail(Path file, String error) {
+        if (!error.equals(lastError)) {
+            failed.increment();
+            log.error("Keeping {} routes of version {}, {} rejected: {}",
+                table.definitions().size(), table.version(), file, error);
+        }
+        lastError = error;
+        return false;
+    }
+
+    private List<RouteDefinition> parse(byte[] content) throws IOException {
+        List<PropertySource<?>> sources = new YamlPropertySourceLoader()
+            .load("dynamic-routes", new ByteArrayResource(content));
+        Binder binder = new Binder(ConfigurationPropertySources.from(sources),
+            new PropertySourcesPlaceholdersResolver(environment));
+        return binder.bind("routes", Bindable.listOf(RouteDefinition.class)).orElse(List.of());
+    }
+
+    private void validate(List<RouteDefinition> definitions) {
+        Set<String> ids = new HashSet<>();
+        for (RouteDefinition definition : definitions) {
+            String id = definition.getId();
+            if (id == null || id.isBlank()) {
+                throw new IllegalArgumentException("route without id");
+            }
+            if (!ids.add(id) || staticRouteIds.contains(id)) {
+                throw new IllegalArgumentException("duplicate route id " + id);
+            }
+            if (definition.getUri() == null || definition.getUri().getScheme() == null) {
+                throw new IllegalArgumentException("route " + id + " has no uri");
+            }
+            if (definition.getPredicates().isEmpty()) {
+                throw new IllegalArgumentException("route " + id + " has no predicates");
+            }
+            for (PredicateDefinition predicate : definition.getPredicates()) {
+                if (!predicateNames.contains(predicate.getName())) {
+                    throw new IllegalArgumentException("route " + id + ": unknown predicate " + predicate.getName());
+                }
+            }
+            for (FilterDefinition filter : definition.getFilters()) {
+                if (!filterNames.contains(filter.getName())) {
+                    throw new IllegalArgumentException("route " + id + ": unknown filter " + filter.getName());
+                }
+            }
+        }
+    }
+
+    private static String checksum(byte[] content) {
+        CRC32C crc = new CRC32C();
+        crc.update(content);
+        return Long.toHexString(crc.getValue()) + "-" + content.length;
+    }
+}
@@ -0,0 +1,60 @@
+package com.wis.apigateway.routing;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint for the routes loaded from the route file.
+ *
+ * <ul>
+ *   <li>{@code GET /actuator/dynamicroutes} - version, load time, route ids and the last
+ *       rejected reload</li>
+ *   <li>{@code POST /actuator/dynamicroutes} - reload the file now, on every instance</li>
+ * </ul>
+ *
+ * <p>The reload needs the service key; see
+ * {@link com.wis.apigateway.filter.ActuatorWriteGuardFilter}.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "dynamicroutes")
+public class DynamicRoutesEndpoint {
+
+    private final DynamicRouteDefinitionLocator locator;
+
+    public DynamicRoutesEndpoint(DynamicRouteDefinitionLocator locator) {
+        this.locator = locator;
+    }
+
+    @ReadOperation
+    public Map<String, Object> routes() {
+        return describe();
+    }
+
+    @WriteOperation
+    public Map<String, Object> reload() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("changed", locator.reloadEverywhere());
+        result.putAll(describe());
+        return result;
+    }
+
+    private Map<String, Object> describe() {
+        RouteTable table = locator.table();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("version", table.version());
+        result.put("checksum", table.checksum());
+        result.put("loadedAt", table.loadedAt() != null ? table.loadedAt().toString() : null);
+        result.put("routes", table.definitions().stream().map(RouteDefinition::getId).toList());
+        result.put("lastError", locator.lastError());
+        return result;
+    }
+}
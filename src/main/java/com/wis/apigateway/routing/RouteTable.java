@@ -0,0 +1,21 @@
+package com.wis.apigateway.routing;
+
+import org.springframework.cloud.gateway.route.RouteDefinition;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * An immutable set of dynamically loaded route definitions.
+ *
+ * @param definitions the routes
+ * @param checksum checksum of the file they were loaded from
+ * @param version incremented with every applied reload
+ * @param loadedAt when the table was loaded
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public record RouteTable(List<RouteDefinition> definitions, String checksum, long version, Instant loadedAt) {
+
+    static final RouteTable EMPTY = new RouteTable(List.of(), "", 0, null);
+}
@@ -0,0 +1,67 @@
+package com.wis.apigateway.tracing;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends sampled spans as JSON lines to a local file. Intended for tests and local
+ * debugging.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+public class FileSpanSink implements SpanSink {
+
+    private final Path file;
+    private final BufferedWriter writer;
+
+    /**
+     * Opens the file for appending, creating it and its directory if needed.
+     *
+     * @param file file to append to
+     */
+    public FileSpanSink(Path file) {
+        this.file = file;
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open trace file " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized void export(List<SpanRecord> spans) {
+        try {
+            for (SpanRecord span : spans) {
+                writer.write(SpanSink.toJson(span));
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            log.warn("Failed to write {} spans to {}: {}", spans.size(), file, e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Failed to close trace file {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.wis.apigateway.tracing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Writes sampled spans as JSON lines to the {@code gateway.traces} logger, so they reach
+ * Application Insights through the normal log pipeline.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public class LoggingSpanSink implements SpanSink {
+
+    private static final Logger TRACES = LoggerFactory.getLogger("gateway.traces");
+
+    @Override
+    public void export(List<SpanRecord> spans) {
+        for (SpanRecord span : spans) {
+            TRACES.info(SpanSink.toJson(span));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.wis.apigateway.tracing;
+
+/**
+ * A finished gateway span.
+ *
+ * @param sequence position in the span buffer, assigned when the span is recorded
+ * @param context trace and span ids
+ * @param name span name, e.g. {@code GET subscriptions}
+ * @param routeId gateway route id, or null when no route matched
+ * @param method HTTP method
+ * @param path request path
+ * @param status response status code, or 0 when none was set
+ * @param startEpochMicros start time since the epoch in microseconds
+ * @param durationNanos span duration in nanoseconds
+ * @param error error message when the request failed, otherwise null
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public record SpanRecord(
+    long sequence,
+    TraceContext context,
+    String name,
+    String routeId,
+    String method,
+    String path,
+    int status,
+    long startEpochMicros,
+    long durationNanos,
+    String error) {
+
+    /**
+     * Returns true if the span failed or answered with a 5xx status.
+     *
+     * @return true for errored spans
+     */
+    public boolean isError() {
+        return error != null || status >= 500;
+    }
+}
@@ -0,0 +1,114 @@
+package com.wis.apigateway.tracing;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Fixed-size, lock-free buffer of recently finished spans.
+ *
+ * <p>Any number of request threads record spans; a single exporter thread reads them
+ * back in order. Writers claim a sequence with one atomic increment and store the span in
+ * slot {@code sequence & mask}, overwriting the oldest entry when the buffer is full -
+ * recording never blocks and never fails. The reader detects slots that were overwritten
+ * before it got to them and counts them as dropped.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public class SpanRingBuffer {
+
+    private final AtomicReferenceArray<SpanRecord> slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+
+    /** Next sequence the reader will look at. Only the reader thread touches it. */
+    private long readSequence;
+    private volatile long dropped;
+
+    /**
+     * Creates a buffer holding at least the given number of spans.
+     *
+     * @param capacity minimum capacity, rounded up to a power of two
+     */
+    public SpanRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Claims the sequence for a span about to be recorded.
+     *
+     * @return sequence to pass as {@link SpanRecord#sequence()}
+     */
+    public long claim() {
+        return head.getAndIncrement();
+    }
+
+    /**
+     * Stores a span under the sequence it was claimed with.
+     *
+     * @param span span to store
+     */
+    public void publish(SpanRecord span) {
+        slots.lazySet((int) (span.sequence() & mask), span);
+    }
+
+    /**
+     * Hands spans to the consumer in sequence order, stopping at the first span that is
+     * not yet published or that {@code ready} rejects, so it can be read again later.
+     * Must only be called from one thread at a time.
+     *
+     * @param ready decides whether a span may be consumed now
+     * @param consumer receives consumed spans
+     * @return number of spans consumed
+     */
+    public int drain(Predicate<SpanRecord> ready, Consumer<SpanRecord> consumer) {
+        long end = head.get();
+        if (end - readSequence > slots.length()) {
+            dropped += end - readSequence - slots.length();
+            readSequence = end - slots.length();
+        }
+        int consumed = 0;
+        while (readSequence < end) {
+            SpanRecord span = slots.get((int) (readSequence & mask));
+            if (span == null || span.sequence() < readSequence) {
+                // Claimed but not published yet
+                break;
+            }
+            if (span.sequence() > readSequence) {
+                // Overwritten by a newer span before we read it
+                dropped++;
+                readSequence++;
+                continue;
+            }
+            if (!ready.test(span)) {
+                break;
+            }
+            consumer.accept(span);
+            consumed++;
+            readSequence++;
+        }
+        return consumed;
+    }
+
+    /**
+     * Returns how many spans were overwritten before the reader consumed them.
+     *
+     * @return dropped span count
+     */
+    public long dropped() {
+        return dropped;
+    }
+
+    /**
+     * Returns the number of slots.
+     *
+     * @return capacity
+     */
+    public int capacity() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,74 @@
+package com.wis.apigateway.tracing;
+
+import java.util.List;
+
+/**
+ * Destination for sampled spans.
+ *
+ * <p>Called from the tracer's exporter thread with batches of spans, never from the
+ * request path, so implementations may block.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public interface SpanSink {
+
+    /**
+     * Exports a batch of spans.
+     *
+     * @param spans spans of sampled traces, in the order they finished
+     */
+    void export(List<SpanRecord> spans);
+
+    /**
+     * Flushes and releases resources. Called once on shutdown.
+     */
+    default void close() {
+    }
+
+    /**
+     * Formats a span as a single-line JSON object.
+     *
+     * @param span span to format
+     * @return JSON text
+     */
+    static String toJson(SpanRecord span) {
+        TraceContext context = span.context();
+        StringBuilder json = new StringBuilder(320)
+            .append("{\"traceId\":\"").append(context.traceId())
+            .append("\",\"spanId\":\"").append(TraceContext.spanIdHex(context.spanId())).append('"');
+        if (context.parentSpanId() != 0) {
+            json.append(",\"parentSpanId\":\"").append(TraceContext.spanIdHex(context.parentSpanId())).append('"');
+        }
+        json.append(",\"name\":\"").append(escape(span.name()))
+            .append("\",\"route\":").append(span.routeId() != null ? '"' + escape(span.routeId()) + '"' : "null")
+            .append(",\"method\":\"").append(span.method())
+            .append("\",\"path\":\"").append(escape(span.path()))
+            .append("\",\"status\":").append(span.status())
+            .append(",\"startMicros\":").append(span.startEpochMicros())
+            .append(",\"durationMicros\":").append(span.durationNanos() / 1000);
+        if (span.error() != null) {
+            json.append(",\"error\":\"").append(escape(span.error())).append('"');
+        }
+        return json.append('}').toString();
+    }
+
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                default -> {
+                    if (c < 0x20) {
+                        escaped.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,112 @@
+package com.wis.apigateway.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Identity of a gateway span within a W3C trace.
+ *
+ * <p>Parses and formats the {@code traceparent} header
+ * ({@code 00-<32 hex trace id>-<16 hex parent id>-<2 hex flags>}). Ids are kept as longs
+ * so starting a span costs two random numbers and no string parsing when the client sent
+ * no header.
+ *
+ * @param traceIdHigh upper 64 bits of the trace id
+ * @param traceIdLow lower 64 bits of the trace id
+ * @param spanId id of the gateway span
+ * @param parentSpanId id of the caller's span, or 0 when the gateway started the trace
+ * @param sampled the caller's sampled flag
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public record TraceContext(long traceIdHigh, long traceIdLow, long spanId, long parentSpanId, boolean sampled) {
+
+    public static final String TRACEPARENT_HEADER = "traceparent";
+    public static final String TRACESTATE_HEADER = "tracestate";
+
+    private static final int TRACEPARENT_LENGTH = 55;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Starts a gateway span, continuing the caller's trace when the header is valid.
+     *
+     * @param traceparent incoming {@code traceparent} header, may be null
+     * @return context of the new span
+     */
+    public static TraceContext start(String traceparent) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long spanId = nonZero(random.nextLong());
+        if (traceparent != null && traceparent.length() >= TRACEPARENT_LENGTH
+            && traceparent.charAt(2) == '-' && traceparent.charAt(35) == '-' && traceparent.charAt(52) == '-'
+            && !traceparent.startsWith("ff")) {
+            try {
+                long high = Long.parseUnsignedLong(traceparent, 3, 19, 16);
+                long low = Long.parseUnsignedLong(traceparent, 19, 35, 16);
+                long parent = Long.parseUnsignedLong(traceparent, 36, 52, 16);
+                int flags = Integer.parseInt(traceparent, 53, 55, 16);
+                if ((high != 0 || low != 0) && parent != 0) {
+                    return new TraceContext(high, low, spanId, parent, (flags & 1) != 0);
+                }
+            } catch (NumberFormatException e) {
+                // Malformed header: start a new trace, as the spec requires
+            }
+        }
+        return new TraceContext(random.nextLong(), nonZero(random.nextLong()), spanId, 0, false);
+    }
+
+    /**
+     * Formats the {@code traceparent} to send upstream, with the gateway span as parent.
+     *
+     * @param sampledFlag value of the sampled flag to send
+     * @return header value
+     */
+    public String toTraceparent(boolean sampledFlag) {
+        char[] chars = new char[TRACEPARENT_LENGTH];
+        chars[0] = '0';
+        chars[1] = '0';
+        chars[2] = '-';
+        writeHex(chars, 3, traceIdHigh);
+        writeHex(chars, 19, traceIdLow);
+        chars[35] = '-';
+        writeHex(chars, 36, spanId);
+        chars[52] = '-';
+        chars[53] = '0';
+        chars[54] = sampledFlag ? '1' : '0';
+        return new String(chars);
+    }
+
+    /**
+     * Returns the trace id as 32 lowercase hex characters.
+     *
+     * @return trace id
+     */
+    public String traceId() {
+        char[] chars = new char[32];
+        writeHex(chars, 0, traceIdHigh);
+        writeHex(chars, 16, traceIdLow);
+        return new String(chars);
+    }
+
+    /**
+     * Formats a span id as 16 lowercase hex characters.
+     *
+     * @param id span id
+     * @return hex string
+     */
+    public static String spanIdHex(long id) {
+        char[] chars = new char[16];
+        writeHex(chars, 0, id);
+        return new String(chars);
+    }
+
+    private static void writeHex(char[] chars, int offset, long value) {
+        for (int i = 15; i >= 0; i--) {
+            chars[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private static long nonZero(long value) {
+        return value != 0 ? value : 1;
+    }
+}
@@ -0,0 +1,169 @@
+package com.wis.apigateway.tracing;
+
+import com.wis.apigateway.config.TracingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+
+/**
+ * Records gateway spans and exports the traces worth keeping (tail-based sampling).
+ *
+ * <p>Every finished span goes into a {@link SpanRingBuffer}. A span that is slow, errored,
+ * or picked by the baseline sample rate marks its trace as kept. A background exporter
+ * drains spans once they are older than the export delay - giving the rest of the trace
+ * time to finish - and sends the spans of kept traces to the {@link SpanSink}. Everything
+ * else is simply overwritten, so a fast request costs one small object and a few atomic
+ * writes.
+ *
+ * <p>Kept traces are remembered in a fixed-size table indexed by a hash of the trace id.
+ * A collision can export a few extra spans, never lose a kept one while it is in the table.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class Tracer {
+
+    /** Exchange attribute holding the {@link TraceContext} of the gateway span. */
+    public static final String CONTEXT_ATTR = Tracer.class.getName() + ".context";
+
+    private static final int KEPT_TRACES = 4096;
+
+    private final TracingProperties properties;
+    private final SpanSink sink;
+    private final SpanRingBuffer buffer;
+    private final AtomicLongArray keptTraces = new AtomicLongArray(KEPT_TRACES);
+    private final long slowThresholdNanos;
+    private final Counter exported;
+
+    private Scheduler exporterScheduler;
+    private Disposable exporter;
+
+    public Tracer(TracingProperties properties, SpanSink sink, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.sink = sink;
+        this.buffer = new SpanRingBuffer(properties.getBufferSize());
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+
+        this.exported = Counter.builder("gateway.tracing.spans.exported")
+            .description("Spans of sampled traces sent to the span sink")
+            .register(meterRegistry);
+        FunctionCounter.builder("gateway.tracing.spans.dropped", buffer, SpanRingBuffer::dropped)
+            .description("Spans overwritten before the exporter could decide on them")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Starts the background exporter.
+     */
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("Tracing disabled");
+            return;
+        }
+        long intervalMillis = Math.max(1, properties.getExportInterval().toMillis());
+        exporterScheduler = Schedulers.newSingle("trace-exporter", true);
+        exporter = exporterScheduler.schedulePeriodically(
+            this::exportReady, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the exporter, exports remaining spans of kept traces and closes the sink.
+     */
+    @PreDestroy
+    public void stop() {
+        if (exporter != null) {
+            exporter.dispose();
+            exporterScheduler.dispose();
+        }
+        flush();
+        sink.close();
+    }
+
+    /**
+     * Records a finished span and applies the tail-sampling decision to its trace.
+     */
+    public void record(TraceContext context, String name, String routeId, String method, String path,
+                       int status, long startEpochMicros, long durationNanos, String error) {
+        SpanRecord span = new SpanRecord(buffer.claim(), context, name, routeId, method, path,
+            status, startEpochMicros, durationNanos, error);
+        buffer.publish(span);
+
+        if (durationNanos >= slowThresholdNanos
+            || span.isError()
+            || (properties.isKeepSampled() && context.sampled())
+            || (properties.getSampleRate() > 0 && ThreadLocalRandom.current().nextDouble() < properties.getSampleRate())) {
+            keep(context);
+        }
+    }
+
+    /**
+     * Exports buffered spans of kept traces immediately, regardless of their age.
+     */
+    public synchronized void flush() {
+        export(span -> true);
+    }
+
+    /**
+     * Returns true if the trace has been marked for export.
+     *
+     * @param context any span context of the trace
+     * @return true if the trace is kept
+     */
+    public boolean isKept(TraceContext context) {
+        long hash = traceHash(context);
+        return keptTraces.get(slot(hash)) == hash;
+    }
+
+    synchronized void exportReady() {
+        long cutoffMicros = System.currentTimeMillis() * 1000 - properties.getExportDelay().toNanos() / 1000;
+        export(span -> span.startEpochMicros() + span.durationNanos() / 1000 <= cutoffMicros);
+    }
+
+    private void export(Predicate<SpanRecord> ready) {
+        try {
+            List<SpanRecord> batch = new ArrayList<>();
+            buffer.drain(ready, span -> {
+                if (isKept(span.context())) {
+                    batch.add(span);
+                }
+            });
+            if (!batch.isEmpty()) {
+                sink.export(batch);
+                exported.increment(batch.size());
+            }
+        } catch (Exception e) {
+            log.warn("Span export failed: {}", e.getMessage());
+        }
+    }
+
+    private void keep(TraceContext context) {
+        long hash = traceHash(context);
+        keptTraces.lazySet(slot(hash), hash);
+    }
+
+    private static long traceHash(TraceContext context) {
+        long hash = context.traceIdHigh() * 0x9E3779B97F4A7C15L ^ context.traceIdLow();
+        return hash != 0 ? hash : 1;
+    }
+
+    private static int slot(long hash) {
+        return (int) ((hash ^ (hash >>> 32)) & (KEPT_TRACES - 1));
+    }
+}
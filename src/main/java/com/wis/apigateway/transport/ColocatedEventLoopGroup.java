@@ -0,0 +1,103 @@
+package com.wis.apigateway.transport;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.AbstractEventExecutorGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.FastThreadLocal;
+import io.netty.util.concurrent.Future;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event loop group whose {@link #next()} returns the calling thread's own loop when the
+ * caller is one of the group's loops, and the group's usual choice otherwise.
+ *
+ * <p>Given to the upstream client with the shared topology: a connection opened while
+ * handling a request is registered on that request's loop, so the request and its upstream
+ * call never hand work to another thread.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+final class ColocatedEventLoopGroup extends AbstractEventExecutorGroup implements EventLoopGroup {
+
+    private final EventLoopGroup group;
+    private final FastThreadLocal<EventLoop> localLoop = new FastThreadLocal<>();
+
+    ColocatedEventLoopGroup(EventLoopGroup group) {
+        this.group = group;
+        for (EventExecutor executor : group) {
+            if (executor instanceof EventLoop loop) {
+                loop.execute(() -> localLoop.set(loop));
+            }
+        }
+    }
+
+    @Override
+    public EventLoop next() {
+        EventLoop local = localLoop.getIfExists();
+        return local != null ? local : group.next();
+    }
+
+    @Override
+    public Iterator<EventExecutor> iterator() {
+        return group.iterator();
+    }
+
+    @Override
+    public ChannelFuture register(Channel channel) {
+        return next().register(channel);
+    }
+
+    @Override
+    public ChannelFuture register(ChannelPromise promise) {
+        return next().register(promise);
+    }
+
+    @Override
+    @Deprecated
+    public ChannelFuture register(Channel channel, ChannelPromise promise) {
+        return next().register(channel, promise);
+    }
+
+    @Override
+    public boolean isShuttingDown() {
+        return group.isShuttingDown();
+    }
+
+    @Override
+    public Future<?> shutdownGracefully(long quietPeriod, long timeout, TimeUnit unit) {
+        return group.shutdownGracefully(quietPeriod, timeout, unit);
+    }
+
+    @Override
+    public Future<?> terminationFuture() {
+        return group.terminationFuture();
+    }
+
+    @Override
+    @Deprecated
+    public void shutdown() {
+        group.shutdown();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return group.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return group.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return group.awaitTermination(timeout, unit);
+    }
+}
@@ -0,0 +1,143 @@
+package com.wis.apigateway.transport;
+
+import com.wis.apigateway.config.TransportProperties;
+import io.netty.util.concurrent.EventExecutor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Event loops of the inbound server and the upstream HTTP client.
+ *
+ * <p>Built from {@code gateway.transport}: the transport is resolved against what this
+ * machine supports, and the loops are sized from {@link Runtime#availableProcessors()},
+ * which the JVM derives from the container's CPU limit (override with
+ * {@code -XX:ActiveProcessorCount}). Reactor Netty's default of at least four loops is not
+ * applied, so a one-CPU container runs one loop instead of four contending ones.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+public final class GatewayEventLoops implements AutoCloseable {
+
+    private static final Duration SHUTDOWN_QUIET_PERIOD = Duration.ofMillis(100);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+
+    private final TransportProperties.Topology topology;
+    private final GatewayLoopResources server;
+    private final GatewayLoopResources client;
+
+    private GatewayEventLoops(TransportProperties.Topology topology, GatewayLoopResources server,
+                              GatewayLoopResources client) {
+        this.topology = topology;
+        this.server = server;
+        this.client = client;
+    }
+
+    /**
+     * Creates the event loops described by the properties.
+     *
+     * @param properties transport settings
+     * @return the running event loops
+     */
+    public static GatewayEventLoops create(TransportProperties properties) {
+        return create(properties, Runtime.getRuntime().availableProcessors());
+    }
+
+    static GatewayEventLoops create(TransportProperties properties, int cpus) {
+        Transport transport = resolve(properties.getType());
+        GatewayEventLoops loops;
+        if (properties.getTopology() == TransportProperties.Topology.SHARED) {
+            int threads = properties.getServerThreads() > 0 ? properties.getServerThreads() : cpus;
+            GatewayLoopResources shared = new GatewayLoopResources("gateway", transport, threads);
+            loops = new GatewayEventLoops(properties.getTopology(), shared, shared);
+        } else {
+            int autoServer = Math.max(1, (cpus + 1) / 2);
+            int serverThreads = properties.getServerThreads() > 0 ? properties.getServerThreads() : autoServer;
+            int clientThreads = properties.getClientThreads() > 0
+                ? properties.getClientThreads()
+                : Math.max(1, cpus - autoServer);
+            loops = new GatewayEventLoops(properties.getTopology(),
+                new GatewayLoopResources("gateway-server", transport, serverThreads),
+                new GatewayLoopResources("gateway-client", transport, clientThreads));
+        }
+        log.info("Netty transport {} with {} topology: {} event loops for {} CPUs",
+            transport.id(), properties.getTopology().name().toLowerCase(Locale.ROOT), loops.loops().size(), cpus);
+        return loops;
+    }
+
+    /**
+     * Picks the transport to use for a configured type.
+     *
+     * @param type configured type
+     * @return the requested transport, or the automatic choice if it is unavailable here
+     */
+    static Transport resolve(TransportProperties.Type type) {
+        Transport requested = switch (type) {
+            case AUTO -> Transport.EPOLL.isAvailable() ? Transport.EPOLL : Transport.NIO;
+            case NIO -> Transport.NIO;
+            case EPOLL -> Transport.EPOLL;
+            case IO_URING -> Transport.IO_URING;
+        };
+        if (requested.isAvailable()) {
+            return requested;
+        }
+        Transport fallback = resolve(TransportProperties.Type.AUTO);
+        log.warn("Netty transport {} is not available ({}); using {}",
+            requested.id(), requested.unavailabilityCause().toString(), fallback.id());
+        return fallback;
+    }
+
+    /**
+     * @return transport of all loops
+     */
+    public Transport transport() {
+        return server.transport();
+    }
+
+    public TransportProperties.Topology topology() {
+        return topology;
+    }
+
+    /**
+     * @return loop resources of the inbound server
+     */
+    public LoopResources server() {
+        return server;
+    }
+
+    /**
+     * @return loop resources of the upstream client; the server's with the shared topology
+     */
+    public LoopResources client() {
+        return client;
+    }
+
+    /**
+     * @return every worker loop, server loops first
+     */
+    public List<EventExecutor> loops() {
+        List<EventExecutor> loops = new ArrayList<>();
+        server.workers().forEach(loops::add);
+        if (client != server) {
+            client.workers().forEach(loops::add);
+        }
+        return loops;
+    }
+
+    /**
+     * Shuts all loops down.
+     */
+    @Override
+    public void close() {
+        server.disposeLater(SHUTDOWN_QUIET_PERIOD, SHUTDOWN_TIMEOUT).block(SHUTDOWN_TIMEOUT.multipliedBy(2));
+        if (client != server) {
+            client.disposeLater(SHUTDOWN_QUIET_PERIOD, SHUTDOWN_TIMEOUT).block(SHUTDOWN_TIMEOUT.multipliedBy(2));
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.wis.apigateway.transport;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.FastThreadLocalThread;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.NonBlocking;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reactor Netty loop resources on an explicitly chosen {@link Transport}.
+ *
+ * <p>Reactor Netty's own resources pick the "best" native transport found on the
+ * classpath and decide channel classes from that choice. These resources create their
+ * groups on the configured transport and return the matching channel classes, so NIO,
+ * epoll and io_uring can be selected at runtime.
+ *
+ * <p>Each instance owns a one-thread accept group and a worker group. {@link #onClient}
+ * returns the workers wrapped in a {@link ColocatedEventLoopGroup}. Threads are named
+ * {@code <name>-<transport>-<n>} and are marked {@link NonBlocking}, like Reactor Netty's,
+ * so {@code block()} on them fails fast and blocking detection covers them.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public final class GatewayLoopResources implements LoopResources {
+
+    private final Transport transport;
+    private final EventLoopGroup select;
+    private final EventLoopGroup workers;
+    private final EventLoopGroup colocated;
+
+    /**
+     * Creates the event loops.
+     *
+     * @param name thread name prefix, e.g. {@code gateway}
+     * @param transport transport of the loops; must be available
+     * @param threads number of worker loops
+     */
+    public GatewayLoopResources(String name, Transport transport, int threads) {
+        this.transport = transport;
+        this.select = transport.newGroup(1, new LoopThreadFactory(name + "-" + transport.id() + "-select"));
+        this.workers = transport.newGroup(threads, new LoopThreadFactory(name + "-" + transport.id()));
+        this.colocated = new ColocatedEventLoopGroup(workers);
+    }
+
+    /**
+     * @return transport of these loops
+     */
+    public Transport transport() {
+        return transport;
+    }
+
+    /**
+     * @return the worker loops
+     */
+    public EventLoopGroup workers() {
+        return workers;
+    }
+
+    @Override
+    public EventLoopGroup onServer(boolean useNative) {
+        return workers;
+    }
+
+    @Override
+    public EventLoopGroup onServerSelect(boolean useNative) {
+        return select;
+    }
+
+    @Override
+    public EventLoopGroup onClient(boolean useNative) {
+        return colocated;
+    }
+
+    @Override
+    public <C extends Channel> C onChannel(Class<C> channelType, EventLoopGroup group) {
+        try {
+            return onChannelClass(channelType, group).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create " + channelType.getSimpleName(), e);
+        }
+    }
+
+    @Override
+    public <C extends Channel> Class<? extends C> onChannelClass(Class<C> channelType, EventLoopGroup group) {
+        return transport.channelClass(channelType);
+    }
+
+    @Override
+    public boolean daemon() {
+        return true;
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return workers.isTerminated() && select.isTerminated();
+    }
+
+    @Override
+    public Mono<Void> disposeLater(Duration quietPeriod, Duration timeout) {
+        return Mono.defer(() -> Mono.when(
+            shutdown(select, quietPeriod, timeout),
+            shutdown(workers, quietPeriod, timeout)));
+    }
+
+    private static Mono<Void> shutdown(EventLoopGroup group, Duration quietPeriod, Duration timeout) {
+        long quiet = quietPeriod.toMillis();
+        long limit = Math.max(quiet, timeout.toMillis());
+        return Mono.create(sink -> group.shutdownGracefully(quiet, limit, TimeUnit.MILLISECONDS)
+            .addListener(future -> sink.success()));
+    }
+
+    /**
+     * Creates daemon loop threads that Reactor treats as non-blocking.
+     */
+    private static final class LoopThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        LoopThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new LoopThread(task, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * Event loop thread; {@link NonBlocking} makes Reactor reject blocking operators on it.
+     */
+    private static final class LoopThread extends FastThreadLocalThread implements NonBlocking {
+
+        LoopThread(Runnable task, String name) {
+            super(task, name);
+        }
+    }
+}
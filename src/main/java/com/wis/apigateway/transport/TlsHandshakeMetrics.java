@@ -0,0 +1,170 @@
+package com.wis.apigateway.transport;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.ssl.ReferenceCountedOpenSslEngine;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.internal.tcnative.SSL;
+
+import javax.net.ssl.SSLEngine;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handshake metrics of upstream TLS connections, per backend host.
+ *
+ * <p>{@link #watch} is called for every new upstream channel; channels without TLS are
+ * ignored. The handshake is timed from the moment the TCP connection is up until it
+ * completes, and classified as full or resumed (from a cached session or ticket).
+ *
+ * <p>Metrics: {@code gateway.upstream.tls.handshakes} (tags {@code backend},
+ * {@code provider}, {@code result}: full, resumed, failed),
+ * {@code gateway.upstream.tls.handshake.duration} and
+ * {@code gateway.upstream.tls.resumption.ratio} (resumed share of successful handshakes).
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public class TlsHandshakeMetrics {
+
+    private static final String HANDLER_NAME = "gateway.tlsHandshakeTimer";
+
+    private final String provider;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Backend> backends = new ConcurrentHashMap<>();
+
+    public TlsHandshakeMetrics(String provider, MeterRegistry meterRegistry) {
+        this.provider = provider;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Times the TLS handshake of a new upstream channel, if it has one.
+     *
+     * @param channel channel being initialized
+     * @param remoteAddress backend address
+     */
+    public void watch(Channel channel, SocketAddress remoteAddress) {
+        ChannelHandlerContext ssl = channel.pipeline().context(SslHandler.class);
+        if (ssl == null || channel.pipeline().get(HANDLER_NAME) != null) {
+            return;
+        }
+        Backend backend = backend(host(remoteAddress));
+        channel.pipeline().addBefore(ssl.name(), HANDLER_NAME,
+            new HandshakeTimer(backend, (SslHandler) ssl.handler()));
+    }
+
+    /**
+     * @param backend backend host
+     * @return resumed share of the backend's successful handshakes, NaN before the first
+     */
+    public double resumptionRatio(String backend) {
+        Backend stats = backends.get(backend);
+        return stats == null ? Double.NaN : stats.resumptionRatio();
+    }
+
+    void record(String backend, boolean success, SSLEngine engine, long startNanos, long startMillis) {
+        backend(backend).record(success, engine, startNanos, startMillis);
+    }
+
+    /**
+     * Whether a completed handshake resumed an earlier session. OpenSSL reports it
+     * directly; for the JDK a resumed session keeps the creation time of the session it
+     * continues, which is older than the handshake.
+     */
+    static boolean isResumed(SSLEngine engine, long handshakeStartMillis) {
+        if (engine instanceof ReferenceCountedOpenSslEngine openSsl) {
+            long ssl = openSsl.sslPointer();
+            return ssl != 0 && SSL.isSessionReused(ssl);
+        }
+        return engine.getSession().getCreationTime() < handshakeStartMillis;
+    }
+
+    private Backend backend(String host) {
+        return backends.computeIfAbsent(host, Backend::new);
+    }
+
+    private static String host(SocketAddress address) {
+        return address instanceof InetSocketAddress inet ? inet.getHostString() : String.valueOf(address);
+    }
+
+    private final class Backend {
+
+        private final Counter full;
+        private final Counter resumed;
+        private final Counter failed;
+        private final Timer duration;
+
+        Backend(String host) {
+            this.full = handshakes(host, "full");
+            this.resumed = handshakes(host, "resumed");
+            this.failed = handshakes(host, "failed");
+            this.duration = Timer.builder("gateway.upstream.tls.handshake.duration")
+                .description("TLS handshake time of upstream connections")
+                .tag("backend", host)
+                .tag("provider", provider)
+                .register(meterRegistry);
+            Gauge.builder("gateway.upstream.tls.resumption.ratio", this, Backend::resumptionRatio)
+                .description("Share of upstream TLS handshakes that resumed a session")
+                .tag("backend", host)
+                .tag("provider", provider)
+                .register(meterRegistry);
+        }
+
+        void record(boolean success, SSLEngine engine, long startNanos, long startMillis) {
+            if (!success) {
+                failed.increment();
+                return;
+            }
+            duration.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            (isResumed(engine, startMillis) ? resumed : full).increment();
+        }
+
+        double resumptionRatio() {
+            double total = full.count() + resumed.count();
+            return total == 0 ? Double.NaN : resumed.count() / total;
+        }
+
+        private Counter handshakes(String host, String result) {
+            return Counter.builder("gateway.upstream.tls.handshakes")
+                .description("TLS handshakes of upstream connections")
+                .tag("backend", host)
+                .tag("provider", provider)
+                .tag("result", result)
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Starts the clock when the connection becomes active, just before the
+     * {@link SslHandler} sends its first handshake message, then leaves the pipeline.
+     */
+    private static final class HandshakeTimer extends ChannelInboundHandlerAdapter {
+
+        private final Backend backend;
+        private final SslHandler sslHandler;
+
+        HandshakeTimer(Backend backend, SslHandler sslHandler) {
+            this.backend = backend;
+            this.sslHandler = sslHandler;
+        }
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) throws Exception {
+            long startNanos = System.nanoTime();
+            long startMillis = System.currentTimeMillis();
+            sslHandler.handshakeFuture().addListener(handshake ->
+                backend.record(handshake.isSuccess(), sslHandler.engine(), startNanos, startMillis));
+            ctx.pipeline().remove(this);
+            super.channelActive(ctx);
+        }
+    }
+}
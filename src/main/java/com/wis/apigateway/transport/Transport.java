@@ -0,0 +1,126 @@
+package com.wis.apigateway.transport;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.incubator.channel.uring.IOUring;
+import io.netty.incubator.channel.uring.IOUringDatagramChannel;
+import io.netty.incubator.channel.uring.IOUringEventLoopGroup;
+import io.netty.incubator.channel.uring.IOUringServerSocketChannel;
+import io.netty.incubator.channel.uring.IOUringSocketChannel;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Netty socket transports the gateway can run on.
+ *
+ * <p>Native transports are only used when their library loads on this machine;
+ * {@link #isAvailable()} answers without throwing, and {@link #unavailabilityCause()}
+ * tells why one cannot be used.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public enum Transport {
+
+    NIO("nio"),
+    EPOLL("epoll"),
+    IO_URING("io_uring");
+
+    private final String id;
+
+    Transport(String id) {
+        this.id = id;
+    }
+
+    /**
+     * @return short lowercase name, used in thread names and metrics
+     */
+    public String id() {
+        return id;
+    }
+
+    /**
+     * @return whether this transport can be used on this machine
+     */
+    public boolean isAvailable() {
+        return unavailabilityCause() == null;
+    }
+
+    /**
+     * @return why this transport cannot be used, or null if it can
+     */
+    public Throwable unavailabilityCause() {
+        try {
+            return switch (this) {
+                case NIO -> null;
+                case EPOLL -> Epoll.unavailabilityCause();
+                case IO_URING -> IOUring.unavailabilityCause();
+            };
+        } catch (LinkageError e) {
+            // Transport classes missing from the classpath
+            return e;
+        }
+    }
+
+    /**
+     * Creates an event loop group of this transport.
+     *
+     * @param threads number of event loops
+     * @param threadFactory factory for the loop threads
+     * @return the new group
+     */
+    EventLoopGroup newGroup(int threads, ThreadFactory threadFactory) {
+        return switch (this) {
+            case NIO -> new NioEventLoopGroup(threads, threadFactory);
+            case EPOLL -> new EpollEventLoopGroup(threads, threadFactory);
+            case IO_URING -> new IOUringEventLoopGroup(threads, threadFactory);
+        };
+    }
+
+    /**
+     * Returns the channel class of this transport for a channel type Reactor Netty asks for.
+     *
+     * @param channelType {@link SocketChannel}, {@link ServerSocketChannel} or {@link DatagramChannel}
+     * @return implementation class for this transport
+     * @throws IllegalArgumentException for other channel types, such as domain sockets
+     */
+    @SuppressWarnings("unchecked")
+    <C extends Channel> Class<? extends C> channelClass(Class<C> channelType) {
+        Class<? extends Channel> channelClass;
+        if (channelType == SocketChannel.class) {
+            channelClass = switch (this) {
+                case NIO -> NioSocketChannel.class;
+                case EPOLL -> EpollSocketChannel.class;
+                case IO_URING -> IOUringSocketChannel.class;
+            };
+        } else if (channelType == ServerSocketChannel.class) {
+            channelClass = switch (this) {
+                case NIO -> NioServerSocketChannel.class;
+                case EPOLL -> EpollServerSocketChannel.class;
+                case IO_URING -> IOUringServerSocketChannel.class;
+            };
+        } else if (channelType == DatagramChannel.class) {
+            channelClass = switch (this) {
+                case NIO -> NioDatagramChannel.class;
+                case EPOLL -> EpollDatagramChannel.class;
+                case IO_URING -> IOUringDatagramChannel.class;
+            };
+        } else {
+            throw new IllegalArgumentException(channelType.getSimpleName() + " is not supported by the " + id
+                + " transport");
+        }
+        return (Class<? extends C>) channelClass;
+    }
+}
@@ -0,0 +1,191 @@
+package com.wis.apigateway.transport;
+
+import com.wis.apigateway.config.UpstreamTlsProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.handler.codec.http2.Http2SecurityUtil;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.ssl.SupportedCipherSuiteFilter;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.util.ResourceUtils;
+import org.springframework.util.StringUtils;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * TLS of upstream connections, built once and shared by every connection.
+ *
+ * <p>Uses BoringSSL (netty-tcnative) when it loads, the JDK's {@code SSLEngine} otherwise,
+ * with a client session cache so reconnecting to a backend resumes the previous session
+ * from its ticket or session id instead of running a full handshake. With HTTP/2 enabled,
+ * {@code h2} and {@code http/1.1} are offered through ALPN; backends that pick neither
+ * get HTTP/1.1.
+ *
+ * <p>Trust and the client certificate come from {@code spring.cloud.gateway.httpclient.ssl}:
+ * a configured {@code key-store} is loaded into the context for mutual TLS, and a key store
+ * that cannot be loaded fails startup rather than being skipped.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+public final class UpstreamTls {
+
+    private final SslProvider provider;
+    private final SslContext sslContext;
+    private final boolean http2;
+    private final Duration handshakeTimeout;
+    private final TlsHandshakeMetrics metrics;
+
+    private UpstreamTls(SslProvider provider, SslContext sslContext, boolean http2, Duration handshakeTimeout,
+                        TlsHandshakeMetrics metrics) {
+        this.provider = provider;
+        this.sslContext = sslContext;
+        this.http2 = http2;
+        this.handshakeTimeout = handshakeTimeout;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Builds the TLS context described by the properties.
+     *
+     * @param properties upstream TLS settings
+     * @param ssl Spring Cloud Gateway's client SSL settings (trust, key store, handshake timeout)
+     * @param meterRegistry registry for the handshake metrics
+     * @return upstream TLS ready to apply to the gateway's HTTP client
+     * @throws SSLException if the context cannot be created or the key store cannot be loaded
+     */
+    public static UpstreamTls create(UpstreamTlsProperties properties, HttpClientProperties.Ssl ssl,
+                                     MeterRegistry meterRegistry) throws SSLException {
+        SslProvider provider = resolve(properties.getProvider());
+        boolean http2 = properties.isHttp2() && SslProvider.isAlpnSupported(provider);
+        if (properties.isHttp2() && !http2) {
+            log.warn("ALPN is not supported by the {} TLS provider; upstream TLS connections use HTTP/1.1", provider);
+        }
+        SslContextBuilder builder = SslContextBuilder.forClient()
+            .sslProvider(provider)
+            .sessionCacheSize(properties.getSessionCacheSize())
+            .sessionTimeout(properties.getSessionTimeout().toSeconds());
+        if (ssl.isUseInsecureTrustManager()) {
+            builder.trustManager(InsecureTrustManagerFactory.INSTANCE);
+        } else {
+            X509Certificate[] trusted = ssl.getTrustedX509CertificatesForTrustManager();
+            if (trusted.length > 0) {
+                builder.trustManager(trusted);
+            }
+        }
+        if (StringUtils.hasText(ssl.getKeyStore())) {
+            builder.keyManager(keyManagerFactory(ssl));
+        }
+        if (http2) {
+            builder.ciphers(Http2SecurityUtil.CIPHERS, SupportedCipherSuiteFilter.INSTANCE)
+                .applicationProtocolConfig(new ApplicationProtocolConfig(
+                    ApplicationProtocolConfig.Protocol.ALPN,
+                    ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                    ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                    ApplicationProtocolNames.HTTP_2,
+                    ApplicationProtocolNames.HTTP_1_1));
+        }
+        String providerId = provider.name().toLowerCase(Locale.ROOT);
+        log.info("Upstream TLS with {}{}, session cache {} for {}", provider == SslProvider.OPENSSL
+                ? OpenSsl.versionString() : "JDK SSLEngine", http2 ? " and ALPN h2" : "",
+            properties.getSessionCacheSize(), properties.getSessionTimeout());
+        return new UpstreamTls(provider, builder.build(), http2, ssl.getHandshakeTimeout(),
+            new TlsHandshakeMetrics(providerId, meterRegistry));
+    }
+
+    /**
+     * Loads the client certificate key store, as Spring Cloud Gateway's own SSL setup does.
+     */
+    private static KeyManagerFactory keyManagerFactory(HttpClientProperties.Ssl ssl) throws SSLException {
+        try {
+            KeyStore keyStore = StringUtils.hasText(ssl.getKeyStoreProvider())
+                ? KeyStore.getInstance(ssl.getKeyStoreType(), ssl.getKeyStoreProvider())
+                : KeyStore.getInstance(ssl.getKeyStoreType());
+            char[] storePassword = ssl.getKeyStorePassword() != null ? ssl.getKeyStorePassword().toCharArray() : null;
+            try (InputStream in = ResourceUtils.getURL(ssl.getKeyStore()).openStream()) {
+                keyStore.load(in, storePassword);
+            }
+            char[] keyPassword = ssl.getKeyPassword() != null ? ssl.getKeyPassword().toCharArray() : storePassword;
+            KeyManagerFactory factory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            factory.init(keyStore, keyPassword);
+            return factory;
+        } catch (IOException | GeneralSecurityException e) {
+            throw new SSLException("Cannot load upstream TLS key store " + ssl.getKeyStore(), e);
+        }
+    }
+
+    /**
+     * Picks the TLS implementation for a configured provider.
+     *
+     * @param provider configured provider
+     * @return OpenSSL if requested and loadable, the JDK otherwise
+     */
+    static SslProvider resolve(UpstreamTlsProperties.Provider provider) {
+        if (provider == UpstreamTlsProperties.Provider.JDK) {
+            return SslProvider.JDK;
+        }
+        if (OpenSsl.isAvailable()) {
+            return SslProvider.OPENSSL;
+        }
+        log.warn("OpenSSL is not available ({}); upstream TLS uses the JDK", OpenSsl.unavailabilityCause().toString());
+        return SslProvider.JDK;
+    }
+
+    /**
+     * Applies this TLS context, ALPN and the handshake metrics to an HTTP client.
+     *
+     * @param client the gateway's upstream client
+     * @return the configured client
+     */
+    public HttpClient configure(HttpClient client) {
+        HttpClient secured = client
+            .secure(spec -> spec.sslContext(sslContext).handshakeTimeout(handshakeTimeout))
+            .doOnChannelInit((observer, channel, remoteAddress) -> metrics.watch(channel, remoteAddress));
+        return http2 ? secured.protocol(HttpProtocol.H2, HttpProtocol.HTTP11) : secured;
+    }
+
+    /**
+     * @return TLS implementation in use
+     */
+    public SslProvider provider() {
+        return provider;
+    }
+
+    /**
+     * @return the shared client TLS context
+     */
+    public SslContext sslContext() {
+        return sslContext;
+    }
+
+    /**
+     * @return whether h2 is offered through ALPN
+     */
+    public boolean http2() {
+        return http2;
+    }
+
+    /**
+     * @return handshake metrics of the upstream connections
+     */
+    public TlsHandshakeMetrics metrics() {
+        return metrics;
+    }
+}
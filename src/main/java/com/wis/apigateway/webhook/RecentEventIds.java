@@ -0,0 +1,69 @@
+package com.wis.apigateway.webhook;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded set of recently delivered webhook event ids, used to drop duplicate deliveries.
+ *
+ * <p>Holds at most {@code capacity} ids, evicting the oldest first, and forgets ids after
+ * the TTL. Webhook rates are low, so a single lock is simpler than anything cleverer.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public class RecentEventIds {
+
+    private final int capacity;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, Long> seenAt;
+
+    /**
+     * Creates an empty set.
+     *
+     * @param capacity maximum ids remembered
+     * @param ttlNanos how long an id is remembered, in nanoseconds
+     */
+    public RecentEventIds(int capacity, long ttlNanos) {
+        this.capacity = capacity;
+        this.ttlNanos = ttlNanos;
+        this.seenAt = new LinkedHashMap<>(Math.min(capacity, 1024), 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > RecentEventIds.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns true if the id was recorded within the TTL.
+     *
+     * @param eventId event id
+     * @return true for a duplicate delivery
+     */
+    public synchronized boolean contains(String eventId) {
+        Long recordedAt = seenAt.get(eventId);
+        if (recordedAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - recordedAt > ttlNanos) {
+            seenAt.remove(eventId);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Records an id as delivered.
+     *
+     * @param eventId event id
+     */
+    public synchronized void add(String eventId) {
+        seenAt.remove(eventId);
+        seenAt.put(eventId, System.nanoTime());
+    }
+
+    public synchronized int size() {
+        return seenAt.size();
+    }
+}
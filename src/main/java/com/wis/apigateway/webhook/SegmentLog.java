@@ -0,0 +1,375 @@
+package com.wis.apigateway.webhook;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of memory-mapped segment files on local disk.
+ *
+ * <p>Each segment is a fixed-size file ({@code spool-<index>.seg}) mapped into memory, so
+ * an append is a memory copy with no system call. A record is laid out as
+ * <pre>
+ * int length | int crc32c | byte state | 3 bytes padding | payload, padded to 8 bytes
+ * </pre>
+ * The length is written last: a record is only visible once it is complete. Records in
+ * the page cache survive a crash of the JVM; with {@code sync} each record is also forced
+ * to the device before {@link #append} returns, so it survives power loss too.
+ *
+ * <p>Acknowledging a record flips its state byte in place. A segment that is full and has
+ * no unacknowledged records left is deleted. On {@link #open}, existing segments are
+ * scanned up to the first incomplete or corrupt record and their unacknowledged records
+ * are returned by {@link #recovered()}. New records always go to a fresh segment.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+public class SegmentLog implements AutoCloseable {
+
+    static final int SEGMENT_HEADER = 16;
+    static final int RECORD_HEADER = 12;
+    static final byte PENDING = 0;
+    static final byte DONE = 1;
+
+    private static final int MAGIC = 0x5753504C;
+    private static final int VERSION = 1;
+    private static final String PREFIX = "spool-";
+    private static final String SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long minFreeSpace;
+    private final boolean sync;
+    private final Map<Long, Segment> segments = new ConcurrentHashMap<>();
+    private final List<Entry> recovered = new ArrayList<>();
+
+    private Segment active;
+    private long nextIndex;
+
+    private SegmentLog(Path directory, int segmentSize, long minFreeSpace, boolean sync) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.minFreeSpace = minFreeSpace;
+        this.sync = sync;
+    }
+
+    /**
+     * Opens the log in a directory, recovering records left by a previous process.
+     *
+     * @param directory segment directory, created if missing
+     * @param segmentSize size of new segment files
+     * @param minFreeSpace free disk space required before a new segment is created
+     * @param sync whether each append is forced to the device
+     * @return the open log
+     * @throws IOException if the directory or a segment cannot be read
+     */
+    public static SegmentLog open(Path directory, int segmentSize, long minFreeSpace, boolean sync)
+        throws IOException {
+        if (segmentSize <= SEGMENT_HEADER + RECORD_HEADER) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        }
+        Files.createDirectories(directory);
+        SegmentLog log = new SegmentLog(directory, segmentSize, minFreeSpace, sync);
+        log.recover();
+        return log;
+    }
+
+    /**
+     * Returns the unacknowledged records found when the log was opened, oldest first.
+     *
+     * @return recovered records
+     */
+    public List<Entry> recovered() {
+        return List.copyOf(recovered);
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @param payload record payload
+     * @return handle used to read and acknowledge the record
+     * @throws IOException if the record does not fit in a segment or no segment can be created
+     */
+    public synchronized Entry append(byte[] payload) throws IOException {
+        int size = align(RECORD_HEADER + payload.length);
+        if (size > segmentSize - SEGMENT_HEADER) {
+            throw new IOException("Record of " + payload.length + " bytes does not fit in a "
+                + segmentSize + " byte segment");
+        }
+        if (active == null || active.writePosition + size > active.capacity) {
+            roll();
+        }
+
+        Segment segment = active;
+        int offset = segment.writePosition;
+        MappedByteBuffer buffer = segment.buffer;
+        buffer.putInt(offset + 4, checksum(payload, 0, payload.length));
+        buffer.put(offset + 8, PENDING);
+        buffer.put(offset + RECORD_HEADER, payload);
+        buffer.putInt(offset, payload.length);
+        if (sync) {
+            buffer.force(offset, size);
+        }
+        segment.writePosition = offset + size;
+        segment.pending.incrementAndGet();
+        return new Entry(segment, offset, payload.length);
+    }
+
+    /**
+     * Reads a record's payload.
+     *
+     * @param entry unacknowledged record
+     * @return a copy of the payload
+     */
+    public byte[] read(Entry entry) {
+        byte[] payload = new byte[entry.length];
+        entry.segment.buffer.get(entry.offset + RECORD_HEADER, payload);
+        return payload;
+    }
+
+    /**
+     * Marks a record as processed. Acknowledging twice has no effect.
+     *
+     * @param entry record to acknowledge
+     */
+    public void ack(Entry entry) {
+        if (!entry.acked.compareAndSet(false, true)) {
+            return;
+        }
+        Segment segment = entry.segment;
+        segment.buffer.put(entry.offset + 8, DONE);
+        if (sync) {
+            segment.buffer.force(entry.offset + 8, 1);
+        }
+        if (segment.pending.decrementAndGet() == 0) {
+            deleteIfDone(segment);
+        }
+    }
+
+    /**
+     * Returns the number of unacknowledged records.
+     *
+     * @return pending records
+     */
+    public long pending() {
+        long pending = 0;
+        for (Segment segment : segments.values()) {
+            pending += segment.pending.get();
+        }
+        return pending;
+    }
+
+    /**
+     * Returns the number of segment files in use.
+     *
+     * @return segments
+     */
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (Segment segment : segments.values()) {
+            if (sync) {
+                segment.buffer.force();
+            }
+            segment.channel.close();
+        }
+        segments.clear();
+        active = null;
+    }
+
+    /**
+     * Scans existing segments in order and collects their unacknowledged records.
+     */
+    private void recover() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+
+        for (Path file : files) {
+            long index = indexOf(file);
+            nextIndex = Math.max(nextIndex, index + 1);
+
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            int capacity = (int) Math.min(Integer.MAX_VALUE, channel.size());
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            if (capacity < SEGMENT_HEADER || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                log.warn("Ignoring spool file {}: not a version {} segment", file, VERSION);
+                channel.close();
+                continue;
+            }
+
+            Segment segment = new Segment(file, index, channel, buffer, capacity);
+            segment.sealed = true;
+            int position = SEGMENT_HEADER;
+            while (position + RECORD_HEADER <= capacity) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || length > capacity - position - RECORD_HEADER) {
+                    break;
+                }
+                if (buffer.getInt(position + 4) != checksum(buffer, position + RECORD_HEADER, length)) {
+                    log.warn("Spool segment {} ends with an incomplete record at offset {}", file, position);
+                    break;
+                }
+                if (buffer.get(position + 8) == PENDING) {
+                    segment.pending.incrementAndGet();
+                    recovered.add(new Entry(segment, position, length));
+                }
+                position += align(RECORD_HEADER + length);
+            }
+            segment.writePosition = position;
+
+            segments.put(index, segment);
+            deleteIfDone(segment);
+        }
+    }
+
+    /**
+     * Seals the active segment and maps a new one.
+     */
+    private void roll() throws IOException {
+        if (active != null) {
+            Segment full = active;
+            active = null;
+            if (sync) {
+                full.buffer.force();
+            }
+            full.sealed = true;
+            deleteIfDone(full);
+        }
+
+        long usable = Files.getFileStore(directory).getUsableSpace();
+        if (usable < segmentSize + minFreeSpace) {
+            throw new IOException("Not enough free disk space for a new spool segment (" + usable + " bytes usable)");
+        }
+
+        long index = nextIndex++;
+        Path file = directory.resolve(String.format("%s%020d%s", PREFIX, index, SUFFIX));
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, index);
+
+        Segment segment = new Segment(file, index, channel, buffer, segmentSize);
+        segment.writePosition = SEGMENT_HEADER;
+        segments.put(index, segment);
+        active = segment;
+    }
+
+    private void deleteIfDone(Segment segment) {
+        if (!segment.sealed || segment.pending.get() != 0 || !segment.deleted.compareAndSet(false, true)) {
+            return;
+        }
+        segments.remove(segment.index);
+        try {
+            segment.channel.close();
+            Files.deleteIfExists(segment.file);
+        } catch (IOException e) {
+            log.warn("Could not delete spool segment {}: {}", segment.file, e.getMessage());
+        }
+    }
+
+    private static long indexOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static int checksum(byte[] payload, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload, offset, length);
+        return (int) crc.getValue();
+    }
+
+    private static int checksum(MappedByteBuffer buffer, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private static int align(int size) {
+        return (size + 7) & ~7;
+    }
+
+    /**
+     * Handle of one record.
+     */
+    public static final class Entry {
+
+        private final Segment segment;
+        private final int offset;
+        private final int length;
+        private final AtomicBoolean acked = new AtomicBoolean();
+
+        private Entry(Segment segment, int offset, int length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        int offset() {
+            return offset;
+        }
+
+        Path file() {
+            return segment.file;
+        }
+
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public String toString() {
+            return segment.file.getFileName() + "@" + offset;
+        }
+    }
+
+    /**
+     * One mapped segment file.
+     */
+    private static final class Segment {
+
+        final Path file;
+        final long index;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        final int capacity;
+        final AtomicInteger pending = new AtomicInteger();
+        final AtomicBoolean deleted = new AtomicBoolean();
+
+        volatile boolean sealed;
+        int writePosition;
+
+        Segment(Path file, long index, FileChannel channel, MappedByteBuffer buffer, int capacity) {
+            this.file = file;
+            this.index = index;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.capacity = capacity;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.wis.apigateway.webhook;
+
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A webhook request accepted by the gateway and waiting for delivery.
+ *
+ * <p>Holds what the gateway would have sent upstream: the resolved backend URL, the
+ * outbound headers and the raw body. The service key is never written to the spool; the
+ * record only notes that the route sends it, and {@link WebhookDispatcher} adds it back
+ * when delivering.
+ *
+ * @param routeId route that accepted the request
+ * @param method HTTP method
+ * @param url backend URL
+ * @param headers outbound headers, without the service key
+ * @param body raw body
+ * @param receivedAtMillis when the gateway accepted the request
+ * @param serviceKey whether the service key is added on delivery
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public record SpooledRequest(String routeId, String method, String url, HttpHeaders headers,
+                             byte[] body, long receivedAtMillis, boolean serviceKey) {
+
+    /** Version 2 added the service key flag; version 1 records are still read. */
+    private static final int FORMAT_VERSION = 2;
+
+    /**
+     * Creates a request delivered without the service key.
+     */
+    public SpooledRequest(String routeId, String method, String url, HttpHeaders headers,
+                          byte[] body, long receivedAtMillis) {
+        this(routeId, method, url, headers, body, receivedAtMillis, false);
+    }
+
+    /**
+     * Serializes the request for the spool.
+     *
+     * @return encoded bytes
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length + 512);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeUTF(routeId);
+            out.writeUTF(method);
+            out.writeUTF(url);
+            out.writeLong(receivedAtMillis);
+            out.writeBoolean(serviceKey);
+            out.writeShort(headers.size());
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                out.writeUTF(header.getKey());
+                out.writeShort(header.getValue().size());
+                for (String value : header.getValue()) {
+                    out.writeUTF(value);
+                }
+            }
+            out.writeInt(body.length);
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads a request written by {@link #encode()}.
+     *
+     * @param bytes encoded bytes
+     * @return the request
+     * @throws IOException if the bytes are not a spooled request
+     */
+    public static SpooledRequest decode(byte[] bytes) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            int version = in.readUnsignedByte();
+            if (version != 1 && version != FORMAT_VERSION) {
+                throw new IOException("Unsupported spool record version " + version);
+            }
+            String routeId = in.readUTF();
+            String method = in.readUTF();
+            String url = in.readUTF();
+            long receivedAtMillis = in.readLong();
+            boolean serviceKey = version >= 2 && in.readBoolean();
+            HttpHeaders headers = new HttpHeaders();
+            int headerCount = in.readUnsignedShort();
+            for (int i = 0; i < headerCount; i++) {
+                String name = in.readUTF();
+                int valueCount = in.readUnsignedShort();
+                for (int j = 0; j < valueCount; j++) {
+                    headers.add(name, in.readUTF());
+                }
+            }
+            byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+            return new SpooledRequest(routeId, method, url, headers, body, receivedAtMillis, serviceKey);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.wis.apigateway.webhook;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Verifies Stripe webhook signatures ({@code Stripe-Signature} header).
+ *
+ * <p>The header carries a timestamp and one or more {@code v1} signatures:
+ * {@code t=1492774577,v1=5257a869...,v1=...}. A signature is the hex HMAC-SHA256 of
+ * {@code "<t>.<raw body>"} keyed with the endpoint secret. Several secrets may be
+ * configured so a secret can be rolled without rejecting deliveries.
+ *
+ * <p>{@link Mac} instances are expensive to create and not thread-safe, so each thread
+ * keeps its own initialized instances and resets them after use.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+public class StripeSignatureVerifier {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final byte[] DOT = {'.'};
+
+    /**
+     * Outcome of a verification.
+     */
+    public enum Result {
+        VALID,
+        MISSING_SIGNATURE,
+        MALFORMED_SIGNATURE,
+        STALE_TIMESTAMP,
+        BAD_SIGNATURE
+    }
+
+    private final List<SecretKeySpec> keys;
+    private final long toleranceSeconds;
+    private final ThreadLocal<Mac[]> macs;
+
+    /**
+     * Creates a verifier.
+     *
+     * @param secrets endpoint secrets ({@code whsec_...}); any of them may match
+     * @param tolerance maximum age (or clock skew) of the signed timestamp
+     */
+    public StripeSignatureVerifier(List<String> secrets, Duration tolerance) {
+        if (secrets.isEmpty()) {
+            throw new IllegalArgumentException("At least one Stripe webhook secret is required");
+        }
+        this.keys = secrets.stream()
+            .map(secret -> new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM))
+            .toList();
+        this.toleranceSeconds = tolerance.toSeconds();
+        this.macs = ThreadLocal.withInitial(this::createMacs);
+    }
+
+    /**
+     * Verifies a delivery.
+     *
+     * @param header value of the {@code Stripe-Signature} header, may be null
+     * @param body raw request body
+     * @param nowEpochSeconds current time
+     * @return verification result
+     */
+    public Result verify(String header, byte[] body, long nowEpochSeconds) {
+        if (header == null || header.isEmpty()) {
+            return Result.MISSING_SIGNATURE;
+        }
+
+        String timestamp = null;
+        List<byte[]> signatures = new ArrayList<>(2);
+        for (String part : header.split(",")) {
+            int eq = part.indexOf('=');
+            if (eq <= 0) {
+                continue;
+            }
+            String name = part.substring(0, eq).trim();
+            String value = part.substring(eq + 1).trim();
+            if (name.equals("t")) {
+                timestamp = value;
+            } else if (name.equals("v1")) {
+                byte[] signature = decodeHex(value);
+                if (signature != null) {
+                    signatures.add(signature);
+                }
+            }
+        }
+        if (timestamp == null || signatures.isEmpty()) {
+            return Result.MALFORMED_SIGNATURE;
+        }
+
+        long signedAt;
+        try {
+            signedAt = Long.parseLong(timestamp);
+        } catch (NumberFormatException e) {
+            return Result.MALFORMED_SIGNATURE;
+        }
+        if (Math.abs(nowEpochSeconds - signedAt) > toleranceSeconds) {
+            return Result.STALE_TIMESTAMP;
+        }
+
+        byte[] timestampBytes = timestamp.getBytes(StandardCharsets.US_ASCII);
+        for (Mac mac : macs.get()) {
+            mac.update(timestampBytes);
+            mac.update(DOT);
+            byte[] expected = mac.doFinal(body);
+            for (byte[] signature : signatures) {
+                if (MessageDigest.isEqual(expected, signature)) {
+                    return Result.VALID;
+                }
+            }
+        }
+        return Result.BAD_SIGNATURE;
+    }
+
+    /**
+     * Computes the header value Stripe would send for a body; used by tests and tools.
+     *
+     * @param secret endpoint secret
+     * @param body raw body
+     * @param epochSeconds signing time
+     * @return {@code Stripe-Signature} header value
+     */
+    public static String sign(String secret, byte[] body, long epochSeconds) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            mac.update((epochSeconds + ".").getBytes(StandardCharsets.US_ASCII));
+            byte[] signature = mac.doFinal(body);
+            StringBuilder hex = new StringBuilder("t=").append(epochSeconds).append(",v1=");
+            for (byte b : signature) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+
+    private Mac[] createMacs() {
+        try {
+            Mac[] created = new Mac[keys.size()];
+            for (int i = 0; i < created.length; i++) {
+                created[i] = Mac.getInstance(ALGORITHM);
+                created[i].init(keys.get(i));
+            }
+            return created;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+
+    private static byte[] decodeHex(String hex) {
+        if (hex.length() % 2 != 0) {
+            return null;
+        }
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = Character.digit(hex.charAt(2 * i), 16);
+            int low = Character.digit(hex.charAt(2 * i + 1), 16);
+            if (high < 0 || low < 0) {
+                return null;
+            }
+            bytes[i] = (byte) ((high << 4) | low);
+        }
+        return bytes;
+    }
+}
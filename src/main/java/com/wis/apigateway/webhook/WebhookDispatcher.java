@@ -0,0 +1,201 @@
+package com.wis.apigateway.webhook;
+
+import com.wis.apigateway.config.WebhookSpoolProperties;
+import com.wis.apigateway.filter.ServiceKeyGatewayFilterFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpMethod;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Delivers spooled webhook requests to their backends.
+ *
+ * <p>At most {@code maxConcurrency} deliveries are in flight. A 2xx response acknowledges
+ * the record. Connection failures, timeouts, 5xx, 408 and 429 are retried with exponential
+ * backoff and jitter; a waiting retry does not hold a delivery slot, so one slow backend
+ * cannot stall deliveries to the others. Other 4xx responses mean the backend rejected the
+ * request, which a redelivery will not change, so the record is dropped. So is a record
+ * still failing after {@code maxAttempts}.
+ *
+ * <p>Records of routes that send the service key are spooled without it; the current
+ * {@code SERVICE_TO_SERVICE_KEY} is added to each delivery attempt.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+public class WebhookDispatcher {
+
+    private static final Duration EMIT_TIMEOUT = Duration.ofSeconds(1);
+
+    private final SegmentLog spool;
+    private final HttpClient httpClient;
+    private final WebhookSpoolProperties properties;
+    private final String serviceKey;
+    private final Sinks.Many<Attempt> queue = Sinks.many().unicast().onBackpressureBuffer();
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter rejected;
+    private final Counter exhausted;
+    private final Counter unreadable;
+
+    private Disposable subscription;
+    private volatile boolean stopped;
+
+    public WebhookDispatcher(SegmentLog spool, HttpClient httpClient, WebhookSpoolProperties properties,
+                             String serviceKey, MeterRegistry meterRegistry) {
+        this.spool = spool;
+        this.httpClient = httpClient;
+        this.properties = properties;
+        this.serviceKey = serviceKey;
+        this.delivered = Counter.builder("gateway.webhook.spool.delivered")
+            .description("Spooled webhook requests acknowledged by the backend")
+            .register(meterRegistry);
+        this.retried = Counter.builder("gateway.webhook.spool.retries")
+            .description("Redeliveries of spooled webhook requests")
+            .register(meterRegistry);
+        this.rejected = dropped(meterRegistry, "rejected");
+        this.exhausted = dropped(meterRegistry, "exhausted");
+        this.unreadable = dropped(meterRegistry, "unreadable");
+    }
+
+    /**
+     * Starts delivering submitted records.
+     */
+    public void start() {
+        subscription = queue.asFlux()
+            .flatMap(this::deliver, Math.max(1, properties.getMaxConcurrency()))
+            .subscribe();
+    }
+
+    /**
+     * Stops delivering. Records not yet acknowledged stay in the spool for the next start;
+     * retries still waiting on their backoff are not sent.
+     */
+    public void stop() {
+        stopped = true;
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Queues a spooled record for delivery.
+     *
+     * @param entry record in the spool
+     */
+    public void submit(SegmentLog.Entry entry) {
+        enqueue(new Attempt(entry, 1));
+    }
+
+    private void enqueue(Attempt attempt) {
+        if (stopped) {
+            return;
+        }
+        queue.emitNext(attempt, Sinks.EmitFailureHandler.busyLooping(EMIT_TIMEOUT));
+    }
+
+    private Mono<Void> deliver(Attempt attempt) {
+        SpooledRequest request;
+        try {
+            request = SpooledRequest.decode(spool.read(attempt.entry()));
+        } catch (IOException | RuntimeException e) {
+            log.error("Dropping unreadable spool record {}", attempt.entry(), e);
+            unreadable.increment();
+            spool.ack(attempt.entry());
+            return Mono.empty();
+        }
+
+        return send(request)
+            .timeout(properties.getRequestTimeout())
+            .doOnNext(status -> onResponse(attempt, request, status))
+            .onErrorResume(error -> {
+                retryOrDrop(attempt, request, error.toString());
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    private Mono<Integer> send(SpooledRequest request) {
+        return httpClient
+            .headers(headers -> {
+                request.headers().forEach(headers::set);
+                if (request.serviceKey() && !serviceKey.isEmpty()) {
+                    headers.set(ServiceKeyGatewayFilterFactory.SERVICE_KEY_HEADER, serviceKey);
+                }
+            })
+            .request(HttpMethod.valueOf(request.method()))
+            .uri(request.url())
+            .send(Mono.fromSupplier(() -> Unpooled.wrappedBuffer(request.body())))
+            .response()
+            .map(response -> response.status().code());
+    }
+
+    private void onResponse(Attempt attempt, SpooledRequest request, int status) {
+        if (status >= 200 && status < 300) {
+            delivered.increment();
+            spool.ack(attempt.entry());
+            log.debug("Delivered spooled {} {} after {} attempt(s)",
+                request.method(), request.url(), attempt.number());
+        } else if (status >= 500 || status == 408 || status == 429) {
+            retryOrDrop(attempt, request, "status " + status);
+        } else {
+            log.warn("Backend rejected spooled {} {} for route {} with status {} - dropping it",
+                request.method(), request.url(), request.routeId(), status);
+            rejected.increment();
+            spool.ack(attempt.entry());
+        }
+    }
+
+    private void retryOrDrop(Attempt attempt, SpooledRequest request, String failure) {
+        if (stopped) {
+            return;
+        }
+        if (attempt.number() >= properties.getMaxAttempts()) {
+            log.error("Giving up on spooled {} {} for route {} after {} attempts (last failure: {})",
+                request.method(), request.url(), request.routeId(), attempt.number(), failure);
+            exhausted.increment();
+            spool.ack(attempt.entry());
+            return;
+        }
+        Duration delay = backoff(attempt.number());
+        log.debug("Delivery of spooled {} {} failed ({}), retrying in {}ms",
+            request.method(), request.url(), failure, delay.toMillis());
+        retried.increment();
+        Mono.delay(delay).subscribe(tick -> enqueue(new Attempt(attempt.entry(), attempt.number() + 1)));
+    }
+
+    /**
+     * Exponential backoff with jitter: between half and all of {@code first * 2^(n-1)},
+     * capped at {@code maxBackoff}.
+     */
+    Duration backoff(int attempt) {
+        long first = properties.getFirstBackoff().toMillis();
+        long max = properties.getMaxBackoff().toMillis();
+        long exponential = attempt >= 32 ? max : Math.min(max, first << (attempt - 1));
+        long jittered = exponential / 2 + ThreadLocalRandom.current().nextLong(exponential / 2 + 1);
+        return Duration.ofMillis(jittered);
+    }
+
+    private static Counter dropped(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("gateway.webhook.spool.dropped")
+            .description("Spooled webhook requests given up on")
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+
+    /**
+     * One delivery attempt of a record.
+     */
+    private record Attempt(SegmentLog.Entry entry, int number) {
+    }
+}
@@ -0,0 +1,142 @@
+package com.wis.apigateway.webhook;
+
+import com.wis.apigateway.config.WebhookSpoolProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Durable local queue for webhook requests accepted by the gateway (accept and spool).
+ *
+ * <p>Requests are appended to a {@link SegmentLog} and delivered by a
+ * {@link WebhookDispatcher}. Records left over from a previous run - including one that
+ * crashed - are redelivered on startup. If the spool cannot take a request (disk full,
+ * request too large), {@link #offer} returns false and the caller forwards the request
+ * directly instead.
+ *
+ * @author WIS Development Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class WebhookSpool {
+
+    private final WebhookSpoolProperties properties;
+    private final HttpClient httpClient;
+    private final String serviceKey;
+    private final MeterRegistry meterRegistry;
+    private final Counter appended;
+    private final Counter failed;
+
+    private volatile SegmentLog segmentLog;
+    private WebhookDispatcher dispatcher;
+
+    @Autowired
+    public WebhookSpool(WebhookSpoolProperties properties, HttpClient httpClient,
+                        @Value("${SERVICE_TO_SERVICE_KEY:}") String serviceKey, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.httpClient = httpClient;
+        this.serviceKey = serviceKey;
+        this.meterRegistry = meterRegistry;
+        this.appended = Counter.builder("gateway.webhook.spool.appended")
+            .description("Webhook requests accepted into the spool")
+            .register(meterRegistry);
+        this.failed = Counter.builder("gateway.webhook.spool.append.failures")
+            .description("Webhook requests forwarded directly because the spool could not take them")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Creates a spool whose deliveries never carry the service key.
+     */
+    public WebhookSpool(WebhookSpoolProperties properties, HttpClient httpClient, MeterRegistry meterRegistry) {
+        this(properties, httpClient, "", meterRegistry);
+    }
+
+    /**
+     * Opens the spool and redelivers requests left by a previous run.
+     *
+     * @throws IOException if the spool directory cannot be read
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        if (!properties.isEnabled()) {
+            log.info("Webhook spool disabled");
+            return;
+        }
+        SegmentLog opened = SegmentLog.open(Path.of(properties.getDirectory()),
+            (int) properties.getSegmentSize().toBytes(), properties.getMinFreeSpace().toBytes(), properties.isSync());
+        Gauge.builder("gateway.webhook.spool.pending", opened, SegmentLog::pending)
+            .description("Spooled webhook requests not yet delivered")
+            .register(meterRegistry);
+
+        dispatcher = new WebhookDispatcher(opened, httpClient, properties, serviceKey, meterRegistry);
+        dispatcher.start();
+        List<SegmentLog.Entry> recovered = opened.recovered();
+        if (!recovered.isEmpty()) {
+            log.info("Redelivering {} spooled webhook requests from {}", recovered.size(), properties.getDirectory());
+        }
+        recovered.forEach(dispatcher::submit);
+        segmentLog = opened;
+    }
+
+    /**
+     * Stops delivery and closes the spool; undelivered requests are kept on disk.
+     *
+     * @throws IOException if a segment cannot be closed
+     */
+    @PreDestroy
+    public void stop() throws IOException {
+        SegmentLog opened = segmentLog;
+        segmentLog = null;
+        if (opened != null) {
+            dispatcher.stop();
+            opened.close();
+        }
+    }
+
+    /**
+     * Returns true if requests can be spooled.
+     *
+     * @return true when the spool is enabled and open
+     */
+    public boolean isEnabled() {
+        return segmentLog != null;
+    }
+
+    /**
+     * Spools a request for delivery.
+     *
+     * @param request request to deliver
+     * @return true if the request is durably queued; false if the caller must forward it
+     */
+    public boolean offer(SpooledRequest request) {
+        SegmentLog opened = segmentLog;
+        if (opened == null) {
+            return false;
+        }
+        SegmentLog.Entry entry;
+        try {
+            entry = opened.append(request.encode());
+        } catch (IOException e) {
+            log.warn("Spool unavailable, forwarding {} {} directly: {}",
+                request.method(), request.url(), e.getMessage());
+            failed.increment();
+            return false;
+        }
+        appended.increment();
+        dispatcher.submit(entry);
+        return true;
+    }
+}
@@ -0,0 +1,120 @@
+package com.wis.apigateway.perf;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.wis.apigateway.support.StubBackend;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks GC pauses and gateway allocation while a load phase runs.
+ *
+ * <p>GC pauses come from GC notifications; concurrent collector cycles are ignored
+ * because they do not stop application threads. Allocation is summed over all live
+ * threads except the load generator's and the stub backends', so it reflects the work
+ * done by the gateway itself.
+ */
+final class JvmActivityMonitor implements AutoCloseable {
+
+    private static final String CONCURRENT_GC = "Concurrent";
+
+    private final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final List<Registration> registrations = new ArrayList<>();
+
+    private final AtomicLong pauses = new AtomicLong();
+    private final AtomicLong totalPauseMillis = new AtomicLong();
+    private final AtomicLong maxPauseMillis = new AtomicLong();
+
+    private long allocatedAtStart;
+    private long startNanos;
+
+    JvmActivityMonitor() {
+        NotificationListener listener = this::onNotification;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(listener, null, null);
+                registrations.add(new Registration(emitter, listener));
+            }
+        }
+    }
+
+    /**
+     * Resets counters at the start of a phase.
+     */
+    void start() {
+        pauses.set(0);
+        totalPauseMillis.set(0);
+        maxPauseMillis.set(0);
+        allocatedAtStart = gatewayAllocatedBytes();
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Captures counters at the end of a phase.
+     *
+     * @param requests requests completed in the phase, for per-request allocation
+     * @return GC and allocation figures for the phase
+     */
+    LoadTestReport.JvmActivity stop(long requests) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        long allocated = Math.max(0, gatewayAllocatedBytes() - allocatedAtStart);
+        return new LoadTestReport.JvmActivity(
+            pauses.get(),
+            totalPauseMillis.get(),
+            maxPauseMillis.get(),
+            allocated / (1024.0 * 1024.0) / Math.max(seconds, 1e-9),
+            requests == 0 ? 0 : allocated / requests);
+    }
+
+    private long gatewayAllocatedBytes() {
+        long total = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            String name = thread.getName();
+            if (name.startsWith(StubBackend.THREAD_PREFIX) || name.startsWith(OpenLoopLoadGenerator.THREAD_PREFIX)) {
+                continue;
+            }
+            long bytes = threads.getThreadAllocatedBytes(thread.threadId());
+            if (bytes > 0) {
+                total += bytes;
+            }
+        }
+        return total;
+    }
+
+    private void onNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+            GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        if (info.getGcName().contains(CONCURRENT_GC)) {
+            return;
+        }
+        long duration = info.getGcInfo().getDuration();
+        pauses.incrementAndGet();
+        totalPauseMillis.addAndGet(duration);
+        maxPauseMillis.accumulateAndGet(duration, Math::max);
+    }
+
+    @Override
+    public void close() {
+        for (Registration registration : registrations) {
+            try {
+                registration.emitter().removeNotificationListener(registration.listener());
+            } catch (Exception e) {
+                // Already removed
+            }
+        }
+    }
+
+    private record Registration(NotificationEmitter emitter, NotificationListener listener) {
+    }
+}
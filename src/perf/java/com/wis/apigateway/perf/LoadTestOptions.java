@@ -0,0 +1,61 @@
+package com.wis.apigateway.perf;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties.
+ *
+ * <p>The Gradle {@code loadTest} task forwards every {@code -Ploadtest.*} project
+ * property, e.g. {@code ./gradlew loadTest -Ploadtest.rate=500 -Ploadtest.duration=60s}.
+ *
+ * @param rate requests per second offered to each route (open loop)
+ * @param duration measured phase length per route
+ * @param iterations measured phases per route; several give a confidence interval for p99
+ * @param warmup unmeasured warmup length per route
+ * @param routes route scenarios to run, in order
+ * @param backendLatency stub backend response delay
+ * @param payloadBytes stub backend response size
+ * @param requestTimeout per-request timeout; slower requests count as errors
+ * @param outputDir directory for the JSON and text reports
+ */
+public record LoadTestOptions(
+    int rate,
+    Duration duration,
+    int iterations,
+    Duration warmup,
+    List<String> routes,
+    Duration backendLatency,
+    int payloadBytes,
+    Duration requestTimeout,
+    Path outputDir) {
+
+    /**
+     * Reads options from system properties, falling back to defaults.
+     *
+     * @return load test options
+     */
+    public static LoadTestOptions fromSystemProperties() {
+        return new LoadTestOptions(
+            Integer.getInteger("loadtest.rate", 200),
+            duration("loadtest.duration", "30s"),
+            Math.max(1, Integer.getInteger("loadtest.iterations", 1)),
+            duration("loadtest.warmup", "10s"),
+            Arrays.stream(System.getProperty("loadtest.routes", String.join(",", RouteScenario.names())).split(","))
+                .map(String::trim)
+                .filter(route -> !route.isEmpty())
+                .toList(),
+            duration("loadtest.backendLatency", "20ms"),
+            Integer.getInteger("loadtest.payloadBytes", 2048),
+            duration("loadtest.timeout", "10s"),
+            Path.of(System.getProperty("loadtest.output", "build/reports/loadtest")));
+    }
+
+    private static Duration duration(String property, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+    }
+}
@@ -0,0 +1,142 @@
+package com.wis.apigateway.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Load test results, written as JSON (for tooling) and as a text table (for people).
+ *
+ * @param timestamp when the run finished
+ * @param options settings the run used
+ * @param routes results per route, in run order
+ */
+public record LoadTestReport(String timestamp, LoadTestOptions options, List<RouteResult> routes) {
+
+    public static final String JSON_FILE = "loadtest-report.json";
+    public static final String TEXT_FILE = "loadtest-report.txt";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Results for one route.
+     *
+     * @param route route id
+     * @param offeredRate requests per second offered
+     * @param sent requests sent
+     * @param completed requests answered without a 5xx status
+     * @param errors failed, timed out or 5xx requests
+     * @param throughput completed requests per second
+     * @param latency latency percentiles in milliseconds over all iterations
+     * @param p99Samples p99 in milliseconds of each measured iteration
+     * @param jvm GC and allocation figures over all iterations
+     */
+    public record RouteResult(
+        String route,
+        int offeredRate,
+        long sent,
+        long completed,
+        long errors,
+        double throughput,
+        Latency latency,
+        List<Double> p99Samples,
+        JvmActivity jvm) {
+    }
+
+    /**
+     * Latency percentiles in milliseconds, measured from intended start times.
+     */
+    public record Latency(double p50, double p90, double p99, double p999, double max) {
+
+        static double p99Millis(Histogram micros) {
+            return millis(micros.getValueAtPercentile(99.0));
+        }
+
+        static Latency from(Histogram micros) {
+            return new Latency(
+                millis(micros.getValueAtPercentile(50.0)),
+                millis(micros.getValueAtPercentile(90.0)),
+                millis(micros.getValueAtPercentile(99.0)),
+                millis(micros.getValueAtPercentile(99.9)),
+                millis(micros.getMaxValue()));
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+
+    /**
+     * GC pauses and gateway allocation during a phase.
+     */
+    public record JvmActivity(
+        long gcPauses,
+        long gcPauseTotalMillis,
+        long gcPauseMaxMillis,
+        double allocationMbPerSec,
+        long allocatedBytesPerRequest) {
+    }
+
+    /**
+     * Writes the JSON and text reports into the output directory.
+     *
+     * @param outputDir directory to write to (created if missing)
+     * @throws IOException if the reports cannot be written
+     */
+    public void write(Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        MAPPER.writeValue(outputDir.resolve(JSON_FILE).toFile(), this);
+        Files.writeString(outputDir.resolve(TEXT_FILE), toText());
+    }
+
+    /**
+     * Reads a JSON report written by {@link #write(Path)}.
+     *
+     * @param file report file
+     * @return parsed report
+     * @throws IOException if the file cannot be read
+     */
+    public static LoadTestReport read(Path file) throws IOException {
+        return MAPPER.readValue(file.toFile(), LoadTestReport.class);
+    }
+
+    /**
+     * Formats the report as a fixed-width table.
+     *
+     * @return human-readable report
+     */
+    public String toText() {
+        StringBuilder text = new StringBuilder();
+        text.append("WIS API Gateway load test - ").append(timestamp).append('\n');
+        text.append(String.format(Locale.ROOT,
+            "rate=%d req/s per route, duration=%s x %d, backend latency=%s, payload=%d bytes%n%n",
+            options.rate(), options.duration(), options.iterations(), options.backendLatency(),
+            options.payloadBytes()));
+        text.append(String.format(Locale.ROOT, "%-16s %9s %7s %9s %9s %9s %9s %9s %6s %8s %9s %10s%n",
+            "route", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms",
+            "gcs", "gc ms", "alloc MB/s", "bytes/req"));
+        for (RouteResult r : routes) {
+            text.append(String.format(Locale.ROOT,
+                "%-16s %9.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f %6d %8d %9.1f %10d%n",
+                r.route(), r.throughput(), r.errors(),
+                r.latency().p50(), r.latency().p90(), r.latency().p99(), r.latency().p999(), r.latency().max(),
+                r.jvm().gcPauses(), r.jvm().gcPauseTotalMillis(),
+                r.jvm().allocationMbPerSec(), r.jvm().allocatedBytesPerRequest()));
+        }
+        return text.toString();
+    }
+
+    static String now() {
+        return Instant.now().toString();
+    }
+}
@@ -0,0 +1,147 @@
+package com.wis.apigateway.perf;
+
+import com.wis.apigateway.ApiGatewayApplication;
+import com.wis.apigateway.support.StubBackend;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * End-to-end load test: gateway plus stub backends in one JVM, driven at a constant rate.
+ *
+ * <p>Starts stub backends for registration, subscriptions and messages, starts
+ * {@link ApiGatewayApplication} with its real route table pointed at them, then runs each
+ * route scenario in turn: an unmeasured warmup followed by a measured phase. Each phase
+ * records latency percentiles, GC pauses and gateway allocation, and the results are
+ * written to {@code build/reports/loadtest}. Everything runs on the loopback interface.
+ *
+ * <p>Run with: {@code ./gradlew loadTest -Ploadtest.rate=500 -Ploadtest.duration=60s}
+ */
+public final class LoadTestRunner {
+
+    static final String API_KEY = "loadtest-api-key-0001";
+    static final String SERVICE_KEY = "loadtest-service-key";
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+        LoadTestReport report = run(options);
+        report.write(options.outputDir());
+        System.out.println(report.toText());
+        System.out.println("Reports written to " + options.outputDir().toAbsolutePath());
+    }
+
+    /**
+     * Runs all configured route scenarios and returns the combined report.
+     *
+     * @param options load test settings
+     * @return report with one entry per route
+     */
+    public static LoadTestReport run(LoadTestOptions options) {
+        try (StubBackend registration = StubBackend.start("registration", options.backendLatency(), options.payloadBytes());
+             StubBackend subscriptions = StubBackend.start("subscriptions", options.backendLatency(), options.payloadBytes());
+             StubBackend messages = StubBackend.start("messages", options.backendLatency(), options.payloadBytes())) {
+
+            ConfigurableApplicationContext gateway = startGateway(
+                registration.baseUrl(), subscriptions.baseUrl(), messages.baseUrl());
+            int port = ((WebServerApplicationContext) gateway).getWebServer().getPort();
+
+            List<LoadTestReport.RouteResult> results = new ArrayList<>();
+            try (OpenLoopLoadGenerator generator =
+                     new OpenLoopLoadGenerator("http://127.0.0.1:" + port, API_KEY, options.requestTimeout());
+                 JvmActivityMonitor monitor = new JvmActivityMonitor()) {
+
+                for (String route : options.routes()) {
+                    RouteScenario scenario = RouteScenario.forRoute(route);
+                    System.out.printf("Route %s: warmup %s, measuring %d x %s at %d req/s%n",
+                        route, options.warmup(), options.iterations(), options.duration(), options.rate());
+
+                    generator.run(scenario, options.rate(), options.warmup());
+                    System.gc();
+
+                    Histogram latency = null;
+                    List<Double> p99Samples = new ArrayList<>();
+                    long sent = 0;
+                    long completed = 0;
+                    long errors = 0;
+                    long sendingNanos = 0;
+
+                    monitor.start();
+                    for (int iteration = 0; iteration < options.iterations(); iteration++) {
+                        OpenLoopLoadGenerator.PhaseResult phase =
+                            generator.run(scenario, options.rate(), options.duration());
+                        p99Samples.add(LoadTestReport.Latency.p99Millis(phase.latencyMicros()));
+                        if (latency == null) {
+                            latency = phase.latencyMicros();
+                        } else {
+                            latency.add(phase.latencyMicros());
+                        }
+                        sent += phase.sent();
+                        completed += phase.completed();
+                        errors += phase.errors();
+                        sendingNanos += phase.sendingNanos();
+                    }
+                    LoadTestReport.JvmActivity jvm = monitor.stop(completed + errors);
+
+                    results.add(new LoadTestReport.RouteResult(
+                        route,
+                        options.rate(),
+                        sent,
+                        completed,
+                        errors,
+                        completed / (sendingNanos / 1e9),
+                        LoadTestReport.Latency.from(latency),
+                        p99Samples,
+                        jvm));
+                }
+            } finally {
+                gateway.close();
+            }
+
+            return new LoadTestReport(LoadTestReport.now(), options, results);
+        }
+    }
+
+    /**
+     * Starts the gateway on a random port with its normal route table.
+     */
+    static ConfigurableApplicationContext startGateway(String registrationUrl,
+                                                       String subscriptionsUrl,
+                                                       String messagesUrl) {
+        return startGateway(registrationUrl, subscriptionsUrl, messagesUrl, API_KEY);
+    }
+
+    /**
+     * Starts the gateway on a random port with its normal route table and the given API keys.
+     */
+    static ConfigurableApplicationContext startGateway(String registrationUrl,
+                                                       String subscriptionsUrl,
+                                                       String messagesUrl,
+                                                       String apiKeys) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("backend.registration.url", registrationUrl);
+        properties.put("backend.subscriptions.url", subscriptionsUrl);
+        properties.put("backend.messages.url", messagesUrl);
+        properties.put("api.keys", apiKeys);
+        properties.put("SERVICE_TO_SERVICE_KEY", SERVICE_KEY);
+        properties.put("spring.autoconfigure.exclude",
+            "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfiguration");
+        // Per-request console logging would dominate the results; raise with -Ploadtest.logLevel=INFO
+        properties.put("logging.level.com.wis.apigateway", System.getProperty("loadtest.logLevel", "WARN"));
+        properties.put("logging.level.root", "WARN");
+
+        return new SpringApplicationBuilder(ApiGatewayApplication.class)
+            .properties(properties)
+            .run();
+    }
+}
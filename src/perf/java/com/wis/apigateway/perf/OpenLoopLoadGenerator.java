@@ -0,0 +1,155 @@
+package com.wis.apigateway.perf;
+
+import io.netty.handler.codec.http.HttpMethod;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP load generator with a constant arrival rate.
+ *
+ * <p>Requests are scheduled at fixed intended start times ({@code start + i / rate})
+ * regardless of how fast earlier requests complete. Latency is measured from the
+ * intended start time, not from when the request was actually sent, so a gateway stall
+ * shows up in the percentiles for every request that should have been sent during it.
+ * This avoids coordinated omission, which makes closed-loop tools under-report tail
+ * latency.
+ *
+ * <p>Every request is recorded, whatever its outcome: 5xx responses and connection
+ * errors at the time they failed, and requests that time out at the time they were given
+ * up on. Leaving failures out would make an overloaded gateway look faster.
+ *
+ * <p>The generator runs on its own threads ({@code loadgen-*}) and connection pool so
+ * it does not share event loops with the gateway.
+ */
+final class OpenLoopLoadGenerator implements AutoCloseable {
+
+    static final String THREAD_PREFIX = "loadgen-";
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final LoopResources loops = LoopResources.create(THREAD_PREFIX + "http", 2, true);
+    private final ConnectionProvider connections = ConnectionProvider.builder(THREAD_PREFIX + "pool")
+        .maxConnections(4096)
+        .pendingAcquireMaxCount(-1)
+        .build();
+    private final HttpClient client;
+    private final Duration requestTimeout;
+
+    OpenLoopLoadGenerator(String baseUrl, String apiKey, Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+        this.client = HttpClient.create(connections)
+            .runOn(loops)
+            .baseUrl(baseUrl)
+            .headers(headers -> headers.set("X-API-Key", apiKey));
+    }
+
+    /**
+     * Drives one route at a constant rate and waits for outstanding requests to finish.
+     *
+     * @param scenario request shape to send
+     * @param rate requests per second
+     * @param duration how long to keep sending
+     * @return latency histogram (microseconds) and request counts for the phase
+     */
+    PhaseResult run(RouteScenario scenario, int rate, Duration duration) {
+        Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        LongAdder completed = new LongAdder();
+        LongAdder errors = new LongAdder();
+        AtomicLong inFlight = new AtomicLong();
+
+        HttpClient scenarioClient = scenario.authenticated()
+            ? client
+            : client.headers(headers -> headers.remove("X-API-Key"));
+        HttpMethod method = HttpMethod.valueOf(scenario.method());
+        byte[] body = scenario.body() != null ? scenario.body().getBytes(StandardCharsets.UTF_8) : null;
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, rate);
+        long durationNanos = duration.toNanos();
+        long start = System.nanoTime();
+        long sent = 0;
+
+        for (long i = 0; ; i++) {
+            long intendedStart = start + i * intervalNanos;
+            if (intendedStart - start >= durationNanos) {
+                break;
+            }
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            inFlight.incrementAndGet();
+            sent++;
+            send(scenarioClient, method, scenario.path(), body)
+                .timeout(requestTimeout)
+                .doFinally(signal -> inFlight.decrementAndGet())
+                .subscribe(
+                    status -> {
+                        recordLatency(recorder, intendedStart);
+                        if (status >= 500) {
+                            errors.increment();
+                        } else {
+                            completed.increment();
+                        }
+                    },
+                    error -> {
+                        // A timed-out request is recorded at the timeout, a failed one when it failed
+                        recordLatency(recorder, intendedStart);
+                        errors.increment();
+                    });
+        }
+        long sendingNanos = System.nanoTime() - start;
+
+        // Let in-flight requests finish so they are counted in this phase
+        long drainDeadline = System.nanoTime() + requestTimeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        return new PhaseResult(recorder.getIntervalHistogram(), sent, completed.sum(), errors.sum(), sendingNanos);
+    }
+
+    private static void recordLatency(Recorder recorder, long intendedStart) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+        recorder.recordValue(Math.min(Math.max(micros, 1), HIGHEST_TRACKABLE_MICROS));
+    }
+
+    private Mono<Integer> send(HttpClient scenarioClient, HttpMethod method, String path, byte[] body) {
+        HttpClient.RequestSender sender = scenarioClient.request(method).uri(path);
+        HttpClient.ResponseReceiver<?> receiver = body != null
+            ? sender.send(ByteBufFlux.fromString(Mono.just(new String(body, StandardCharsets.UTF_8))))
+            : sender;
+        return receiver.responseSingle((response, content) -> content.then(Mono.just(response.status().code())));
+    }
+
+    @Override
+    public void close() {
+        connections.disposeLater().block(Duration.ofSeconds(5));
+        loops.disposeLater().block(Duration.ofSeconds(5));
+    }
+
+    /**
+     * Raw outcome of one load phase.
+     *
+     * @param latencyMicros latency histogram measured from intended start times, including
+     *                      failed and timed-out requests
+     * @param sent requests sent
+     * @param completed requests answered with a non-5xx status
+     * @param errors requests that failed, timed out or returned 5xx
+     * @param sendingNanos time spent sending (the phase length)
+     */
+    record PhaseResult(Histogram latencyMicros, long sent, long completed, long errors, long sendingNanos) {
+    }
+}
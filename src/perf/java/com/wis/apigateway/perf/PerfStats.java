@@ -0,0 +1,69 @@
+package com.wis.apigateway.perf;
+
+import java.util.List;
+
+/**
+ * Small statistics helpers for comparing benchmark runs.
+ */
+final class PerfStats {
+
+    /**
+     * Confidence level of every interval, matching the 99.9% JMH reports as
+     * {@code scoreConfidence}, so JMH and load test intervals mean the same thing.
+     */
+    static final String CONFIDENCE = "99.9%";
+
+    /** Two-sided 99.9% Student t critical values for 1..30 degrees of freedom. */
+    private static final double[] T_999 = {
+        636.619, 31.599, 12.924, 8.610, 6.869, 5.959, 5.408, 5.041, 4.781, 4.587,
+        4.437, 4.318, 4.221, 4.140, 4.073, 4.015, 3.965, 3.922, 3.883, 3.850,
+        3.819, 3.792, 3.768, 3.745, 3.725, 3.707, 3.690, 3.674, 3.659, 3.646
+    };
+
+    private PerfStats() {
+    }
+
+    /**
+     * Mean with a 99.9% confidence interval.
+     *
+     * @param mean sample mean
+     * @param low lower bound of the interval
+     * @param high upper bound of the interval
+     * @param samples number of samples; with one sample the interval is just the value
+     */
+    record Interval(double mean, double low, double high, int samples) {
+
+        boolean overlaps(Interval other) {
+            return low <= other.high && other.low <= high;
+        }
+    }
+
+    /**
+     * Computes the mean and 99.9% t-based confidence interval of a sample.
+     *
+     * @param values sample values
+     * @return interval around the mean
+     */
+    static Interval interval(List<Double> values) {
+        int n = values.size();
+        if (n == 0) {
+            return new Interval(Double.NaN, Double.NaN, Double.NaN, 0);
+        }
+        double mean = values.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+        if (n == 1) {
+            return new Interval(mean, mean, mean, 1);
+        }
+        double variance = values.stream()
+            .mapToDouble(v -> (v - mean) * (v - mean))
+            .sum() / (n - 1);
+        double halfWidth = tCritical(n - 1) * Math.sqrt(variance / n);
+        return new Interval(mean, mean - halfWidth, mean + halfWidth, n);
+    }
+
+    /**
+     * Beyond 30 degrees of freedom the value for 30 is used, which errs on the wide side.
+     */
+    static double tCritical(int degreesOfFreedom) {
+        return T_999[Math.min(degreesOfFreedom, T_999.length) - 1];
+    }
+}
@@ -0,0 +1,294 @@
+package com.wis.apigateway.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares benchmark and load test results with a stored baseline and fails on regressions.
+ *
+ * <p>Compared metrics:
+ * <ul>
+ *   <li>JMH score (ns/op, or the benchmark's unit) of every benchmark and parameter set</li>
+ *   <li>JMH {@code gc.alloc.rate.norm} (bytes/op) where the gc profiler ran</li>
+ *   <li>Load test p99 per route, from the per-iteration p99 samples</li>
+ * </ul>
+ *
+ * <p>A metric regresses only when both hold: the current and baseline 99.9% confidence
+ * intervals do not overlap (so the change is not noise), and the mean got worse by more
+ * than the metric's threshold (so the change matters). JMH supplies its own 99.9%
+ * confidence intervals; load test intervals use a t-distribution over the iterations at
+ * the same level ({@link PerfStats#CONFIDENCE}). With a single iteration only the
+ * threshold applies.
+ *
+ * <p>The gate writes a text and JSON diff to its output directory and exits with status 1
+ * if anything regressed. A missing baseline is reported and passes.
+ *
+ * <p>Settings ({@code perfgate.*} system properties):
+ * <pre>
+ * perfgate.baselineDir      perf/baseline
+ * perfgate.jmhResults       build/results/jmh/results.json
+ * perfgate.loadReport       build/reports/loadtest/loadtest-report.json
+ * perfgate.output           build/reports/perf-gate
+ * perfgate.scoreThreshold   0.10   (10% slower ns/op)
+ * perfgate.allocThreshold   0.10   (10% more bytes/op)
+ * perfgate.p99Threshold     0.15   (15% higher p99)
+ * </pre>
+ */
+public final class RegressionGate {
+
+    static final String BASELINE_JMH = "jmh-results.json";
+    static final String BASELINE_LOAD = "loadtest-report.json";
+
+    private static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+    private static final double MIN_ALLOC_DELTA_BYTES = 16;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .findAndRegisterModules()
+        .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final double scoreThreshold = doubleProperty("perfgate.scoreThreshold", 0.10);
+    private final double allocThreshold = doubleProperty("perfgate.allocThreshold", 0.10);
+    private final double p99Threshold = doubleProperty("perfgate.p99Threshold", 0.15);
+
+    private final List<Comparison> comparisons = new ArrayList<>();
+    private final List<String> notes = new ArrayList<>();
+
+    /**
+     * Outcome for one metric.
+     */
+    enum Verdict { OK, IMPROVED, REGRESSED, NEW, MISSING }
+
+    /**
+     * One compared metric.
+     */
+    record Comparison(String name, String metric, String unit,
+                      PerfStats.Interval baseline, PerfStats.Interval current,
+                      double deltaPercent, Verdict verdict) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path baselineDir = Path.of(System.getProperty("perfgate.baselineDir", "perf/baseline"));
+        Path jmhResults = Path.of(System.getProperty("perfgate.jmhResults", "build/results/jmh/results.json"));
+        Path loadReport = Path.of(System.getProperty("perfgate.loadReport",
+            "build/reports/loadtest/" + LoadTestReport.JSON_FILE));
+        Path output = Path.of(System.getProperty("perfgate.output", "build/reports/perf-gate"));
+
+        RegressionGate gate = new RegressionGate();
+        gate.compareJmh(baselineDir.resolve(BASELINE_JMH), jmhResults);
+        gate.compareLoad(baselineDir.resolve(BASELINE_LOAD), loadReport);
+
+        String text = gate.toText();
+        Files.createDirectories(output);
+        Files.writeString(output.resolve("perf-gate.txt"), text);
+        MAPPER.writeValue(output.resolve("perf-gate.json").toFile(), gate.comparisons);
+        System.out.println(text);
+
+        if (gate.hasRegressions()) {
+            System.err.println("Performance regression gate FAILED - see " + output.toAbsolutePath());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Compares JMH results (primary score and allocation per op) with the baseline.
+     */
+    void compareJmh(Path baselineFile, Path currentFile) throws IOException {
+        if (!Files.exists(currentFile)) {
+            notes.add("No JMH results at " + currentFile + " - benchmarks skipped");
+            return;
+        }
+        if (!Files.exists(baselineFile)) {
+            notes.add("No JMH baseline at " + baselineFile + " - run ./gradlew perfBaseline to create one");
+            return;
+        }
+        Map<String, JsonNode> baseline = indexJmh(MAPPER.readTree(baselineFile.toFile()));
+        Map<String, JsonNode> current = indexJmh(MAPPER.readTree(currentFile.toFile()));
+
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            String name = entry.getKey();
+            JsonNode now = entry.getValue();
+            JsonNode before = baseline.get(name);
+            boolean higherIsBetter = "thrpt".equals(now.path("mode").asText());
+
+            JsonNode nowPrimary = now.path("primaryMetric");
+            if (before == null) {
+                comparisons.add(new Comparison(name, "score", nowPrimary.path("scoreUnit").asText(),
+                    null, jmhInterval(nowPrimary), Double.NaN, Verdict.NEW));
+                continue;
+            }
+            comparisons.add(compare(name, "score", nowPrimary.path("scoreUnit").asText(),
+                jmhInterval(before.path("primaryMetric")), jmhInterval(nowPrimary),
+                scoreThreshold, higherIsBetter, 0));
+
+            JsonNode nowAlloc = now.path("secondaryMetrics").path(ALLOC_METRIC);
+            JsonNode beforeAlloc = before.path("secondaryMetrics").path(ALLOC_METRIC);
+            if (!nowAlloc.isMissingNode() && !beforeAlloc.isMissingNode()) {
+                comparisons.add(compare(name, "alloc", nowAlloc.path("scoreUnit").asText(),
+                    jmhInterval(beforeAlloc), jmhInterval(nowAlloc),
+                    allocThreshold, false, MIN_ALLOC_DELTA_BYTES));
+            }
+        }
+        for (String name : baseline.keySet()) {
+            if (!current.containsKey(name)) {
+                comparisons.add(new Comparison(name, "score", "", null, null, Double.NaN, Verdict.MISSING));
+            }
+        }
+    }
+
+    /**
+     * Compares load test p99 per route with the baseline.
+     */
+    void compareLoad(Path baselineFile, Path currentFile) throws IOException {
+        if (!Files.exists(currentFile)) {
+            notes.add("No load test report at " + currentFile + " - load test skipped");
+            return;
+        }
+        if (!Files.exists(baselineFile)) {
+            notes.add("No load test baseline at " + baselineFile + " - run ./gradlew perfBaseline to create one");
+            return;
+        }
+        Map<String, LoadTestReport.RouteResult> baseline = indexRoutes(LoadTestReport.read(baselineFile));
+        LoadTestReport currentReport = LoadTestReport.read(currentFile);
+
+        for (LoadTestReport.RouteResult now : currentReport.routes()) {
+            String name = "route " + now.route();
+            LoadTestReport.RouteResult before = baseline.get(now.route());
+            PerfStats.Interval current = p99Interval(now);
+            if (before == null) {
+                comparisons.add(new Comparison(name, "p99", "ms", null, current, Double.NaN, Verdict.NEW));
+                continue;
+            }
+            if (before.offeredRate() != now.offeredRate()) {
+                notes.add(name + ": offered rate changed " + before.offeredRate() + " -> " + now.offeredRate()
+                    + " req/s, p99 comparison may not be meaningful");
+            }
+            comparisons.add(compare(name, "p99", "ms",
+                p99Interval(before), current, p99Threshold, false, 0));
+        }
+    }
+
+    /**
+     * Classifies one metric as improved, regressed or unchanged.
+     */
+    static Comparison compare(String name, String metric, String unit,
+                              PerfStats.Interval baseline, PerfStats.Interval current,
+                              double threshold, boolean higherIsBetter, double minAbsoluteDelta) {
+        double delta = current.mean() - baseline.mean();
+        double deltaPercent = baseline.mean() == 0 ? 0 : delta / baseline.mean() * 100.0;
+        double worsening = higherIsBetter ? -delta : delta;
+        double relativeWorsening = baseline.mean() == 0 ? 0 : worsening / Math.abs(baseline.mean());
+
+        boolean significant = !current.overlaps(baseline);
+        boolean material = Math.abs(delta) > minAbsoluteDelta;
+
+        Verdict verdict = Verdict.OK;
+        if (significant && material && relativeWorsening > threshold) {
+            verdict = Verdict.REGRESSED;
+        } else if (significant && material && relativeWorsening < -threshold) {
+            verdict = Verdict.IMPROVED;
+        }
+        return new Comparison(name, metric, unit, baseline, current, deltaPercent, verdict);
+    }
+
+    boolean hasRegressions() {
+        return comparisons.stream().anyMatch(c -> c.verdict() == Verdict.REGRESSED);
+    }
+
+    /**
+     * Formats the comparison as a table, regressions first.
+     */
+    String toText() {
+        StringBuilder text = new StringBuilder("Performance regression gate\n");
+        text.append(String.format(Locale.ROOT,
+            "thresholds: score +%.0f%%, alloc +%.0f%%, p99 +%.0f%% (and non-overlapping %s CIs)%n%n",
+            scoreThreshold * 100, allocThreshold * 100, p99Threshold * 100, PerfStats.CONFIDENCE));
+        text.append(String.format(Locale.ROOT, "%-10s %-62s %-6s %26s %26s %9s%n",
+            "verdict", "benchmark", "metric", "baseline [" + PerfStats.CONFIDENCE + " CI]",
+            "current [" + PerfStats.CONFIDENCE + " CI]", "delta"));
+
+        comparisons.stream()
+            .sorted((a, b) -> a.verdict() == b.verdict() ? 0 : a.verdict() == Verdict.REGRESSED ? -1
+                : b.verdict() == Verdict.REGRESSED ? 1 : 0)
+            .forEach(c -> text.append(String.format(Locale.ROOT, "%-10s %-62s %-6s %26s %26s %9s%n",
+                c.verdict(), truncate(c.name(), 62), c.metric(),
+                format(c.baseline(), c.unit()), format(c.current(), c.unit()),
+                Double.isNaN(c.deltaPercent()) ? "-" : String.format(Locale.ROOT, "%+.1f%%", c.deltaPercent()))));
+
+        long regressions = comparisons.stream().filter(c -> c.verdict() == Verdict.REGRESSED).count();
+        long improvements = comparisons.stream().filter(c -> c.verdict() == Verdict.IMPROVED).count();
+        text.append(String.format(Locale.ROOT, "%n%d compared, %d regressed, %d improved%n",
+            comparisons.size(), regressions, improvements));
+        notes.forEach(note -> text.append("note: ").append(note).append('\n'));
+        return text.toString();
+    }
+
+    /**
+     * Keys JMH results by short benchmark name plus parameters.
+     */
+    private static Map<String, JsonNode> indexJmh(JsonNode results) {
+        Map<String, JsonNode> index = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            String benchmark = result.path("benchmark").asText();
+            String shortName = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+            Map<String, String> params = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                params.put(field.getKey(), field.getValue().asText());
+            }
+            index.put(params.isEmpty() ? shortName : shortName + params, result);
+        }
+        return index;
+    }
+
+    private static Map<String, LoadTestReport.RouteResult> indexRoutes(LoadTestReport report) {
+        Map<String, LoadTestReport.RouteResult> index = new LinkedHashMap<>();
+        report.routes().forEach(route -> index.put(route.route(), route));
+        return index;
+    }
+
+    private static PerfStats.Interval p99Interval(LoadTestReport.RouteResult result) {
+        List<Double> samples = result.p99Samples();
+        return samples == null || samples.isEmpty()
+            ? PerfStats.interval(List.of(result.latency().p99()))
+            : PerfStats.interval(samples);
+    }
+
+    private static PerfStats.Interval jmhInterval(JsonNode metric) {
+        double score = metric.path("score").asDouble();
+        JsonNode confidence = metric.path("scoreConfidence");
+        if (confidence.size() == 2 && !Double.isNaN(confidence.get(0).asDouble())) {
+            return new PerfStats.Interval(score, confidence.get(0).asDouble(), confidence.get(1).asDouble(), 0);
+        }
+        return new PerfStats.Interval(score, score, score, 1);
+    }
+
+    private static String format(PerfStats.Interval interval, String unit) {
+        if (interval == null) {
+            return "-";
+        }
+        return String.format(Locale.ROOT, "%.2f [%.2f, %.2f] %s",
+            interval.mean(), interval.low(), interval.high(), unit);
+    }
+
+    private static String truncate(String value, int max) {
+        return value.length() <= max ? value : value.substring(0, max - 3) + "...";
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+}
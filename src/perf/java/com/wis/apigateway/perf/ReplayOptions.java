@@ -0,0 +1,42 @@
+package com.wis.apigateway.perf;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Replay settings, read from {@code replay.*} system properties.
+ *
+ * <p>The Gradle {@code replay} task forwards every {@code -Preplay.*} project property,
+ * e.g. {@code ./gradlew replay -Preplay.file=capture/traffic-1700000000000.wcap -Preplay.speed=2}.
+ *
+ * @param file capture file to replay
+ * @param speed arrival-time scale: 1 replays at the recorded pace, 2 twice as fast
+ * @param requestTimeout per-request timeout; slower requests count as errors
+ * @param outputDir directory for the JSON and text reports
+ */
+public record ReplayOptions(Path file, double speed, Duration requestTimeout, Path outputDir) {
+
+    /**
+     * Reads options from system properties, falling back to defaults.
+     *
+     * @return replay options
+     * @throws IllegalArgumentException if no capture file is given or the speed is not positive
+     */
+    public static ReplayOptions fromSystemProperties() {
+        String file = System.getProperty("replay.file");
+        if (file == null || file.isBlank()) {
+            throw new IllegalArgumentException("Set -Preplay.file to a capture file");
+        }
+        double speed = Double.parseDouble(System.getProperty("replay.speed", "1"));
+        if (speed <= 0) {
+            throw new IllegalArgumentException("replay.speed must be positive: " + speed);
+        }
+        return new ReplayOptions(
+            Path.of(file),
+            speed,
+            DurationStyle.detectAndParse(System.getProperty("replay.timeout", "10s")),
+            Path.of(System.getProperty("replay.output", "build/reports/replay")));
+    }
+}
@@ -0,0 +1,83 @@
+package com.wis.apigateway.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Replay results per route, next to the latencies recorded in production.
+ *
+ * @param timestamp when the replay finished
+ * @param file replayed capture file
+ * @param speed arrival-time scale used
+ * @param routes results per route, busiest first
+ * @param jvm GC and allocation figures over the whole replay
+ */
+public record ReplayReport(String timestamp, String file, double speed, List<RouteReplay> routes,
+                           LoadTestReport.JvmActivity jvm) {
+
+    public static final String JSON_FILE = "replay-report.json";
+    public static final String TEXT_FILE = "replay-report.txt";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Results for one route.
+     *
+     * @param route route id, {@code unmatched} for requests no route matched
+     * @param sent requests sent
+     * @param completed requests answered without a 5xx status
+     * @param errors failed, timed out or 5xx requests
+     * @param throughput completed requests per second
+     * @param recorded latency percentiles in milliseconds as captured
+     * @param replayed latency percentiles in milliseconds measured from intended send times
+     */
+    public record RouteReplay(
+        String route,
+        long sent,
+        long completed,
+        long errors,
+        double throughput,
+        LoadTestReport.Latency recorded,
+        LoadTestReport.Latency replayed) {
+    }
+
+    /**
+     * Writes the JSON and text reports into the output directory.
+     *
+     * @param outputDir directory to write to (created if missing)
+     * @throws IOException if the reports cannot be written
+     */
+    public void write(Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        MAPPER.writeValue(outputDir.resolve(JSON_FILE).toFile(), this);
+        Files.writeString(outputDir.resolve(TEXT_FILE), toText());
+    }
+
+    /**
+     * Formats the report as a fixed-width table.
+     *
+     * @return human-readable report
+     */
+    public String toText() {
+        StringBuilder text = new StringBuilder();
+        text.append("WIS API Gateway replay - ").append(timestamp).append('\n');
+        text.append(String.format(Locale.ROOT, "file=%s, speed=%.2fx, gcs=%d (%d ms), alloc=%.1f MB/s, %d bytes/req%n%n",
+            file, speed, jvm.gcPauses(), jvm.gcPauseTotalMillis(), jvm.allocationMbPerSec(),
+            jvm.allocatedBytesPerRequest()));
+        text.append(String.format(Locale.ROOT, "%-16s %8s %9s %7s %12s %12s %12s %12s%n",
+            "route", "sent", "req/s", "errors", "rec p50 ms", "p50 ms", "rec p99 ms", "p99 ms"));
+        for (RouteReplay r : routes) {
+            text.append(String.format(Locale.ROOT, "%-16s %8d %9.1f %7d %12.2f %12.2f %12.2f %12.2f%n",
+                r.route(), r.sent(), r.throughput(), r.errors(),
+                r.recorded().p50(), r.replayed().p50(), r.recorded().p99(), r.replayed().p99()));
+        }
+        return text.toString();
+    }
+}
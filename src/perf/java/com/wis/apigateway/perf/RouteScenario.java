@@ -0,0 +1,76 @@
+package com.wis.apigateway.perf;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Request shapes used to drive each gateway route during load tests.
+ *
+ * <p>Names match the route ids in application.yml so results line up with gateway
+ * metrics. Authenticated scenarios send the load test API key.
+ */
+public enum RouteScenario {
+
+    REGISTRATION("registration", "POST", "/api/register/users", "{\"email\":\"load@test.example\"}", true),
+    SUBSCRIPTIONS("subscriptions", "GET", "/api/subscriptions/12345", null, true),
+    MESSAGES("messages", "GET", "/api/messages/inbox?page=1", null, true),
+    STRIPE_WEBHOOK("stripe-webhook", "POST", "/webhooks/stripe", "{\"id\":\"evt_load\",\"type\":\"invoice.paid\"}", false),
+    TWILIO_WEBHOOK("twilio-webhook", "POST", "/webhooks/twilio/sms", "From=%2B15550100&Body=hello", false);
+
+    private final String routeId;
+    private final String method;
+    private final String path;
+    private final String body;
+    private final boolean authenticated;
+
+    RouteScenario(String routeId, String method, String path, String body, boolean authenticated) {
+        this.routeId = routeId;
+        this.method = method;
+        this.path = path;
+        this.body = body;
+        this.authenticated = authenticated;
+    }
+
+    public String routeId() {
+        return routeId;
+    }
+
+    public String method() {
+        return method;
+    }
+
+    public String path() {
+        return path;
+    }
+
+    public String body() {
+        return body;
+    }
+
+    public boolean authenticated() {
+        return authenticated;
+    }
+
+    /**
+     * Finds a scenario by route id.
+     *
+     * @param routeId route id from application.yml
+     * @return matching scenario
+     * @throws IllegalArgumentException if no scenario exists for the route
+     */
+    public static RouteScenario forRoute(String routeId) {
+        return Arrays.stream(values())
+            .filter(scenario -> scenario.routeId.equals(routeId))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("No load scenario for route: " + routeId));
+    }
+
+    /**
+     * Returns all route ids that have a scenario.
+     *
+     * @return route ids
+     */
+    public static List<String> names() {
+        return Arrays.stream(values()).map(RouteScenario::routeId).toList();
+    }
+}
@@ -0,0 +1,281 @@
+package com.wis.apigateway.perf;
+
+import com.wis.apigateway.capture.CaptureFile;
+import com.wis.apigateway.capture.CapturedExchange;
+import com.wis.apigateway.support.StubBackend;
+import io.netty.handler.codec.http.HttpMethod;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a traffic capture against the gateway and stub backends, for benchmarking
+ * changes against the real traffic mix offline.
+ *
+ * <p>Reads a capture file written with {@code gateway.capture.enabled}, starts the same
+ * stub backends and gateway as {@link LoadTestRunner}, and sends every recorded request at
+ * its recorded arrival time divided by {@code replay.speed} (open loop, latency measured
+ * from the intended send time). Each request carries an {@value #REPLAY_ID_HEADER} header;
+ * the stub backends use it to answer with the recorded status and response size after the
+ * recorded latency, which includes the gateway's own time when it was captured.
+ *
+ * <p>Masked API keys are mapped to generated keys the replay gateway accepts, one per
+ * distinct masked key, so per-key behaviour such as tiers and canary stickiness keeps
+ * roughly its recorded spread. Request bodies longer than {@code max-body-size} were
+ * captured in part and are padded with spaces to their recorded length.
+ *
+ * <p>Run with: {@code ./gradlew replay -Preplay.file=capture/traffic-<epoch-millis>.wcap}
+ */
+public final class TrafficReplayRunner {
+
+    static final String REPLAY_ID_HEADER = "X-Replay-Id";
+
+    private static final String API_KEY_HEADER = "X-API-Key";
+    private static final String UNMATCHED = "unmatched";
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final int MAX_STUB_PAYLOAD = 16 * 1024 * 1024;
+
+    /** Set by the client from the replayed request, never copied from the capture. */
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+        "host", "content-length", "transfer-encoding", "connection", "keep-alive", "upgrade",
+        REPLAY_ID_HEADER.toLowerCase(Locale.ROOT));
+
+    private TrafficReplayRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ReplayOptions options = ReplayOptions.fromSystemProperties();
+        ReplayReport report = run(options);
+        report.write(options.outputDir());
+        System.out.println(report.toText());
+        System.out.println("Reports written to " + options.outputDir().toAbsolutePath());
+    }
+
+    /**
+     * Replays a capture file and returns the results per route.
+     *
+     * @param options replay settings
+     * @return report with one entry per route
+     * @throws IOException if the capture file cannot be read
+     */
+    public static ReplayReport run(ReplayOptions options) throws IOException {
+        CaptureFile capture = CaptureFile.read(options.file());
+        List<CapturedExchange> exchanges = capture.exchanges();
+        if (exchanges.isEmpty()) {
+            throw new IllegalArgumentException(options.file() + " holds no requests");
+        }
+        Map<String, String> apiKeys = replayKeys(exchanges);
+        System.out.printf("Replaying %d requests over %s from %s at %.2fx%n", exchanges.size(),
+            Duration.ofNanos(span(exchanges)), Instant.ofEpochMilli(capture.startEpochMillis()), options.speed());
+
+        try (StubBackend registration = StubBackend.start("registration", Duration.ZERO, 0);
+             StubBackend subscriptions = StubBackend.start("subscriptions", Duration.ZERO, 0);
+             StubBackend messages = StubBackend.start("messages", Duration.ZERO, 0)) {
+
+            for (StubBackend backend : List.of(registration, subscriptions, messages)) {
+                backend.setReplies(request -> reply(exchanges, request.requestHeaders().get(REPLAY_ID_HEADER)));
+            }
+            String keys = apiKeys.isEmpty() ? LoadTestRunner.API_KEY : String.join(",", apiKeys.values());
+            ConfigurableApplicationContext gateway = LoadTestRunner.startGateway(
+                registration.baseUrl(), subscriptions.baseUrl(), messages.baseUrl(), keys);
+            int port = ((WebServerApplicationContext) gateway).getWebServer().getPort();
+
+            try (Driver driver = new Driver("http://127.0.0.1:" + port, options.requestTimeout());
+                 JvmActivityMonitor monitor = new JvmActivityMonitor()) {
+                monitor.start();
+                Map<String, RouteStats> stats = driver.replay(exchanges, apiKeys, options.speed());
+                double seconds = span(exchanges) / options.speed() / 1e9;
+                List<ReplayReport.RouteReplay> routes = new ArrayList<>();
+                long requests = 0;
+                for (Map.Entry<String, RouteStats> entry : stats.entrySet()) {
+                    RouteStats route = entry.getValue();
+                    requests += route.sent;
+                    routes.add(new ReplayReport.RouteReplay(
+                        entry.getKey(),
+                        route.sent,
+                        route.completed.sum(),
+                        route.errors.sum(),
+                        route.completed.sum() / Math.max(seconds, 1e-3),
+                        LoadTestReport.Latency.from(route.recordedMicros),
+                        LoadTestReport.Latency.from(route.replayedMicros.getIntervalHistogram())));
+                }
+                routes.sort(Comparator.comparingLong(ReplayReport.RouteReplay::sent).reversed());
+                return new ReplayReport(LoadTestReport.now(), options.file().toString(), options.speed(),
+                    routes, monitor.stop(requests));
+            } finally {
+                gateway.close();
+            }
+        }
+    }
+
+    /**
+     * Maps each distinct masked API key in the capture to a key the replay gateway accepts.
+     */
+    static Map<String, String> replayKeys(List<CapturedExchange> exchanges) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        for (CapturedExchange exchange : exchanges) {
+            for (CapturedExchange.Header header : exchange.headers()) {
+                if (API_KEY_HEADER.equalsIgnoreCase(header.name())) {
+                    keys.computeIfAbsent(header.value(),
+                        masked -> String.format(Locale.ROOT, "replay-api-key-%06d", keys.size() + 1));
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static StubBackend.Reply reply(List<CapturedExchange> exchanges, String replayId) {
+        if (replayId == null) {
+            return null;
+        }
+        CapturedExchange exchange = exchanges.get(Integer.parseInt(replayId));
+        return new StubBackend.Reply(
+            exchange.status() == 0 ? 200 : exchange.status(),
+            Duration.ofNanos(exchange.latencyNanos()),
+            (int) Math.min(exchange.responseBytes(), MAX_STUB_PAYLOAD));
+    }
+
+    private static long span(List<CapturedExchange> exchanges) {
+        return exchanges.get(exchanges.size() - 1).offsetNanos() - exchanges.get(0).offsetNanos();
+    }
+
+    /**
+     * Results collected for one route while replaying.
+     */
+    private static final class RouteStats {
+
+        private final Histogram recordedMicros = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final Recorder replayedMicros = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private long sent;
+    }
+
+    /**
+     * Sends recorded requests at their scheduled times on its own threads ({@code loadgen-*}),
+     * so the JVM activity monitor attributes its allocation to the load side.
+     */
+    private static final class Driver implements AutoCloseable {
+
+        private final LoopResources loops = LoopResources.create(OpenLoopLoadGenerator.THREAD_PREFIX + "replay", 2, true);
+        private final ConnectionProvider connections = ConnectionProvider.builder(OpenLoopLoadGenerator.THREAD_PREFIX + "replay-pool")
+            .maxConnections(4096)
+            .pendingAcquireMaxCount(-1)
+            .build();
+        private final HttpClient client;
+        private final Duration requestTimeout;
+
+        Driver(String baseUrl, Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            this.client = HttpClient.create(connections).runOn(loops).baseUrl(baseUrl);
+        }
+
+        Map<String, RouteStats> replay(List<CapturedExchange> exchanges, Map<String, String> apiKeys, double speed) {
+            Map<String, RouteStats> stats = new LinkedHashMap<>();
+            AtomicLong inFlight = new AtomicLong();
+            long firstOffset = exchanges.get(0).offsetNanos();
+            long start = System.nanoTime();
+
+            for (int i = 0; i < exchanges.size(); i++) {
+                CapturedExchange exchange = exchanges.get(i);
+                RouteStats route = stats.computeIfAbsent(
+                    exchange.routeId().isEmpty() ? UNMATCHED : exchange.routeId(), id -> new RouteStats());
+                route.recordedMicros.recordValue(clamp(TimeUnit.NANOSECONDS.toMicros(exchange.latencyNanos())));
+
+                long intendedStart = start + (long) ((exchange.offsetNanos() - firstOffset) / speed);
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                inFlight.incrementAndGet();
+                route.sent++;
+                send(exchange, i, apiKeys)
+                    .timeout(requestTimeout)
+                    .doFinally(signal -> inFlight.decrementAndGet())
+                    .subscribe(
+                        status -> {
+                            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+                            route.replayedMicros.recordValue(clamp(micros));
+                            if (status >= 500) {
+                                route.errors.increment();
+                            } else {
+                                route.completed.increment();
+                            }
+                        },
+                        error -> route.errors.increment());
+            }
+
+            long drainDeadline = System.nanoTime() + requestTimeout.toNanos();
+            while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            }
+            return stats;
+        }
+
+        private Mono<Integer> send(CapturedExchange exchange, int index, Map<String, String> apiKeys) {
+            byte[] body = body(exchange);
+            return client.request(HttpMethod.valueOf(exchange.method()))
+                .uri(exchange.uri())
+                .send((request, outbound) -> {
+                    for (CapturedExchange.Header header : exchange.headers()) {
+                        String name = header.name();
+                        if (SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                            continue;
+                        }
+                        String value = API_KEY_HEADER.equalsIgnoreCase(name)
+                            ? apiKeys.getOrDefault(header.value(), header.value())
+                            : header.value();
+                        request.addHeader(name, value);
+                    }
+                    request.header(REPLAY_ID_HEADER, Integer.toString(index));
+                    if (body.length == 0) {
+                        return outbound;
+                    }
+                    request.header("Content-Length", Integer.toString(body.length));
+                    return outbound.sendByteArray(Mono.just(body));
+                })
+                .responseSingle((response, content) -> content.then(Mono.just(response.status().code())));
+        }
+
+        private static byte[] body(CapturedExchange exchange) {
+            if (exchange.body().length >= exchange.bodyLength()) {
+                return exchange.body();
+            }
+            byte[] padded = Arrays.copyOf(exchange.body(), exchange.bodyLength());
+            Arrays.fill(padded, exchange.body().length, padded.length, (byte) ' ');
+            return padded;
+        }
+
+        private static long clamp(long micros) {
+            return Math.min(Math.max(micros, 1), HIGHEST_TRACKABLE_MICROS);
+        }
+
+        @Override
+        public void close() {
+            connections.disposeLater().block(Duration.ofSeconds(5));
+            loops.disposeLater().block(Duration.ofSeconds(5));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.wis.apigateway.blocking;
+
+import com.wis.apigateway.config.BlockingExecutionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for VirtualThreadBlockingExecutor.
+ * Tests virtual-thread execution and bounded concurrency.
+ */
+class VirtualThreadBlockingExecutorTest {
+
+    private VirtualThreadBlockingExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        BlockingExecutionProperties properties = new BlockingExecutionProperties();
+        properties.setMaxConcurrency(2);
+        properties.setMaxQueued(2);
+        properties.setAcquireTimeout(Duration.ofSeconds(2));
+        executor = new VirtualThreadBlockingExecutor(properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testExecute_ShouldRunOnVirtualThread() {
+        StepVerifier.create(executor.execute(() -> Thread.currentThread().isVirtual()))
+            .expectNext(true)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testExecute_ShouldLimitConcurrentCalls() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        Flux<Integer> calls = Flux.range(0, 4)
+            .flatMap(i -> executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(50);
+                running.decrementAndGet();
+                return i;
+            }));
+
+        StepVerifier.create(calls)
+            .expectNextCount(4)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(maxRunning.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testExecute_ShouldRejectWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 4; i++) {
+            executor.execute(() -> release.await(5, TimeUnit.SECONDS)).subscribe();
+        }
+
+        StepVerifier.create(executor.execute(() -> "too many"))
+            .expectError(RejectedExecutionException.class)
+            .verify(Duration.ofSeconds(5));
+
+        release.countDown();
+    }
+
+    @Test
+    void testExecute_NullResultShouldCompleteEmpty() {
+        StepVerifier.create(Mono.defer(() -> executor.execute(() -> null)))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+}
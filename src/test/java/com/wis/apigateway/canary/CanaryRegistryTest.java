@@ -0,0 +1,181 @@
+package com.wis.apigateway.canary;
+
+import com.wis.apigateway.cluster.InvalidationBus;
+import com.wis.apigateway.config.CanaryProperties;
+import com.wis.apigateway.config.LatencyProperties;
+import com.wis.apigateway.metrics.LatencyHistogramRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Unit tests for CanaryRegistry.
+ * Tests sticky weighted selection, runtime weight changes and automatic rollback.
+ */
+class CanaryRegistryTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Mock
+    private InvalidationBus bus;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LatencyHistogramRegistry histograms;
+    private CanaryProperties properties;
+    private CanaryRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // The bus delivers published messages to local listeners, as the real one does
+        List<Consumer<String>> listeners = new ArrayList<>();
+        doAnswer(invocation -> listeners.add(invocation.getArgument(1))).when(bus).subscribe(anyString(), any());
+        doAnswer(invocation -> {
+            listeners.forEach(listener -> listener.accept(invocation.getArgument(1)));
+            return null;
+        }).when(bus).publish(eq(CanaryRegistry.NAMESPACE), anyString());
+
+        meterRegistry = new SimpleMeterRegistry();
+        histograms = new LatencyHistogramRegistry(new LatencyProperties(), meterRegistry);
+        properties = new CanaryProperties();
+        properties.setMinSamples(100);
+        properties.getRoutes().put("subscriptions", route(95, 5));
+        registry = new CanaryRegistry(properties, histograms, bus, meterRegistry);
+    }
+
+    @Test
+    void testSelect_ShouldFollowWeightsAndStickToApiKey() {
+        // Arrange
+        CanaryRoute route = registry.get("subscriptions");
+
+        // Act
+        int canary = 0;
+        for (int i = 0; i < 20_000; i++) {
+            if (route.select("key-" + i) == 1) {
+                canary++;
+            }
+        }
+
+        // Assert
+        assertThat(canary).isBetween(800, 1200);
+        assertThat(route.select("key-42")).isEqualTo(route.select("key-42"));
+    }
+
+    @Test
+    void testSetWeights_IncreasingCanary_ShouldKeepExistingCanaryKeys() {
+        // Arrange
+        CanaryRoute route = registry.get("subscriptions");
+        List<String> onCanary = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            if (route.select("key-" + i) == 1) {
+                onCanary.add("key-" + i);
+            }
+        }
+
+        // Act
+        registry.setWeights("subscriptions", Map.of("green", 20, "blue", 80));
+
+        // Assert
+        assertThat(route.weight(1)).isEqualTo(20);
+        assertThat(onCanary).allMatch(key -> route.select(key) == 1);
+        assertThat(meterRegistry.get("gateway.canary.weight").tag("version", "green").gauge().value()).isEqualTo(20);
+    }
+
+    @Test
+    void testSetWeights_UnknownVersionOrNoTraffic_ShouldBeRejected() {
+        // Act & Assert
+        assertThatThrownBy(() -> registry.setWeights("subscriptions", Map.of("purple", 10)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.setWeights("subscriptions", Map.of("blue", 0, "green", 0)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(registry.get("subscriptions").weight(0)).isEqualTo(95);
+    }
+
+    @Test
+    void testEvaluate_SlowCanary_ShouldRollBackToBaseline() {
+        // Arrange
+        CanaryRoute route = registry.get("subscriptions");
+        for (int i = 0; i < 200; i++) {
+            route.record(0, 20 * MILLIS, false);
+            route.record(1, 90 * MILLIS, false);
+        }
+        histograms.rotateAll();
+
+        // Act
+        registry.evaluate();
+
+        // Assert
+        assertThat(route.weight(0)).isEqualTo(100);
+        assertThat(route.weight(1)).isZero();
+        assertThat(meterRegistry.get("gateway.canary.rollbacks").tag("version", "green").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testEvaluate_FailingCanary_ShouldRollBackToBaseline() {
+        // Arrange
+        CanaryRoute route = registry.get("subscriptions");
+        for (int i = 0; i < 200; i++) {
+            route.record(0, 20 * MILLIS, i % 100 == 0);
+            route.record(1, 20 * MILLIS, i % 10 == 0);
+        }
+        histograms.rotateAll();
+
+        // Act
+        registry.evaluate();
+
+        // Assert
+        assertThat(route.errorRate(1)).isEqualTo(0.1);
+        assertThat(route.weight(1)).isZero();
+    }
+
+    @Test
+    void testEvaluate_HealthyOrTooFewSamples_ShouldKeepWeights() {
+        // Arrange
+        CanaryRoute route = registry.get("subscriptions");
+        for (int i = 0; i < 200; i++) {
+            route.record(0, 20 * MILLIS, false);
+            route.record(1, 22 * MILLIS, false);
+        }
+        for (int i = 0; i < 50; i++) {
+            route.record(1, 500 * MILLIS, false);
+        }
+        properties.setMinSamples(300);
+        histograms.rotateAll();
+
+        // Act
+        registry.evaluate();
+
+        // Assert
+        assertThat(route.weight(1)).isEqualTo(5);
+    }
+
+    private static CanaryProperties.Route route(int blueWeight, int greenWeight) {
+        CanaryProperties.Route route = new CanaryProperties.Route();
+        route.setBaseline("blue");
+        route.getVersions().put("blue", version("http://localhost:8082", blueWeight));
+        route.getVersions().put("green", version("http://localhost:9082", greenWeight));
+        return route;
+    }
+
+    private static CanaryProperties.Version version(String uri, int weight) {
+        CanaryProperties.Version version = new CanaryProperties.Version();
+        version.setUri(URI.create(uri));
+        version.setWeight(weight);
+        return version;
+    }
+}
@@ -0,0 +1,121 @@
+package com.wis.apigateway.capture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for MappedCaptureWriter and CaptureFile.
+ * Tests records spanning several mapped regions, the size limit and files left open by a crash.
+ */
+class MappedCaptureWriterTest {
+
+    private static final int REGION_SIZE = 256;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRoundTrip_ShouldReadAllRecordsInArrivalOrder() throws IOException {
+        // Arrange
+        Path file = directory.resolve("traffic.wcap");
+        try (MappedCaptureWriter writer = MappedCaptureWriter.create(file, REGION_SIZE, 1 << 20, 1_700_000_000_000L)) {
+            // Act - completion order differs from arrival order
+            for (int i = 49; i >= 0; i--) {
+                assertThat(writer.append(exchange(i, "{\"n\":" + i + "}"))).isTrue();
+            }
+        }
+
+        // Assert
+        CaptureFile capture = CaptureFile.read(file);
+        assertThat(capture.startEpochMillis()).isEqualTo(1_700_000_000_000L);
+        assertThat(capture.exchanges()).hasSize(50);
+        CapturedExchange first = capture.exchanges().get(0);
+        assertThat(first.offsetNanos()).isZero();
+        assertThat(first.method()).isEqualTo("POST");
+        assertThat(first.uri()).isEqualTo("/api/register/users?n=0");
+        assertThat(first.routeId()).isEqualTo("registration");
+        assertThat(first.headers()).containsExactly(
+            new CapturedExchange.Header("X-API-Key", "abcd****wxyz"),
+            new CapturedExchange.Header("Content-Type", "application/json"));
+        assertThat(new String(first.body(), StandardCharsets.UTF_8)).isEqualTo("{\"n\":0}");
+        assertThat(first.status()).isEqualTo(201);
+        assertThat(capture.exchanges().get(49).offsetNanos()).isEqualTo(49_000_000L);
+        assertThat(Files.size(file)).isLessThan(REGION_SIZE * 50L);
+    }
+
+    @Test
+    void testAppend_FileFull_ShouldRefuseRecords() throws IOException {
+        // Arrange
+        Path file = directory.resolve("traffic.wcap");
+        try (MappedCaptureWriter writer = MappedCaptureWriter.create(file, REGION_SIZE, 512, 0)) {
+            // Act
+            int written = 0;
+            while (writer.append(exchange(written, "{}"))) {
+                written++;
+            }
+
+            // Assert
+            assertThat(written).isPositive();
+            assertThat(writer.size()).isLessThanOrEqualTo(512);
+            writer.close();
+            assertThat(CaptureFile.read(file).exchanges()).hasSize(written);
+        }
+    }
+
+    @Test
+    void testRead_FileNotClosed_ShouldReturnCompleteRecords() throws IOException {
+        // Arrange - a crashed gateway leaves the zero-filled rest of the last region
+        Path file = directory.resolve("traffic.wcap");
+        MappedCaptureWriter writer = MappedCaptureWriter.create(file, 4096, 1 << 20, 0);
+        try {
+            writer.append(exchange(0, "{}"));
+            writer.append(exchange(1, "{}"));
+
+            // Act
+            CaptureFile capture = CaptureFile.read(file);
+
+            // Assert
+            assertThat(Files.size(file)).isEqualTo(4096);
+            assertThat(capture.exchanges()).hasSize(2);
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Test
+    void testRead_NotACaptureFile_ShouldFail() throws IOException {
+        // Arrange
+        Path file = directory.resolve("routes.yml");
+        Files.writeString(file, "routes:\n  - id: reports\n");
+
+        // Act & Assert
+        assertThatThrownBy(() -> CaptureFile.read(file))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("capture file");
+    }
+
+    private static CapturedExchange exchange(int index, String body) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return new CapturedExchange(
+            index * 1_000_000L,
+            "POST",
+            "/api/register/users?n=" + index,
+            "registration",
+            List.of(new CapturedExchange.Header("X-API-Key", "abcd****wxyz"),
+                new CapturedExchange.Header("Content-Type", "application/json")),
+            bytes.length,
+            bytes,
+            201,
+            128,
+            20_000_000L);
+    }
+}
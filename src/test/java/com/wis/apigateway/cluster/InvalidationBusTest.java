@@ -0,0 +1,218 @@
+package com.wis.apigateway.cluster;
+
+import com.wis.apigateway.config.InvalidationProperties;
+import com.wis.apigateway.filter.RevokedApiKeys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for InvalidationBus.
+ * Tests the message format, propagation between several in-JVM instances over UDP gossip
+ * and rejection of unauthenticated datagrams.
+ */
+class InvalidationBusTest {
+
+    private static final String SECRET = "test-cluster-secret";
+
+    private final List<InvalidationBus> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(InvalidationBus::stop);
+    }
+
+    @Test
+    void testMessage_ShouldRoundTripThroughBinaryEncoding() {
+        // Arrange
+        InvalidationMessage message = new InvalidationMessage(7L, 42L, 1_700_000_000_000L, 2, "api-key", "fingerprint");
+
+        // Act
+        byte[] encoded = message.encode();
+
+        // Assert
+        assertThat(encoded.length).isLessThan(64);
+        assertThat(InvalidationMessage.decode(encoded)).isEqualTo(message);
+        assertThat(InvalidationMessage.ttl(InvalidationMessage.withTtl(encoded, 1))).isEqualTo(1);
+        assertThat(InvalidationMessage.id(encoded)).isEqualTo(InvalidationMessage.id(InvalidationMessage.withTtl(encoded, 0)));
+    }
+
+    @Test
+    void testMessage_Truncated_ShouldBeRejected() {
+        // Arrange
+        byte[] encoded = new InvalidationMessage(7L, 42L, 0L, 0, "api-key", "fingerprint").encode();
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 3);
+
+        // Act & Assert
+        assertThatThrownBy(() -> InvalidationMessage.decode(truncated)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> InvalidationMessage.decode(new byte[]{1, 2, 3})).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testPublish_ShouldReachEveryInstanceOnce() throws Exception {
+        // Arrange
+        List<InetSocketAddress> addresses = freeAddresses(3);
+        List<Queue<String>> received = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            InvalidationBus node = start(addresses.get(i), others(addresses, i));
+            Queue<String> keys = new ConcurrentLinkedQueue<>();
+            node.subscribe("cache", keys::add);
+            received.add(keys);
+        }
+
+        // Act
+        nodes.get(0).publish("cache", "customer:42");
+
+        // Assert
+        awaitTrue(() -> received.stream().allMatch(keys -> keys.contains("customer:42")));
+        Thread.sleep(100);
+        assertThat(received).allSatisfy(keys -> assertThat(keys).containsExactly("customer:42"));
+    }
+
+    @Test
+    void testGossip_ShouldReachInstancesMissingFromPublisherPeers() throws Exception {
+        // Arrange: 0 knows only 1, 1 knows 2
+        List<InetSocketAddress> addresses = freeAddresses(3);
+        start(addresses.get(0), List.of(addresses.get(1)));
+        start(addresses.get(1), List.of(addresses.get(0), addresses.get(2)));
+        InvalidationBus last = start(addresses.get(2), List.of(addresses.get(1)));
+        Queue<String> received = new ConcurrentLinkedQueue<>();
+        last.subscribe("cache", received::add);
+
+        // Act
+        nodes.get(0).publish("cache", "route:messages");
+
+        // Assert
+        awaitTrue(() -> received.contains("route:messages"));
+    }
+
+    @Test
+    void testRevokedApiKey_ShouldBeRejectedOnOtherInstances() throws Exception {
+        // Arrange
+        List<InetSocketAddress> addresses = freeAddresses(3);
+        List<RevokedApiKeys> revocations = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            revocations.add(new RevokedApiKeys(start(addresses.get(i), others(addresses, i))));
+        }
+
+        // Act
+        revocations.get(1).revoke("test-key-12345");
+
+        // Assert
+        awaitTrue(() -> revocations.stream().allMatch(revoked -> revoked.isRevoked("test-key-12345")));
+        assertThat(revocations).noneMatch(revoked -> revoked.isRevoked("another-valid-key"));
+    }
+
+    @Test
+    void testReceive_OwnEchoAndMalformed_ShouldBeIgnored() {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        InvalidationBus bus = new InvalidationBus(null, 0, meterRegistry);
+        Queue<String> received = new ConcurrentLinkedQueue<>();
+        bus.subscribe("cache", received::add);
+
+        // Act
+        bus.receive(new InvalidationMessage(bus.nodeId(), 1L, 0L, 0, "cache", "echo").encode());
+        bus.receive(new byte[]{'I', 1, 0});
+        bus.receive(new InvalidationMessage(bus.nodeId() + 1, 1L, 0L, 0, "cache", "remote").encode());
+
+        // Assert
+        assertThat(received).containsExactly("remote");
+        assertThat(meterRegistry.counter("gateway.invalidation.malformed").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("gateway.invalidation.received").count()).isEqualTo(1);
+    }
+
+    @Test
+    void testGossip_ForgedOrStaleDatagrams_ShouldBeIgnored() throws Exception {
+        // Arrange
+        InetSocketAddress address = freeAddresses(1).get(0);
+        InvalidationBus node = start(address, List.of());
+        Queue<String> received = new ConcurrentLinkedQueue<>();
+        node.subscribe("api-key", received::add);
+        long now = System.currentTimeMillis();
+
+        // Act
+        try (DatagramSocket attacker = new DatagramSocket(0, InetAddress.getLoopbackAddress())) {
+            sendDatagram(attacker, address, new InvalidationMessage(1L, 1L, now, 0, "api-key", "unsigned").encode());
+            sendDatagram(attacker, address, InvalidationMessage.sign(
+                new InvalidationMessage(1L, 2L, now, 0, "api-key", "forged").encode(),
+                InvalidationMessage.macKey("guessed-secret")));
+            sendDatagram(attacker, address, InvalidationMessage.sign(
+                new InvalidationMessage(1L, 3L, now - Duration.ofMinutes(5).toMillis(), 0, "api-key", "stale").encode(),
+                InvalidationMessage.macKey(SECRET)));
+            sendDatagram(attacker, address, InvalidationMessage.sign(
+                new InvalidationMessage(1L, 4L, now, 0, "api-key", "signed").encode(),
+                InvalidationMessage.macKey(SECRET)));
+        }
+
+        // Assert
+        awaitTrue(() -> received.contains("signed"));
+        assertThat(received).containsExactly("signed");
+    }
+
+    @Test
+    void testUdpTransport_WildcardBindAddress_ShouldBeRejected() {
+        // Arrange
+        InvalidationProperties properties = new InvalidationProperties();
+        properties.setTransport(InvalidationProperties.Transport.UDP);
+        properties.getUdp().setBindAddress("0.0.0.0");
+        properties.getUdp().setSecret(SECRET);
+
+        // Act & Assert
+        assertThatThrownBy(() -> new InvalidationBus(properties, null, new SimpleMeterRegistry()))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static void sendDatagram(DatagramSocket socket, InetSocketAddress target, byte[] bytes) throws IOException {
+        socket.send(new DatagramPacket(bytes, bytes.length, target));
+    }
+
+    private InvalidationBus start(InetSocketAddress address, List<InetSocketAddress> peers) throws IOException {
+        InvalidationBus bus = new InvalidationBus(new UdpGossipTransport(address, peers, 2, SECRET, Duration.ofSeconds(30)), 2, new SimpleMeterRegistry());
+        bus.start();
+        nodes.add(bus);
+        return bus;
+    }
+
+    private static List<InetSocketAddress> others(List<InetSocketAddress> addresses, int self) {
+        List<InetSocketAddress> others = new ArrayList<>(addresses);
+        others.remove(self);
+        return others;
+    }
+
+    private static List<InetSocketAddress> freeAddresses(int count) throws IOException {
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        List<DatagramSocket> sockets = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            DatagramSocket socket = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+            sockets.add(socket);
+            addresses.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), socket.getLocalPort()));
+        }
+        sockets.forEach(DatagramSocket::close);
+        return addresses;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
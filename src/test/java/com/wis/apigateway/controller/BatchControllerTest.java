@@ -0,0 +1,225 @@
+package com.wis.apigateway.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wis.apigateway.batch.BatchExecutor;
+import com.wis.apigateway.config.BatchProperties;
+import com.wis.apigateway.filter.ApiKeyAuthGatewayFilterFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.DispatcherHandler;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for BatchController and BatchExecutor.
+ * Tests authentication, parallel dispatch, streamed results and per-sub-request failures.
+ */
+class BatchControllerTest {
+
+    private static final String API_KEY_HEADER = "X-API-Key";
+    private static final String VALID_API_KEY = "test-key-12345";
+
+    @Mock
+    private DispatcherHandler dispatcherHandler;
+
+    @Mock
+    private ObjectProvider<DispatcherHandler> dispatcherHandlerProvider;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Queue<ServerWebExchange> dispatched = new ConcurrentLinkedQueue<>();
+    private BatchProperties properties;
+    private BatchController controller;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(dispatcherHandlerProvider.getObject()).thenReturn(dispatcherHandler);
+        when(dispatcherHandler.handle(any(ServerWebExchange.class))).thenAnswer(invocation -> {
+            ServerWebExchange exchange = invocation.getArgument(0);
+            dispatched.add(exchange);
+            return backend(exchange);
+        });
+
+        ApiKeyAuthGatewayFilterFactory apiKeyAuth = new ApiKeyAuthGatewayFilterFactory();
+        ReflectionTestUtils.setField(apiKeyAuth, "apiKeys", VALID_API_KEY);
+        properties = new BatchProperties();
+        properties.setTimeout(Duration.ofMillis(500));
+        BatchExecutor executor = new BatchExecutor(dispatcherHandlerProvider, properties, objectMapper);
+        controller = new BatchController(apiKeyAuth, executor, properties, objectMapper);
+    }
+
+    @Test
+    void testBatch_ShouldStreamOneResultPerSubRequest() throws Exception {
+        // Arrange
+        MockServerWebExchange exchange = batch(VALID_API_KEY, """
+            [{"id": "profile", "path": "/api/register/42"},
+             {"id": "send", "method": "POST", "path": "/api/messages/send", "body": {"text": "hi"}}]
+            """);
+
+        // Act
+        StepVerifier.create(controller.batch(exchange)).verifyComplete();
+
+        // Assert
+        Map<String, JsonNode> results = results(exchange);
+        assertThat(exchange.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        assertThat(results.get("profile").get("status").asInt()).isEqualTo(200);
+        assertThat(results.get("profile").get("body").get("customerId").asText()).isEqualTo("42");
+        assertThat(results.get("send").get("body").get("echo").asText()).isEqualTo("{\"text\":\"hi\"}");
+    }
+
+    @Test
+    void testBatch_ShouldAuthenticateOnceAndMarkSubRequests() {
+        // Arrange
+        MockServerWebExchange exchange = batch(VALID_API_KEY, """
+            [{"path": "/api/register/1"}, {"path": "/api/register/2", "headers": {"X-API-Key": "other-key"}}]
+            """);
+
+        // Act
+        StepVerifier.create(controller.batch(exchange)).verifyComplete();
+
+        // Assert
+        assertThat(dispatched).hasSize(2).allSatisfy(sub -> {
+            assertThat(sub.<Boolean>getAttribute(ApiKeyAuthGatewayFilterFactory.AUTHENTICATED_ATTR)).isTrue();
+            assertThat(sub.getRequest().getHeaders().getFirst(API_KEY_HEADER)).isEqualTo(VALID_API_KEY);
+        });
+    }
+
+    @Test
+    void testBatch_WithInvalidApiKey_ShouldRejectWholeBatch() {
+        // Arrange
+        MockServerWebExchange exchange = batch("invalid-key", "[{\"path\": \"/api/register/42\"}]");
+
+        // Act
+        StepVerifier.create(controller.batch(exchange)).verifyComplete();
+
+        // Assert
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verify(dispatcherHandler, never()).handle(any());
+    }
+
+    @Test
+    void testBatch_SubRequestFailures_ShouldNotFailBatch() throws Exception {
+        // Arrange
+        MockServerWebExchange exchange = batch(VALID_API_KEY, """
+            [{"id": "ok", "path": "/api/register/42"},
+             {"id": "missing", "path": "/api/subscriptions/missing"},
+             {"id": "broken", "path": "/api/messages/broken"},
+             {"id": "slow", "path": "/api/messages/slow"},
+             {"id": "outside", "path": "/actuator/env"},
+             {"id": "nested", "path": "/api/batch"}]
+            """);
+
+        // Act
+        StepVerifier.create(controller.batch(exchange)).verifyComplete();
+
+        // Assert
+        Map<String, JsonNode> results = results(exchange);
+        assertThat(results).hasSize(6);
+        assertThat(results.get("ok").get("status").asInt()).isEqualTo(200);
+        assertThat(results.get("missing").get("status").asInt()).isEqualTo(404);
+        assertThat(results.get("broken").get("status").asInt()).isEqualTo(502);
+        assertThat(results.get("slow").get("status").asInt()).isEqualTo(504);
+        assertThat(results.get("outside").get("status").asInt()).isEqualTo(400);
+        assertThat(results.get("nested").get("status").asInt()).isEqualTo(400);
+    }
+
+    @Test
+    void testBatch_ShouldEmitResultsInCompletionOrder() throws Exception {
+        // Arrange
+        properties.setTimeout(Duration.ofSeconds(5));
+        MockServerWebExchange exchange = batch(VALID_API_KEY, """
+            [{"id": "slow", "path": "/api/messages/slow"}, {"id": "fast", "path": "/api/register/1"}]
+            """);
+
+        // Act
+        StepVerifier.create(controller.batch(exchange)).verifyComplete();
+
+        // Assert
+        List<String> lines = exchange.getResponse().getBodyAsString().block().lines().toList();
+        assertThat(objectMapper.readTree(lines.get(0)).get("id").asText()).isEqualTo("fast");
+        assertThat(objectMapper.readTree(lines.get(1)).get("id").asText()).isEqualTo("slow");
+    }
+
+    @Test
+    void testBatch_TooManySubRequests_ShouldReturnBadRequest() {
+        // Arrange
+        properties.setMaxRequests(1);
+        MockServerWebExchange exchange = batch(VALID_API_KEY,
+            "[{\"path\": \"/api/register/1\"}, {\"path\": \"/api/register/2\"}]");
+
+        // Act & Assert
+        StepVerifier.create(controller.batch(exchange))
+            .expectErrorSatisfies(error -> assertThat(((ResponseStatusException) error).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST))
+            .verify();
+        verify(dispatcherHandler, never()).handle(any());
+    }
+
+    private MockServerWebExchange batch(String apiKey, String body) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/api/batch")
+            .header(API_KEY_HEADER, apiKey)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body));
+    }
+
+    private Map<String, JsonNode> results(MockServerWebExchange exchange) throws Exception {
+        Map<String, JsonNode> results = new HashMap<>();
+        for (String line : exchange.getResponse().getBodyAsString().block().lines().toList()) {
+            JsonNode result = objectMapper.readTree(line);
+            results.put(result.get("id").asText(), result);
+        }
+        return results;
+    }
+
+    /**
+     * Stands in for the routes: answers by path.
+     */
+    private static Mono<Void> backend(ServerWebExchange exchange) {
+        String path = exchange.getRequest().getPath().value();
+        ServerHttpResponse response = exchange.getResponse();
+        if (path.endsWith("/missing")) {
+            return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND));
+        }
+        if (path.endsWith("/broken")) {
+            return Mono.error(new IllegalStateException("connection reset"));
+        }
+        Mono<Void> delay = path.endsWith("/slow") ? Mono.delay(Duration.ofSeconds(1)).then() : Mono.empty();
+        return delay.then(exchange.getRequest().getBody().map(buffer -> buffer.toString(StandardCharsets.UTF_8))
+            .collectList()
+            .flatMap(body -> {
+                response.setStatusCode(HttpStatus.OK);
+                response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                String json = body.isEmpty()
+                    ? "{\"customerId\":\"" + path.substring(path.lastIndexOf('/') + 1) + "\"}"
+                    : "{\"echo\":" + new ObjectMapper().valueToTree(String.join("", body)) + "}";
+                return response.writeWith(Mono.just(response.bufferFactory()
+                    .wrap(json.getBytes(StandardCharsets.UTF_8))));
+            }));
+    }
+}
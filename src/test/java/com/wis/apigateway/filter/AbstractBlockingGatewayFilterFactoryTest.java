@@ -0,0 +1,103 @@
+package com.wis.apigateway.filter;
+
+import com.wis.apigateway.blocking.VirtualThreadBlockingExecutor;
+import com.wis.apigateway.config.BlockingExecutionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for AbstractBlockingGatewayFilterFactory.
+ * Tests that blocking work runs on a virtual thread and the chain continues off it.
+ */
+class AbstractBlockingGatewayFilterFactoryTest {
+
+    private VirtualThreadBlockingExecutor executor;
+    private final AtomicBoolean blockedOnVirtualThread = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        executor = new VirtualThreadBlockingExecutor(new BlockingExecutionProperties(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testApply_ShouldContinueChainOffVirtualThread() {
+        // Arrange
+        AtomicReference<Thread> chainThread = new AtomicReference<>();
+        GatewayFilterChain chain = exchange -> {
+            chainThread.set(Thread.currentThread());
+            return Mono.empty();
+        };
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/messages/1"));
+
+        // Act
+        StepVerifier.create(new TestFilterFactory(executor, true).apply(new Object()).filter(exchange, chain))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        // Assert
+        assertThat(blockedOnVirtualThread).isTrue();
+        assertThat(chainThread.get()).isNotNull();
+        assertThat(chainThread.get().isVirtual()).isFalse();
+    }
+
+    @Test
+    void testApply_WhenResponseCompleted_ShouldNotCallChain() {
+        // Arrange
+        AtomicBoolean chainCalled = new AtomicBoolean();
+        GatewayFilterChain chain = exchange -> {
+            chainCalled.set(true);
+            return Mono.empty();
+        };
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/messages/1"));
+
+        // Act
+        StepVerifier.create(new TestFilterFactory(executor, false).apply(new Object()).filter(exchange, chain))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        // Assert
+        assertThat(chainCalled).isFalse();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    private final class TestFilterFactory extends AbstractBlockingGatewayFilterFactory<Object> {
+
+        private final boolean proceed;
+
+        TestFilterFactory(VirtualThreadBlockingExecutor executor, boolean proceed) {
+            super(Object.class, executor);
+            this.proceed = proceed;
+        }
+
+        @Override
+        protected ServerWebExchange filterBlocking(ServerWebExchange exchange, Object config) throws Exception {
+            blockedOnVirtualThread.set(Thread.currentThread().isVirtual());
+            Thread.sleep(10);
+            if (proceed) {
+                return exchange;
+            }
+            exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.wis.apigateway.filter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ActuatorWriteGuardFilter.
+ * Tests that actuator reads stay open and actuator writes need the service key.
+ */
+class ActuatorWriteGuardFilterTest {
+
+    private static final String SERVICE_KEY = "test-service-key";
+
+    @Mock
+    private WebFilterChain mockChain;
+
+    private ActuatorWriteGuardFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mockChain.filter(any(ServerWebExchange.class))).thenReturn(Mono.empty());
+        filter = new ActuatorWriteGuardFilter("/actuator", SERVICE_KEY);
+    }
+
+    @Test
+    void testActuatorRead_ShouldPassWithoutKey() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/actuator/profiling").build());
+
+        // Act & Assert
+        StepVerifier.create(filter.filter(exchange, mockChain)).verifyComplete();
+        verify(mockChain).filter(exchange);
+    }
+
+    @Test
+    void testProfilingDumpWithoutKey_ShouldBeForbidden() {
+        assertForbidden(MockServerHttpRequest.post("/actuator/profiling").build());
+    }
+
+    @Test
+    void testRouteReloadWithoutKey_ShouldBeForbidden() {
+        assertForbidden(MockServerHttpRequest.post("/actuator/dynamicroutes").build());
+    }
+
+    @Test
+    void testCanaryWeightsWithoutKey_ShouldBeForbidden() {
+        assertForbidden(MockServerHttpRequest.post("/actuator/canary/subscriptions")
+            .header("Content-Type", "application/json")
+            .body("{\"weights\": \"blue=0,green=100\"}"));
+    }
+
+    @Test
+    void testWriteWithWrongKey_ShouldBeForbidden() {
+        assertForbidden(MockServerHttpRequest.post("/actuator/profiling")
+            .header("X-Service-Key", "wrong-key")
+            .build());
+    }
+
+    @Test
+    void testWriteWithServiceKey_ShouldPass() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/actuator/profiling")
+            .header("X-Service-Key", SERVICE_KEY)
+            .build());
+
+        // Act & Assert
+        StepVerifier.create(filter.filter(exchange, mockChain)).verifyComplete();
+        verify(mockChain).filter(exchange);
+    }
+
+    @Test
+    void testNoServiceKeyConfigured_ShouldRefuseAllWrites() {
+        // Arrange
+        filter = new ActuatorWriteGuardFilter("/actuator", "");
+
+        // Act & Assert
+        assertForbidden(MockServerHttpRequest.post("/actuator/profiling")
+            .header("X-Service-Key", "")
+            .build());
+    }
+
+    @Test
+    void testWriteOutsideActuator_ShouldPass() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.post("/api/register/users").build());
+
+        // Act & Assert
+        StepVerifier.create(filter.filter(exchange, mockChain)).verifyComplete();
+        verify(mockChain).filter(exchange);
+    }
+
+    private void assertForbidden(MockServerHttpRequest request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+
+        StepVerifier.create(filter.filter(exchange, mockChain)).verifyComplete();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        verify(mockChain, never()).filter(any(ServerWebExchange.class));
+    }
+}
@@ -0,0 +1,158 @@
+package com.wis.apigateway.filter;
+
+import com.wis.apigateway.filter.BudgetedRetryGatewayFilterFactory.Config;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for BudgetedRetryGatewayFilterFactory.
+ * Tests retry classification, status retries and the retry budget.
+ */
+class BudgetedRetryGatewayFilterFactoryTest {
+
+    private BudgetedRetryGatewayFilterFactory filterFactory;
+    private SimpleMeterRegistry meterRegistry;
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @Mock
+    private GatewayFilterChain mockChain;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        filterFactory = new BudgetedRetryGatewayFilterFactory(meterRegistry);
+    }
+
+    @Test
+    void testResetConnection_ShouldBeRetriedForGet() {
+        failFirstAttempts(1, new IOException("Connection reset by peer"));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/messages/1").build());
+
+        StepVerifier.create(filterFactory.apply(fastConfig()).filter(exchange, mockChain))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(meterRegistry.get("gateway.retry.ratio").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testResetConnection_ShouldNotBeRetriedForPost() {
+        failFirstAttempts(1, new IOException("Connection reset by peer"));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/messages").build());
+
+        StepVerifier.create(filterFactory.apply(fastConfig()).filter(exchange, mockChain))
+            .expectError(IOException.class)
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testConnectFailure_ShouldBeRetriedForPost() {
+        failFirstAttempts(1, new ConnectException("Connection refused"));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/webhooks/stripe").build());
+
+        StepVerifier.create(filterFactory.apply(fastConfig()).filter(exchange, mockChain))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testRetryableStatus_ShouldRetryThenPassLastResponseThrough() {
+        when(mockChain.filter(any(ServerWebExchange.class))).thenAnswer(invocation -> {
+            attempts.incrementAndGet();
+            ServerWebExchange exchange = invocation.getArgument(0);
+            exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            return Mono.empty();
+        });
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/messages/1").build());
+
+        StepVerifier.create(filterFactory.apply(fastConfig()).filter(exchange, mockChain))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(attempts.get()).isEqualTo(3);
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    void testEmptyBudget_ShouldNotRetry() {
+        failFirstAttempts(1, new ConnectException("Connection refused"));
+        Config config = fastConfig();
+        config.setBudgetRatio(0.0);
+        config.setBudgetBurst(0);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/messages/1").build());
+
+        StepVerifier.create(filterFactory.apply(config).filter(exchange, mockChain))
+            .expectError(ConnectException.class)
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.retry.budget.exhausted").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testRetriesExhausted_ShouldNotSpendBudgetOnFinalFailure() {
+        // Arrange - exactly enough budget for the two retries of one request
+        when(mockChain.filter(any(ServerWebExchange.class))).thenAnswer(invocation -> {
+            attempts.incrementAndGet();
+            return Mono.error(new ConnectException("Connection refused"));
+        });
+        Config config = fastConfig();
+        config.setBudgetRatio(0.0);
+        config.setBudgetBurst(2);
+        GatewayFilter filter = filterFactory.apply(config);
+
+        // Act
+        StepVerifier.create(filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/messages/1").build()), mockChain))
+            .expectError(ConnectException.class)
+            .verify(Duration.ofSeconds(5));
+
+        // Assert
+        assertThat(attempts.get()).isEqualTo(3);
+        assertThat(meterRegistry.get("gateway.retry.budget.exhausted").functionCounter().count()).isEqualTo(0.0);
+    }
+
+    private Config fastConfig() {
+        Config config = new Config();
+        config.setFirstBackoff(Duration.ofMillis(1));
+        config.setMaxBackoff(Duration.ofMillis(5));
+        return config;
+    }
+
+    private void failFirstAttempts(int failures, Exception error) {
+        when(mockChain.filter(any(ServerWebExchange.class))).thenAnswer(invocation -> {
+            if (attempts.incrementAndGet() <= failures) {
+                return Mono.error(error);
+            }
+            ServerWebExchange exchange = invocation.getArgument(0);
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.empty();
+        });
+    }
+}
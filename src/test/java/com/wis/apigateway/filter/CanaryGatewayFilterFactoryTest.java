@@ -0,0 +1,138 @@
+package com.wis.apigateway.filter;
+
+import com.wis.apigateway.canary.CanaryRegistry;
+import com.wis.apigateway.cluster.InvalidationBus;
+import com.wis.apigateway.config.CanaryProperties;
+import com.wis.apigateway.config.LatencyProperties;
+import com.wis.apigateway.metrics.LatencyHistogramRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Unit tests for CanaryGatewayFilterFactory.
+ * Tests that requests are routed to the selected version and their outcome is recorded.
+ */
+class CanaryGatewayFilterFactoryTest {
+
+    private CanaryRegistry registry;
+    private GatewayFilter filter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @Mock
+    private GatewayFilterChain mockChain;
+
+    @Mock
+    private InvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        CanaryProperties properties = new CanaryProperties();
+        CanaryProperties.Route route = new CanaryProperties.Route();
+        route.setBaseline("blue");
+        route.getVersions().put("blue", version("http://localhost:8082", 0));
+        route.getVersions().put("green", version("http://localhost:9082", 100));
+        properties.getRoutes().put("subscriptions", route);
+
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new CanaryRegistry(properties,
+            new LatencyHistogramRegistry(new LatencyProperties(), meterRegistry), bus, meterRegistry);
+        filter = new CanaryGatewayFilterFactory(registry).apply(new CanaryGatewayFilterFactory.Config());
+    }
+
+    @Test
+    void testFilter_SplitRoute_ShouldReplaceRouteUri() {
+        // Arrange
+        ServerWebExchange exchange = exchange("subscriptions");
+        Route matched = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        AtomicReference<Route> routed = new AtomicReference<>();
+        when(mockChain.filter(any(ServerWebExchange.class))).thenAnswer(invocation -> {
+            ServerWebExchange forwarded = invocation.getArgument(0);
+            routed.set(forwarded.getAttribute(GATEWAY_ROUTE_ATTR));
+            return Mono.empty();
+        });
+
+        // Act & Assert
+        StepVerifier.create(filter.filter(exchange, mockChain))
+            .verifyComplete();
+
+        assertThat(routed.get().getId()).isEqualTo("subscriptions");
+        assertThat(routed.get().getUri()).isEqualTo(URI.create("http://localhost:9082"));
+        assertThat((String) exchange.getAttribute(CanaryGatewayFilterFactory.VERSION_ATTR)).isEqualTo("green");
+        assertThat(registry.get("subscriptions").route(matched, 1)).isSameAs(routed.get());
+    }
+
+    @Test
+    void testFilter_ServerError_ShouldRecordFailure() {
+        // Arrange
+        ServerWebExchange exchange = exchange("subscriptions");
+        when(mockChain.filter(any(ServerWebExchange.class))).thenAnswer(invocation -> {
+            exchange.getResponse().setStatusCode(HttpStatus.BAD_GATEWAY);
+            return Mono.empty();
+        });
+
+        // Act & Assert
+        StepVerifier.create(filter.filter(exchange, mockChain))
+            .verifyComplete();
+
+        assertThat(meterRegistry.get("gateway.canary.requests")
+            .tag("version", "green").tag("outcome", "error").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testFilter_RouteNotSplit_ShouldPassThrough() {
+        // Arrange
+        ServerWebExchange exchange = exchange("messages");
+        Route original = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        when(mockChain.filter(any(ServerWebExchange.class))).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(filter.filter(exchange, mockChain))
+            .verifyComplete();
+
+        assertThat((Route) exchange.getAttribute(GATEWAY_ROUTE_ATTR)).isSameAs(original);
+        assertThat((Object) exchange.getAttribute(CanaryGatewayFilterFactory.VERSION_ATTR)).isNull();
+    }
+
+    private static MockServerWebExchange exchange(String routeId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/" + routeId + "/1").header("X-API-Key", "test-key"));
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, route(routeId));
+        return exchange;
+    }
+
+    private static Route route(String routeId) {
+        return Route.async()
+            .id(routeId)
+            .uri(URI.create("http://localhost:8082"))
+            .predicate(exchange -> true)
+            .build();
+    }
+
+    private static CanaryProperties.Version version(String uri, int weight) {
+        CanaryProperties.Version version = new CanaryProperties.Version();
+        version.setUri(URI.create(uri));
+        version.setWeight(weight);
+        return version;
+    }
+}
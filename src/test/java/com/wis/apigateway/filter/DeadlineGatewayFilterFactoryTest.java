@@ -0,0 +1,198 @@
+package com.wis.apigateway.filter;
+
+import com.wis.apigateway.config.LatencyProperties;
+import com.wis.apigateway.filter.DeadlineGatewayFilterFactory.Config;
+import com.wis.apigateway.metrics.LatencyHistogramRegistry;
+import com.wis.apigateway.metrics.RollingLatencyHistogram;
+import com.wis.apigateway.resilience.Deadline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for DeadlineGatewayFilterFactory.
+ * Tests route and client deadlines, cancellation, the outbound header and adaptive timeouts.
+ */
+class DeadlineGatewayFilterFactoryTest {
+
+    private DeadlineGatewayFilterFactory filterFactory;
+    private LatencyHistogramRegistry histograms;
+    private SimpleMeterRegistry meterRegistry;
+
+    @Mock
+    private GatewayFilterChain mockChain;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        histograms = new LatencyHistogramRegistry(new LatencyProperties(), meterRegistry);
+        filterFactory = new DeadlineGatewayFilterFactory(histograms, meterRegistry);
+    }
+
+    @Test
+    void testSlowUpstream_ShouldCancelAndAnswerGatewayTimeout() {
+        // Arrange
+        Config config = new Config();
+        config.setTimeout(Duration.ofMillis(100));
+        AtomicBoolean cancelled = new AtomicBoolean();
+        when(mockChain.filter(any(ServerWebExchange.class)))
+            .thenReturn(Mono.<Void>never().doOnCancel(() -> cancelled.set(true)));
+        MockServerWebExchange exchange = exchangeFor(MockServerHttpRequest.get("/api/messages/1"));
+
+        // Act & Assert
+        StepVerifier.create(filterFactory.apply(config).filter(exchange, mockChain))
+            .expectErrorSatisfies(error -> assertThat(error)
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(HttpStatus.GATEWAY_TIMEOUT))
+            .verify(Duration.ofSeconds(5));
+        assertThat(cancelled).isTrue();
+        assertThat(exceeded("route")).isEqualTo(1.0);
+    }
+
+    @Test
+    void testShorterClientDeadline_ShouldWin() {
+        // Arrange
+        Config config = new Config();
+        config.setTimeout(Duration.ofSeconds(30));
+        when(mockChain.filter(any(ServerWebExchange.class))).thenReturn(Mono.never());
+        MockServerWebExchange exchange = exchangeFor(MockServerHttpRequest.get("/api/messages/1")
+            .header(Deadline.HEADER, "50"));
+        long start = System.nanoTime();
+
+        // Act & Assert
+        StepVerifier.create(filterFactory.apply(config).filter(exchange, mockChain))
+            .expectError(ResponseStatusException.class)
+            .verify(Duration.ofSeconds(5));
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(exceeded("client")).isEqualTo(1.0);
+    }
+
+    @Test
+    void testExpiredClientDeadline_ShouldNotCallUpstream() {
+        // Arrange
+        MockServerWebExchange exchange = exchangeFor(MockServerHttpRequest.get("/api/messages/1")
+            .header(Deadline.HEADER, "0"));
+
+        // Act & Assert
+        StepVerifier.create(filterFactory.apply(new Config()).filter(exchange, mockChain))
+            .expectError(ResponseStatusException.class)
+            .verify(Duration.ofSeconds(5));
+        verify(mockChain, never()).filter(any(ServerWebExchange.class));
+    }
+
+    @Test
+    void testFastUpstream_ShouldSendRemainingTimeDownstream() {
+        // Arrange
+        Config config = new Config();
+        config.setTimeout(Duration.ofSeconds(2));
+        OutboundHeadersFilter outboundHeaders = new OutboundHeadersFilter();
+        HttpHeaders[] sent = new HttpHeaders[1];
+        when(mockChain.filter(any(ServerWebExchange.class))).thenAnswer(invocation -> {
+            ServerWebExchange forwarded = invocation.getArgument(0);
+            sent[0] = outboundHeaders.filter(forwarded.getRequest().getHeaders(), forwarded);
+            return Mono.empty();
+        });
+        MockServerWebExchange exchange = exchangeFor(MockServerHttpRequest.get("/api/messages/1"));
+
+        // Act
+        StepVerifier.create(filterFactory.apply(config).filter(exchange, mockChain))
+            .verifyComplete();
+
+        // Assert
+        long remaining = Long.parseLong(sent[0].getFirst(Deadline.HEADER));
+        assertThat(remaining).isBetween(1L, 2000L);
+        assertThat(exchange.getAttributes()).containsKey(Deadline.ATTR);
+    }
+
+    @Test
+    void testInvalidClientDeadline_ShouldUseRouteTimeout() {
+        // Arrange
+        when(mockChain.filter(any(ServerWebExchange.class))).thenReturn(Mono.empty());
+        MockServerWebExchange exchange = exchangeFor(MockServerHttpRequest.get("/api/messages/1")
+            .header(Deadline.HEADER, "soon"));
+
+        // Act & Assert
+        StepVerifier.create(filterFactory.apply(new Config()).filter(exchange, mockChain))
+            .verifyComplete();
+        Deadline deadline = exchange.getAttribute(Deadline.ATTR);
+        assertThat(deadline.remaining()).isGreaterThan(Duration.ofSeconds(9));
+    }
+
+    @Test
+    void testRouteTimeout_Adaptive_ShouldFollowPercentileWithinBounds() {
+        // Arrange
+        Config config = new Config();
+        config.setAdaptive(true);
+        config.setMinSamples(10);
+        config.setTimeout(Duration.ofSeconds(5));
+        config.setMinTimeout(Duration.ofMillis(100));
+        RollingLatencyHistogram histogram = histograms.get("messages");
+
+        // Act & Assert: too few samples, the configured timeout applies
+        assertThat(filterFactory.routeTimeout(histogram, config)).isEqualTo(Duration.ofSeconds(5));
+
+        for (int i = 0; i < 100; i++) {
+            histogram.record(Duration.ofMillis(200).toNanos());
+        }
+        histogram.rotate();
+        assertThat(filterFactory.routeTimeout(histogram, config).toMillis()).isBetween(390L, 410L);
+
+        config.setMultiplier(100);
+        assertThat(filterFactory.routeTimeout(histogram, config)).isEqualTo(Duration.ofSeconds(5));
+
+        config.setMultiplier(0.1);
+        assertThat(filterFactory.routeTimeout(histogram, config)).isEqualTo(Duration.ofMillis(100));
+    }
+
+    @Test
+    void testParseMillis_ShouldRejectMalformedValues() {
+        assertThat(Deadline.parseMillis("1500")).isEqualTo(1500);
+        assertThat(Deadline.parseMillis(null)).isEqualTo(-1);
+        assertThat(Deadline.parseMillis("-5")).isEqualTo(-1);
+        assertThat(Deadline.parseMillis("1.5")).isEqualTo(-1);
+        assertThat(Deadline.parseMillis("99999999999999999999")).isEqualTo(-1);
+    }
+
+    private double exceeded(String source) {
+        return meterRegistry.get("gateway.deadline.exceeded")
+            .tag("route", "messages")
+            .tag("source", source)
+            .counter()
+            .count();
+    }
+
+    private MockServerWebExchange exchangeFor(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request.build());
+        Route route = Route.async()
+            .id("messages")
+            .uri("http://localhost:8083")
+            .predicate(e -> true)
+            .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+}
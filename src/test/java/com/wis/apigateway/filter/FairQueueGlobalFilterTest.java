@@ -0,0 +1,135 @@
+package com.wis.apigateway.filter;
+
+import com.wis.apigateway.config.ApiKeyTierProperties;
+import com.wis.apigateway.config.FairQueueProperties;
+import com.wis.apigateway.config.OverloadProperties;
+import com.wis.apigateway.overload.FairQueue;
+import com.wis.apigateway.overload.RequestPriority;
+import com.wis.apigateway.overload.RequestPriorityResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for FairQueueGlobalFilter.
+ * Tests the pass-through paths and the responses for requests the queue rejects.
+ */
+class FairQueueGlobalFilterTest {
+
+    private FairQueueProperties properties;
+    private OverloadProperties overloadProperties;
+
+    @Mock
+    private GatewayFilterChain mockChain;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new FairQueueProperties();
+        properties.setMaxConcurrency(1);
+        properties.setMaxWait(Duration.ofMillis(50));
+        overloadProperties = new OverloadProperties();
+        overloadProperties.getRoutes().put("stripe-webhook", RequestPriority.CRITICAL);
+        when(mockChain.filter(any(ServerWebExchange.class))).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void testFreeSlot_ShouldPassThroughAndReleaseIt() {
+        // Arrange
+        FairQueue queue = new FairQueue(properties, new SimpleMeterRegistry());
+        FairQueueGlobalFilter filter = filterFor(queue);
+        MockServerWebExchange exchange = exchangeWithKey("client-key");
+
+        // Act & Assert
+        StepVerifier.create(filter.filter(exchange, mockChain)).verifyComplete();
+        verify(mockChain).filter(exchange);
+        assertThat(queue.inFlight()).isZero();
+    }
+
+    @Test
+    void testNoSlotInTime_ShouldAnswerServiceUnavailable() {
+        // Arrange
+        FairQueue queue = new FairQueue(properties, new SimpleMeterRegistry());
+        FairQueueGlobalFilter filter = filterFor(queue);
+        assertThat(queue.tryAcquire()).isTrue();
+        MockServerWebExchange exchange = exchangeWithKey("client-key");
+
+        // Act & Assert
+        StepVerifier.create(filter.filter(exchange, mockChain)).verifyComplete();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        verify(mockChain, never()).filter(any(ServerWebExchange.class));
+    }
+
+    @Test
+    void testKeyOverLimit_ShouldAnswerTooManyRequests() {
+        // Arrange
+        properties.setMaxQueuedPerKey(1);
+        properties.setMaxWait(Duration.ofSeconds(5));
+        FairQueue queue = new FairQueue(properties, new SimpleMeterRegistry());
+        FairQueueGlobalFilter filter = filterFor(queue);
+        assertThat(queue.tryAcquire()).isTrue();
+        filter.filter(exchangeWithKey("bursting-key"), mockChain).subscribe();
+        MockServerWebExchange exchange = exchangeWithKey("bursting-key");
+
+        // Act & Assert
+        StepVerifier.create(filter.filter(exchange, mockChain)).verifyComplete();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        queue.release();
+        verify(mockChain).filter(any(ServerWebExchange.class));
+    }
+
+    @Test
+    void testCriticalRouteWithoutSlot_ShouldPassWithoutQueueing() {
+        // Arrange
+        FairQueue queue = new FairQueue(properties, new SimpleMeterRegistry());
+        FairQueueGlobalFilter filter = filterFor(queue);
+        assertThat(queue.tryAcquire()).isTrue();
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.post("/webhooks/stripe").build());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+            .id("stripe-webhook")
+            .uri("http://localhost:8080")
+            .predicate(e -> true)
+            .build());
+
+        // Act & Assert
+        StepVerifier.create(filter.filter(exchange, mockChain)).verifyComplete();
+        verify(mockChain).filter(exchange);
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+        assertThat(queue.queued()).isZero();
+        assertThat(queue.inFlight()).isEqualTo(1);
+    }
+
+    private FairQueueGlobalFilter filterFor(FairQueue queue) {
+        ApiKeyTierResolver tierResolver = new ApiKeyTierResolver(new ApiKeyTierProperties());
+        return new FairQueueGlobalFilter(queue, new ApiKeyResolver(),
+            tierResolver, new RequestPriorityResolver(overloadProperties, tierResolver), overloadProperties);
+    }
+
+    private static MockServerWebExchange exchangeWithKey(String apiKey) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/api/register/users")
+            .header("X-API-Key", apiKey)
+            .build());
+    }
+}
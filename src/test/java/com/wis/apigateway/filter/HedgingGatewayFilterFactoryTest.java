@@ -0,0 +1,202 @@
+package com.wis.apigateway.filter;
+
+import com.wis.apigateway.config.FairQueueProperties;
+import com.wis.apigateway.config.LatencyProperties;
+import com.wis.apigateway.filter.HedgingGatewayFilterFactory.Config;
+import com.wis.apigateway.metrics.LatencyHistogramRegistry;
+import com.wis.apigateway.overload.FairQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Unit tests for HedgingGatewayFilterFactory.
+ * Tests hedging against a stub backend whose first response is slow.
+ */
+class HedgingGatewayFilterFactoryTest {
+
+    private HedgingGatewayFilterFactory filterFactory;
+    private FairQueue fairQueue;
+    private LatencyHistogramRegistry latencyHistograms;
+    private DisposableServer backend;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Mock
+    private GatewayFilterChain mockChain;
+
+    @Mock
+    private ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(headersFiltersProvider.getIfAvailable()).thenReturn(List.of());
+        when(mockChain.filter(any(ServerWebExchange.class))).thenReturn(Mono.empty());
+
+        // First call is slow, every later call answers immediately
+        backend = HttpServer.create()
+            .port(0)
+            .route(routes -> routes.get("/api/subscriptions/1", (request, response) -> {
+                int attempt = calls.incrementAndGet();
+                Duration delay = attempt == 1 ? Duration.ofMillis(1500) : Duration.ZERO;
+                return Mono.delay(delay)
+                    .then(response.sendString(Mono.just("attempt-" + attempt)).then());
+            }))
+            .bindNow();
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FairQueueProperties fairQueueProperties = new FairQueueProperties();
+        fairQueueProperties.setMaxConcurrency(1);
+        fairQueue = new FairQueue(fairQueueProperties, meterRegistry);
+        latencyHistograms = new LatencyHistogramRegistry(new LatencyProperties(), meterRegistry);
+        filterFactory = new HedgingGatewayFilterFactory(
+            HttpClient.create(),
+            headersFiltersProvider,
+            latencyHistograms,
+            meterRegistry,
+            fairQueue);
+    }
+
+    @AfterEach
+    void tearDown() {
+        backend.disposeNow();
+    }
+
+    @Test
+    void testSlowPrimary_ShouldReturnHedgedResponse() {
+        Config config = new Config();
+        config.setMaxDelay(Duration.ofMillis(50));
+        MockServerWebExchange exchange = exchangeFor(MockServerHttpRequest.get("/api/subscriptions/1"));
+
+        GatewayFilter filter = filterFactory.apply(config);
+        long start = System.nanoTime();
+
+        StepVerifier.create(filter.filter(exchange, mockChain))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        assertThat(elapsedMillis).isLessThan(1000);
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("attempt-2");
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(fairQueue.inFlight()).isZero();
+        // The cancelled slow primary counts as well as the winning hedge
+        assertThat(latencyHistograms.get("localhost:GET").count()).isEqualTo(2);
+        verify(mockChain, never()).filter(any(ServerWebExchange.class));
+    }
+
+    @Test
+    void testExhaustedBudget_ShouldWaitForPrimary() {
+        Config config = new Config();
+        config.setMaxDelay(Duration.ofMillis(50));
+        config.setMaxExtraLoad(0.0);
+        config.setBurst(0);
+        MockServerWebExchange exchange = exchangeFor(MockServerHttpRequest.get("/api/subscriptions/1"));
+
+        GatewayFilter filter = filterFactory.apply(config);
+
+        StepVerifier.create(filter.filter(exchange, mockChain))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("attempt-1");
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testNoFreeSlot_ShouldWaitForPrimary() {
+        Config config = new Config();
+        config.setMaxDelay(Duration.ofMillis(50));
+        MockServerWebExchange exchange = exchangeFor(MockServerHttpRequest.get("/api/subscriptions/1"));
+        // The primary's slot, as taken by FairQueueGlobalFilter
+        assertThat(fairQueue.tryAcquire()).isTrue();
+
+        GatewayFilter filter = filterFactory.apply(config);
+
+        StepVerifier.create(filter.filter(exchange, mockChain))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("attempt-1");
+        assertThat(calls.get()).isEqualTo(1);
+        fairQueue.release();
+        assertThat(fairQueue.inFlight()).isZero();
+    }
+
+    @Test
+    void testRouteResponseTimeout_ShouldAnswerGatewayTimeout() {
+        Config config = new Config();
+        config.setMaxExtraLoad(0.0);
+        config.setBurst(0);
+        MockServerWebExchange exchange = exchangeFor(MockServerHttpRequest.get("/api/subscriptions/1"));
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, Route.async()
+            .id("subscriptions")
+            .uri("http://localhost:" + backend.port())
+            .predicate(e -> true)
+            .metadata(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, 200)
+            .build());
+
+        GatewayFilter filter = filterFactory.apply(config);
+
+        StepVerifier.create(filter.filter(exchange, mockChain))
+            .expectErrorSatisfies(error -> assertThat(((ResponseStatusException) error).getStatusCode())
+                .isEqualTo(HttpStatus.GATEWAY_TIMEOUT))
+            .verify(Duration.ofSeconds(5));
+        assertThat(latencyHistograms.get("subscriptions:GET").count()).isEqualTo(1);
+    }
+
+    @Test
+    void testNonIdempotentMethod_ShouldPassThrough() {
+        MockServerWebExchange exchange = exchangeFor(MockServerHttpRequest.post("/api/subscriptions/1"));
+
+        GatewayFilter filter = filterFactory.apply(new Config());
+
+        StepVerifier.create(filter.filter(exchange, mockChain))
+            .expectComplete()
+            .verify();
+
+        verify(mockChain).filter(exchange);
+        assertThat(calls.get()).isZero();
+    }
+
+    private MockServerWebExchange exchangeFor(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request.build());
+        URI upstream = URI.create("http://localhost:" + backend.port()
+            + exchange.getRequest().getURI().getRawPath());
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, upstream);
+        return exchange;
+    }
+}
@@ -0,0 +1,228 @@
+package com.wis.apigateway.filter;
+
+import com.wis.apigateway.config.IdempotencyProperties;
+import com.wis.apigateway.filter.IdempotencyGatewayFilterFactory.Config;
+import com.wis.apigateway.idempotency.InMemoryIdempotencyStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for IdempotencyGatewayFilterFactory.
+ * Tests first execution, replay, waiting duplicates, key misuse and unstored responses.
+ */
+class IdempotencyGatewayFilterFactoryTest {
+
+    private InMemoryIdempotencyStore store;
+    private IdempotencyProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayFilter filter;
+
+    @Mock
+    private GatewayFilterChain mockChain;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new IdempotencyProperties();
+        properties.setLockTimeout(Duration.ofSeconds(2));
+        store = new InMemoryIdempotencyStore(100);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new IdempotencyGatewayFilterFactory(store, properties, meterRegistry).apply(new Config());
+    }
+
+    @Test
+    void testRepeatedKey_ShouldReplayStoredResponse() {
+        // Arrange
+        when(mockChain.filter(any(ServerWebExchange.class)))
+            .thenAnswer(invocation -> respond(invocation.getArgument(0), HttpStatus.CREATED, "{\"id\":1}"));
+        MockServerWebExchange first = exchangeFor(post("/api/register/users", "key-1"));
+        MockServerWebExchange second = exchangeFor(post("/api/register/users", "key-1"));
+
+        // Act
+        StepVerifier.create(filter.filter(first, mockChain)).verifyComplete();
+        StepVerifier.create(filter.filter(second, mockChain)).verifyComplete();
+
+        // Assert
+        verify(mockChain, times(1)).filter(any(ServerWebExchange.class));
+        assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("{\"id\":1}");
+        assertThat(second.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(second.getResponse().getHeaders().getFirst(IdempotencyGatewayFilterFactory.REPLAYED_HEADER))
+            .isEqualTo("true");
+        assertThat(first.getResponse().getHeaders().containsKey(IdempotencyGatewayFilterFactory.REPLAYED_HEADER))
+            .isFalse();
+        assertThat(outcome("replayed")).isEqualTo(1.0);
+    }
+
+    @Test
+    void testConcurrentDuplicate_ShouldWaitForFirstResponse() {
+        // Arrange
+        Sinks.Empty<Void> upstream = Sinks.empty();
+        when(mockChain.filter(any(ServerWebExchange.class))).thenAnswer(invocation ->
+            upstream.asMono().then(Mono.defer(() -> respond(invocation.getArgument(0), HttpStatus.OK, "done"))));
+        MockServerWebExchange first = exchangeFor(post("/api/register/users", "key-2"));
+        MockServerWebExchange second = exchangeFor(post("/api/register/users", "key-2"));
+
+        // Act
+        filter.filter(first, mockChain).subscribe();
+        Mono<Void> secondResult = filter.filter(second, mockChain);
+
+        // Assert
+        StepVerifier.create(secondResult)
+            .then(upstream::tryEmitEmpty)
+            .verifyComplete();
+        verify(mockChain, times(1)).filter(any(ServerWebExchange.class));
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("done");
+    }
+
+    @Test
+    void testKeyReusedOnOtherPath_ShouldAnswerUnprocessable() {
+        // Arrange
+        when(mockChain.filter(any(ServerWebExchange.class)))
+            .thenAnswer(invocation -> respond(invocation.getArgument(0), HttpStatus.CREATED, "{}"));
+        StepVerifier.create(filter.filter(exchangeFor(post("/api/register/users", "key-3")), mockChain))
+            .verifyComplete();
+
+        // Act & Assert
+        StepVerifier.create(filter.filter(exchangeFor(post("/api/register/devices", "key-3")), mockChain))
+            .expectErrorSatisfies(error -> assertThat(((ResponseStatusException) error).getStatusCode())
+                .isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY))
+            .verify();
+        assertThat(outcome("mismatch")).isEqualTo(1.0);
+    }
+
+    @Test
+    void testServerError_ShouldNotBeStored() {
+        // Arrange
+        when(mockChain.filter(any(ServerWebExchange.class)))
+            .thenAnswer(invocation -> respond(invocation.getArgument(0), HttpStatus.BAD_GATEWAY, "down"));
+
+        // Act
+        StepVerifier.create(filter.filter(exchangeFor(post("/api/register/users", "key-4")), mockChain))
+            .verifyComplete();
+        StepVerifier.create(filter.filter(exchangeFor(post("/api/register/users", "key-4")), mockChain))
+            .verifyComplete();
+
+        // Assert
+        verify(mockChain, times(2)).filter(any(ServerWebExchange.class));
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void testFailedRequest_ShouldReleaseKey() {
+        // Arrange
+        when(mockChain.filter(any(ServerWebExchange.class)))
+            .thenReturn(Mono.error(new IllegalStateException("connection reset")));
+
+        // Act
+        StepVerifier.create(filter.filter(exchangeFor(post("/api/register/users", "key-5")), mockChain))
+            .expectError(IllegalStateException.class)
+            .verify();
+
+        // Assert
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void testSameKeyFromOtherApiKey_ShouldRunAgain() {
+        // Arrange
+        when(mockChain.filter(any(ServerWebExchange.class)))
+            .thenAnswer(invocation -> respond(invocation.getArgument(0), HttpStatus.CREATED, "{}"));
+
+        // Act
+        StepVerifier.create(filter.filter(exchangeFor(post("/api/register/users", "key-6")), mockChain))
+            .verifyComplete();
+        StepVerifier.create(filter.filter(exchangeFor(MockServerHttpRequest.post("/api/register/users")
+                .header("X-API-Key", "other-client")
+                .header(IdempotencyGatewayFilterFactory.HEADER, "key-6")), mockChain))
+            .verifyComplete();
+
+        // Assert
+        verify(mockChain, times(2)).filter(any(ServerWebExchange.class));
+    }
+
+    @Test
+    void testInvalidKey_ShouldAnswerBadRequest() {
+        // Arrange
+        MockServerWebExchange exchange = exchangeFor(post("/api/register/users", "has space"));
+
+        // Act & Assert
+        StepVerifier.create(filter.filter(exchange, mockChain))
+            .expectErrorSatisfies(error -> assertThat(((ResponseStatusException) error).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST))
+            .verify();
+        assertThat(IdempotencyGatewayFilterFactory.isValidKey("a".repeat(255))).isTrue();
+        assertThat(IdempotencyGatewayFilterFactory.isValidKey("a".repeat(256))).isFalse();
+        assertThat(IdempotencyGatewayFilterFactory.isValidKey("")).isFalse();
+    }
+
+    @Test
+    void testRequestWithoutKey_ShouldPassThrough() {
+        // Arrange
+        when(mockChain.filter(any(ServerWebExchange.class))).thenReturn(Mono.empty());
+        MockServerWebExchange exchange = exchangeFor(MockServerHttpRequest.post("/api/register/users"));
+
+        // Act & Assert
+        StepVerifier.create(filter.filter(exchange, mockChain)).verifyComplete();
+        assertThat(store.size()).isZero();
+    }
+
+    private static Mono<Void> respond(ServerWebExchange exchange, HttpStatus status, String body) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.fromSupplier(() ->
+            response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static MockServerHttpRequest.BaseBuilder<?> post(String path, String key) {
+        return MockServerHttpRequest.post(path)
+            .header("X-API-Key", "client-key")
+            .header(IdempotencyGatewayFilterFactory.HEADER, key);
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("gateway.idempotency.requests")
+            .tag("route", "registration")
+            .tag("outcome", outcome)
+            .counter()
+            .count();
+    }
+
+    private MockServerWebExchange exchangeFor(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request.build());
+        Route route = Route.async()
+            .id("registration")
+            .uri("http://localhost:8081")
+            .predicate(e -> true)
+            .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+}
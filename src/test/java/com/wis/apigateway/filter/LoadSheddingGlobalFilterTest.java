@@ -0,0 +1,146 @@
+package com.wis.apigateway.filter;
+
+import com.wis.apigateway.config.ApiKeyTierProperties;
+import com.wis.apigateway.config.OverloadProperties;
+import com.wis.apigateway.overload.OverloadController;
+import com.wis.apigateway.overload.RequestPriority;
+import com.wis.apigateway.overload.RequestPriorityResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for LoadSheddingGlobalFilter.
+ * Tests that overload sheds bulk reads first and never sheds webhooks.
+ */
+class LoadSheddingGlobalFilterTest {
+
+    private LoadSheddingGlobalFilter filter;
+
+    @Mock
+    private OverloadController overloadController;
+
+    @Mock
+    private GatewayFilterChain mockChain;
+
+    private static final String API_KEY_HEADER = "X-API-Key";
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        OverloadProperties properties = new OverloadProperties();
+        properties.getRoutes().put("stripe-webhook", RequestPriority.CRITICAL);
+        properties.getRoutes().put("messages:GET", RequestPriority.LOW);
+        properties.getTiers().put("bulk", RequestPriority.LOW);
+
+        ApiKeyTierProperties tierProperties = new ApiKeyTierProperties();
+        tierProperties.getTiers().put("bulk", "bulk-key-1, bulk-key-2");
+
+        RequestPriorityResolver resolver =
+            new RequestPriorityResolver(properties, new ApiKeyTierResolver(tierProperties));
+
+        filter = new LoadSheddingGlobalFilter(
+            overloadController, resolver, properties, new SimpleMeterRegistry());
+
+        when(mockChain.filter(any(ServerWebExchange.class))).thenReturn(Mono.empty());
+        when(overloadController.shouldShed(any(RequestPriority.class)))
+            .thenAnswer(invocation -> invocation.<RequestPriority>getArgument(0).isShedAt(1));
+    }
+
+    @Test
+    void testNotOverloaded_ShouldPassThrough() {
+        when(overloadController.isOverloaded()).thenReturn(false);
+        MockServerWebExchange exchange = exchangeFor("messages", MockServerHttpRequest.get("/api/messages/1"));
+
+        StepVerifier.create(filter.filter(exchange, mockChain))
+            .expectComplete()
+            .verify();
+
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+        verify(mockChain).filter(exchange);
+    }
+
+    @Test
+    void testOverloaded_ShouldShedBulkReads() {
+        when(overloadController.isOverloaded()).thenReturn(true);
+        MockServerWebExchange exchange = exchangeFor("messages", MockServerHttpRequest.get("/api/messages/1"));
+
+        StepVerifier.create(filter.filter(exchange, mockChain))
+            .expectComplete()
+            .verify();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        verify(mockChain, never()).filter(any(ServerWebExchange.class));
+    }
+
+    @Test
+    void testOverloaded_ShouldKeepWritesOnSameRoute() {
+        when(overloadController.isOverloaded()).thenReturn(true);
+        MockServerWebExchange exchange = exchangeFor("messages", MockServerHttpRequest.post("/api/messages"));
+
+        StepVerifier.create(filter.filter(exchange, mockChain))
+            .expectComplete()
+            .verify();
+
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+    }
+
+    @Test
+    void testOverloaded_ShouldNeverShedWebhooks() {
+        when(overloadController.isOverloaded()).thenReturn(true);
+        when(overloadController.shouldShed(any(RequestPriority.class)))
+            .thenAnswer(invocation -> invocation.<RequestPriority>getArgument(0).isShedAt(3));
+        MockServerWebExchange exchange = exchangeFor("stripe-webhook", MockServerHttpRequest.post("/webhooks/stripe"));
+
+        StepVerifier.create(filter.filter(exchange, mockChain))
+            .expectComplete()
+            .verify();
+
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+        verify(mockChain).filter(exchange);
+    }
+
+    @Test
+    void testOverloaded_ShouldShedBulkTierKeys() {
+        when(overloadController.isOverloaded()).thenReturn(true);
+        MockServerWebExchange exchange = exchangeFor("subscriptions",
+            MockServerHttpRequest.post("/api/subscriptions").header(API_KEY_HEADER, "bulk-key-2"));
+
+        StepVerifier.create(filter.filter(exchange, mockChain))
+            .expectComplete()
+            .verify();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private MockServerWebExchange exchangeFor(String routeId, MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request.build());
+        Route route = Route.async()
+            .id(routeId)
+            .uri("http://localhost:8080")
+            .predicate(e -> true)
+            .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+}
@@ -0,0 +1,216 @@
+package com.wis.apigateway.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.wis.apigateway.filter.StandardPipelineGatewayFilterFactory.Config;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for StandardPipelineGatewayFilterFactory.
+ * Tests that the fused pipeline behaves like ApiKeyAuth, Logging and ServiceKey in sequence.
+ */
+class StandardPipelineGatewayFilterFactoryTest {
+
+    private static final String API_KEY_HEADER = "X-API-Key";
+    private static final String VALID_API_KEY = "test-key-12345";
+    private static final InetSocketAddress REMOTE_ADDRESS = new InetSocketAddress("127.0.0.1", 12345);
+
+    private StandardPipelineGatewayFilterFactory filterFactory;
+
+    @Mock
+    private GatewayFilterChain mockChain;
+
+    private ListAppender<ILoggingEvent> accessLog;
+    private ListAppender<ILoggingEvent> authLog;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        filterFactory = new StandardPipelineGatewayFilterFactory();
+        ReflectionTestUtils.setField(filterFactory, "apiKeys", " test-key-12345 , another-valid-key ");
+        ReflectionTestUtils.setField(filterFactory, "serviceKey", "test-service-key");
+
+        accessLog = attach(LoggingGatewayFilterFactory.class);
+        authLog = attach(ApiKeyAuthGatewayFilterFactory.class);
+
+        when(mockChain.filter(any(ServerWebExchange.class)))
+            .thenAnswer(invocation -> {
+                ServerWebExchange exchange = invocation.getArgument(0);
+                exchange.getResponse().setStatusCode(HttpStatus.OK);
+                return Mono.empty();
+            });
+    }
+
+    @AfterEach
+    void tearDown() {
+        detach(LoggingGatewayFilterFactory.class, accessLog);
+        detach(ApiKeyAuthGatewayFilterFactory.class, authLog);
+    }
+
+    @Test
+    void testValidApiKey_ShouldLogAndAddServiceKey() {
+        // Arrange
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/test")
+            .header(API_KEY_HEADER, VALID_API_KEY));
+        GatewayFilter filter = filterFactory.apply(new Config());
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, mockChain))
+            .expectComplete()
+            .verify();
+
+        // Assert
+        verify(mockChain).filter(exchange);
+        assertThat(accessLog.list).hasSize(2);
+        assertThat(accessLog.list.get(0).getFormattedMessage())
+            .contains("Request:").contains("GET").contains("/api/test").contains("127.0.0.1");
+        assertThat(accessLog.list.get(1).getFormattedMessage())
+            .contains("Response:").contains("GET").contains("/api/test").contains("200").contains("Duration:");
+        assertThat(HttpHeadersFilter.filterRequest(List.of(new OutboundHeadersFilter()), exchange)
+            .getFirst("X-Service-Key")).isEqualTo("test-service-key");
+    }
+
+    @Test
+    void testInvalidApiKey_ShouldReturnUnauthorizedWithoutAccessLog() {
+        // Arrange
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/test")
+            .header(API_KEY_HEADER, "invalid-key-00000"));
+        GatewayFilter filter = filterFactory.apply(new Config());
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, mockChain))
+            .expectComplete()
+            .verify();
+
+        // Assert
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verify(mockChain, never()).filter(any());
+        assertThat(accessLog.list).isEmpty();
+        assertThat(authLog.list).anySatisfy(event -> assertThat(event.getFormattedMessage())
+            .contains("Invalid API key attempt: inva****0000"));
+    }
+
+    @Test
+    void testMissingApiKey_ShouldReturnUnauthorized() {
+        // Arrange
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/test"));
+        GatewayFilter filter = filterFactory.apply(new Config());
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, mockChain))
+            .expectComplete()
+            .verify();
+
+        // Assert
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(authLog.list).anySatisfy(event -> assertThat(event.getFormattedMessage())
+            .contains("Request missing API key"));
+    }
+
+    @Test
+    void testNoApiKeysConfigured_ShouldRejectAll() {
+        // Arrange
+        ReflectionTestUtils.setField(filterFactory, "apiKeys", "");
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/test")
+            .header(API_KEY_HEADER, VALID_API_KEY));
+        GatewayFilter filter = filterFactory.apply(new Config());
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, mockChain))
+            .expectComplete()
+            .verify();
+
+        // Assert
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void testAuthDisabled_ShouldPassRequestsWithoutKey() {
+        // Arrange
+        Config config = new Config();
+        config.setAuth(false);
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.post("/webhooks/stripe"));
+        GatewayFilter filter = filterFactory.apply(config);
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, mockChain))
+            .expectComplete()
+            .verify();
+
+        // Assert
+        verify(mockChain).filter(exchange);
+        assertThat(accessLog.list.get(0).getFormattedMessage()).contains("POST").contains("/webhooks/stripe");
+    }
+
+    @Test
+    void testLogsErrorStatusAndDuration() {
+        // Arrange
+        when(mockChain.filter(any(ServerWebExchange.class)))
+            .thenAnswer(invocation -> {
+                ServerWebExchange exchange = invocation.getArgument(0);
+                exchange.getResponse().setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
+                return Mono.delay(Duration.ofMillis(50)).then();
+            });
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/slow")
+            .header(API_KEY_HEADER, "another-valid-key"));
+        GatewayFilter filter = filterFactory.apply(new Config());
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, mockChain))
+            .expectComplete()
+            .verify();
+
+        // Assert
+        String message = accessLog.list.get(1).getFormattedMessage();
+        assertThat(message).contains("500");
+        String durationStr = message.substring(message.indexOf("Duration:") + 10, message.indexOf("ms"));
+        assertThat(Integer.parseInt(durationStr.trim())).isGreaterThanOrEqualTo(50);
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request.remoteAddress(REMOTE_ADDRESS).build());
+    }
+
+    private static ListAppender<ILoggingEvent> attach(Class<?> loggerClass) {
+        Logger logger = (Logger) LoggerFactory.getLogger(loggerClass);
+        logger.setLevel(Level.INFO);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        return appender;
+    }
+
+    private static void detach(Class<?> loggerClass, ListAppender<ILoggingEvent> appender) {
+        Logger logger = (Logger) LoggerFactory.getLogger(loggerClass);
+        appender.stop();
+        logger.detachAppender(appender);
+        logger.setLevel(null);
+    }
+}
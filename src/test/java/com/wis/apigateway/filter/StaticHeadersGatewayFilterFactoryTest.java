@@ -0,0 +1,150 @@
+package com.wis.apigateway.filter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for StaticHeadersGatewayFilterFactory, ServiceKeyGatewayFilterFactory and
+ * OutboundHeadersFilter.
+ * Tests that precomputed headers reach the outbound request without mutating the exchange.
+ */
+class StaticHeadersGatewayFilterFactoryTest {
+
+    private static final String SERVICE_KEY_HEADER = "X-Service-Key";
+    private static final String VERSION_HEADER = "X-Gateway-Version";
+
+    private StaticHeadersGatewayFilterFactory staticHeadersFactory;
+    private ServiceKeyGatewayFilterFactory serviceKeyFactory;
+    private List<HttpHeadersFilter> headersFilters;
+
+    @BeforeEach
+    void setUp() {
+        staticHeadersFactory = new StaticHeadersGatewayFilterFactory();
+        serviceKeyFactory = new ServiceKeyGatewayFilterFactory();
+        ReflectionTestUtils.setField(serviceKeyFactory, "serviceKey", "test-service-key");
+        headersFilters = List.of(new OutboundHeadersFilter());
+    }
+
+    @Test
+    void testServiceKey_ShouldAddHeaderToOutboundRequestOnly() {
+        // Arrange
+        GatewayFilter filter = serviceKeyFactory.apply(new ServiceKeyGatewayFilterFactory.Config());
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/messages/1"));
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, capture(forwarded))).verifyComplete();
+        HttpHeaders outbound = HttpHeadersFilter.filterRequest(headersFilters, forwarded.get());
+
+        // Assert
+        assertThat(forwarded.get()).isSameAs(exchange);
+        assertThat(exchange.getRequest().getHeaders().containsKey(SERVICE_KEY_HEADER)).isFalse();
+        assertThat(outbound.getFirst(SERVICE_KEY_HEADER)).isEqualTo("test-service-key");
+    }
+
+    @Test
+    void testServiceKey_WhenNotConfigured_ShouldPassThroughWithoutHeader() {
+        // Arrange
+        ReflectionTestUtils.setField(serviceKeyFactory, "serviceKey", "");
+        GatewayFilter filter = serviceKeyFactory.apply(new ServiceKeyGatewayFilterFactory.Config());
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/messages/1"));
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, capture(forwarded))).verifyComplete();
+
+        // Assert
+        assertThat(HttpHeadersFilter.filterRequest(headersFilters, exchange).containsKey(SERVICE_KEY_HEADER))
+            .isFalse();
+        assertThat(exchange.getAttributes()).doesNotContainKey(StaticHeaderSet.ATTR);
+    }
+
+    @Test
+    void testStaticHeaders_ShouldCombineWithServiceKey() {
+        // Arrange
+        StaticHeadersGatewayFilterFactory.Config config = new StaticHeadersGatewayFilterFactory.Config();
+        config.getHeaders().put(VERSION_HEADER, "1.0.0");
+        GatewayFilter staticHeaders = staticHeadersFactory.apply(config);
+        GatewayFilter serviceKey = serviceKeyFactory.apply(new ServiceKeyGatewayFilterFactory.Config());
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/messages/1")
+            .header("Accept", "application/json"));
+
+        // Act
+        StepVerifier.create(staticHeaders.filter(exchange, ex -> serviceKey.filter(ex, ex2 -> Mono.empty())))
+            .verifyComplete();
+        HttpHeaders outbound = HttpHeadersFilter.filterRequest(headersFilters, exchange);
+
+        // Assert
+        assertThat(outbound.getFirst(VERSION_HEADER)).isEqualTo("1.0.0");
+        assertThat(outbound.getFirst(SERVICE_KEY_HEADER)).isEqualTo("test-service-key");
+        assertThat(outbound.getFirst("Accept")).isEqualTo("application/json");
+    }
+
+    @Test
+    void testStaticHeaders_ChainRunTwiceOnOneExchange_ShouldAttachOnce() {
+        // Arrange - a retry or hedge runs the filter chain again on the same exchange
+        StaticHeadersGatewayFilterFactory.Config config = new StaticHeadersGatewayFilterFactory.Config();
+        config.getHeaders().put(VERSION_HEADER, "1.0.0");
+        GatewayFilter staticHeaders = staticHeadersFactory.apply(config);
+        GatewayFilter serviceKey = serviceKeyFactory.apply(new ServiceKeyGatewayFilterFactory.Config());
+        GatewayFilterChain chain = ex -> serviceKey.filter(ex, ex2 -> Mono.empty());
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/messages/1"));
+        StepVerifier.create(staticHeaders.filter(exchange, chain)).verifyComplete();
+        StaticHeaderSet firstAttempt = exchange.getAttribute(StaticHeaderSet.ATTR);
+
+        // Act
+        StepVerifier.create(staticHeaders.filter(exchange, chain)).verifyComplete();
+
+        // Assert
+        StaticHeaderSet attached = exchange.getAttribute(StaticHeaderSet.ATTR);
+        assertThat(attached).isSameAs(firstAttempt);
+        assertThat(attached.size()).isEqualTo(2);
+        assertThat(HttpHeadersFilter.filterRequest(headersFilters, exchange).get(VERSION_HEADER))
+            .containsExactly("1.0.0");
+    }
+
+    @Test
+    void testStaticHeaders_WhenOverrideDisabled_ShouldKeepClientValue() {
+        // Arrange
+        StaticHeadersGatewayFilterFactory.Config config = new StaticHeadersGatewayFilterFactory.Config();
+        config.setHeaders(Map.of("tracestate", "wis=gateway"));
+        config.setOverride(false);
+        GatewayFilter filter = staticHeadersFactory.apply(config);
+        MockServerWebExchange withState = MockServerWebExchange.from(MockServerHttpRequest.get("/api/messages/1")
+            .header("tracestate", "vendor=client"));
+        MockServerWebExchange withoutState = MockServerWebExchange.from(MockServerHttpRequest.get("/api/messages/1"));
+
+        // Act
+        StepVerifier.create(filter.filter(withState, ex -> Mono.empty())).verifyComplete();
+        StepVerifier.create(filter.filter(withoutState, ex -> Mono.empty())).verifyComplete();
+
+        // Assert
+        assertThat(HttpHeadersFilter.filterRequest(headersFilters, withState).get("tracestate"))
+            .containsExactly("vendor=client");
+        assertThat(HttpHeadersFilter.filterRequest(headersFilters, withoutState).get("tracestate"))
+            .containsExactly("wis=gateway");
+    }
+
+    private static GatewayFilterChain capture(AtomicReference<ServerWebExchange> forwarded) {
+        return exchange -> {
+            forwarded.set(exchange);
+            return Mono.empty();
+        };
+    }
+}
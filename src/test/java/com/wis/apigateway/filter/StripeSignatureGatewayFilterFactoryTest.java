@@ -0,0 +1,255 @@
+package com.wis.apigateway.filter;
+
+import com.wis.apigateway.webhook.StripeSignatureVerifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for StripeSignatureGatewayFilterFactory and StripeSignatureVerifier.
+ * Tests that forged, stale, oversized and duplicate deliveries are answered by the gateway.
+ */
+class StripeSignatureGatewayFilterFactoryTest {
+
+    private static final String SECRET = "whsec_test_secret";
+    private static final String EVENT = "{\"id\":\"evt_123\",\"object\":\"event\",\"data\":{\"id\":\"sub_9\"}}";
+
+    private SimpleMeterRegistry meterRegistry;
+    private StripeSignatureGatewayFilterFactory factory;
+    private StripeSignatureGatewayFilterFactory.Config config;
+    private AtomicInteger forwarded;
+    private AtomicReference<String> forwardedBody;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        factory = new StripeSignatureGatewayFilterFactory(meterRegistry);
+        config = new StripeSignatureGatewayFilterFactory.Config();
+        config.setSecret(SECRET);
+        forwarded = new AtomicInteger();
+        forwardedBody = new AtomicReference<>();
+    }
+
+    @Test
+    void testValidSignature_ShouldForwardBodyUnchanged() {
+        // Arrange
+        GatewayFilter filter = factory.apply(config);
+        MockServerWebExchange exchange = delivery(EVENT, sign(SECRET, EVENT, now()));
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, backend(HttpStatus.OK))).verifyComplete();
+
+        // Assert
+        assertThat(forwarded.get()).isEqualTo(1);
+        assertThat(forwardedBody.get()).isEqualTo(EVENT);
+    }
+
+    @Test
+    void testMissingSignature_ShouldReturnBadRequest() {
+        // Arrange
+        GatewayFilter filter = factory.apply(config);
+        MockServerWebExchange exchange = delivery(EVENT, null);
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, backend(HttpStatus.OK))).verifyComplete();
+
+        // Assert
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(forwarded.get()).isZero();
+        assertThat(rejected("missing_signature")).isEqualTo(1.0);
+    }
+
+    @Test
+    void testTamperedBody_ShouldReturnBadRequest() {
+        // Arrange
+        GatewayFilter filter = factory.apply(config);
+        String signature = sign(SECRET, EVENT, now());
+        MockServerWebExchange exchange = delivery(EVENT.replace("sub_9", "sub_1"), signature);
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, backend(HttpStatus.OK))).verifyComplete();
+
+        // Assert
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(forwarded.get()).isZero();
+        assertThat(rejected("bad_signature")).isEqualTo(1.0);
+    }
+
+    @Test
+    void testStaleTimestamp_ShouldReturnBadRequest() {
+        // Arrange
+        GatewayFilter filter = factory.apply(config);
+        MockServerWebExchange exchange = delivery(EVENT, sign(SECRET, EVENT, now() - 600));
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, backend(HttpStatus.OK))).verifyComplete();
+
+        // Assert
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(rejected("stale_timestamp")).isEqualTo(1.0);
+    }
+
+    @Test
+    void testRotatedSecret_ShouldAcceptEitherSecret() {
+        // Arrange
+        config.setSecret("whsec_new, " + SECRET);
+        GatewayFilter filter = factory.apply(config);
+        MockServerWebExchange exchange = delivery(EVENT, sign(SECRET, EVENT, now()));
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, backend(HttpStatus.OK))).verifyComplete();
+
+        // Assert
+        assertThat(forwarded.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testOversizedBody_ShouldReturnPayloadTooLarge() {
+        // Arrange
+        config.setMaxBodySize(DataSize.ofBytes(16));
+        GatewayFilter filter = factory.apply(config);
+        MockServerWebExchange exchange = delivery(EVENT, sign(SECRET, EVENT, now()));
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, backend(HttpStatus.OK))).verifyComplete();
+
+        // Assert
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+        assertThat(forwarded.get()).isZero();
+    }
+
+    @Test
+    void testDownstreamBufferLimit_ShouldNotBeReportedAsPayloadTooLarge() {
+        // Arrange - e.g. a backend response larger than a codec limit
+        GatewayFilter filter = factory.apply(config);
+        MockServerWebExchange exchange = delivery(EVENT, sign(SECRET, EVENT, now()));
+        GatewayFilterChain chain = ex -> Mono.error(new DataBufferLimitException("Exceeded limit on max bytes to buffer"));
+
+        // Act & Assert
+        StepVerifier.create(filter.filter(exchange, chain))
+            .expectError(DataBufferLimitException.class)
+            .verify();
+        assertThat(exchange.getResponse().getStatusCode()).isNotEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+        assertThat(rejected("too_large")).isZero();
+    }
+
+    @Test
+    void testDuplicateEvent_ShouldBeAcknowledgedWithoutForwarding() {
+        // Arrange
+        GatewayFilter filter = factory.apply(config);
+        String signature = sign(SECRET, EVENT, now());
+        StepVerifier.create(filter.filter(delivery(EVENT, signature), backend(HttpStatus.OK))).verifyComplete();
+        MockServerWebExchange retry = delivery(EVENT, signature);
+
+        // Act
+        StepVerifier.create(filter.filter(retry, backend(HttpStatus.OK))).verifyComplete();
+
+        // Assert
+        assertThat(retry.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(forwarded.get()).isEqualTo(1);
+        assertThat(rejected("duplicate")).isEqualTo(1.0);
+    }
+
+    @Test
+    void testFailedDelivery_ShouldBeForwardedAgainOnRetry() {
+        // Arrange
+        GatewayFilter filter = factory.apply(config);
+        String signature = sign(SECRET, EVENT, now());
+        StepVerifier.create(filter.filter(delivery(EVENT, signature), backend(HttpStatus.SERVICE_UNAVAILABLE)))
+            .verifyComplete();
+
+        // Act
+        StepVerifier.create(filter.filter(delivery(EVENT, signature), backend(HttpStatus.OK))).verifyComplete();
+
+        // Assert
+        assertThat(forwarded.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testNoSecret_ShouldPassThrough() {
+        // Arrange
+        config.setSecret("");
+        GatewayFilter filter = factory.apply(config);
+        MockServerWebExchange exchange = delivery(EVENT, null);
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, backend(HttpStatus.OK))).verifyComplete();
+
+        // Assert
+        assertThat(forwarded.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testVerifier_ShouldRejectMalformedHeader() {
+        // Arrange
+        StripeSignatureVerifier verifier = new StripeSignatureVerifier(List.of(SECRET), Duration.ofMinutes(5));
+        byte[] body = EVENT.getBytes(StandardCharsets.UTF_8);
+
+        // Act & Assert
+        assertThat(verifier.verify("t=abc,v1=00", body, now()))
+            .isEqualTo(StripeSignatureVerifier.Result.MALFORMED_SIGNATURE);
+        assertThat(verifier.verify("v1=zz", body, now()))
+            .isEqualTo(StripeSignatureVerifier.Result.MALFORMED_SIGNATURE);
+        assertThat(verifier.verify(sign(SECRET, EVENT, now()), body, now()))
+            .isEqualTo(StripeSignatureVerifier.Result.VALID);
+    }
+
+    @Test
+    void testEventId_ShouldReadTopLevelIdOnly() {
+        // Act & Assert
+        assertThat(StripeSignatureGatewayFilterFactory.eventId(
+            "{\"data\":{\"id\":\"sub_9\"},\"id\":\"evt_7\"}".getBytes(StandardCharsets.UTF_8))).isEqualTo("evt_7");
+        assertThat(StripeSignatureGatewayFilterFactory.eventId(
+            "not json".getBytes(StandardCharsets.UTF_8))).isNull();
+    }
+
+    private MockServerWebExchange delivery(String body, String signature) {
+        MockServerHttpRequest.BodyBuilder request = MockServerHttpRequest.post("/webhooks/stripe");
+        if (signature != null) {
+            request.header(StripeSignatureGatewayFilterFactory.SIGNATURE_HEADER, signature);
+        }
+        return MockServerWebExchange.from(request.body(body));
+    }
+
+    private GatewayFilterChain backend(HttpStatus status) {
+        return exchange -> DataBufferUtils.join(exchange.getRequest().getBody())
+            .doOnNext(buffer -> {
+                forwardedBody.set(buffer.toString(StandardCharsets.UTF_8));
+                DataBufferUtils.release(buffer);
+            })
+            .then(Mono.fromRunnable(() -> {
+                forwarded.incrementAndGet();
+                exchange.getResponse().setStatusCode(status);
+            }));
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.counter("gateway.webhook.stripe.rejected", "reason", reason).count();
+    }
+
+    private static String sign(String secret, String body, long epochSeconds) {
+        return StripeSignatureVerifier.sign(secret, body.getBytes(StandardCharsets.UTF_8), epochSeconds);
+    }
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
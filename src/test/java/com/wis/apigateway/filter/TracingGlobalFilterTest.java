@@ -0,0 +1,138 @@
+package com.wis.apigateway.filter;
+
+import com.wis.apigateway.config.TracingProperties;
+import com.wis.apigateway.tracing.FileSpanSink;
+import com.wis.apigateway.tracing.TraceContext;
+import com.wis.apigateway.tracing.Tracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for TracingGlobalFilter.
+ * Tests traceparent propagation and tail sampling into a file sink.
+ */
+class TracingGlobalFilterTest {
+
+    private static final String INCOMING_TRACEPARENT =
+        "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    @TempDir
+    Path tempDir;
+
+    private Path traceFile;
+    private Tracer tracer;
+    private TracingGlobalFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        TracingProperties properties = new TracingProperties();
+        properties.setSlowThreshold(Duration.ofMillis(50));
+        traceFile = tempDir.resolve("traces.jsonl");
+        tracer = new Tracer(properties, new FileSpanSink(traceFile), new SimpleMeterRegistry());
+        filter = new TracingGlobalFilter(tracer, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracer.stop();
+    }
+
+    @Test
+    void testFilter_ShouldPropagateTraceparentWithGatewaySpanAsParent() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/subscriptions/1")
+            .header(TraceContext.TRACEPARENT_HEADER, INCOMING_TRACEPARENT));
+        HttpHeaders[] outbound = new HttpHeaders[1];
+        GatewayFilterChain chain = ex -> {
+            outbound[0] = new OutboundHeadersFilter().filter(ex.getRequest().getHeaders(), ex);
+            return Mono.empty();
+        };
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Assert
+        TraceContext context = exchange.getAttribute(Tracer.CONTEXT_ATTR);
+        assertThat(outbound[0].getFirst(TraceContext.TRACEPARENT_HEADER))
+            .isEqualTo("00-4bf92f3577b34da6a3ce929d0e0e4736-" + TraceContext.spanIdHex(context.spanId()) + "-01");
+    }
+
+    @Test
+    void testFastRequest_ShouldNotBeExported() throws IOException {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/messages/1"));
+        GatewayFilterChain chain = ex -> {
+            ex.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.empty();
+        };
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+        tracer.flush();
+
+        // Assert
+        assertThat(exportedLines()).isEmpty();
+    }
+
+    @Test
+    void testSlowRequest_ShouldBeExported() throws IOException {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/subscriptions/1")
+            .header(TraceContext.TRACEPARENT_HEADER, INCOMING_TRACEPARENT));
+        GatewayFilterChain chain = ex -> {
+            ex.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.delay(Duration.ofMillis(80)).then();
+        };
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+        tracer.flush();
+
+        // Assert
+        List<String> lines = exportedLines();
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0))
+            .contains("\"traceId\":\"4bf92f3577b34da6a3ce929d0e0e4736\"")
+            .contains("\"parentSpanId\":\"00f067aa0ba902b7\"")
+            .contains("\"path\":\"/api/subscriptions/1\"")
+            .contains("\"status\":200");
+    }
+
+    @Test
+    void testErroredRequest_ShouldBeExportedWithError() throws IOException {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/register/phone"));
+        GatewayFilterChain chain = ex -> Mono.error(new IllegalStateException("connection reset"));
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, chain)).expectError(IllegalStateException.class).verify();
+        tracer.flush();
+
+        // Assert
+        List<String> lines = exportedLines();
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0)).contains("\"error\":\"IllegalStateException: connection reset\"");
+    }
+
+    private List<String> exportedLines() throws IOException {
+        return Files.exists(traceFile) ? Files.readAllLines(traceFile) : List.of();
+    }
+}
@@ -0,0 +1,142 @@
+package com.wis.apigateway.filter;
+
+import com.wis.apigateway.capture.CaptureFile;
+import com.wis.apigateway.capture.CapturedExchange;
+import com.wis.apigateway.capture.TrafficRecorder;
+import com.wis.apigateway.config.CaptureProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for TrafficCaptureGlobalFilter.
+ * Tests that sampled requests are written to the capture file with masked keys and body sizes.
+ */
+class TrafficCaptureGlobalFilterTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private GatewayFilterChain mockChain;
+
+    private CaptureProperties properties;
+    private TrafficRecorder recorder;
+    private TrafficCaptureGlobalFilter filter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        properties = new CaptureProperties();
+        properties.setEnabled(true);
+        properties.setSampleRate(1.0);
+        properties.setDirectory(directory.toString());
+        properties.setMaxBodySize(DataSize.ofBytes(8));
+        recorder = new TrafficRecorder(properties, new SimpleMeterRegistry());
+        recorder.start();
+        filter = new TrafficCaptureGlobalFilter(recorder, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recorder.stop();
+    }
+
+    @Test
+    void testFilter_SampledRequest_ShouldRecordMaskedRequestAndResponseSize() throws IOException {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.post("/api/register/users?source=web")
+                .header("X-API-Key", "abcd1234efgh5678")
+                .header("Authorization", "Bearer secret")
+                .header("Content-Type", "application/json")
+                .body("{\"email\":\"a@b.example\"}"));
+        when(mockChain.filter(any(ServerWebExchange.class))).thenAnswer(invocation -> {
+            ServerWebExchange forwarded = invocation.getArgument(0);
+            return DataBufferUtils.join(forwarded.getRequest().getBody())
+                .doOnNext(DataBufferUtils::release)
+                .then(Mono.defer(() -> {
+                    forwarded.getResponse().setStatusCode(HttpStatus.CREATED);
+                    DataBuffer body = forwarded.getResponse().bufferFactory()
+                        .wrap("{\"id\":42}".getBytes(StandardCharsets.UTF_8));
+                    return forwarded.getResponse().writeWith(Mono.just(body));
+                }));
+        });
+
+        // Act & Assert
+        StepVerifier.create(filter.filter(exchange, mockChain))
+            .verifyComplete();
+
+        CapturedExchange captured = readCapture().get(0);
+        assertThat(captured.method()).isEqualTo("POST");
+        assertThat(captured.uri()).isEqualTo("/api/register/users?source=web");
+        assertThat(captured.headers())
+            .contains(new CapturedExchange.Header("X-API-Key", "abcd****5678"))
+            .noneMatch(header -> header.name().equals("Authorization"));
+        assertThat(captured.bodyLength()).isEqualTo(23);
+        assertThat(new String(captured.body(), StandardCharsets.UTF_8)).isEqualTo("{\"email\"");
+        assertThat(captured.status()).isEqualTo(201);
+        assertThat(captured.responseBytes()).isEqualTo(9);
+    }
+
+    @Test
+    void testFilter_NotSampled_ShouldPassExchangeThrough() throws IOException {
+        // Arrange
+        properties.setSampleRate(0.0);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/messages/inbox"));
+        when(mockChain.filter(exchange)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(filter.filter(exchange, mockChain))
+            .verifyComplete();
+
+        assertThat(readCapture()).isEmpty();
+    }
+
+    @Test
+    void testFilter_ApiKeyQueryParameter_ShouldBeMasked() throws IOException {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/push/sse/orders?apiKey=abcd1234efgh5678&since=1"));
+        when(mockChain.filter(any(ServerWebExchange.class))).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(filter.filter(exchange, mockChain))
+            .verifyComplete();
+
+        assertThat(readCapture().get(0).uri()).isEqualTo("/api/push/sse/orders?apiKey=abcd****5678&since=1");
+    }
+
+    private List<CapturedExchange> readCapture() throws IOException {
+        recorder.stop();
+        try (Stream<Path> files = Files.list(directory)) {
+            Path file = files.filter(path -> path.toString().endsWith(".wcap")).findFirst().orElseThrow();
+            return CaptureFile.read(file).exchanges();
+        }
+    }
+}
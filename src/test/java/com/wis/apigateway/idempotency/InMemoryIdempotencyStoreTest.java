@@ -0,0 +1,150 @@
+package com.wis.apigateway.idempotency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for InMemoryIdempotencyStore.
+ * Tests claiming, completion, expiry, owner checks, the size bound and the record encoding.
+ */
+class InMemoryIdempotencyStoreTest {
+
+    private InMemoryIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryIdempotencyStore(3);
+    }
+
+    @Test
+    void testBegin_ShouldLetOnlyFirstCallerOwnKey() {
+        // Arrange
+        IdempotencyRecord inProgress = IdempotencyRecord.inProgress("POST /api/register/users");
+
+        // Act & Assert
+        StepVerifier.create(store.begin("a", inProgress, Duration.ofSeconds(30))).verifyComplete();
+        StepVerifier.create(store.begin("a", inProgress, Duration.ofSeconds(30)))
+            .assertNext(existing -> assertThat(existing.isCompleted()).isFalse())
+            .verifyComplete();
+    }
+
+    @Test
+    void testComplete_ShouldReplaceClaimWithResponse() {
+        // Arrange
+        IdempotencyRecord claim = IdempotencyRecord.inProgress("POST /x");
+        store.begin("a", claim, Duration.ofSeconds(30)).block();
+        IdempotencyRecord completed = new IdempotencyRecord("POST /x", 201, List.of(), new byte[] {1});
+
+        // Act
+        store.complete("a", claim, completed, Duration.ofHours(1)).block();
+
+        // Assert
+        StepVerifier.create(store.get("a"))
+            .assertNext(found -> assertThat(found.status()).isEqualTo(201))
+            .verifyComplete();
+    }
+
+    @Test
+    void testExpiredClaim_ShouldBeClaimableAgain() throws InterruptedException {
+        // Arrange
+        IdempotencyRecord inProgress = IdempotencyRecord.inProgress("POST /x");
+        store.begin("a", inProgress, Duration.ofMillis(10)).block();
+
+        // Act
+        Thread.sleep(30);
+
+        // Assert
+        StepVerifier.create(store.get("a")).verifyComplete();
+        StepVerifier.create(store.begin("a", inProgress, Duration.ofSeconds(30))).verifyComplete();
+    }
+
+    @Test
+    void testExpiredOwner_ShouldNotCompleteOrReleaseNextOwnersClaim() throws InterruptedException {
+        // Arrange - the first owner's claim expires and a second owner takes the key
+        IdempotencyRecord first = IdempotencyRecord.inProgress("POST /x");
+        IdempotencyRecord second = IdempotencyRecord.inProgress("POST /x");
+        store.begin("a", first, Duration.ofMillis(10)).block();
+        Thread.sleep(30);
+        StepVerifier.create(store.begin("a", second, Duration.ofSeconds(30))).verifyComplete();
+
+        // Act - the first owner finishes late
+        store.complete("a", first, new IdempotencyRecord("POST /x", 201, List.of(), new byte[] {1}),
+            Duration.ofHours(1)).block();
+        store.release("a", first).block();
+
+        // Assert
+        StepVerifier.create(store.get("a"))
+            .assertNext(found -> assertThat(found).isSameAs(second))
+            .verifyComplete();
+        StepVerifier.create(store.begin("a", first, Duration.ofSeconds(30)))
+            .assertNext(existing -> assertThat(existing.isCompleted()).isFalse())
+            .verifyComplete();
+    }
+
+    @Test
+    void testInProgressRecords_ShouldCarryDistinctOwnerTokens() {
+        // Act
+        IdempotencyRecord first = IdempotencyRecord.inProgress("POST /x");
+        IdempotencyRecord second = IdempotencyRecord.inProgress("POST /x");
+
+        // Assert
+        assertThat(first.encode()).isNotEqualTo(second.encode());
+        assertThat(IdempotencyRecord.decode(first.encode()).body()).isEqualTo(first.body());
+    }
+
+    @Test
+    void testFullStore_ShouldDropOldestKey() {
+        // Arrange
+        IdempotencyRecord inProgress = IdempotencyRecord.inProgress("POST /x");
+
+        // Act
+        for (String key : List.of("a", "b", "c", "d")) {
+            store.begin(key, inProgress, Duration.ofSeconds(30)).block();
+        }
+
+        // Assert
+        assertThat(store.size()).isEqualTo(3);
+        StepVerifier.create(store.get("a")).verifyComplete();
+        StepVerifier.create(store.get("d")).expectNextCount(1).verifyComplete();
+    }
+
+    @Test
+    void testRecordEncoding_ShouldRoundTrip() {
+        // Arrange
+        IdempotencyRecord original = new IdempotencyRecord("POST /api/register/users", 201,
+            List.of(new IdempotencyRecord.Header("Content-Type", "application/json"),
+                new IdempotencyRecord.Header("Set-Cookie", "a=1"),
+                new IdempotencyRecord.Header("Set-Cookie", "b=2")),
+            "{\"id\":\"\u00e9\"}".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        IdempotencyRecord decoded = IdempotencyRecord.decode(original.encode());
+
+        // Assert
+        assertThat(decoded.fingerprint()).isEqualTo(original.fingerprint());
+        assertThat(decoded.status()).isEqualTo(201);
+        assertThat(decoded.headers()).isEqualTo(original.headers());
+        assertThat(decoded.body()).isEqualTo(original.body());
+    }
+
+    @Test
+    void testTruncatedRecord_ShouldBeRejected() {
+        // Arrange
+        byte[] encoded = new IdempotencyRecord("POST /x", 200, List.of(), new byte[10]).encode();
+
+        // Act & Assert
+        assertThatThrownBy(() -> IdempotencyRecord.decode(Arrays.copyOf(encoded, encoded.length - 1)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> IdempotencyRecord.decode(new byte[] {9}))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,62 @@
+package com.wis.apigateway.instrumentation;
+
+import com.wis.apigateway.config.InstrumentationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.blockhound.BlockingMethod;
+
+import java.lang.reflect.Modifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for BlockingCallDetector.
+ * Tests meter tagging of detected blocking calls.
+ */
+class BlockingCallDetectorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BlockingCallDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        detector = new BlockingCallDetector(new InstrumentationProperties(), meterRegistry);
+    }
+
+    @Test
+    void testBlockingCalls_ShouldCountPerMethodAndThreadGroup() {
+        // Arrange
+        BlockingMethod sleep = new BlockingMethod("java/lang/Thread", "sleep", Modifier.STATIC);
+        BlockingMethod read = new BlockingMethod("java/io/FileInputStream", "readBytes", 0);
+        String threadGroup = BlockingCallDetector.threadGroup(Thread.currentThread().getName());
+
+        // Act
+        detector.onBlockingCall(sleep);
+        detector.onBlockingCall(sleep);
+        detector.onBlockingCall(read);
+
+        // Assert
+        Counter sleeps = meterRegistry.find(BlockingCallDetector.BLOCKING_CALLS_COUNTER)
+            .tag("method", "java.lang.Thread.sleep")
+            .tag("thread", threadGroup)
+            .counter();
+        Counter reads = meterRegistry.find(BlockingCallDetector.BLOCKING_CALLS_COUNTER)
+            .tag("method", "java.io.FileInputStream.readBytes")
+            .counter();
+        assertThat(sleeps).isNotNull();
+        assertThat(sleeps.count()).isEqualTo(2.0);
+        assertThat(reads).isNotNull();
+        assertThat(reads.count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testThreadGroup_ShouldStripTrailingThreadNumber() {
+        assertThat(BlockingCallDetector.threadGroup("reactor-http-epoll-3")).isEqualTo("reactor-http-epoll");
+        assertThat(BlockingCallDetector.threadGroup("parallel-12")).isEqualTo("parallel");
+        assertThat(BlockingCallDetector.threadGroup("main")).isEqualTo("main");
+        assertThat(BlockingCallDetector.threadGroup("42")).isEqualTo("42");
+    }
+}
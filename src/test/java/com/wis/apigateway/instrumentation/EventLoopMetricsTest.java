@@ -0,0 +1,102 @@
+package com.wis.apigateway.instrumentation;
+
+import com.wis.apigateway.config.InstrumentationProperties;
+import com.wis.apigateway.overload.EventLoopLagProbe;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for EventLoopMetrics.
+ * Tests per-loop lag and pending task meters against real event loops.
+ */
+class EventLoopMetricsTest {
+
+    private DefaultEventLoopGroup group;
+    private SimpleMeterRegistry meterRegistry;
+    private EventLoopMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        group = new DefaultEventLoopGroup(1, r -> new Thread(r, "test-loop-1"));
+        meterRegistry = new SimpleMeterRegistry();
+        List<EventExecutor> executors = List.of(group.next());
+        metrics = new EventLoopMetrics(
+            new InstrumentationProperties(), new EventLoopLagProbe(executors), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        group.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testSample_ShouldRegisterMetersPerLoopAfterFirstProbe() throws Exception {
+        // Arrange & Act
+        metrics.sample();
+        awaitTrue(() -> {
+            metrics.sample();
+            return meterRegistry.find(EventLoopMetrics.LAG_TIMER).timer() != null;
+        });
+
+        // Assert
+        Timer lag = meterRegistry.find(EventLoopMetrics.LAG_TIMER).tag("loop", "test-loop-1").timer();
+        assertThat(lag).isNotNull();
+        assertThat(lag.count()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.find(EventLoopMetrics.PENDING_TASKS_GAUGE).tag("loop", "test-loop-1").gauge())
+            .isNotNull();
+    }
+
+    @Test
+    void testSample_WhenLoopBlocked_ShouldReportGrowingLagAndPendingTasks() throws Exception {
+        // Arrange - register the meters, then block the loop
+        metrics.sample();
+        awaitTrue(() -> {
+            metrics.sample();
+            return meterRegistry.find(EventLoopMetrics.CURRENT_LAG_GAUGE).gauge() != null;
+        });
+        CountDownLatch release = new CountDownLatch(1);
+        group.next().execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try {
+            // Act
+            metrics.sample();
+            group.next().execute(() -> { });
+            Thread.sleep(100);
+
+            // Assert
+            Gauge currentLag = meterRegistry.find(EventLoopMetrics.CURRENT_LAG_GAUGE).gauge();
+            Gauge pending = meterRegistry.find(EventLoopMetrics.PENDING_TASKS_GAUGE).gauge();
+            assertThat(currentLag.value()).isGreaterThanOrEqualTo(90.0);
+            assertThat(pending.value()).isGreaterThanOrEqualTo(1.0);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
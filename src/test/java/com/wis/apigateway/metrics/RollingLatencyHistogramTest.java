@@ -0,0 +1,67 @@
+package com.wis.apigateway.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+/**
+ * Unit tests for RollingLatencyHistogram.
+ * Tests window rotation and percentile lookups racing a rotation.
+ */
+class RollingLatencyHistogramTest {
+
+    @Test
+    void testRotate_ShouldExpireOldestSlot() {
+        // Arrange
+        RollingLatencyHistogram histogram = new RollingLatencyHistogram(2);
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(100));
+        histogram.rotate();
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+        histogram.rotate();
+
+        // Act
+        histogram.rotate();
+
+        // Assert
+        assertThat(histogram.count()).isEqualTo(1);
+        assertThat(histogram.percentileNanos(99.0)).isCloseTo(TimeUnit.MILLISECONDS.toNanos(1), withinPercentage(1));
+    }
+
+    @Test
+    void testPercentile_RacingRotation_ShouldNeverServeOldWindow() throws InterruptedException {
+        // Arrange - one slot, so each rotation replaces the whole window
+        RollingLatencyHistogram histogram = new RollingLatencyHistogram(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            readers.add(Thread.ofPlatform().start(() -> {
+                while (running.get()) {
+                    histogram.percentileNanos(99.0);
+                }
+            }));
+        }
+
+        try {
+            for (int round = 0; round < 2000; round++) {
+                // Act
+                long latency = TimeUnit.MILLISECONDS.toNanos(round % 2 == 0 ? 1 : 50);
+                histogram.record(latency);
+                histogram.rotate();
+
+                // Assert
+                assertThat(histogram.percentileNanos(99.0)).isCloseTo(latency, withinPercentage(1));
+            }
+        } finally {
+            running.set(false);
+            for (Thread reader : readers) {
+                reader.join();
+            }
+        }
+    }
+}
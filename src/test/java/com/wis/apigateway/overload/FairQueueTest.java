@@ -0,0 +1,185 @@
+package com.wis.apigateway.overload;
+
+import com.wis.apigateway.config.FairQueueProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for FairQueue.
+ * Tests the uncontended path, weighted round robin across keys, limits, cancellation and slot accounting.
+ */
+class FairQueueTest {
+
+    private FairQueueProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FairQueueProperties();
+        properties.setMaxConcurrency(1);
+        properties.getWeights().put("premium", 3);
+        properties.getWeights().put("bulk", 1);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testUncontended_ShouldGrantSlotsUpToLimit() {
+        // Arrange
+        properties.setMaxConcurrency(2);
+        FairQueue queue = new FairQueue(properties, meterRegistry);
+
+        // Act & Assert
+        assertThat(queue.tryAcquire()).isTrue();
+        assertThat(queue.tryAcquire()).isTrue();
+        assertThat(queue.tryAcquire()).isFalse();
+        queue.release();
+        assertThat(queue.tryAcquire()).isTrue();
+        assertThat(queue.inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void testContention_ShouldReleaseByWeightAcrossKeys() {
+        // Arrange
+        FairQueue queue = new FairQueue(properties, meterRegistry);
+        List<String> started = new ArrayList<>();
+        assertThat(queue.tryAcquire()).isTrue();
+        for (int i = 0; i < 6; i++) {
+            queue.enqueue("bulk-key", "bulk", () -> Mono.fromRunnable(() -> started.add("bulk"))).subscribe();
+        }
+        for (int i = 0; i < 6; i++) {
+            queue.enqueue("premium-key", "premium", () -> Mono.fromRunnable(() -> started.add("premium"))).subscribe();
+        }
+        assertThat(queue.queued()).isEqualTo(12);
+
+        // Act
+        queue.release();
+
+        // Assert: one bulk request per three premium ones until premium runs dry
+        assertThat(started).containsExactly(
+            "bulk", "premium", "premium", "premium",
+            "bulk", "premium", "premium", "premium",
+            "bulk", "bulk", "bulk", "bulk");
+        assertThat(queue.queued()).isZero();
+        assertThat(queue.inFlight()).isZero();
+    }
+
+    @Test
+    void testWaitingRequests_ShouldGoBeforeNewArrivals() {
+        // Arrange
+        FairQueue queue = new FairQueue(properties, meterRegistry);
+        Sinks.Empty<Void> running = Sinks.empty();
+        assertThat(queue.tryAcquire()).isTrue();
+        queue.enqueue("key", "standard", running::asMono).subscribe();
+
+        // Act
+        queue.release();
+
+        // Assert: the slot went to the waiter, not to the next fast-path caller
+        assertThat(queue.tryAcquire()).isFalse();
+        running.tryEmitEmpty();
+        assertThat(queue.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void testKeyLimit_ShouldRejectExtraWaiters() {
+        // Arrange
+        properties.setMaxQueuedPerKey(2);
+        FairQueue queue = new FairQueue(properties, meterRegistry);
+        assertThat(queue.tryAcquire()).isTrue();
+        queue.enqueue("key", "bulk", Mono::empty).subscribe();
+        queue.enqueue("key", "bulk", Mono::empty).subscribe();
+
+        // Act & Assert
+        StepVerifier.create(queue.enqueue("key", "bulk", Mono::empty))
+            .expectErrorSatisfies(error -> assertThat(((FairQueueRejectedException) error).getReason())
+                .isEqualTo(FairQueueRejectedException.Reason.KEY_LIMIT))
+            .verify(Duration.ofSeconds(5));
+        StepVerifier.create(queue.enqueue("other-key", "bulk", Mono::empty))
+            .then(queue::release)
+            .verifyComplete();
+        assertThat(meterRegistry.get("gateway.fairqueue.rejected").tag("reason", "key_limit").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void testMaxWait_ShouldRejectAndNotLeakSlot() {
+        // Arrange
+        properties.setMaxWait(Duration.ofMillis(50));
+        FairQueue queue = new FairQueue(properties, meterRegistry);
+        AtomicInteger runs = new AtomicInteger();
+        assertThat(queue.tryAcquire()).isTrue();
+
+        // Act & Assert
+        StepVerifier.create(queue.enqueue("key", "standard", () -> Mono.fromRunnable(runs::incrementAndGet)))
+            .expectErrorSatisfies(error -> assertThat(((FairQueueRejectedException) error).getReason())
+                .isEqualTo(FairQueueRejectedException.Reason.TIMEOUT))
+            .verify(Duration.ofSeconds(5));
+        queue.release();
+        assertThat(runs).hasValue(0);
+        assertThat(queue.queued()).isZero();
+        assertThat(queue.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void testConcurrentCallers_ShouldNeverExceedLimit() throws InterruptedException {
+        // Arrange
+        properties.setMaxConcurrency(4);
+        properties.setMaxWait(Duration.ofSeconds(10));
+        properties.setMaxQueuedPerKey(10_000);
+        FairQueue queue = new FairQueue(properties, meterRegistry);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        int threads = 8;
+        int perThread = 500;
+        CountDownLatch done = new CountDownLatch(threads * perThread);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            String key = "key-" + (t % 3);
+            executor.execute(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    Mono<Void> work = Mono.fromRunnable(() -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        Thread.onSpinWait();
+                        running.decrementAndGet();
+                    });
+                    Mono<Void> call = queue.tryAcquire()
+                        ? work.doFinally(signal -> queue.release())
+                        : queue.enqueue(key, "standard", () -> work);
+                    call.doFinally(signal -> done.countDown())
+                        .subscribe(null, error -> { }, completed::incrementAndGet);
+                }
+            });
+        }
+
+        // Assert
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        // Slots are freed just after their callers see completion
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queue.inFlight() > 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(completed).hasValue(threads * perThread);
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(4);
+        assertThat(queue.inFlight()).isZero();
+        assertThat(queue.queued()).isZero();
+    }
+}
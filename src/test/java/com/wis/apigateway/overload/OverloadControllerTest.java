@@ -0,0 +1,86 @@
+package com.wis.apigateway.overload;
+
+import com.wis.apigateway.config.OverloadProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for OverloadController.
+ * Tests overload level computation and priority shedding decisions.
+ */
+class OverloadControllerTest {
+
+    private OverloadController controller;
+
+    private static final long NO_LAG = 0;
+    private static final long LAG_THRESHOLD = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @BeforeEach
+    void setUp() {
+        OverloadProperties properties = new OverloadProperties();
+        controller = new OverloadController(
+            properties, mock(EventLoopLagProbe.class), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testHealthySignals_ShouldNotShed() {
+        controller.update(NO_LAG, 10, 0.5);
+
+        assertThat(controller.isOverloaded()).isFalse();
+        for (RequestPriority priority : RequestPriority.values()) {
+            assertThat(controller.shouldShed(priority)).isFalse();
+        }
+    }
+
+    @Test
+    void testModerateLag_ShouldShedOnlyLowPriority() {
+        controller.update(LAG_THRESHOLD, 0, 0.5);
+
+        assertThat(controller.getLevel()).isEqualTo(1);
+        assertThat(controller.shouldShed(RequestPriority.LOW)).isTrue();
+        assertThat(controller.shouldShed(RequestPriority.NORMAL)).isFalse();
+        assertThat(controller.shouldShed(RequestPriority.CRITICAL)).isFalse();
+    }
+
+    @Test
+    void testSevereLag_ShouldNeverShedCritical() {
+        controller.update(LAG_THRESHOLD * 10, 0, 0.5);
+
+        assertThat(controller.getLevel()).isEqualTo(OverloadController.MAX_LEVEL);
+        assertThat(controller.shouldShed(RequestPriority.HIGH)).isTrue();
+        assertThat(controller.shouldShed(RequestPriority.CRITICAL)).isFalse();
+    }
+
+    @Test
+    void testPendingAcquires_ShouldRaiseLevel() {
+        controller.update(NO_LAG, 350, 0.5);
+
+        assertThat(controller.getLevel()).isEqualTo(2);
+    }
+
+    @Test
+    void testFullHeap_ShouldReachMaxLevel() {
+        controller.update(NO_LAG, 0, 1.0);
+
+        assertThat(controller.getLevel()).isEqualTo(OverloadController.MAX_LEVEL);
+    }
+
+    @Test
+    void testRecovery_ShouldStepDownOneLevelPerSample() {
+        controller.update(LAG_THRESHOLD * 10, 0, 0.5);
+        assertThat(controller.getLevel()).isEqualTo(3);
+
+        controller.update(NO_LAG, 0, 0.5);
+        assertThat(controller.getLevel()).isEqualTo(2);
+
+        controller.update(NO_LAG, 0, 0.5);
+        controller.update(NO_LAG, 0, 0.5);
+        assertThat(controller.getLevel()).isZero();
+    }
+}
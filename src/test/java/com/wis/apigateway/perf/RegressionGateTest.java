@@ -0,0 +1,134 @@
+package com.wis.apigateway.perf;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for RegressionGate and PerfStats.
+ * Tests regression, improvement and overlap verdicts, a missing baseline and the interval level.
+ */
+class RegressionGateTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testCompare_WorseAndNonOverlapping_ShouldRegress() {
+        // Arrange
+        PerfStats.Interval baseline = new PerfStats.Interval(100, 98, 102, 0);
+        PerfStats.Interval current = new PerfStats.Interval(120, 118, 122, 0);
+
+        // Act
+        RegressionGate.Comparison comparison = RegressionGate.compare(
+            "FilterBenchmark.chain", "score", "ns/op", baseline, current, 0.10, false, 0);
+
+        // Assert
+        assertThat(comparison.verdict()).isEqualTo(RegressionGate.Verdict.REGRESSED);
+        assertThat(comparison.deltaPercent()).isCloseTo(20.0, within(0.001));
+    }
+
+    @Test
+    void testCompare_BetterAndNonOverlapping_ShouldImprove() {
+        // Arrange - throughput, where higher is better
+        PerfStats.Interval baseline = new PerfStats.Interval(1000, 990, 1010, 0);
+        PerfStats.Interval current = new PerfStats.Interval(1200, 1190, 1210, 0);
+
+        // Act
+        RegressionGate.Comparison comparison = RegressionGate.compare(
+            "FilterBenchmark.thrpt", "score", "ops/ms", baseline, current, 0.10, true, 0);
+
+        // Assert
+        assertThat(comparison.verdict()).isEqualTo(RegressionGate.Verdict.IMPROVED);
+    }
+
+    @Test
+    void testCompare_OverlappingIntervals_ShouldBeOkDespiteLargeDelta() {
+        // Arrange - 30% worse on average, but the intervals overlap so it may be noise
+        PerfStats.Interval baseline = new PerfStats.Interval(100, 60, 140, 0);
+        PerfStats.Interval current = new PerfStats.Interval(130, 90, 170, 0);
+
+        // Act
+        RegressionGate.Comparison comparison = RegressionGate.compare(
+            "route subscriptions", "p99", "ms", baseline, current, 0.15, false, 0);
+
+        // Assert
+        assertThat(comparison.verdict()).isEqualTo(RegressionGate.Verdict.OK);
+    }
+
+    @Test
+    void testCompare_SignificantButBelowThreshold_ShouldBeOk() {
+        // Arrange
+        PerfStats.Interval baseline = new PerfStats.Interval(100, 99.9, 100.1, 0);
+        PerfStats.Interval current = new PerfStats.Interval(105, 104.9, 105.1, 0);
+
+        // Act
+        RegressionGate.Comparison comparison = RegressionGate.compare(
+            "FilterBenchmark.chain", "score", "ns/op", baseline, current, 0.10, false, 0);
+
+        // Assert
+        assertThat(comparison.verdict()).isEqualTo(RegressionGate.Verdict.OK);
+    }
+
+    @Test
+    void testCompareJmh_MissingBaseline_ShouldPassWithNote() throws IOException {
+        // Arrange
+        Path current = directory.resolve("results.json");
+        Files.writeString(current, """
+            [{"benchmark": "com.wis.apigateway.benchmark.FilterBenchmark.chain", "mode": "avgt",
+              "primaryMetric": {"score": 120.0, "scoreConfidence": [118.0, 122.0], "scoreUnit": "ns/op"}}]
+            """);
+        RegressionGate gate = new RegressionGate();
+
+        // Act
+        gate.compareJmh(directory.resolve(RegressionGate.BASELINE_JMH), current);
+
+        // Assert
+        assertThat(gate.hasRegressions()).isFalse();
+        assertThat(gate.toText()).contains("note: No JMH baseline");
+    }
+
+    @Test
+    void testCompareJmh_WithBaseline_ShouldDetectRegression() throws IOException {
+        // Arrange
+        Path baseline = directory.resolve(RegressionGate.BASELINE_JMH);
+        Files.writeString(baseline, jmhResult(100.0, 98.0, 102.0));
+        Path current = directory.resolve("results.json");
+        Files.writeString(current, jmhResult(120.0, 118.0, 122.0));
+        RegressionGate gate = new RegressionGate();
+
+        // Act
+        gate.compareJmh(baseline, current);
+
+        // Assert
+        assertThat(gate.hasRegressions()).isTrue();
+        assertThat(gate.toText()).contains("FilterBenchmark.chain").contains("99.9% CI");
+    }
+
+    @Test
+    void testInterval_ShouldUseNinetyNinePointNinePercentLevel() {
+        // Act - mean 12, standard error 2 / sqrt(3), t(2) at 99.9% = 31.599
+        PerfStats.Interval interval = PerfStats.interval(List.of(10.0, 12.0, 14.0));
+
+        // Assert
+        double halfWidth = 31.599 * 2 / Math.sqrt(3);
+        assertThat(interval.mean()).isCloseTo(12.0, within(1e-9));
+        assertThat(interval.low()).isCloseTo(12.0 - halfWidth, within(1e-6));
+        assertThat(interval.high()).isCloseTo(12.0 + halfWidth, within(1e-6));
+        assertThat(PerfStats.tCritical(100)).isEqualTo(PerfStats.tCritical(30));
+    }
+
+    private static String jmhResult(double score, double low, double high) {
+        return """
+            [{"benchmark": "com.wis.apigateway.benchmark.FilterBenchmark.chain", "mode": "avgt",
+              "primaryMetric": {"score": %s, "scoreConfidence": [%s, %s], "scoreUnit": "ns/op"}}]
+            """.formatted(score, low, high);
+    }
+}
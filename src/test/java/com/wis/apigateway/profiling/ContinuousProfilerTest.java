@@ -0,0 +1,156 @@
+package com.wis.apigateway.profiling;
+
+import com.wis.apigateway.config.LatencyProperties;
+import com.wis.apigateway.config.ProfilingProperties;
+import com.wis.apigateway.filter.ProfilingGlobalFilter;
+import com.wis.apigateway.support.StubBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.netty.http.client.HttpClient;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ContinuousProfiler.
+ * Tests route attribution, on-demand dumps and SLO-triggered dumps against a stub backend.
+ */
+class ContinuousProfilerTest {
+
+    @TempDir
+    Path dumpDirectory;
+
+    private StubBackend backend;
+    private RouteThreadTracker routeTracker;
+    private ContinuousProfiler profiler;
+    private ProfilingGlobalFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        backend = StubBackend.start("subscriptions", Duration.ofMillis(20), 512);
+
+        ProfilingProperties properties = new ProfilingProperties();
+        properties.setEnabled(true);
+        properties.setWindow(Duration.ofSeconds(1));
+        properties.setCpuSamplePeriod(Duration.ofMillis(10));
+        properties.setDumpDirectory(dumpDirectory.toString());
+        properties.getSlo().getRoutes().put("subscriptions", Duration.ofMillis(5));
+        properties.getSlo().setMinSamples(5);
+        properties.getSlo().setCooldown(Duration.ZERO);
+
+        routeTracker = new RouteThreadTracker();
+        profiler = new ContinuousProfiler(properties, new LatencyProperties(), routeTracker, new SimpleMeterRegistry());
+        filter = new ProfilingGlobalFilter(profiler, routeTracker, properties);
+        profiler.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        profiler.stop();
+        backend.close();
+    }
+
+    @Test
+    void testCpuSamples_ShouldBeAttributedToMarkedRoute() throws Exception {
+        // Arrange
+        routeTracker.mark("messages");
+
+        // Act - burn CPU on this thread until a window with our samples closes
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        double sink = 0;
+        while (!hasCpuSamples("messages") && System.nanoTime() < deadline) {
+            for (int i = 0; i < 1_000_000; i++) {
+                sink += Math.sqrt(i);
+            }
+        }
+
+        // Assert
+        assertThat(sink).isPositive();
+        assertThat(hasCpuSamples("messages")).isTrue();
+    }
+
+    @Test
+    void testDump_ShouldWriteReadableRecording() throws Exception {
+        // Arrange
+        callBackend(3);
+
+        // Act
+        Path file = profiler.dump("manual");
+
+        // Assert
+        assertThat(file).exists();
+        assertThat(file.getFileName().toString()).endsWith("-manual.jfr");
+        assertThat(RecordingFile.readAllEvents(file)).isNotEmpty();
+    }
+
+    @Test
+    void testSloBreach_ShouldDumpRecordingAutomatically() throws Exception {
+        // Arrange - every call takes at least the 20ms backend latency, SLO is 5ms
+        callBackend(10);
+
+        // Act
+        profiler.checkSlo();
+
+        // Assert
+        awaitTrue(() -> listDumps().stream()
+            .anyMatch(p -> p.getFileName().toString().endsWith("-slo-subscriptions.jfr")));
+        assertThat(backend.requestCount()).isEqualTo(10);
+    }
+
+    private void callBackend(int requests) {
+        HttpClient client = HttpClient.create();
+        for (int i = 0; i < requests; i++) {
+            MockServerWebExchange exchange =
+                MockServerWebExchange.from(MockServerHttpRequest.get("/api/subscriptions/1"));
+            exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("subscriptions")
+                .uri(backend.baseUrl())
+                .predicate(e -> true)
+                .build());
+            GatewayFilterChain chain = ex -> client.get()
+                .uri(backend.baseUrl() + "/api/subscriptions/1")
+                .responseContent()
+                .aggregate()
+                .then();
+            filter.filter(exchange, chain).block(Duration.ofSeconds(5));
+        }
+    }
+
+    private boolean hasCpuSamples(String route) {
+        return profiler.windows().stream()
+            .map(window -> window.top().getOrDefault(ProfileWindow.Kind.CPU, Map.of()))
+            .anyMatch(byRoute -> !byRoute.getOrDefault(route, List.of()).isEmpty());
+    }
+
+    private List<Path> listDumps() {
+        try (Stream<Path> files = Files.list(dumpDirectory)) {
+            return files.toList();
+        } catch (Exception e) {
+            return List.of();
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.wis.apigateway.push;
+
+import com.wis.apigateway.config.PushProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for BroadcastHub.
+ * Tests fan-out, the drop and disconnect overflow policies, heartbeats and connection accounting.
+ */
+class BroadcastHubTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PushProperties properties;
+    private BroadcastHub hub;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new PushProperties();
+        properties.setBufferSize(8);
+        hub = new BroadcastHub(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.stop();
+    }
+
+    @Test
+    void testPushEvent_ShouldEncodeSseFrameOnce() {
+        // Act
+        PushEvent event = PushEvent.of("42", "message.created", "line one\nline two");
+
+        // Assert
+        assertThat(new String(event.sseFrame(), StandardCharsets.UTF_8))
+            .isEqualTo("id: 42\nevent: message.created\ndata: line one\ndata: line two\n\n");
+        assertThat(new String(event.data(), StandardCharsets.UTF_8)).isEqualTo("line one\nline two");
+    }
+
+    @Test
+    void testPublish_ShouldFanOutToEveryConnectionOfTopic() {
+        // Arrange
+        List<AtomicInteger> received = new ArrayList<>();
+        List<Disposable> connections = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            AtomicInteger count = new AtomicInteger();
+            received.add(count);
+            connections.add(hub.subscribe("messages").events().subscribe(event -> count.incrementAndGet()));
+        }
+        AtomicInteger other = new AtomicInteger();
+        connections.add(hub.subscribe("subscriptions").events().subscribe(event -> other.incrementAndGet()));
+
+        // Act
+        int delivered = hub.publish("messages", PushEvent.of(null, null, "{}"));
+
+        // Assert
+        assertThat(delivered).isEqualTo(100);
+        assertThat(received).allSatisfy(count -> assertThat(count.get()).isEqualTo(1));
+        assertThat(other.get()).isZero();
+        connections.forEach(Disposable::dispose);
+    }
+
+    @Test
+    void testPublish_WithoutSubscribers_ShouldDeliverNothing() {
+        // Act & Assert
+        assertThat(hub.publish("messages", PushEvent.of(null, null, "{}"))).isZero();
+        assertThat(hub.topicCount()).isZero();
+    }
+
+    @Test
+    void testSlowConsumer_WithDropPolicy_ShouldSkipEventsAndStayConnected() {
+        // Arrange
+        PushSubscriber slow = hub.subscribe("messages");
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            hub.publish("messages", PushEvent.of(String.valueOf(i), null, "{}"));
+        }
+
+        // Assert
+        assertThat(meterRegistry.counter("gateway.push.events.dropped").count()).isEqualTo(12);
+        StepVerifier.create(slow.events().map(PushEvent::id))
+            .expectNext("0", "1", "2", "3", "4", "5", "6", "7")
+            .then(() -> hub.publish("messages", PushEvent.of("20", null, "{}")))
+            .expectNext("20")
+            .thenCancel()
+            .verify();
+    }
+
+    @Test
+    void testSlowConsumer_WithDisconnectPolicy_ShouldCloseConnection() {
+        // Arrange
+        properties.setOverflow(PushProperties.Overflow.DISCONNECT);
+        PushSubscriber slow = hub.subscribe("messages");
+        AtomicInteger fastReceived = new AtomicInteger();
+        Disposable fast = hub.subscribe("messages").events().subscribe(event -> fastReceived.incrementAndGet());
+
+        // Act
+        for (int i = 0; i < 9; i++) {
+            hub.publish("messages", PushEvent.of(String.valueOf(i), null, "{}"));
+        }
+
+        // Assert
+        StepVerifier.create(slow.events())
+            .expectNextCount(8)
+            .expectError(SlowConsumerException.class)
+            .verify();
+        assertThat(fastReceived.get()).isEqualTo(9);
+        assertThat(meterRegistry.counter("gateway.push.slow.disconnects").count()).isEqualTo(1);
+        assertThat(hub.connections()).isEqualTo(1);
+        fast.dispose();
+    }
+
+    @Test
+    void testHeartbeat_ShouldNotCountAsOverflow() {
+        // Arrange
+        properties.setOverflow(PushProperties.Overflow.DISCONNECT);
+        PushSubscriber idle = hub.subscribe("messages");
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            hub.heartbeat();
+        }
+
+        // Assert
+        assertThat(meterRegistry.counter("gateway.push.slow.disconnects").count()).isZero();
+        StepVerifier.create(idle.events())
+            .expectNextMatches(PushEvent::isHeartbeat)
+            .expectNextCount(7)
+            .thenCancel()
+            .verify();
+    }
+
+    @Test
+    void testCancel_ShouldRemoveConnectionAndEmptyTopic() {
+        // Arrange
+        Disposable first = hub.subscribe("messages").events().subscribe();
+        Disposable second = hub.subscribe("messages").events().subscribe();
+        assertThat(hub.connections()).isEqualTo(2);
+        assertThat(hub.topicCount()).isEqualTo(1);
+
+        // Act
+        first.dispose();
+        second.dispose();
+
+        // Assert
+        assertThat(hub.connections()).isZero();
+        assertThat(hub.topicCount()).isZero();
+        assertThat(meterRegistry.get("gateway.push.connections").gauge().value()).isZero();
+    }
+
+    @Test
+    void testSubscribe_AboveMaxConnections_ShouldReject() {
+        // Arrange
+        properties.setMaxConnections(1);
+        hub.subscribe("messages");
+
+        // Act & Assert
+        assertThatThrownBy(() -> hub.subscribe("messages"))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(hub.connections()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,56 @@
+package com.wis.apigateway.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RequestBudget.
+ * Tests that extra requests are limited to the configured fraction of traffic.
+ */
+class RequestBudgetTest {
+
+    @Test
+    void testInitialBurst_ShouldBeAvailable() {
+        RequestBudget budget = new RequestBudget(0.05, 3);
+
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void testDeposits_ShouldEarnOneTokenPerTwentyRequests() {
+        RequestBudget budget = new RequestBudget(0.05, 1);
+        budget.tryAcquire();
+
+        for (int i = 0; i < 19; i++) {
+            budget.recordRequest();
+        }
+        assertThat(budget.tryAcquire()).isFalse();
+
+        budget.recordRequest();
+        assertThat(budget.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void testBalance_ShouldBeCappedAtMaxTokens() {
+        RequestBudget budget = new RequestBudget(0.5, 2);
+
+        for (int i = 0; i < 100; i++) {
+            budget.recordRequest();
+        }
+
+        assertThat(budget.available()).isEqualTo(2);
+    }
+
+    @Test
+    void testZeroBudget_ShouldNeverAllowExtraRequests() {
+        RequestBudget budget = new RequestBudget(0.0, 0);
+
+        budget.recordRequest();
+
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+}
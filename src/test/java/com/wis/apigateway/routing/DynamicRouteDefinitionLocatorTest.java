@@ -0,0 +1,186 @@
+package com.wis.apigateway.routing;
+
+import com.wis.apigateway.cluster.InvalidationBus;
+import com.wis.apigateway.config.DynamicRoutesProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
+import org.springframework.cloud.gateway.filter.factory.AddRequestHeaderGatewayFilterFactory;
+import org.springframework.cloud.gateway.handler.predicate.PathRoutePredicateFactory;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for DynamicRouteDefinitionLocator.
+ * Tests loading, change detection, validation and the refresh of the gateway's route cache.
+ */
+class DynamicRouteDefinitionLocatorTest {
+
+    private static final String REPORTS_ROUTE = """
+        routes:
+          - id: reports
+            uri: ${backend.reports.url}
+            predicates:
+              - Path=/api/reports/**
+            filters:
+              - AddRequestHeader=X-Source, gateway
+        """;
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private ApplicationEventPublisher publisher;
+
+    @Mock
+    private InvalidationBus bus;
+
+    private Path file;
+    private SimpleMeterRegistry meterRegistry;
+    private DynamicRouteDefinitionLocator locator;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        file = directory.resolve("routes.yml");
+        meterRegistry = new SimpleMeterRegistry();
+
+        DynamicRoutesProperties properties = new DynamicRoutesProperties();
+        properties.setEnabled(true);
+        properties.setFile(file.toString());
+
+        RouteDefinition messages = new RouteDefinition();
+        messages.setId("messages");
+        GatewayProperties gatewayProperties = new GatewayProperties();
+        gatewayProperties.setRoutes(List.of(messages));
+
+        MockEnvironment environment = new MockEnvironment().withProperty("backend.reports.url", "http://localhost:8084");
+        locator = new DynamicRouteDefinitionLocator(properties, gatewayProperties,
+            List.of(new PathRoutePredicateFactory()), List.of(new AddRequestHeaderGatewayFilterFactory()),
+            environment, publisher, bus, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        locator.stop();
+    }
+
+    @Test
+    void testStart_ShouldLoadRoutesWithoutRefreshEvent() throws IOException {
+        // Arrange
+        Files.writeString(file, REPORTS_ROUTE);
+
+        // Act
+        locator.start();
+
+        // Assert
+        StepVerifier.create(locator.getRouteDefinitions())
+            .assertNext(route -> {
+                assertThat(route.getId()).isEqualTo("reports");
+                assertThat(route.getUri()).isEqualTo(URI.create("http://localhost:8084"));
+                assertThat(route.getPredicates().get(0).getName()).isEqualTo("Path");
+                assertThat(route.getPredicates().get(0).getArgs()).containsValue("/api/reports/**");
+                assertThat(route.getFilters().get(0).getName()).isEqualTo("AddRequestHeader");
+            })
+            .verifyComplete();
+        verify(publisher, never()).publishEvent(any(RefreshRoutesEvent.class));
+    }
+
+    @Test
+    void testReload_ChangedFile_ShouldSwapTableAndRefreshRoutes() throws IOException {
+        // Arrange
+        Files.writeString(file, REPORTS_ROUTE);
+        locator.start();
+        RouteTable before = locator.table();
+
+        // Act
+        Files.writeString(file, REPORTS_ROUTE.replace("/api/reports/**", "/api/v2/reports/**"));
+        boolean changed = locator.reload();
+
+        // Assert
+        assertThat(changed).isTrue();
+        assertThat(locator.table().version()).isEqualTo(before.version() + 1);
+        assertThat(before.definitions().get(0).getPredicates().get(0).getArgs()).containsValue("/api/reports/**");
+        assertThat(locator.table().definitions().get(0).getPredicates().get(0).getArgs())
+            .containsValue("/api/v2/reports/**");
+        verify(publisher, times(1)).publishEvent(any(RefreshRoutesEvent.class));
+    }
+
+    @Test
+    void testReload_UnchangedFile_ShouldNotRefresh() throws IOException {
+        // Arrange
+        Files.writeString(file, REPORTS_ROUTE);
+        locator.start();
+
+        // Act
+        boolean changed = locator.reload();
+
+        // Assert
+        assertThat(changed).isFalse();
+        verify(publisher, never()).publishEvent(any(RefreshRoutesEvent.class));
+    }
+
+    @Test
+    void testReload_UnknownFilter_ShouldKeepCurrentTable() throws IOException {
+        // Arrange
+        Files.writeString(file, REPORTS_ROUTE);
+        locator.start();
+
+        // Act
+        Files.writeString(file, REPORTS_ROUTE.replace("AddRequestHeader=", "AddRequestHeaders="));
+        boolean changed = locator.reload();
+
+        // Assert
+        assertThat(changed).isFalse();
+        assertThat(locator.table().definitions()).extracting(RouteDefinition::getId).containsExactly("reports");
+        assertThat(locator.lastError()).contains("unknown filter AddRequestHeaders");
+        assertThat(meterRegistry.get("gateway.routes.reloads").tag("result", "failed").counter().count()).isEqualTo(1);
+        verify(publisher, never()).publishEvent(any(RefreshRoutesEvent.class));
+    }
+
+    @Test
+    void testReload_StaticRouteId_ShouldBeRejected() throws IOException {
+        // Arrange
+        Files.writeString(file, REPORTS_ROUTE.replace("id: reports", "id: messages"));
+
+        // Act
+        locator.start();
+
+        // Assert
+        assertThat(locator.table().definitions()).isEmpty();
+        assertThat(locator.lastError()).contains("duplicate route id messages");
+    }
+
+    @Test
+    void testReloadEverywhere_ShouldAskOtherInstancesToReload() throws IOException {
+        // Arrange
+        Files.writeString(file, REPORTS_ROUTE);
+        locator.start();
+
+        // Act
+        locator.reloadEverywhere();
+
+        // Assert
+        verify(bus).publish(DynamicRouteDefinitionLocator.NAMESPACE, locator.table().checksum());
+    }
+}
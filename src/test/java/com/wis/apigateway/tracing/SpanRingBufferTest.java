@@ -0,0 +1,128 @@
+package com.wis.apigateway.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SpanRingBuffer and TraceContext.
+ * Tests ordered draining, overwrite accounting and traceparent handling.
+ */
+class SpanRingBufferTest {
+
+    @Test
+    void testDrain_ShouldReturnSpansInRecordOrder() {
+        // Arrange
+        SpanRingBuffer buffer = new SpanRingBuffer(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.publish(span(buffer.claim(), "span-" + i));
+        }
+
+        // Act
+        List<String> names = new ArrayList<>();
+        int consumed = buffer.drain(span -> true, span -> names.add(span.name()));
+
+        // Assert
+        assertThat(consumed).isEqualTo(5);
+        assertThat(names).containsExactly("span-0", "span-1", "span-2", "span-3", "span-4");
+        assertThat(buffer.drain(span -> true, span -> { })).isZero();
+    }
+
+    @Test
+    void testDrain_WhenNotReady_ShouldStopAndResumeLater() {
+        // Arrange
+        SpanRingBuffer buffer = new SpanRingBuffer(8);
+        buffer.publish(span(buffer.claim(), "old"));
+        buffer.publish(span(buffer.claim(), "young"));
+
+        // Act
+        List<String> first = new ArrayList<>();
+        buffer.drain(span -> span.name().equals("old"), span -> first.add(span.name()));
+        List<String> second = new ArrayList<>();
+        buffer.drain(span -> true, span -> second.add(span.name()));
+
+        // Assert
+        assertThat(first).containsExactly("old");
+        assertThat(second).containsExactly("young");
+    }
+
+    @Test
+    void testDrain_WhenOverwritten_ShouldCountDroppedSpans() {
+        // Arrange
+        SpanRingBuffer buffer = new SpanRingBuffer(4);
+        for (int i = 0; i < 10; i++) {
+            buffer.publish(span(buffer.claim(), "span-" + i));
+        }
+
+        // Act
+        List<String> names = new ArrayList<>();
+        buffer.drain(span -> true, span -> names.add(span.name()));
+
+        // Assert
+        assertThat(names).containsExactly("span-6", "span-7", "span-8", "span-9");
+        assertThat(buffer.dropped()).isEqualTo(6);
+    }
+
+    @Test
+    void testPublish_FromManyThreads_ShouldNotLoseSpansWithinCapacity() throws Exception {
+        // Arrange
+        SpanRingBuffer buffer = new SpanRingBuffer(4096);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch done = new CountDownLatch(4);
+
+        // Act
+        for (int t = 0; t < 4; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    buffer.publish(span(buffer.claim(), "span"));
+                }
+                done.countDown();
+            });
+        }
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        pool.shutdown();
+
+        // Assert
+        assertThat(buffer.drain(span -> true, span -> { })).isEqualTo(4000);
+        assertThat(buffer.dropped()).isZero();
+    }
+
+    @Test
+    void testTraceContext_ShouldContinueValidTraceparent() {
+        // Arrange
+        String incoming = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+        // Act
+        TraceContext context = TraceContext.start(incoming);
+        String outgoing = context.toTraceparent(context.sampled());
+
+        // Assert
+        assertThat(context.traceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(TraceContext.spanIdHex(context.parentSpanId())).isEqualTo("00f067aa0ba902b7");
+        assertThat(context.sampled()).isTrue();
+        assertThat(outgoing).startsWith("00-4bf92f3577b34da6a3ce929d0e0e4736-").endsWith("-01");
+        assertThat(outgoing).doesNotContain("00f067aa0ba902b7");
+    }
+
+    @Test
+    void testTraceContext_WhenTraceparentInvalid_ShouldStartNewTrace() {
+        // Act
+        TraceContext context = TraceContext.start("00-00000000000000000000000000000000-00f067aa0ba902b7-01");
+
+        // Assert
+        assertThat(context.traceId()).isNotEqualTo("00000000000000000000000000000000");
+        assertThat(context.parentSpanId()).isZero();
+        assertThat(context.toTraceparent(false)).matches("00-[0-9a-f]{32}-[0-9a-f]{16}-00");
+    }
+
+    private static SpanRecord span(long sequence, String name) {
+        return new SpanRecord(sequence, TraceContext.start(null), name, "route", "GET", "/", 200, 0, 0, null);
+    }
+}
@@ -0,0 +1,160 @@
+package com.wis.apigateway.transport;
+
+import com.wis.apigateway.config.TransportProperties;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.unix.DomainSocketChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for GatewayEventLoops and GatewayLoopResources.
+ * Tests loop sizing per topology, transport selection and client colocation.
+ */
+class GatewayEventLoopsTest {
+
+    private GatewayEventLoops eventLoops;
+
+    @AfterEach
+    void tearDown() {
+        if (eventLoops != null) {
+            eventLoops.close();
+        }
+    }
+
+    @Test
+    void testCreate_SharedTopology_ShouldSizeLoopsToCpus() {
+        // Arrange
+        TransportProperties properties = properties(TransportProperties.Type.NIO, TransportProperties.Topology.SHARED);
+
+        // Act
+        eventLoops = GatewayEventLoops.create(properties, 3);
+
+        // Assert
+        assertThat(eventLoops.transport()).isEqualTo(Transport.NIO);
+        assertThat(eventLoops.loops()).hasSize(3);
+        assertThat(eventLoops.client()).isSameAs(eventLoops.server());
+    }
+
+    @Test
+    void testCreate_SeparateTopology_ShouldSplitCpusBetweenServerAndClient() {
+        // Arrange
+        TransportProperties properties = properties(TransportProperties.Type.NIO, TransportProperties.Topology.SEPARATE);
+
+        // Act
+        eventLoops = GatewayEventLoops.create(properties, 5);
+
+        // Assert
+        assertThat(eventLoops.server().onServer(true)).hasSize(3);
+        assertThat(eventLoops.client().onClient(true)).hasSize(2);
+        assertThat(eventLoops.loops()).hasSize(5);
+    }
+
+    @Test
+    void testCreate_SeparateTopologyOnOneCpu_ShouldKeepOneLoopPerSide() {
+        // Arrange
+        TransportProperties properties = properties(TransportProperties.Type.NIO, TransportProperties.Topology.SEPARATE);
+
+        // Act
+        eventLoops = GatewayEventLoops.create(properties, 1);
+
+        // Assert
+        assertThat(eventLoops.loops()).hasSize(2);
+    }
+
+    @Test
+    void testOnChannelClass_ShouldMatchTransport() {
+        // Arrange
+        eventLoops = GatewayEventLoops.create(
+            properties(TransportProperties.Type.NIO, TransportProperties.Topology.SHARED), 1);
+        EventLoopGroup group = eventLoops.server().onServer(true);
+
+        // Act & Assert
+        assertThat(eventLoops.server().onChannelClass(SocketChannel.class, group)).isEqualTo(NioSocketChannel.class);
+        assertThat(eventLoops.server().onChannelClass(ServerSocketChannel.class, group))
+            .isEqualTo(NioServerSocketChannel.class);
+        assertThatThrownBy(() -> eventLoops.server().onChannelClass(DomainSocketChannel.class, group))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testOnClient_CalledFromLoop_ShouldReturnCallersLoop() throws Exception {
+        // Arrange
+        eventLoops = GatewayEventLoops.create(
+            properties(TransportProperties.Type.NIO, TransportProperties.Topology.SHARED), 4);
+        EventLoopGroup client = eventLoops.client().onClient(true);
+        EventLoop serverLoop = eventLoops.server().onServer(true).next();
+        // Let every loop run its colocation setup task
+        for (var loop : client) {
+            loop.submit(() -> { }).get(5, TimeUnit.SECONDS);
+        }
+
+        // Act
+        CompletableFuture<EventLoop> chosen = new CompletableFuture<>();
+        serverLoop.execute(() -> chosen.complete(client.next()));
+
+        // Assert
+        assertThat(chosen.get(5, TimeUnit.SECONDS)).isSameAs(serverLoop);
+    }
+
+    @Test
+    void testLoopThreads_ShouldBeNonBlocking() throws Exception {
+        // Arrange
+        eventLoops = GatewayEventLoops.create(
+            properties(TransportProperties.Type.NIO, TransportProperties.Topology.SHARED), 1);
+        CompletableFuture<Boolean> nonBlocking = new CompletableFuture<>();
+
+        // Act
+        eventLoops.server().onServer(true).execute(() -> nonBlocking.complete(Schedulers.isInNonBlockingThread()));
+
+        // Assert
+        assertThat(nonBlocking.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testResolve_UnavailableTransport_ShouldFallBack() {
+        // Act
+        Transport resolved = GatewayEventLoops.resolve(TransportProperties.Type.IO_URING);
+
+        // Assert
+        assertThat(resolved.isAvailable()).isTrue();
+        if (!Transport.IO_URING.isAvailable()) {
+            assertThat(resolved).isIn(Transport.EPOLL, Transport.NIO);
+        }
+    }
+
+    @Test
+    void testCreate_Epoll_ShouldUseEpollChannels() {
+        assumeTrue(Transport.EPOLL.isAvailable(), "epoll is not available on this machine");
+
+        // Arrange
+        eventLoops = GatewayEventLoops.create(
+            properties(TransportProperties.Type.EPOLL, TransportProperties.Topology.SHARED), 2);
+
+        // Act & Assert
+        assertThat(eventLoops.transport()).isEqualTo(Transport.EPOLL);
+        assertThat(eventLoops.client().onChannelClass(SocketChannel.class, eventLoops.client().onClient(true)))
+            .isEqualTo(EpollSocketChannel.class);
+    }
+
+    private static TransportProperties properties(TransportProperties.Type type,
+                                                  TransportProperties.Topology topology) {
+        TransportProperties properties = new TransportProperties();
+        properties.setType(type);
+        properties.setTopology(topology);
+        return properties;
+    }
+}
@@ -0,0 +1,193 @@
+package com.wis.apigateway.transport;
+
+import com.wis.apigateway.config.UpstreamTlsProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.ssl.SslProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLSession;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for UpstreamTls and TlsHandshakeMetrics.
+ * Tests context creation, the client key store, ALPN protocols, resumption detection and
+ * handshake metrics.
+ */
+class UpstreamTlsTest {
+
+    private static final String BACKEND = "wis-subscriptions.azurewebsites.net";
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private SSLEngine engine;
+
+    @Mock
+    private SSLSession session;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        when(engine.getSession()).thenReturn(session);
+    }
+
+    @Test
+    void testCreate_Http2_ShouldOfferH2AndHttp11ThroughAlpn() throws Exception {
+        // Arrange
+        UpstreamTlsProperties properties = new UpstreamTlsProperties();
+        properties.setProvider(UpstreamTlsProperties.Provider.JDK);
+
+        // Act
+        UpstreamTls tls = UpstreamTls.create(properties, new HttpClientProperties().getSsl(), meterRegistry);
+
+        // Assert
+        assertThat(tls.provider()).isEqualTo(SslProvider.JDK);
+        assertThat(tls.http2()).isTrue();
+        assertThat(tls.sslContext().isClient()).isTrue();
+        assertThat(tls.sslContext().applicationProtocolNegotiator().protocols()).containsExactly("h2", "http/1.1");
+    }
+
+    @Test
+    void testCreate_Http2Disabled_ShouldNotOfferProtocols() throws Exception {
+        // Arrange
+        UpstreamTlsProperties properties = new UpstreamTlsProperties();
+        properties.setProvider(UpstreamTlsProperties.Provider.JDK);
+        properties.setHttp2(false);
+
+        // Act
+        UpstreamTls tls = UpstreamTls.create(properties, new HttpClientProperties().getSsl(), meterRegistry);
+
+        // Assert
+        assertThat(tls.http2()).isFalse();
+        assertThat(tls.sslContext().applicationProtocolNegotiator().protocols()).isEmpty();
+    }
+
+    @Test
+    void testCreate_WithKeyStore_ShouldLoadClientKeyStore() throws Exception {
+        // Arrange
+        Path keyStoreFile = directory.resolve("client.p12");
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, null);
+        try (OutputStream out = Files.newOutputStream(keyStoreFile)) {
+            keyStore.store(out, "changeit".toCharArray());
+        }
+        UpstreamTlsProperties properties = new UpstreamTlsProperties();
+        properties.setProvider(UpstreamTlsProperties.Provider.JDK);
+        HttpClientProperties.Ssl ssl = new HttpClientProperties().getSsl();
+        ssl.setKeyStore(keyStoreFile.toUri().toString());
+        ssl.setKeyStoreType("PKCS12");
+        ssl.setKeyStorePassword("changeit");
+
+        // Act
+        UpstreamTls tls = UpstreamTls.create(properties, ssl, meterRegistry);
+
+        // Assert
+        assertThat(tls.sslContext().isClient()).isTrue();
+    }
+
+    @Test
+    void testCreate_UnreadableKeyStore_ShouldFailInsteadOfIgnoringIt() {
+        // Arrange
+        UpstreamTlsProperties properties = new UpstreamTlsProperties();
+        properties.setProvider(UpstreamTlsProperties.Provider.JDK);
+        HttpClientProperties.Ssl ssl = new HttpClientProperties().getSsl();
+        ssl.setKeyStore(directory.resolve("missing.p12").toUri().toString());
+        ssl.setKeyStoreType("PKCS12");
+
+        // Act & Assert
+        assertThatThrownBy(() -> UpstreamTls.create(properties, ssl, meterRegistry))
+            .isInstanceOf(SSLException.class)
+            .hasMessageContaining("missing.p12");
+    }
+
+    @Test
+    void testResolve_ShouldReturnLoadableProvider() {
+        // Act
+        SslProvider provider = UpstreamTls.resolve(UpstreamTlsProperties.Provider.OPENSSL);
+
+        // Assert
+        assertThat(provider).isIn(SslProvider.OPENSSL, SslProvider.JDK);
+        assertThat(UpstreamTls.resolve(UpstreamTlsProperties.Provider.JDK)).isEqualTo(SslProvider.JDK);
+    }
+
+    @Test
+    void testIsResumed_JdkSessionCreatedBeforeHandshake_ShouldBeResumed() {
+        // Arrange
+        long start = System.currentTimeMillis();
+        when(session.getCreationTime()).thenReturn(start - 5_000);
+
+        // Act & Assert
+        assertThat(TlsHandshakeMetrics.isResumed(engine, start)).isTrue();
+    }
+
+    @Test
+    void testIsResumed_JdkSessionCreatedDuringHandshake_ShouldBeFull() {
+        // Arrange
+        long start = System.currentTimeMillis();
+        when(session.getCreationTime()).thenReturn(start + 3);
+
+        // Act & Assert
+        assertThat(TlsHandshakeMetrics.isResumed(engine, start)).isFalse();
+    }
+
+    @Test
+    void testRecord_ShouldCountHandshakesPerBackendAndResult() {
+        // Arrange
+        TlsHandshakeMetrics metrics = new TlsHandshakeMetrics("jdk", meterRegistry);
+        long start = System.currentTimeMillis();
+
+        // Act
+        when(session.getCreationTime()).thenReturn(start + 1);
+        metrics.record(BACKEND, true, engine, System.nanoTime(), start);
+        when(session.getCreationTime()).thenReturn(start - 60_000);
+        metrics.record(BACKEND, true, engine, System.nanoTime(), start);
+        metrics.record(BACKEND, true, engine, System.nanoTime(), start);
+        metrics.record(BACKEND, false, engine, System.nanoTime(), start);
+
+        // Assert
+        assertThat(count("full")).isEqualTo(1.0);
+        assertThat(count("resumed")).isEqualTo(2.0);
+        assertThat(count("failed")).isEqualTo(1.0);
+        assertThat(metrics.resumptionRatio(BACKEND)).isCloseTo(2.0 / 3, within(1e-9));
+        assertThat(meterRegistry.get("gateway.upstream.tls.resumption.ratio").tag("backend", BACKEND).gauge().value())
+            .isCloseTo(2.0 / 3, within(1e-9));
+        assertThat(meterRegistry.get("gateway.upstream.tls.handshake.duration").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void testResumptionRatio_UnknownBackend_ShouldBeNaN() {
+        // Arrange
+        TlsHandshakeMetrics metrics = new TlsHandshakeMetrics("openssl", meterRegistry);
+
+        // Act & Assert
+        assertThat(metrics.resumptionRatio("unknown.example.com")).isNaN();
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("gateway.upstream.tls.handshakes")
+            .tag("backend", BACKEND)
+            .tag("result", result)
+            .counter()
+            .count();
+    }
+}
@@ -0,0 +1,191 @@
+package com.wis.apigateway.webhook;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for SegmentLog and SpooledRequest.
+ * Tests that unacknowledged records survive a crash and that finished segments are removed.
+ * A crash is simulated by opening the directory again without closing the previous log.
+ */
+class SegmentLogTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    private final List<SegmentLog> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (SegmentLog log : opened) {
+            log.close();
+        }
+    }
+
+    @Test
+    void testRecovery_ShouldReturnUnacknowledgedRecordsInOrder() throws IOException {
+        // Arrange
+        SegmentLog log = open();
+        SegmentLog.Entry first = log.append(payload("one"));
+        log.append(payload("two"));
+        log.append(payload("three"));
+        log.ack(first);
+
+        // Act
+        SegmentLog recoveredLog = open();
+
+        // Assert
+        List<SegmentLog.Entry> recovered = recoveredLog.recovered();
+        assertThat(recovered).hasSize(2);
+        assertThat(text(recoveredLog.read(recovered.get(0)))).isEqualTo("two");
+        assertThat(text(recoveredLog.read(recovered.get(1)))).isEqualTo("three");
+        assertThat(recoveredLog.pending()).isEqualTo(2);
+    }
+
+    @Test
+    void testRecovery_ShouldStopAtTornRecord() throws IOException {
+        // Arrange - a record whose length made it to disk but whose payload did not
+        SegmentLog log = open();
+        log.append(payload("complete"));
+        SegmentLog.Entry last = log.append(payload("last"));
+        int tornOffset = last.offset() + 16;
+        try (RandomAccessFile file = new RandomAccessFile(last.file().toFile(), "rw")) {
+            file.seek(tornOffset);
+            file.writeInt(64);
+            file.writeInt(0xDEADBEEF);
+        }
+
+        // Act
+        SegmentLog recoveredLog = open();
+
+        // Assert
+        assertThat(recoveredLog.recovered()).hasSize(2);
+        SegmentLog.Entry next = recoveredLog.append(payload("after restart"));
+        assertThat(next.file()).isNotEqualTo(last.file());
+        assertThat(open().recovered()).hasSize(3);
+    }
+
+    @Test
+    void testRecovery_ShouldIgnoreCorruptedRecordAndEverythingAfterIt() throws IOException {
+        // Arrange - payload bytes of a committed record damaged on disk
+        SegmentLog log = open();
+        log.append(payload("good"));
+        SegmentLog.Entry damaged = log.append(payload("damaged"));
+        log.append(payload("unreachable"));
+        try (RandomAccessFile file = new RandomAccessFile(damaged.file().toFile(), "rw")) {
+            file.seek(damaged.offset() + SegmentLog.RECORD_HEADER);
+            file.write('X');
+        }
+
+        // Act
+        List<SegmentLog.Entry> recovered = open().recovered();
+
+        // Assert
+        assertThat(recovered).hasSize(1);
+    }
+
+    @Test
+    void testAck_ShouldDeleteFullSegmentOnceAllRecordsAcknowledged() throws IOException {
+        // Arrange
+        SegmentLog log = open();
+        List<SegmentLog.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            entries.add(log.append(new byte[200]));
+        }
+        int segmentsBefore = log.segmentCount();
+
+        // Act
+        entries.forEach(log::ack);
+
+        // Assert
+        assertThat(segmentsBefore).isGreaterThan(1);
+        assertThat(log.segmentCount()).isEqualTo(1);
+        assertThat(segmentFiles()).isEqualTo(1);
+        assertThat(log.pending()).isZero();
+    }
+
+    @Test
+    void testRecovery_ShouldDeleteFullyAcknowledgedSegments() throws IOException {
+        // Arrange
+        SegmentLog log = open();
+        SegmentLog.Entry entry = log.append(payload("delivered"));
+        log.ack(entry);
+
+        // Act
+        SegmentLog recoveredLog = open();
+
+        // Assert
+        assertThat(recoveredLog.recovered()).isEmpty();
+        assertThat(segmentFiles()).isZero();
+    }
+
+    @Test
+    void testAppend_WhenRecordLargerThanSegment_ShouldThrow() throws IOException {
+        // Arrange
+        SegmentLog log = open();
+
+        // Act & Assert
+        assertThatThrownBy(() -> log.append(new byte[SEGMENT_SIZE])).isInstanceOf(IOException.class);
+        assertThat(log.pending()).isZero();
+    }
+
+    @Test
+    void testSpooledRequest_ShouldRoundTripThroughSpool() throws IOException {
+        // Arrange
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Stripe-Signature", "t=1,v1=abc");
+        headers.add("X-Forwarded-For", "10.0.0.1");
+        headers.add("X-Forwarded-For", "10.0.0.2");
+        SpooledRequest request = new SpooledRequest("stripe-webhook", "POST",
+            "http://localhost:8082/webhooks/stripe", headers, payload("{\"id\":\"evt_1\"}"), 1234L);
+        SegmentLog log = open();
+        log.append(request.encode());
+
+        // Act
+        SegmentLog recoveredLog = open();
+        SpooledRequest decoded = SpooledRequest.decode(recoveredLog.read(recoveredLog.recovered().get(0)));
+
+        // Assert
+        assertThat(decoded.routeId()).isEqualTo("stripe-webhook");
+        assertThat(decoded.url()).isEqualTo("http://localhost:8082/webhooks/stripe");
+        assertThat(decoded.headers().get("X-Forwarded-For")).containsExactly("10.0.0.1", "10.0.0.2");
+        assertThat(text(decoded.body())).isEqualTo("{\"id\":\"evt_1\"}");
+        assertThat(decoded.receivedAtMillis()).isEqualTo(1234L);
+    }
+
+    private SegmentLog open() throws IOException {
+        SegmentLog log = SegmentLog.open(directory, SEGMENT_SIZE, 0, false);
+        opened.add(log);
+        return log;
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static byte[] payload(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
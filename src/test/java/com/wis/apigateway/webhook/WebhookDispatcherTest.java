@@ -0,0 +1,230 @@
+package com.wis.apigateway.webhook;
+
+import com.wis.apigateway.config.WebhookSpoolProperties;
+import com.wis.apigateway.support.StubBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.unit.DataSize;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for WebhookDispatcher and WebhookSpool.
+ * Tests delivery, retries and drops against a stub backend, and redelivery after a restart.
+ */
+class WebhookDispatcherTest {
+
+    private static final String SERVICE_KEY = "test-service-key";
+
+    @TempDir
+    Path directory;
+
+    private StubBackend backend;
+    private SimpleMeterRegistry meterRegistry;
+    private WebhookSpoolProperties properties;
+    private SegmentLog spool;
+    private WebhookDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        backend = StubBackend.start("subscriptions", Duration.ZERO, 16);
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new WebhookSpoolProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSize(DataSize.ofKilobytes(64));
+        properties.setMinFreeSpace(DataSize.ofBytes(0));
+        properties.setFirstBackoff(Duration.ofMillis(10));
+        properties.setMaxBackoff(Duration.ofMillis(50));
+        properties.setMaxAttempts(5);
+        properties.setRequestTimeout(Duration.ofSeconds(5));
+        spool = SegmentLog.open(directory, (int) properties.getSegmentSize().toBytes(), 0, false);
+        dispatcher = new WebhookDispatcher(spool, HttpClient.create(), properties, SERVICE_KEY, meterRegistry);
+        dispatcher.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        dispatcher.stop();
+        spool.close();
+        backend.close();
+    }
+
+    @Test
+    void testSubmit_ShouldDeliverAndAcknowledge() throws Exception {
+        // Arrange
+        SegmentLog.Entry entry = spool.append(request().encode());
+
+        // Act
+        dispatcher.submit(entry);
+
+        // Assert
+        awaitTrue(() -> spool.pending() == 0);
+        assertThat(backend.requestCount()).isEqualTo(1);
+        assertThat(counter("gateway.webhook.spool.delivered")).isEqualTo(1.0);
+    }
+
+    @Test
+    void testSubmit_ShouldAddServiceKeyOnlyOnDelivery() throws Exception {
+        // Arrange
+        List<String> receivedKeys = new CopyOnWriteArrayList<>();
+        backend.setReplies(request -> {
+            receivedKeys.add(String.valueOf(request.requestHeaders().get("X-Service-Key")));
+            return null;
+        });
+        SpooledRequest request = request();
+        byte[] encoded = new SpooledRequest(request.routeId(), request.method(), request.url(),
+            request.headers(), request.body(), request.receivedAtMillis(), true).encode();
+        SegmentLog.Entry entry = spool.append(encoded);
+
+        // Act
+        dispatcher.submit(entry);
+
+        // Assert
+        awaitTrue(() -> spool.pending() == 0);
+        assertThat(new String(encoded, StandardCharsets.UTF_8)).doesNotContain(SERVICE_KEY);
+        assertThat(receivedKeys).containsExactly(SERVICE_KEY);
+    }
+
+    @Test
+    void testSubmit_WhenBackendUnavailable_ShouldRetryUntilDelivered() throws Exception {
+        // Arrange
+        backend.setStatus(503);
+        SegmentLog.Entry entry = spool.append(request().encode());
+
+        // Act
+        dispatcher.submit(entry);
+        awaitTrue(() -> backend.requestCount() >= 2);
+        backend.setStatus(200);
+
+        // Assert
+        awaitTrue(() -> spool.pending() == 0);
+        assertThat(counter("gateway.webhook.spool.retries")).isGreaterThanOrEqualTo(1.0);
+        assertThat(counter("gateway.webhook.spool.delivered")).isEqualTo(1.0);
+    }
+
+    @Test
+    void testSubmit_WhenBackendRejects_ShouldDropWithoutRetry() throws Exception {
+        // Arrange
+        backend.setStatus(400);
+        SegmentLog.Entry entry = spool.append(request().encode());
+
+        // Act
+        dispatcher.submit(entry);
+
+        // Assert
+        awaitTrue(() -> spool.pending() == 0);
+        assertThat(backend.requestCount()).isEqualTo(1);
+        assertThat(meterRegistry.counter("gateway.webhook.spool.dropped", "reason", "rejected").count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void testSubmit_WhenAttemptsExhausted_ShouldDrop() throws Exception {
+        // Arrange
+        backend.setStatus(503);
+        properties.setMaxAttempts(3);
+        SegmentLog.Entry entry = spool.append(request().encode());
+
+        // Act
+        dispatcher.submit(entry);
+
+        // Assert
+        awaitTrue(() -> spool.pending() == 0);
+        assertThat(backend.requestCount()).isEqualTo(3);
+        assertThat(meterRegistry.counter("gateway.webhook.spool.dropped", "reason", "exhausted").count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void testStop_ShouldCancelRetriesWaitingOnBackoff() throws Exception {
+        // Arrange
+        backend.setStatus(503);
+        properties.setFirstBackoff(Duration.ofMillis(200));
+        properties.setMaxBackoff(Duration.ofMillis(200));
+        SegmentLog.Entry entry = spool.append(request().encode());
+        dispatcher.submit(entry);
+        awaitTrue(() -> counter("gateway.webhook.spool.retries") >= 1.0);
+
+        // Act
+        dispatcher.stop();
+        Thread.sleep(400);
+
+        // Assert
+        assertThat(backend.requestCount()).isEqualTo(1);
+        assertThat(spool.pending()).isEqualTo(1);
+    }
+
+    @Test
+    void testBackoff_ShouldGrowExponentiallyUpToMax() {
+        // Act & Assert
+        assertThat(dispatcher.backoff(1).toMillis()).isBetween(5L, 10L);
+        assertThat(dispatcher.backoff(2).toMillis()).isBetween(10L, 20L);
+        assertThat(dispatcher.backoff(10).toMillis()).isBetween(25L, 50L);
+        assertThat(dispatcher.backoff(40).toMillis()).isBetween(25L, 50L);
+    }
+
+    @Test
+    void testRestart_ShouldRedeliverRequestsSpooledBeforeShutdown() throws Exception {
+        // Arrange - the backend is down while the first gateway instance spools a request
+        dispatcher.stop();
+        spool.close();
+        backend.setStatus(503);
+        properties.setMaxAttempts(100);
+        WebhookSpool first = new WebhookSpool(properties, HttpClient.create(), new SimpleMeterRegistry());
+        first.start();
+        assertThat(first.offer(request())).isTrue();
+        awaitTrue(() -> backend.requestCount() >= 1);
+        first.stop();
+        long requestsBeforeRestart = backend.requestCount();
+        backend.setStatus(200);
+
+        // Act
+        SimpleMeterRegistry restartedRegistry = new SimpleMeterRegistry();
+        WebhookSpool restarted = new WebhookSpool(properties, HttpClient.create(), restartedRegistry);
+        restarted.start();
+
+        // Assert
+        try {
+            awaitTrue(() -> restartedRegistry.counter("gateway.webhook.spool.delivered").count() == 1.0);
+            assertThat(backend.requestCount()).isGreaterThan(requestsBeforeRestart);
+        } finally {
+            restarted.stop();
+        }
+        spool = SegmentLog.open(directory, (int) properties.getSegmentSize().toBytes(), 0, false);
+        assertThat(spool.recovered()).isEmpty();
+    }
+
+    private SpooledRequest request() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Stripe-Signature", "t=1,v1=abc");
+        headers.add("Content-Type", "application/json");
+        return new SpooledRequest("stripe-webhook", "POST", backend.baseUrl() + "/webhooks/stripe",
+            headers, "{\"id\":\"evt_1\"}".getBytes(StandardCharsets.UTF_8), System.currentTimeMillis());
+    }
+
+    private double counter(String name) {
+        return meterRegistry.counter(name).count();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.wis.apigateway.support;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.EventLoopGroup;
+import io.netty.handler.ssl.util.SelfSignedCertificate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.resources.LoopResources;
+
+import java.nio.charset.StandardCharsets;
+import java.security.cert.CertificateException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * In-process Netty HTTP server standing in for a WIS backend service.
+ *
+ * <p>Answers every request with a JSON payload of a fixed size after a fixed delay, and
+ * {@code /actuator/health} with {@code {"status":"UP"}}. The server runs on its own
+ * event loops (threads named {@code stub-<name>-*}) so tests and load runs can tell
+ * backend work apart from gateway work.
+ *
+ * <p>{@link #startSecure} serves HTTPS (HTTP/1.1 and h2 through ALPN) with a self-signed
+ * certificate for {@code localhost}; clients must trust it explicitly.
+ *
+ * <pre>
+ * try (StubBackend subscriptions = StubBackend.start("subscriptions", Duration.ofMillis(20), 2048)) {
+ *     String url = subscriptions.baseUrl();
+ * }
+ * </pre>
+ */
+public final class StubBackend implements AutoCloseable {
+
+    public static final String THREAD_PREFIX = "stub-";
+
+    private static final byte[] HEALTH_UP = "{\"status\":\"UP\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final String name;
+    private final LoopResources loops;
+    private final Scheduler scheduler;
+    private final DisposableServer server;
+    private final SelfSignedCertificate certificate;
+    private final LongAdder requests = new LongAdder();
+
+    private volatile Duration latency;
+    private volatile byte[] payload;
+    private volatile int status = 200;
+    private volatile Function<HttpServerRequest, Reply> replies;
+
+    private StubBackend(String name, Duration latency, int payloadBytes, SelfSignedCertificate certificate) {
+        this.name = name;
+        this.certificate = certificate;
+        this.latency = latency;
+        this.payload = payloadOf(payloadBytes);
+        this.loops = LoopResources.create(THREAD_PREFIX + name, 1, 2, true);
+        EventLoopGroup eventLoops = loops.onServer(true);
+        this.scheduler = Schedulers.fromExecutorService(eventLoops, THREAD_PREFIX + name);
+        HttpServer httpServer = HttpServer.create()
+            .host("127.0.0.1")
+            .port(0)
+            .runOn(loops);
+        if (certificate != null) {
+            httpServer = httpServer.protocol(HttpProtocol.HTTP11, HttpProtocol.H2)
+                .secure(spec -> spec.sslContext(
+                    Http2SslContextSpec.forServer(certificate.certificate(), certificate.privateKey())));
+        }
+        this.server = httpServer
+            .handle((request, response) -> {
+                requests.increment();
+                if (request.uri().startsWith("/actuator/health")) {
+                    return response.header("Content-Type", "application/json")
+                        .send(Mono.fromSupplier(() -> Unpooled.wrappedBuffer(HEALTH_UP)));
+                }
+                Function<HttpServerRequest, Reply> replyFunction = this.replies;
+                Reply reply = replyFunction != null ? replyFunction.apply(request) : null;
+                Duration delay = reply != null ? reply.latency() : this.latency;
+                byte[] body = reply != null ? payloadOf(reply.payloadBytes()) : this.payload;
+                int replyStatus = reply != null ? reply.status() : this.status;
+                Mono<Void> drained = request.receive().then();
+                Mono<Void> delayed = delay.isZero() ? drained : drained.then(Mono.delay(delay, scheduler).then());
+                return delayed.then(response
+                    .status(replyStatus)
+                    .header("Content-Type", "application/json")
+                    .header("X-Stub-Backend", this.name)
+                    .send(Mono.fromSupplier(() -> Unpooled.wrappedBuffer(body)))
+                    .then());
+            })
+            .bindNow();
+    }
+
+    /**
+     * Starts a stub backend on a random local port.
+     *
+     * @param name backend name, used for thread names and the X-Stub-Backend header
+     * @param latency delay before each response
+     * @param payloadBytes response body size
+     * @return running backend
+     */
+    public static StubBackend start(String name, Duration latency, int payloadBytes) {
+        return new StubBackend(name, latency, payloadBytes, null);
+    }
+
+    /**
+     * Starts a stub backend serving HTTPS on a random local port.
+     *
+     * @param name backend name, used for thread names and the X-Stub-Backend header
+     * @param latency delay before each response
+     * @param payloadBytes response body size
+     * @return running backend; {@link #baseUrl()} is an https URL on {@code localhost}
+     */
+    public static StubBackend startSecure(String name, Duration latency, int payloadBytes) {
+        try {
+            return new StubBackend(name, latency, payloadBytes, new SelfSignedCertificate("localhost"));
+        } catch (CertificateException e) {
+            throw new IllegalStateException("Cannot create a certificate for stub backend " + name, e);
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int port() {
+        return server.port();
+    }
+
+    public String baseUrl() {
+        return certificate != null ? "https://localhost:" + server.port() : "http://127.0.0.1:" + server.port();
+    }
+
+    public long requestCount() {
+        return requests.sum();
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    public void setPayloadBytes(int payloadBytes) {
+        this.payload = payloadOf(payloadBytes);
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    /**
+     * Chooses status, delay and payload size per request, e.g. to play back recorded
+     * responses. Requests the function returns null for get the fixed settings.
+     *
+     * @param replies reply for each request, or null to go back to the fixed settings
+     */
+    public void setReplies(Function<HttpServerRequest, Reply> replies) {
+        this.replies = replies;
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+        scheduler.dispose();
+        loops.disposeLater().block(Duration.ofSeconds(5));
+        if (certificate != null) {
+            certificate.delete();
+        }
+    }
+
+    /**
+     * Response to one request.
+     *
+     * @param status response status
+     * @param latency delay before responding
+     * @param payloadBytes response body size
+     */
+    public record Reply(int status, Duration latency, int payloadBytes) {
+    }
+
+    /**
+     * Builds a JSON object of exactly the requested size (minimum 12 bytes).
+     */
+    private static byte[] payloadOf(int bytes) {
+        String prefix = "{\"data\":\"";
+        String suffix = "\"}";
+        int fill = Math.max(1, bytes - prefix.length() - suffix.length());
+        char[] filler = new char[fill];
+        Arrays.fill(filler, 'x');
+        return (prefix + new String(filler) + suffix).getBytes(StandardCharsets.UTF_8);
+    }
+}